@@ -0,0 +1,120 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.carbondata.readers;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Base class of the readers which fill a primitive array that is wrapped by the block they build,
+ * without going through a block builder. Subclasses own the value array, this class tracks the
+ * positions and nulls of the batch.
+ * <p>
+ * Blocks built from a batch may still be referenced downstream once the next batch is read,
+ * so every batch is read into new arrays instead of refilling them.
+ */
+public abstract class AbstractArrayStreamReader
+        extends CarbonColumnVectorImpl
+        implements HetuCoreVectorBlockBuilder
+{
+    protected int batchSize;
+
+    private final int initialCapacity;
+
+    private int capacity;
+
+    private boolean[] valueIsNull;
+
+    private int positionCount;
+
+    protected AbstractArrayStreamReader(int batchSize, DataType dataType)
+    {
+        super(batchSize, dataType);
+        this.batchSize = batchSize;
+        this.initialCapacity = batchSize;
+        this.capacity = batchSize;
+    }
+
+    /**
+     * Replaces the value array with a new one holding the given number of positions.
+     */
+    protected abstract void newValues(int positions);
+
+    /**
+     * Replaces the value array with a copy holding the given number of positions.
+     */
+    protected abstract void growValues(int positions);
+
+    @Override
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void putNull(int rowId)
+    {
+        putNulls(rowId, 1);
+    }
+
+    @Override
+    public void putNulls(int rowId, int count)
+    {
+        int position = append(count);
+        if (valueIsNull == null) {
+            valueIsNull = new boolean[capacity];
+        }
+        Arrays.fill(valueIsNull, position, position + count, true);
+    }
+
+    @Override
+    public void reset()
+    {
+        newValues(initialCapacity);
+        capacity = initialCapacity;
+        valueIsNull = null;
+        positionCount = 0;
+    }
+
+    /**
+     * Makes room for the given number of values and returns the position of the first one.
+     */
+    protected final int append(int count)
+    {
+        int position = positionCount;
+        int minCapacity = position + count;
+        if (minCapacity > capacity) {
+            capacity = Math.max(minCapacity, capacity * 2);
+            growValues(capacity);
+            if (valueIsNull != null) {
+                valueIsNull = Arrays.copyOf(valueIsNull, capacity);
+            }
+        }
+        positionCount = minCapacity;
+        return position;
+    }
+
+    protected final int getPositionCount()
+    {
+        return positionCount;
+    }
+
+    protected final Optional<boolean[]> getValueIsNull()
+    {
+        return Optional.ofNullable(valueIsNull);
+    }
+}
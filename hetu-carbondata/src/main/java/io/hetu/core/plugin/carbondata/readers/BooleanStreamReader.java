@@ -14,90 +14,72 @@
 package io.hetu.core.plugin.carbondata.readers;
 
 import io.prestosql.spi.block.Block;
-import io.prestosql.spi.block.BlockBuilder;
-import io.prestosql.spi.type.BooleanType;
-import io.prestosql.spi.type.Type;
+import io.prestosql.spi.block.ByteArrayBlock;
 import org.apache.carbondata.core.metadata.datatype.DataType;
-import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
 
+import java.util.Arrays;
+
+/**
+ * Reads boolean values into a byte array which is wrapped by the block, without going through a block builder.
+ */
 public class BooleanStreamReader
-        extends CarbonColumnVectorImpl
-        implements HetuCoreVectorBlockBuilder
+        extends AbstractArrayStreamReader
 {
-    protected int batchSize;
-
-    protected Type type = BooleanType.BOOLEAN;
-
-    protected BlockBuilder builder;
+    private byte[] values;
 
     public BooleanStreamReader(int batchSize, DataType dataType)
     {
         super(batchSize, dataType);
-        this.batchSize = batchSize;
-        this.builder = type.createBlockBuilder(null, batchSize);
+        this.values = new byte[batchSize];
     }
 
     @Override
     public Block buildBlock()
     {
-        return builder.build();
-    }
-
-    @Override
-    public void setBatchSize(int batchSize)
-    {
-        this.batchSize = batchSize;
+        return new ByteArrayBlock(getPositionCount(), getValueIsNull(), values);
     }
 
     @Override
     public void putByte(int rowId, byte value)
     {
-        type.writeBoolean(builder, value == 1);
+        values[append(1)] = value == 1 ? (byte) 1 : (byte) 0;
     }
 
     @Override
     public void putBytes(int rowId, int count, byte[] src, int srcIndex)
     {
-        int srcIdx = srcIndex;
+        int position = append(count);
         for (int i = 0; i < count; i++) {
-            type.writeBoolean(builder, src[srcIdx++] == 1);
+            values[position + i] = src[srcIndex + i] == 1 ? (byte) 1 : (byte) 0;
         }
     }
 
     @Override
     public void putBoolean(int rowId, boolean value)
     {
-        type.writeBoolean(builder, value);
-    }
-
-    @Override
-    public void putNull(int rowId)
-    {
-        builder.appendNull();
+        values[append(1)] = value ? (byte) 1 : (byte) 0;
     }
 
     @Override
-    public void putNulls(int rowId, int count)
+    public void putObject(int rowId, Object value)
     {
-        for (int i = 0; i < count; i++) {
-            builder.appendNull();
+        if (value == null) {
+            putNull(rowId);
+        }
+        else {
+            putBoolean(rowId, (boolean) value);
         }
     }
 
     @Override
-    public void reset()
+    protected void newValues(int positions)
     {
-        builder = type.createBlockBuilder(null, batchSize);
+        values = new byte[positions];
     }
 
     @Override
-    public void putObject(int rowId, Object value)
+    protected void growValues(int positions)
     {
-        if (value == null) {
-            putNull(rowId);
-        }
-        else {
-            putBoolean(rowId, (boolean) value);
-        }
+        values = Arrays.copyOf(values, positions);
     }
 }
@@ -14,86 +14,63 @@
 package io.hetu.core.plugin.carbondata.readers;
 
 import io.prestosql.spi.block.Block;
-import io.prestosql.spi.block.BlockBuilder;
-import io.prestosql.spi.type.AbstractType;
-import io.prestosql.spi.type.TinyintType;
+import io.prestosql.spi.block.ByteArrayBlock;
 import org.apache.carbondata.core.metadata.datatype.DataType;
-import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
+
+import java.util.Arrays;
 
 /**
- * Class for Reading the Byte(tiny int) value and setting it in Block
+ * Class for Reading the Byte(tiny int) value into an array which is wrapped by the block
  */
 public class ByteStreamReader
-        extends CarbonColumnVectorImpl
-        implements HetuCoreVectorBlockBuilder
+        extends AbstractArrayStreamReader
 {
-    protected int batchSize;
-
-    protected AbstractType type = TinyintType.TINYINT;
-
-    protected BlockBuilder builder;
+    private byte[] values;
 
     public ByteStreamReader(int batchSize, DataType dataType)
     {
         super(batchSize, dataType);
-        this.batchSize = batchSize;
-        this.builder = type.createBlockBuilder(null, batchSize);
+        this.values = new byte[batchSize];
     }
 
     @Override
     public Block buildBlock()
     {
-        return builder.build();
-    }
-
-    @Override
-    public void setBatchSize(int batchSize)
-    {
-        this.batchSize = batchSize;
+        return new ByteArrayBlock(getPositionCount(), getValueIsNull(), values);
     }
 
     @Override
     public void putByte(int rowId, byte value)
     {
-        type.writeLong(builder, value);
+        values[append(1)] = value;
     }
 
     @Override
     public void putBytes(int rowId, int count, byte[] src, int srcIndex)
     {
-        for (int i = srcIndex; i < count; i++) {
-            type.writeLong(builder, src[i]);
-        }
-    }
-
-    @Override
-    public void putNull(int rowId)
-    {
-        builder.appendNull();
+        System.arraycopy(src, srcIndex, values, append(count), count);
     }
 
     @Override
-    public void putNulls(int rowId, int count)
+    public void putObject(int rowId, Object value)
     {
-        for (int i = 0; i < count; i++) {
-            builder.appendNull();
+        if (value == null) {
+            putNull(rowId);
+        }
+        else {
+            putByte(rowId, (byte) value);
         }
     }
 
     @Override
-    public void reset()
+    protected void newValues(int positions)
     {
-        builder = type.createBlockBuilder(null, batchSize);
+        values = new byte[positions];
     }
 
     @Override
-    public void putObject(int rowId, Object value)
+    protected void growValues(int positions)
     {
-        if (value == null) {
-            putNull(rowId);
-        }
-        else {
-            putByte(rowId, (byte) value);
-        }
+        values = Arrays.copyOf(values, positions);
     }
 }
@@ -15,35 +15,31 @@ package io.hetu.core.plugin.carbondata.readers;
 
 import io.airlift.slice.Slice;
 import io.prestosql.spi.block.Block;
-import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.block.Int128ArrayBlock;
+import io.prestosql.spi.block.LongArrayBlock;
 import io.prestosql.spi.type.DecimalType;
 import io.prestosql.spi.type.Decimals;
-import io.prestosql.spi.type.Type;
 import org.apache.carbondata.core.metadata.datatype.DataType;
-import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
 
 import java.math.BigDecimal;
-import java.math.BigInteger;
+import java.util.Arrays;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
-import static io.airlift.slice.Slices.utf8Slice;
+import static io.airlift.slice.SizeOf.SIZE_OF_LONG;
 import static io.prestosql.spi.type.Decimals.encodeUnscaledValue;
-import static io.prestosql.spi.type.Decimals.isShortDecimal;
-import static io.prestosql.spi.type.Decimals.rescale;
 import static java.math.RoundingMode.HALF_UP;
 
 /**
- * Reader for DecimalValues
+ * Reader for DecimalValues. Short decimals are read into a long array and long decimals into
+ * a long array holding two longs per value, both are wrapped by the block.
  */
 public class DecimalSliceStreamReader
-        extends CarbonColumnVectorImpl
-        implements HetuCoreVectorBlockBuilder
+        extends AbstractArrayStreamReader
 {
-    private final char[] buffer = new char[100];
-    protected int batchSize;
-    protected Type type;
-    protected BlockBuilder builder;
+    protected DecimalType type;
+
+    private final int longsPerValue;
+    private long[] values;
 
     public DecimalSliceStreamReader(int batchSize, DataType dataType,
             org.apache.carbondata.core.metadata.datatype.DecimalType decimalDataType)
@@ -51,20 +47,17 @@ public class DecimalSliceStreamReader
         super(batchSize, dataType);
         this.type =
                 DecimalType.createDecimalType(decimalDataType.getPrecision(), decimalDataType.getScale());
-        this.batchSize = batchSize;
-        this.builder = type.createBlockBuilder(null, batchSize);
+        this.longsPerValue = type.isShort() ? 1 : 2;
+        this.values = new long[batchSize * longsPerValue];
     }
 
     @Override
     public Block buildBlock()
     {
-        return builder.build();
-    }
-
-    @Override
-    public void setBatchSize(int batchSize)
-    {
-        this.batchSize = batchSize;
+        if (type.isShort()) {
+            return new LongArrayBlock(getPositionCount(), getValueIsNull(), values);
+        }
+        return new Int128ArrayBlock(getPositionCount(), getValueIsNull(), values);
     }
 
     @Override
@@ -82,98 +75,43 @@ public class DecimalSliceStreamReader
         }
     }
 
-    @Override
-    public void putNulls(int rowId, int count)
-    {
-        for (int i = 0; i < count; i++) {
-            builder.appendNull();
-        }
-    }
-
-    @Override
-    public void putNull(int rowId)
-    {
-        builder.appendNull();
-    }
-
-    @Override
-    public void reset()
-    {
-        builder = type.createBlockBuilder(null, batchSize);
-    }
-
     private void decimalBlockWriter(BigDecimal value)
     {
-        if (isShortDecimal(type)) {
-            long rescaledDecimal = Decimals.rescale(value.unscaledValue().longValue(), value.scale(),
-                    ((DecimalType) type).getScale());
-            type.writeLong(builder, rescaledDecimal);
+        int position = append(1);
+        if (type.isShort()) {
+            values[position] = Decimals.rescale(value.unscaledValue().longValue(), value.scale(), type.getScale());
         }
         else {
-            Slice slice = getSlice(value, type);
-            type.writeSlice(builder, parseSlice((DecimalType) type, slice, slice.length()));
+            // rescale the unscaled value directly instead of formatting and parsing the decimal
+            BigDecimal decimal = value.setScale(type.getScale(), HALF_UP);
+            checkState(decimal.precision() <= type.getPrecision(),
+                    "Read decimal precision larger than column precision");
+            Slice slice = encodeUnscaledValue(decimal.unscaledValue());
+            values[position * 2] = slice.getLong(0);
+            values[position * 2 + 1] = slice.getLong(SIZE_OF_LONG);
         }
     }
 
-    private Slice getSlice(Object value, Type type)
+    @Override
+    public void putObject(int rowId, Object value)
     {
-        if (type instanceof DecimalType) {
-            DecimalType actual = (DecimalType) type;
-            BigDecimal bigDecimalValue = (BigDecimal) value;
-            if (isShortDecimal(type)) {
-                return utf8Slice(value.toString());
-            }
-            else {
-                if (bigDecimalValue.scale() > actual.getScale()) {
-                    BigInteger unscaledDecimal =
-                            rescale(bigDecimalValue.unscaledValue(), bigDecimalValue.scale(),
-                                    bigDecimalValue.scale());
-                    Slice decimalSlice = Decimals.encodeUnscaledValue(unscaledDecimal);
-                    return utf8Slice(Decimals.toString(decimalSlice, actual.getScale()));
-                }
-                else {
-                    BigInteger unscaledDecimal =
-                            rescale(bigDecimalValue.unscaledValue(), bigDecimalValue.scale(), actual.getScale());
-                    Slice decimalSlice = Decimals.encodeUnscaledValue(unscaledDecimal);
-                    return utf8Slice(Decimals.toString(decimalSlice, actual.getScale()));
-                }
-            }
+        if (value == null) {
+            putNull(rowId);
         }
         else {
-            return utf8Slice(value.toString());
+            decimalBlockWriter((BigDecimal) value);
         }
     }
 
-    private Slice parseSlice(DecimalType type, Slice slice, int length)
-    {
-        BigDecimal decimal = parseBigDecimal(type, slice, length);
-        return encodeUnscaledValue(decimal.unscaledValue());
-    }
-
-    private BigDecimal parseBigDecimal(DecimalType type, Slice slice, int length)
+    @Override
+    protected void newValues(int positions)
     {
-        int offset = 0;
-        checkArgument(length < buffer.length);
-        for (int i = 0; i < length; i++) {
-            buffer[i] = (char) slice.getByte(offset + i);
-        }
-        BigDecimal decimal = new BigDecimal(buffer, 0, length);
-        checkState(decimal.scale() <= type.getScale(),
-                "Read decimal value scale larger than column scale");
-        decimal = decimal.setScale(type.getScale(), HALF_UP);
-        checkState(decimal.precision() <= type.getPrecision(),
-                "Read decimal precision larger than column precision");
-        return decimal;
+        values = new long[positions * longsPerValue];
     }
 
     @Override
-    public void putObject(int rowId, Object value)
+    protected void growValues(int positions)
     {
-        if (value == null) {
-            putNull(rowId);
-        }
-        else {
-            decimalBlockWriter((BigDecimal) value);
-        }
+        values = Arrays.copyOf(values, positions * longsPerValue);
     }
 }
@@ -14,86 +14,66 @@
 package io.hetu.core.plugin.carbondata.readers;
 
 import io.prestosql.spi.block.Block;
-import io.prestosql.spi.block.BlockBuilder;
-import io.prestosql.spi.type.DoubleType;
-import io.prestosql.spi.type.Type;
+import io.prestosql.spi.block.LongArrayBlock;
 import org.apache.carbondata.core.metadata.datatype.DataType;
-import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
+
+import java.util.Arrays;
+
+import static java.lang.Double.doubleToLongBits;
 
 /**
- * Class for Reading the Double value and setting it in Block
+ * Class for Reading the Double value into an array which is wrapped by the block
  */
 public class DoubleStreamReader
-        extends CarbonColumnVectorImpl
-        implements HetuCoreVectorBlockBuilder
+        extends AbstractArrayStreamReader
 {
-    protected int batchSize;
-
-    protected Type type = DoubleType.DOUBLE;
-
-    protected BlockBuilder builder;
+    private long[] values;
 
     public DoubleStreamReader(int batchSize, DataType dataType)
     {
         super(batchSize, dataType);
-        this.batchSize = batchSize;
-        this.builder = type.createBlockBuilder(null, batchSize);
+        this.values = new long[batchSize];
     }
 
     @Override
     public Block buildBlock()
     {
-        return builder.build();
-    }
-
-    @Override
-    public void setBatchSize(int batchSize)
-    {
-        this.batchSize = batchSize;
+        return new LongArrayBlock(getPositionCount(), getValueIsNull(), values);
     }
 
     @Override
     public void putDouble(int rowId, double value)
     {
-        type.writeDouble(builder, value);
+        values[append(1)] = doubleToLongBits(value);
     }
 
     @Override
     public void putDoubles(int rowId, int count, double value)
     {
-        for (int i = 0; i < count; i++) {
-            type.writeDouble(builder, value);
-        }
-    }
-
-    @Override
-    public void putNull(int rowId)
-    {
-        builder.appendNull();
+        int position = append(count);
+        Arrays.fill(values, position, position + count, doubleToLongBits(value));
     }
 
     @Override
-    public void putNulls(int rowId, int count)
+    public void putObject(int rowId, Object value)
     {
-        for (int i = 0; i < count; i++) {
-            builder.appendNull();
+        if (value == null) {
+            putNull(rowId);
+        }
+        else {
+            putDouble(rowId, (double) value);
         }
     }
 
     @Override
-    public void reset()
+    protected void newValues(int positions)
     {
-        builder = type.createBlockBuilder(null, batchSize);
+        values = new long[positions];
     }
 
     @Override
-    public void putObject(int rowId, Object value)
+    protected void growValues(int positions)
     {
-        if (value == null) {
-            putNull(rowId);
-        }
-        else {
-            putDouble(rowId, (double) value);
-        }
+        values = Arrays.copyOf(values, positions);
     }
 }
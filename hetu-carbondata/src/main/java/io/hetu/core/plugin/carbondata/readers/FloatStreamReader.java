@@ -14,86 +14,68 @@
 package io.hetu.core.plugin.carbondata.readers;
 
 import io.prestosql.spi.block.Block;
-import io.prestosql.spi.block.BlockBuilder;
-import io.prestosql.spi.type.AbstractType;
-import io.prestosql.spi.type.RealType;
+import io.prestosql.spi.block.IntArrayBlock;
 import org.apache.carbondata.core.metadata.datatype.DataType;
-import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
+
+import java.util.Arrays;
+
+import static java.lang.Float.floatToRawIntBits;
 
 /**
- * Class for Reading the Float(real) value and setting it in Block
+ * Class for Reading the Float(real) value into an array which is wrapped by the block
  */
 public class FloatStreamReader
-        extends CarbonColumnVectorImpl
-        implements HetuCoreVectorBlockBuilder
+        extends AbstractArrayStreamReader
 {
-    protected int batchSize;
-
-    protected AbstractType type = RealType.REAL;
-
-    protected BlockBuilder builder;
+    private int[] values;
 
     public FloatStreamReader(int batchSize, DataType dataType)
     {
         super(batchSize, dataType);
-        this.batchSize = batchSize;
-        this.builder = type.createBlockBuilder(null, batchSize);
+        this.values = new int[batchSize];
     }
 
     @Override
     public Block buildBlock()
     {
-        return builder.build();
-    }
-
-    @Override
-    public void setBatchSize(int batchSize)
-    {
-        this.batchSize = batchSize;
+        return new IntArrayBlock(getPositionCount(), getValueIsNull(), values);
     }
 
     @Override
     public void putFloat(int rowId, float value)
     {
-        type.writeLong(builder, (long) Float.floatToRawIntBits(value));
+        values[append(1)] = floatToRawIntBits(value);
     }
 
     @Override
     public void putFloats(int rowId, int count, float[] src, int srcIndex)
     {
-        for (int i = srcIndex; i < count; i++) {
-            type.writeLong(builder, (long) Float.floatToRawIntBits(src[i]));
+        int position = append(count);
+        for (int i = 0; i < count; i++) {
+            values[position + i] = floatToRawIntBits(src[srcIndex + i]);
         }
     }
 
     @Override
-    public void putNull(int rowId)
-    {
-        builder.appendNull();
-    }
-
-    @Override
-    public void putNulls(int rowId, int count)
+    public void putObject(int rowId, Object value)
     {
-        for (int i = 0; i < count; i++) {
-            builder.appendNull();
+        if (value == null) {
+            putNull(rowId);
+        }
+        else {
+            putFloat(rowId, (float) value);
         }
     }
 
     @Override
-    public void reset()
+    protected void newValues(int positions)
     {
-        builder = type.createBlockBuilder(null, batchSize);
+        values = new int[positions];
     }
 
     @Override
-    public void putObject(int rowId, Object value)
+    protected void growValues(int positions)
     {
-        if (value == null) {
-            putNull(rowId);
-        }
-        else {
-            putFloat(rowId, (float) value);
-        }
+        values = Arrays.copyOf(values, positions);
     }
 }
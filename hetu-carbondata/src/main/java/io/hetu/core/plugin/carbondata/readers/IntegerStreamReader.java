@@ -14,84 +14,64 @@
 package io.hetu.core.plugin.carbondata.readers;
 
 import io.prestosql.spi.block.Block;
-import io.prestosql.spi.block.BlockBuilder;
-import io.prestosql.spi.type.IntegerType;
-import io.prestosql.spi.type.Type;
+import io.prestosql.spi.block.IntArrayBlock;
 import org.apache.carbondata.core.metadata.datatype.DataType;
-import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
 
+import java.util.Arrays;
+
+/**
+ * Reads integer and date values into an array which is wrapped by the block, without going through a block builder.
+ */
 public class IntegerStreamReader
-        extends CarbonColumnVectorImpl
-        implements HetuCoreVectorBlockBuilder
+        extends AbstractArrayStreamReader
 {
-    protected int batchSize;
-
-    protected Type type = IntegerType.INTEGER;
-
-    protected BlockBuilder builder;
+    private int[] values;
 
     public IntegerStreamReader(int batchSize, DataType dataType)
     {
         super(batchSize, dataType);
-        this.batchSize = batchSize;
-        this.builder = type.createBlockBuilder(null, batchSize);
+        this.values = new int[batchSize];
     }
 
     @Override
     public Block buildBlock()
     {
-        return builder.build();
-    }
-
-    @Override
-    public void setBatchSize(int batchSize)
-    {
-        this.batchSize = batchSize;
+        return new IntArrayBlock(getPositionCount(), getValueIsNull(), values);
     }
 
     @Override
     public void putInt(int rowId, int value)
     {
-        type.writeLong(builder, value);
+        values[append(1)] = value;
     }
 
     @Override
     public void putInts(int rowId, int count, int value)
     {
-        int id = rowId;
-        for (int i = 0; i < count; i++) {
-            putInt(id++, value);
-        }
-    }
-
-    @Override
-    public void putNull(int rowId)
-    {
-        builder.appendNull();
+        int position = append(count);
+        Arrays.fill(values, position, position + count, value);
     }
 
     @Override
-    public void putNulls(int rowId, int count)
+    public void putObject(int rowId, Object value)
     {
-        for (int i = 0; i < count; i++) {
-            builder.appendNull();
+        if (value == null) {
+            putNull(rowId);
+        }
+        else {
+            putInt(rowId, (int) value);
         }
     }
 
     @Override
-    public void reset()
+    protected void newValues(int positions)
     {
-        builder = type.createBlockBuilder(null, batchSize);
+        values = new int[positions];
     }
 
     @Override
-    public void putObject(int rowId, Object value)
+    protected void growValues(int positions)
     {
-        if (value == null) {
-            putNull(rowId);
-        }
-        else {
-            putInt(rowId, (int) value);
-        }
+        values = Arrays.copyOf(values, positions);
     }
 }
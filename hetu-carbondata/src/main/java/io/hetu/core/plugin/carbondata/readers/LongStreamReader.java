@@ -14,83 +14,64 @@
 package io.hetu.core.plugin.carbondata.readers;
 
 import io.prestosql.spi.block.Block;
-import io.prestosql.spi.block.BlockBuilder;
-import io.prestosql.spi.type.BigintType;
-import io.prestosql.spi.type.Type;
+import io.prestosql.spi.block.LongArrayBlock;
 import org.apache.carbondata.core.metadata.datatype.DataType;
-import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
 
+import java.util.Arrays;
+
+/**
+ * Reads bigint values into an array which is wrapped by the block, without going through a block builder.
+ */
 public class LongStreamReader
-        extends CarbonColumnVectorImpl
-        implements HetuCoreVectorBlockBuilder
+        extends AbstractArrayStreamReader
 {
-    protected int batchSize;
-
-    protected Type type = BigintType.BIGINT;
-
-    protected BlockBuilder builder;
+    private long[] values;
 
     public LongStreamReader(int batchSize, DataType dataType)
     {
         super(batchSize, dataType);
-        this.batchSize = batchSize;
-        this.builder = type.createBlockBuilder(null, batchSize);
+        this.values = new long[batchSize];
     }
 
     @Override
     public Block buildBlock()
     {
-        return builder.build();
-    }
-
-    @Override
-    public void setBatchSize(int batchSize)
-    {
-        this.batchSize = batchSize;
+        return new LongArrayBlock(getPositionCount(), getValueIsNull(), values);
     }
 
     @Override
     public void putLong(int rowId, long value)
     {
-        type.writeLong(builder, value);
+        values[append(1)] = value;
     }
 
     @Override
     public void putLongs(int rowId, int count, long value)
     {
-        for (int i = 0; i < count; i++) {
-            type.writeLong(builder, value);
-        }
+        int position = append(count);
+        Arrays.fill(values, position, position + count, value);
     }
 
     @Override
-    public void putNull(int rowId)
-    {
-        builder.appendNull();
-    }
-
-    @Override
-    public void reset()
+    public void putObject(int rowId, Object value)
     {
-        builder = type.createBlockBuilder(null, batchSize);
+        if (value == null) {
+            putNull(rowId);
+        }
+        else {
+            putLong(rowId, (long) value);
+        }
     }
 
     @Override
-    public void putNulls(int rowId, int count)
+    protected void newValues(int positions)
     {
-        for (int i = 0; i < count; i++) {
-            builder.appendNull();
-        }
+        values = new long[positions];
     }
 
     @Override
-    public void putObject(int rowId, Object value)
+    protected void growValues(int positions)
     {
-        if (value == null) {
-            putNull(rowId);
-        }
-        else {
-            putLong(rowId, (long) value);
-        }
+        values = Arrays.copyOf(values, positions);
     }
 }
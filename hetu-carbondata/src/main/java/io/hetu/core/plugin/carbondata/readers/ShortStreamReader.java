@@ -14,83 +14,64 @@
 package io.hetu.core.plugin.carbondata.readers;
 
 import io.prestosql.spi.block.Block;
-import io.prestosql.spi.block.BlockBuilder;
-import io.prestosql.spi.type.SmallintType;
-import io.prestosql.spi.type.Type;
+import io.prestosql.spi.block.ShortArrayBlock;
 import org.apache.carbondata.core.metadata.datatype.DataType;
-import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
 
+import java.util.Arrays;
+
+/**
+ * Reads smallint values into an array which is wrapped by the block, without going through a block builder.
+ */
 public class ShortStreamReader
-        extends CarbonColumnVectorImpl
-        implements HetuCoreVectorBlockBuilder
+        extends AbstractArrayStreamReader
 {
-    protected int batchSize;
-
-    protected Type type = SmallintType.SMALLINT;
-
-    protected BlockBuilder builder;
+    private short[] values;
 
     public ShortStreamReader(int batchSize, DataType dataType)
     {
         super(batchSize, dataType);
-        this.batchSize = batchSize;
-        this.builder = type.createBlockBuilder(null, batchSize);
+        this.values = new short[batchSize];
     }
 
     @Override
     public Block buildBlock()
     {
-        return builder.build();
-    }
-
-    @Override
-    public void setBatchSize(int batchSize)
-    {
-        this.batchSize = batchSize;
+        return new ShortArrayBlock(getPositionCount(), getValueIsNull(), values);
     }
 
     @Override
     public void putShort(int rowId, short value)
     {
-        type.writeLong(builder, value);
+        values[append(1)] = value;
     }
 
     @Override
     public void putShorts(int rowId, int count, short value)
     {
-        for (int i = 0; i < count; i++) {
-            type.writeLong(builder, value);
-        }
-    }
-
-    @Override
-    public void putNull(int rowId)
-    {
-        builder.appendNull();
+        int position = append(count);
+        Arrays.fill(values, position, position + count, value);
     }
 
     @Override
-    public void putNulls(int rowId, int count)
+    public void putObject(int rowId, Object value)
     {
-        for (int i = 0; i < count; i++) {
-            builder.appendNull();
+        if (value == null) {
+            putNull(rowId);
+        }
+        else {
+            putShort(rowId, (short) value);
         }
     }
 
     @Override
-    public void reset()
+    protected void newValues(int positions)
     {
-        builder = type.createBlockBuilder(null, batchSize);
+        values = new short[positions];
     }
 
     @Override
-    public void putObject(int rowId, Object value)
+    protected void growValues(int positions)
     {
-        if (value == null) {
-            putNull(rowId);
-        }
-        else {
-            putShort(rowId, (short) value);
-        }
+        values = Arrays.copyOf(values, positions);
     }
 }
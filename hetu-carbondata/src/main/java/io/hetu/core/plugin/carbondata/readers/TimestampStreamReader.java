@@ -14,83 +14,64 @@
 package io.hetu.core.plugin.carbondata.readers;
 
 import io.prestosql.spi.block.Block;
-import io.prestosql.spi.block.BlockBuilder;
-import io.prestosql.spi.type.TimestampType;
-import io.prestosql.spi.type.Type;
+import io.prestosql.spi.block.LongArrayBlock;
 import org.apache.carbondata.core.metadata.datatype.DataType;
-import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
 
+import java.util.Arrays;
+
+/**
+ * Reads timestamp values, converted from micro to milli seconds, into an array which is wrapped by the block.
+ */
 public class TimestampStreamReader
-        extends CarbonColumnVectorImpl
-        implements HetuCoreVectorBlockBuilder
+        extends AbstractArrayStreamReader
 {
-    protected int batchSize;
-
-    protected Type type = TimestampType.TIMESTAMP;
-
-    protected BlockBuilder builder;
+    private long[] values;
 
     public TimestampStreamReader(int batchSize, DataType dataType)
     {
         super(batchSize, dataType);
-        this.batchSize = batchSize;
-        this.builder = type.createBlockBuilder(null, batchSize);
+        this.values = new long[batchSize];
     }
 
     @Override
     public Block buildBlock()
     {
-        return builder.build();
-    }
-
-    @Override
-    public void setBatchSize(int batchSize)
-    {
-        this.batchSize = batchSize;
+        return new LongArrayBlock(getPositionCount(), getValueIsNull(), values);
     }
 
     @Override
     public void putLong(int rowId, long value)
     {
-        type.writeLong(builder, value / 1000);
+        values[append(1)] = value / 1000;
     }
 
     @Override
     public void putLongs(int rowId, int count, long value)
     {
-        for (int i = 0; i < count; i++) {
-            type.writeLong(builder, value / 1000);
-        }
-    }
-
-    @Override
-    public void putNull(int rowId)
-    {
-        builder.appendNull();
+        int position = append(count);
+        Arrays.fill(values, position, position + count, value / 1000);
     }
 
     @Override
-    public void putNulls(int rowId, int count)
+    public void putObject(int rowId, Object value)
     {
-        for (int i = 0; i < count; ++i) {
-            builder.appendNull();
+        if (value == null) {
+            putNull(rowId);
+        }
+        else {
+            putLong(rowId, (Long) value);
         }
     }
 
     @Override
-    public void reset()
+    protected void newValues(int positions)
     {
-        builder = type.createBlockBuilder(null, batchSize);
+        values = new long[positions];
     }
 
     @Override
-    public void putObject(int rowId, Object value)
+    protected void growValues(int positions)
     {
-        if (value == null) {
-            putNull(rowId);
-        }
-        else {
-            putLong(rowId, (Long) value);
-        }
+        values = Arrays.copyOf(values, positions);
     }
 }
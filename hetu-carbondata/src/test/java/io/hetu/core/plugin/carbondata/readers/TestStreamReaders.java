@@ -0,0 +1,104 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.carbondata.readers;
+
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.type.DecimalType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.Decimals.readBigDecimal;
+import static io.prestosql.spi.type.RealType.REAL;
+import static java.lang.Float.intBitsToFloat;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestStreamReaders
+{
+    @Test
+    public void testReuseAcrossBatches()
+    {
+        LongStreamReader reader = new LongStreamReader(4, DataTypes.LONG);
+        reader.putLong(0, 1);
+        reader.putNull(1);
+        // grows the value and null arrays past the batch size
+        reader.putLongs(2, 3, 7);
+        Block first = reader.buildBlock();
+
+        reader.reset();
+        reader.putLong(0, 10);
+        reader.putObject(1, 11L);
+        Block second = reader.buildBlock();
+
+        // the block of the previous batch is not overwritten by the next one
+        assertEquals(first.getPositionCount(), 5);
+        assertEquals(BIGINT.getLong(first, 0), 1);
+        assertTrue(first.isNull(1));
+        for (int position = 2; position < 5; position++) {
+            assertFalse(first.isNull(position));
+            assertEquals(BIGINT.getLong(first, position), 7);
+        }
+
+        // nulls of the previous batch are not carried over
+        assertEquals(second.getPositionCount(), 2);
+        assertFalse(second.mayHaveNull());
+        assertEquals(BIGINT.getLong(second, 0), 10);
+        assertEquals(BIGINT.getLong(second, 1), 11);
+    }
+
+    @Test
+    public void testFloatsFromSourceOffset()
+    {
+        FloatStreamReader reader = new FloatStreamReader(4, DataTypes.FLOAT);
+        reader.putNulls(0, 2);
+        reader.putFloats(2, 2, new float[] {1.0f, 2.0f, 3.0f, 4.0f}, 2);
+        Block block = reader.buildBlock();
+
+        assertEquals(block.getPositionCount(), 4);
+        assertTrue(block.isNull(0));
+        assertTrue(block.isNull(1));
+        assertEquals(intBitsToFloat((int) REAL.getLong(block, 2)), 3.0f);
+        assertEquals(intBitsToFloat((int) REAL.getLong(block, 3)), 4.0f);
+    }
+
+    @Test
+    public void testLongDecimals()
+    {
+        org.apache.carbondata.core.metadata.datatype.DecimalType dataType = DataTypes.createDecimalType(20, 2);
+        DecimalSliceStreamReader reader = new DecimalSliceStreamReader(2, dataType, dataType);
+        reader.putDecimal(0, new BigDecimal("123.456"), 20);
+        reader.putNull(1);
+        reader.putObject(2, new BigDecimal("-1.5"));
+        Block first = reader.buildBlock();
+
+        reader.reset();
+        reader.putDecimals(0, 2, new BigDecimal("99999999999999999.99"), 20);
+        Block second = reader.buildBlock();
+
+        DecimalType type = DecimalType.createDecimalType(20, 2);
+        assertEquals(first.getPositionCount(), 3);
+        assertEquals(readBigDecimal(type, first, 0), new BigDecimal("123.46"));
+        assertTrue(first.isNull(1));
+        assertEquals(readBigDecimal(type, first, 2), new BigDecimal("-1.50"));
+
+        assertEquals(second.getPositionCount(), 2);
+        assertFalse(second.mayHaveNull());
+        assertEquals(readBigDecimal(type, second, 0), new BigDecimal("99999999999999999.99"));
+        assertEquals(readBigDecimal(type, second, 1), new BigDecimal("99999999999999999.99"));
+    }
+}
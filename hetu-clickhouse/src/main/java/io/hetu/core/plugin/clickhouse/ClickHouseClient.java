@@ -39,6 +39,7 @@ import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.SuppressFBWarnings;
 import io.prestosql.spi.connector.ColumnHandle;
 import io.prestosql.spi.connector.ColumnMetadata;
+import io.prestosql.spi.connector.ConnectorPageSource;
 import io.prestosql.spi.connector.ConnectorSession;
 import io.prestosql.spi.connector.ConnectorTableMetadata;
 import io.prestosql.spi.connector.SchemaTableName;
@@ -51,6 +52,10 @@ import io.prestosql.spi.sql.QueryGenerator;
 import io.prestosql.spi.type.CharType;
 import io.prestosql.spi.type.DecimalType;
 import io.prestosql.spi.type.Type;
+import ru.yandex.clickhouse.ClickHouseConnection;
+import ru.yandex.clickhouse.ClickHousePreparedStatement;
+import ru.yandex.clickhouse.ClickHouseStatement;
+import ru.yandex.clickhouse.util.ClickHouseRowBinaryInputStream;
 
 import javax.inject.Inject;
 
@@ -69,6 +74,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.hetu.core.plugin.clickhouse.ClickHouseRowBinaryPageSource.getRowBinaryProjection;
 import static io.prestosql.plugin.jdbc.JdbcErrorCode.JDBC_ERROR;
 import static io.prestosql.plugin.jdbc.StandardColumnMappings.bigintColumnMapping;
 import static io.prestosql.plugin.jdbc.StandardColumnMappings.charWriteFunction;
@@ -457,6 +464,57 @@ public class ClickHouseClient
                 tryApplyLimit(table.getLimit()));
     }
 
+    /**
+     * Reads the split in the RowBinary format when every column has a RowBinary decoding, the query
+     * built for the JDBC read path is wrapped in a select which casts the columns to Nullable types.
+     */
+    @Override
+    public Optional<ConnectorPageSource> createPageSource(ConnectorSession session, JdbcSplit split, JdbcTableHandle table, List<JdbcColumnHandle> columns)
+    {
+        if (!clickHouseConfig.isRowBinaryReadEnabled() || columns.isEmpty()) {
+            return Optional.empty();
+        }
+        ImmutableList.Builder<String> projections = ImmutableList.builder();
+        for (JdbcColumnHandle column : columns) {
+            Optional<String> projection = getRowBinaryProjection(quoted(column.getColumnName()), column.getColumnType());
+            if (!projection.isPresent()) {
+                return Optional.empty();
+            }
+            projections.add(projection.get());
+        }
+
+        Connection connection = null;
+        try {
+            connection = getConnection(JdbcIdentity.from(session), split);
+            String sql;
+            try (PreparedStatement statement = buildSql(session, connection, split, table, columns)) {
+                sql = statement.unwrap(ClickHousePreparedStatement.class).asSql();
+            }
+            String rowBinarySql = format("SELECT %s FROM (%s)", join(", ", projections.build()), sql);
+            logger.debug("Executing: %s", rowBinarySql);
+            ClickHouseStatement statement = connection.unwrap(ClickHouseConnection.class).createStatement();
+            ClickHouseRowBinaryInputStream input = statement.executeQueryClickhouseRowBinaryStream(rowBinarySql);
+            List<Type> types = columns.stream()
+                    .map(JdbcColumnHandle::getColumnType)
+                    .collect(toImmutableList());
+            return Optional.of(new ClickHouseRowBinaryPageSource(types, input, connection));
+        }
+        catch (SQLException | RuntimeException e) {
+            if (connection != null) {
+                try {
+                    connection.close();
+                }
+                catch (SQLException closeException) {
+                    e.addSuppressed(closeException);
+                }
+            }
+            if (e instanceof PrestoException) {
+                throw (PrestoException) e;
+            }
+            throw new PrestoException(JDBC_ERROR, e);
+        }
+    }
+
     @Override
     public void finishInsertTable(JdbcIdentity identity, JdbcOutputTableHandle handle)
     {
@@ -30,6 +30,7 @@ public class ClickHouseConfig
     private String schemaPattern;
     private boolean isQueryPushDownEnabled = true;
     private String clickHouseSqlVersion = "DEFAULT";
+    private boolean isRowBinaryReadEnabled;
 
     public int getSocketTimeout()
     {
@@ -57,6 +58,19 @@ public class ClickHouseConfig
         return this.isQueryPushDownEnabled;
     }
 
+    @Config("clickhouse.rowbinary-read.enabled")
+    @ConfigDescription("Read query results in the RowBinary format instead of through the JDBC result set")
+    public ClickHouseConfig setRowBinaryReadEnabled(boolean isRowBinaryReadEnabled)
+    {
+        this.isRowBinaryReadEnabled = isRowBinaryReadEnabled;
+        return this;
+    }
+
+    public boolean isRowBinaryReadEnabled()
+    {
+        return this.isRowBinaryReadEnabled;
+    }
+
     public String getTableTypes()
     {
         return this.tableTypes;
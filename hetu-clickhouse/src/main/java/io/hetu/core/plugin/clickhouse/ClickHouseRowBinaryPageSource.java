@@ -0,0 +1,286 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.clickhouse;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.log.Logger;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.PageBuilder;
+import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.type.DecimalType;
+import io.prestosql.spi.type.Decimals;
+import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.VarcharType;
+import ru.yandex.clickhouse.util.ClickHouseRowBinaryInputStream;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static io.prestosql.plugin.jdbc.JdbcErrorCode.JDBC_ERROR;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.DateType.DATE;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static io.prestosql.spi.type.RealType.REAL;
+import static io.prestosql.spi.type.SmallintType.SMALLINT;
+import static io.prestosql.spi.type.TinyintType.TINYINT;
+import static io.prestosql.spi.type.Varchars.truncateToLength;
+import static java.lang.Float.floatToRawIntBits;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decodes a ClickHouse RowBinary result straight into blocks. Every column is read as a Nullable
+ * value of the type returned by {@link #getRowBinaryProjection}, so each row starts with the null
+ * flag of its first column and the end of the stream can only be reached on a row boundary.
+ */
+public class ClickHouseRowBinaryPageSource
+        implements ConnectorPageSource
+{
+    private static final Logger logger = Logger.get(ClickHouseRowBinaryPageSource.class);
+
+    private static final int MAX_DECIMAL32_PRECISION = 9;
+    private static final int MAX_DECIMAL64_PRECISION = 18;
+
+    private final List<Type> types;
+    private final ClickHouseRowBinaryInputStream input;
+    private final AutoCloseable connection;
+    private final PageBuilder pageBuilder;
+
+    private byte[] buffer = new byte[64];
+    private long completedBytes;
+    private long completedPositions;
+    private long readTimeNanos;
+    private boolean finished;
+    private boolean closed;
+
+    public ClickHouseRowBinaryPageSource(List<Type> types, ClickHouseRowBinaryInputStream input, AutoCloseable connection)
+    {
+        this.types = ImmutableList.copyOf(requireNonNull(types, "types is null"));
+        this.input = requireNonNull(input, "input is null");
+        this.connection = requireNonNull(connection, "connection is null");
+        this.pageBuilder = new PageBuilder(this.types);
+    }
+
+    /**
+     * Returns the select item which casts the column to the Nullable ClickHouse type this page source
+     * decodes for the given type, or empty if the type can only be read through JDBC.
+     */
+    public static Optional<String> getRowBinaryProjection(String quotedColumn, Type type)
+    {
+        if (type.equals(TINYINT)) {
+            return Optional.of(format("CAST(%s AS Nullable(Int8))", quotedColumn));
+        }
+        if (type.equals(SMALLINT)) {
+            return Optional.of(format("CAST(%s AS Nullable(Int16))", quotedColumn));
+        }
+        if (type.equals(INTEGER)) {
+            return Optional.of(format("CAST(%s AS Nullable(Int32))", quotedColumn));
+        }
+        if (type.equals(BIGINT)) {
+            return Optional.of(format("CAST(%s AS Nullable(Int64))", quotedColumn));
+        }
+        if (type.equals(REAL)) {
+            return Optional.of(format("CAST(%s AS Nullable(Float32))", quotedColumn));
+        }
+        if (type.equals(DOUBLE)) {
+            return Optional.of(format("CAST(%s AS Nullable(Float64))", quotedColumn));
+        }
+        if (type.equals(DATE)) {
+            // a Date converted to a number is the day number since the epoch
+            return Optional.of(format("CAST(toInt32(%s) AS Nullable(Int32))", quotedColumn));
+        }
+        if (type instanceof VarcharType) {
+            return Optional.of(format("CAST(%s AS Nullable(String))", quotedColumn));
+        }
+        if (type instanceof DecimalType) {
+            DecimalType decimalType = (DecimalType) type;
+            return Optional.of(format("CAST(%s AS Nullable(Decimal(%s, %s)))", quotedColumn, decimalType.getPrecision(), decimalType.getScale()));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return completedBytes;
+    }
+
+    @Override
+    public OptionalLong getCompletedPositions()
+    {
+        return OptionalLong.of(completedPositions);
+    }
+
+    @Override
+    public long getReadTimeNanos()
+    {
+        return readTimeNanos;
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return finished;
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return pageBuilder.getSizeInBytes() + buffer.length;
+    }
+
+    @Override
+    public Page getNextPage()
+    {
+        if (finished) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        try {
+            while (!pageBuilder.isFull()) {
+                int firstNullFlag = input.readByte();
+                if (firstNullFlag == -1) {
+                    finished = true;
+                    break;
+                }
+                pageBuilder.declarePosition();
+                for (int channel = 0; channel < types.size(); channel++) {
+                    boolean isNull = channel == 0 ? readNullFlag(firstNullFlag) : input.readIsNull();
+                    BlockBuilder output = pageBuilder.getBlockBuilder(channel);
+                    if (isNull) {
+                        output.appendNull();
+                    }
+                    else {
+                        readValue(types.get(channel), output);
+                    }
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new PrestoException(JDBC_ERROR, "Failed to read ClickHouse RowBinary result", e);
+        }
+        finally {
+            readTimeNanos += System.nanoTime() - start;
+        }
+
+        if (pageBuilder.isEmpty()) {
+            return null;
+        }
+        Page page = pageBuilder.build();
+        pageBuilder.reset();
+        completedPositions += page.getPositionCount();
+        completedBytes += page.getSizeInBytes();
+        return page;
+    }
+
+    private static boolean readNullFlag(int nullFlag)
+    {
+        if (nullFlag != 0 && nullFlag != 1) {
+            throw new PrestoException(JDBC_ERROR, "Invalid null flag in ClickHouse RowBinary result: " + nullFlag);
+        }
+        return nullFlag == 1;
+    }
+
+    private void readValue(Type type, BlockBuilder output)
+            throws IOException
+    {
+        if (type.equals(TINYINT)) {
+            type.writeLong(output, input.readInt8());
+        }
+        else if (type.equals(SMALLINT)) {
+            type.writeLong(output, input.readInt16());
+        }
+        else if (type.equals(INTEGER) || type.equals(DATE)) {
+            type.writeLong(output, input.readInt32());
+        }
+        else if (type.equals(BIGINT)) {
+            type.writeLong(output, input.readInt64());
+        }
+        else if (type.equals(REAL)) {
+            type.writeLong(output, floatToRawIntBits(input.readFloat32()));
+        }
+        else if (type.equals(DOUBLE)) {
+            type.writeDouble(output, input.readFloat64());
+        }
+        else if (type instanceof VarcharType) {
+            type.writeSlice(output, truncateToLength(readString(), type));
+        }
+        else if (type instanceof DecimalType) {
+            DecimalType decimalType = (DecimalType) type;
+            BigDecimal value = readDecimal(decimalType);
+            if (decimalType.isShort()) {
+                type.writeLong(output, value.unscaledValue().longValueExact());
+            }
+            else {
+                type.writeSlice(output, Decimals.encodeUnscaledValue(value.unscaledValue()));
+            }
+        }
+        else {
+            throw new PrestoException(JDBC_ERROR, "Unsupported type for ClickHouse RowBinary result: " + type);
+        }
+    }
+
+    /**
+     * Strings are copied into a reused buffer rather than decoded into {@link String} objects,
+     * the block builder keeps its own copy of the bytes.
+     */
+    private Slice readString()
+            throws IOException
+    {
+        int length = input.readUnsignedLeb128();
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+        input.readBytes(buffer, 0, length);
+        return Slices.wrappedBuffer(buffer, 0, length);
+    }
+
+    private BigDecimal readDecimal(DecimalType type)
+            throws IOException
+    {
+        if (type.getPrecision() <= MAX_DECIMAL32_PRECISION) {
+            return input.readDecimal32(type.getScale());
+        }
+        if (type.getPrecision() <= MAX_DECIMAL64_PRECISION) {
+            return input.readDecimal64(type.getScale());
+        }
+        return input.readDecimal128(type.getScale());
+    }
+
+    @Override
+    public void close()
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // closing the stream before it is drained aborts the HTTP response instead of reading it to the end
+        try (AutoCloseable ignored = connection) {
+            input.close();
+        }
+        catch (Exception e) {
+            logger.warn(e, "Failed to close ClickHouse RowBinary result");
+        }
+    }
+}
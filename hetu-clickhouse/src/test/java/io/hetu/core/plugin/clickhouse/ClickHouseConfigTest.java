@@ -45,13 +45,15 @@ public class ClickHouseConfigTest
                 .put("clickhouse.schema-pattern", schemaPattern)
                 .put("clickhouse.query.pushdown.enabled", "false")
                 .put("clickhouse.socket_timeout", "100")
+                .put("clickhouse.rowbinary-read.enabled", "true")
                 .build();
 
         ClickHouseConfig expected = new ClickHouseConfig()
                 .setTableTypes(tableTypes)
                 .setSchemaPattern(schemaPattern)
                 .setQueryPushDownEnabled(false)
-                .setSocketTimeout(100);
+                .setSocketTimeout(100)
+                .setRowBinaryReadEnabled(true);
         assertFullMapping(properties, expected);
     }
 
@@ -71,5 +73,7 @@ public class ClickHouseConfigTest
 
         boolean isQueryPushDown = config.isQueryPushDownEnabled();
         assertEquals(isQueryPushDown, true);
+
+        assertEquals(config.isRowBinaryReadEnabled(), false);
     }
 }
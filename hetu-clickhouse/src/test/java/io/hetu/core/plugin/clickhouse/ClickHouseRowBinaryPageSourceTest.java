@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.clickhouse;
+
+import com.google.common.collect.ImmutableList;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.type.DecimalType;
+import io.prestosql.spi.type.Type;
+import org.testng.annotations.Test;
+import ru.yandex.clickhouse.settings.ClickHouseProperties;
+import ru.yandex.clickhouse.util.ClickHouseRowBinaryInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Optional;
+import java.util.TimeZone;
+
+import static io.hetu.core.plugin.clickhouse.ClickHouseRowBinaryPageSource.getRowBinaryProjection;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.BooleanType.BOOLEAN;
+import static io.prestosql.spi.type.DateType.DATE;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.TimestampType.TIMESTAMP;
+import static io.prestosql.spi.type.VarcharType.createUnboundedVarcharType;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * This is testing the RowBinary decoding of ClickHouseRowBinaryPageSource
+ */
+public class ClickHouseRowBinaryPageSourceTest
+{
+    private static final DecimalType DECIMAL_TYPE = DecimalType.createDecimalType(10, 2);
+
+    /**
+     * This is testing the projections casting columns to Nullable types
+     */
+    @Test
+    public void testRowBinaryProjection()
+    {
+        assertEquals(getRowBinaryProjection("\"id\"", BIGINT), Optional.of("CAST(\"id\" AS Nullable(Int64))"));
+        assertEquals(getRowBinaryProjection("\"day\"", DATE), Optional.of("CAST(toInt32(\"day\") AS Nullable(Int32))"));
+        assertEquals(getRowBinaryProjection("\"price\"", DECIMAL_TYPE), Optional.of("CAST(\"price\" AS Nullable(Decimal(10, 2)))"));
+        assertEquals(getRowBinaryProjection("\"flag\"", BOOLEAN), Optional.empty());
+        assertEquals(getRowBinaryProjection("\"time\"", TIMESTAMP), Optional.empty());
+    }
+
+    /**
+     * This is testing decoding rows with null and non null values
+     */
+    @Test
+    public void testDecode()
+            throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        // row 1: 42, 'abc', 1.5, 18262, 123.45
+        buffer.put((byte) 0).putLong(42);
+        buffer.put((byte) 0).put((byte) 3).put("abc".getBytes(UTF_8));
+        buffer.put((byte) 0).putDouble(1.5);
+        buffer.put((byte) 0).putInt(18262);
+        buffer.put((byte) 0).putLong(12345);
+        // row 2: null in every column
+        for (int i = 0; i < 5; i++) {
+            buffer.put((byte) 1);
+        }
+
+        List<Type> types = ImmutableList.of(BIGINT, createUnboundedVarcharType(), DOUBLE, DATE, DECIMAL_TYPE);
+        ClickHouseRowBinaryPageSource pageSource = new ClickHouseRowBinaryPageSource(
+                types,
+                new ClickHouseRowBinaryInputStream(new ByteArrayInputStream(buffer.array(), 0, buffer.position()), TimeZone.getTimeZone("UTC"), new ClickHouseProperties()),
+                () -> {});
+
+        Page page = pageSource.getNextPage();
+        assertEquals(page.getPositionCount(), 2);
+        assertTrue(pageSource.isFinished());
+        assertNull(pageSource.getNextPage());
+
+        assertEquals(BIGINT.getLong(page.getBlock(0), 0), 42L);
+        assertEquals(createUnboundedVarcharType().getSlice(page.getBlock(1), 0).toStringUtf8(), "abc");
+        assertEquals(DOUBLE.getDouble(page.getBlock(2), 0), 1.5);
+        assertEquals(DATE.getLong(page.getBlock(3), 0), 18262L);
+        assertEquals(DECIMAL_TYPE.getLong(page.getBlock(4), 0), 12345L);
+        for (int channel = 0; channel < types.size(); channel++) {
+            Block block = page.getBlock(channel);
+            assertTrue(block.isNull(1));
+        }
+        pageSource.close();
+    }
+}
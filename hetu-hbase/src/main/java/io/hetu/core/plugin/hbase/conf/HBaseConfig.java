@@ -15,6 +15,7 @@
 package io.hetu.core.plugin.hbase.conf;
 
 import io.airlift.configuration.Config;
+import io.hetu.core.plugin.hbase.utils.Constants;
 import io.prestosql.spi.function.Mandatory;
 
 /**
@@ -42,6 +43,10 @@ public class HBaseConfig
     private String principalUsername; // principal username
     private String kerberos;
     private boolean isClientSideEnable; // use client side mode
+    private boolean isColumnarScanEnable = true; // build pages column by column from the scanned cells
+    private int scanParallelism = 4; // number of key sub-ranges scanned concurrently for a split
+    private int scanCachingSize = Constants.SCAN_CACHING_SIZE; // rows fetched by each scanner rpc
+    private boolean isIndexLookupEnable = true; // turn predicates on indexed columns into batch gets
 
     public int getRetryNumber()
     {
@@ -254,4 +259,48 @@ public class HBaseConfig
     {
         this.retryCreateSnapshotNumber = retryCreateSnapshotNumber;
     }
+
+    public boolean isColumnarScanEnable()
+    {
+        return isColumnarScanEnable;
+    }
+
+    @Config("hbase.scan.columnar.enable")
+    public void setColumnarScanEnable(boolean isColumnarScanEnable)
+    {
+        this.isColumnarScanEnable = isColumnarScanEnable;
+    }
+
+    public int getScanParallelism()
+    {
+        return scanParallelism;
+    }
+
+    @Config("hbase.scan.parallelism")
+    public void setScanParallelism(int scanParallelism)
+    {
+        this.scanParallelism = scanParallelism;
+    }
+
+    public int getScanCachingSize()
+    {
+        return scanCachingSize;
+    }
+
+    @Config("hbase.scan.caching.size")
+    public void setScanCachingSize(int scanCachingSize)
+    {
+        this.scanCachingSize = scanCachingSize;
+    }
+
+    public boolean isIndexLookupEnable()
+    {
+        return isIndexLookupEnable;
+    }
+
+    @Config("hbase.index.lookup.enable")
+    public void setIndexLookupEnable(boolean isIndexLookupEnable)
+    {
+        this.isIndexLookupEnable = isIndexLookupEnable;
+    }
 }
@@ -665,6 +665,10 @@ public class HBaseConnection
             }
         }
 
+        if (table.isIndexed()) {
+            htd.setValue(Constants.INDEX_TABLE_DESCRIPTOR_KEY, Utils.getIndexTableName(table.getHbaseTableName().get()));
+        }
+
         List<StartAndEndKey> allRanges = Arrays.stream(table.getSplitByChar().get().split(","))
                 .map(StartAndEndKey::new).collect(Collectors.toList());
         int rangeLength = 0;
@@ -673,18 +677,52 @@ public class HBaseConnection
         }
         if (rangeLength > Constants.START_END_KEYS_COUNT) {
             this.getHbaseAdmin().createTable(htd);
-            return;
         }
+        else {
+            List<byte[]> splitKeys = new ArrayList<>();
+            allRanges.forEach(range -> {
+                for (char index = range.getStart(); index <= range.getEnd(); index += 1) {
+                    splitKeys.add(String.valueOf(index).getBytes(UTF_8));
+                }
+            });
 
-        List<byte[]> splitKeys = new ArrayList<>();
-        allRanges.forEach(range -> {
-            for (char index = range.getStart(); index <= range.getEnd(); index += 1) {
-                splitKeys.add(String.valueOf(index).getBytes(UTF_8));
-            }
-        });
+            // create table
+            this.getHbaseAdmin().createTable(htd, splitKeys.toArray(new byte[][] {new byte[] {0}}));
+        }
+
+        if (table.isIndexed()) {
+            createIndexTable(table);
+        }
+    }
+
+    /**
+     * create the HBase table holding the secondary index of the indexed columns, see Utils.getIndexRowKeyPrefix
+     *
+     * @param table table
+     * @throws IOException IOException
+     */
+    protected void createIndexTable(HBaseTable table)
+            throws IOException
+    {
+        TableName indexTableName = TableName.valueOf(Utils.getIndexTableName(table.getHbaseTableName().get()));
+        HTableDescriptor htd = new HTableDescriptor(indexTableName);
+        htd.addFamily(new HColumnDescriptor(Constants.INDEX_FAMILY));
+        this.getHbaseAdmin().createTable(htd);
+    }
 
-        // create table
-        this.getHbaseAdmin().createTable(htd, splitKeys.toArray(new byte[][] {new byte[] {0}}));
+    /**
+     * Whether the HBase table has an index table. Tables created with indexed columns before index tables were
+     * maintained do not have one, so their rows are neither indexed nor looked up in an index.
+     *
+     * @param hbaseTableName hbaseTableName
+     * @return true if the index table was created together with the table
+     * @throws IOException IOException
+     */
+    public boolean hasIndexTable(String hbaseTableName)
+            throws IOException
+    {
+        HTableDescriptor htd = this.getHbaseAdmin().getTableDescriptor(TableName.valueOf(hbaseTableName));
+        return htd != null && htd.getValue(Constants.INDEX_TABLE_DESCRIPTOR_KEY) != null;
     }
 
     /**
@@ -724,6 +762,9 @@ public class HBaseConnection
                 // if table is not external, drop hbase table
                 if (!table.isExternal()) {
                     deleteTableIgnoreExistOrNot(table.getHbaseTableName().get());
+                    if (table.isIndexed()) {
+                        deleteTableIgnoreExistOrNot(Utils.getIndexTableName(table.getHbaseTableName().get()));
+                    }
                 }
 
                 hbaseMetastore.dropHBaseTable(table);
@@ -127,15 +127,17 @@ public class HBaseGetRecordCursor
     public boolean advanceNextPosition()
     {
         try {
+            // rowKeys that do not exist, e.g. from stale index entries, have empty results and are skipped
+            while (this.currentRecordIndex < this.results.length && this.results[this.currentRecordIndex].getRow() == null) {
+                this.currentRecordIndex++;
+            }
             if (this.currentRecordIndex >= this.results.length) {
                 return false;
             }
             else {
                 Result record = this.results[this.currentRecordIndex];
                 serializer.reset();
-                if (record.getRow() != null) {
-                    serializer.deserialize(record, this.defaultValue);
-                }
+                serializer.deserialize(record, this.defaultValue);
                 this.currentRecordIndex++;
                 return true;
             }
@@ -22,22 +22,27 @@ import io.hetu.core.plugin.hbase.connector.HBaseConnection;
 import io.hetu.core.plugin.hbase.connector.HBaseTableHandle;
 import io.hetu.core.plugin.hbase.utils.Constants;
 import io.hetu.core.plugin.hbase.utils.HBaseErrorCode;
+import io.hetu.core.plugin.hbase.utils.Utils;
 import io.hetu.core.plugin.hbase.utils.serializers.HBaseRowSerializer;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.connector.ConnectorPageSink;
 import io.prestosql.spi.type.Type;
 import io.prestosql.spi.type.TypeUtils;
+import org.apache.hadoop.hbase.HConstants;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static io.prestosql.spi.StandardErrorCode.INVALID_FUNCTION_ARGUMENT;
 import static io.prestosql.spi.StandardErrorCode.QUERY_REJECTED;
@@ -55,6 +60,8 @@ public class HBasePageSink
 {
     private static final Logger LOG = Logger.get(HBasePageSink.class);
 
+    private static final byte[] INDEX_FAMILY_BYTES = Constants.INDEX_FAMILY.getBytes(UTF_8);
+
     private final HBaseRowSerializer serializer;
 
     private final HBaseConnection hbaseConn;
@@ -65,6 +72,8 @@ public class HBasePageSink
 
     private final int rowIdOrdinal;
 
+    private final List<Integer> indexedChannels;
+
     /**
      * constructor
      *
@@ -80,6 +89,24 @@ public class HBasePageSink
         this.serializer = HBaseRowSerializer.getSerializerInstance(table.getSerializerClassName());
         this.tablename = table.getHbaseTableName().get();
         this.rowIdOrdinal = table.getRowIdOrdinal();
+        // the index table is only created for tables that are not external
+        List<Integer> indexed = table.isExternal() ? ImmutableList.of() : IntStream.range(0, columns.size())
+                .filter(channel -> channel != rowIdOrdinal && columns.get(channel).isIndexed())
+                .boxed()
+                .collect(toImmutableList());
+        this.indexedChannels = indexed.isEmpty() || hasIndexTable() ? indexed : ImmutableList.of();
+    }
+
+    private boolean hasIndexTable()
+    {
+        try {
+            return hbaseConn.hasIndexTable(tablename);
+        }
+        catch (IOException e) {
+            // rows written without their index entries would be missed by index lookups
+            LOG.error("hasIndexTable failed... cause by %s", e.getMessage());
+            throw new PrestoException(HBaseErrorCode.UNEXPECTED_HBASE_ERROR, "Insert into table error", e);
+        }
     }
 
     @Override
@@ -87,18 +114,25 @@ public class HBasePageSink
     {
         // For each position within the page
         List<Put> puts = new ArrayList<>();
+        List<Put> indexPuts = new ArrayList<>();
 
-        try (Table table = hbaseConn.getConn().getTable(TableName.valueOf(tablename))) {
+        try (Table table = hbaseConn.getConn().getTable(TableName.valueOf(tablename));
+                Table indexTable = indexedChannels.isEmpty() ? null
+                        : hbaseConn.getConn().getTable(TableName.valueOf(Utils.getIndexTableName(tablename)))) {
             for (int position = 0; position < page.getPositionCount(); ++position) {
                 // Convert Page to a Put, writing and indexing it
                 Put put = pageToPut(page, position);
                 puts.add(put);
+                addIndexPuts(page, position, put.getRow(), indexPuts);
                 if (puts.size() >= Constants.PUT_BATCH_SIZE) {
+                    // the index is written first, so an entry may point to a missing row but never the other way round
+                    putIndex(indexTable, indexPuts);
                     table.put(puts);
                     puts.clear();
                 }
             }
             if (!puts.isEmpty()) {
+                putIndex(indexTable, indexPuts);
                 table.put(puts);
             }
         }
@@ -160,6 +194,29 @@ public class HBasePageSink
         return put;
     }
 
+    private void addIndexPuts(Page page, int position, byte[] rowIdByte, List<Put> indexPuts)
+    {
+        for (int channel : indexedChannels) {
+            HBaseColumnHandle column = columns.get(channel);
+            Object value = TypeUtils.readNativeValue(column.getType(), page.getBlock(channel), position);
+            if (value != null) {
+                byte[] prefix = Utils.getIndexRowKeyPrefix(column.getName(), this.serializer.setObjectBytes(column.getType(), value));
+                Put indexPut = new Put(Bytes.add(prefix, rowIdByte));
+                indexPut.addColumn(INDEX_FAMILY_BYTES, HConstants.EMPTY_BYTE_ARRAY, HConstants.EMPTY_BYTE_ARRAY);
+                indexPuts.add(indexPut);
+            }
+        }
+    }
+
+    private static void putIndex(Table indexTable, List<Put> indexPuts)
+            throws IOException
+    {
+        if (indexTable != null && !indexPuts.isEmpty()) {
+            indexTable.put(indexPuts);
+            indexPuts.clear();
+        }
+    }
+
     @Override
     public CompletableFuture<Collection<Slice>> finish()
     {
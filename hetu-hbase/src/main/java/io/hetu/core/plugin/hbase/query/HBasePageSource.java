@@ -0,0 +1,430 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.hbase.query;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.log.Logger;
+import io.airlift.slice.Slices;
+import io.hetu.core.plugin.hbase.connector.HBaseColumnHandle;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.VarcharType;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.ClientSideRegionScanner;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.hetu.core.plugin.hbase.utils.HBaseErrorCode.UNEXPECTED_HBASE_ERROR;
+import static io.prestosql.spi.StandardErrorCode.NOT_SUPPORTED;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.BooleanType.BOOLEAN;
+import static io.prestosql.spi.type.DateType.DATE;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static io.prestosql.spi.type.SmallintType.SMALLINT;
+import static io.prestosql.spi.type.TimeType.TIME;
+import static io.prestosql.spi.type.TimestampType.TIMESTAMP;
+import static io.prestosql.spi.type.TinyintType.TINYINT;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * HBasePageSource reads the rows of a split with one scanner per key sub-range. Every scanner runs on its own
+ * thread, which fetches batches of results and decodes them column by column into pages, so the next batch of
+ * each sub-range is already being fetched and decoded while the engine processes the current page.
+ * Values are decoded the same way as the StringRowSerializer does.
+ *
+ * @since 2021-06-01
+ */
+public class HBasePageSource
+        implements ConnectorPageSource
+{
+    private static final Logger LOG = Logger.get(HBasePageSource.class);
+
+    private static final int MAX_PAGE_POSITIONS = 1024;
+
+    private static final byte[] NULL_VALUE = "NULL".getBytes(UTF_8);
+
+    private final List<HBaseColumnHandle> columnHandles;
+
+    private final boolean[] isRowId;
+
+    private final byte[][] families;
+
+    private final byte[][] qualifiers;
+
+    private final byte[] defaultValue;
+
+    private final Queue<Page> pages = new ConcurrentLinkedQueue<>();
+
+    // the scanner threads wait while this many pages are queued
+    private final int maxQueuedPages;
+
+    private final List<Future<?>> scanFutures = new ArrayList<>();
+
+    private final AtomicInteger runningScans = new AtomicInteger();
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private final AtomicLong queuedBytes = new AtomicLong();
+
+    private final AtomicLong readTimeNanos = new AtomicLong();
+
+    private long completedBytes;
+
+    private long completedPositions;
+
+    private CompletableFuture<?> blocked;
+
+    private volatile boolean closed;
+
+    /**
+     * constructor
+     *
+     * @param columnHandles columnHandles
+     * @param rowIdName rowIdName
+     * @param defaultValue value of the columns without a cell
+     * @param scanners one scanner for every key sub-range of the split
+     * @param executor executor running the scanners
+     */
+    public HBasePageSource(
+            List<HBaseColumnHandle> columnHandles,
+            String rowIdName,
+            String defaultValue,
+            List<ResultScanner> scanners,
+            ExecutorService executor)
+    {
+        this.columnHandles = ImmutableList.copyOf(requireNonNull(columnHandles, "columnHandles is null"));
+        this.defaultValue = defaultValue == null ? null : defaultValue.getBytes(UTF_8);
+        this.isRowId = new boolean[columnHandles.size()];
+        this.families = new byte[columnHandles.size()][];
+        this.qualifiers = new byte[columnHandles.size()][];
+        for (int channel = 0; channel < columnHandles.size(); channel++) {
+            HBaseColumnHandle columnHandle = columnHandles.get(channel);
+            isRowId[channel] = columnHandle.getName().equals(rowIdName);
+            if (!isRowId[channel]) {
+                families[channel] = columnHandle.getFamily().get().getBytes(UTF_8);
+                qualifiers[channel] = columnHandle.getQualifier().get().getBytes(UTF_8);
+            }
+        }
+        this.maxQueuedPages = 2 * scanners.size();
+
+        runningScans.set(scanners.size());
+        for (ResultScanner scanner : scanners) {
+            try {
+                scanFutures.add(executor.submit(() -> scan(scanner)));
+            }
+            catch (RejectedExecutionException e) {
+                closeScanner(scanner);
+                failure.compareAndSet(null, e);
+                runningScans.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return completedBytes;
+    }
+
+    @Override
+    public OptionalLong getCompletedPositions()
+    {
+        return OptionalLong.of(completedPositions);
+    }
+
+    @Override
+    public long getReadTimeNanos()
+    {
+        return readTimeNanos.get();
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return closed || (runningScans.get() == 0 && pages.isEmpty() && failure.get() == null);
+    }
+
+    @Override
+    public Page getNextPage()
+    {
+        Throwable throwable = failure.get();
+        if (throwable != null) {
+            throw new PrestoException(UNEXPECTED_HBASE_ERROR, "HBase scan failed: " + throwable.getMessage(), throwable);
+        }
+
+        Page page = pages.poll();
+        if (page == null) {
+            return null;
+        }
+        synchronized (this) {
+            queuedBytes.addAndGet(-page.getSizeInBytes());
+            notifyAll();
+        }
+        completedBytes += page.getSizeInBytes();
+        completedPositions += page.getPositionCount();
+        return page;
+    }
+
+    @Override
+    public synchronized CompletableFuture<?> isBlocked()
+    {
+        if (!pages.isEmpty() || runningScans.get() == 0 || failure.get() != null || closed) {
+            return NOT_BLOCKED;
+        }
+        if (blocked == null || blocked.isDone()) {
+            blocked = new CompletableFuture<>();
+        }
+        return blocked;
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return queuedBytes.get();
+    }
+
+    @Override
+    public void close()
+    {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        // the scanners are closed by their threads
+        scanFutures.forEach(future -> future.cancel(true));
+        pages.clear();
+        queuedBytes.set(0);
+        unblock();
+    }
+
+    private void scan(ResultScanner scanner)
+    {
+        try {
+            while (!closed) {
+                long start = System.nanoTime();
+                Result[] results = scanner.next(MAX_PAGE_POSITIONS);
+                readTimeNanos.addAndGet(System.nanoTime() - start);
+                if (results == null || results.length == 0) {
+                    break;
+                }
+                enqueue(buildPage(results));
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (IOException | RuntimeException e) {
+            if (!closed) {
+                LOG.error("HBasePageSource : scan failed... cause by %s", e.getMessage());
+                failure.compareAndSet(null, e);
+            }
+        }
+        finally {
+            closeScanner(scanner);
+            runningScans.decrementAndGet();
+            unblock();
+        }
+    }
+
+    private void enqueue(Page page)
+            throws InterruptedException
+    {
+        synchronized (this) {
+            while (pages.size() >= maxQueuedPages && !closed) {
+                wait();
+            }
+            if (closed) {
+                return;
+            }
+            queuedBytes.addAndGet(page.getSizeInBytes());
+            pages.add(page);
+        }
+        unblock();
+    }
+
+    private synchronized void unblock()
+    {
+        if (blocked != null) {
+            blocked.complete(null);
+        }
+    }
+
+    private static void closeScanner(ResultScanner scanner)
+    {
+        // a client side region scanner is closed when the snapshot is released
+        if (!(scanner instanceof ClientSideRegionScanner)) {
+            scanner.close();
+        }
+    }
+
+    /**
+     * Decodes the results column by column, the values of a column are appended to its block builder
+     * straight from the cell arrays without building intermediate strings for every row.
+     *
+     * @param results results
+     * @return page
+     */
+    Page buildPage(Result[] results)
+    {
+        Block[] blocks = new Block[columnHandles.size()];
+        for (int channel = 0; channel < blocks.length; channel++) {
+            Type type = columnHandles.get(channel).getType();
+            BlockBuilder builder = type.createBlockBuilder(null, results.length);
+            for (Result result : results) {
+                if (isRowId[channel]) {
+                    byte[] row = result.getRow();
+                    appendValue(type, builder, row, 0, row.length);
+                    continue;
+                }
+                Cell cell = result.getColumnLatestCell(families[channel], qualifiers[channel]);
+                if (cell != null) {
+                    appendValue(type, builder, cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
+                }
+                else if (defaultValue != null) {
+                    appendValue(type, builder, defaultValue, 0, defaultValue.length);
+                }
+                else {
+                    builder.appendNull();
+                }
+            }
+            blocks[channel] = builder.build();
+        }
+        return new Page(results.length, blocks);
+    }
+
+    private static void appendValue(Type type, BlockBuilder builder, byte[] bytes, int offset, int length)
+    {
+        if (isNullValue(bytes, offset, length)) {
+            builder.appendNull();
+        }
+        else if (type instanceof VarcharType) {
+            type.writeSlice(builder, Slices.wrappedBuffer(bytes, offset, length));
+        }
+        else if (type.equals(BIGINT) || type.equals(DATE) || type.equals(TIME) || type.equals(TIMESTAMP)) {
+            type.writeLong(builder, parseLong(bytes, offset, length));
+        }
+        else if (type.equals(INTEGER)) {
+            type.writeLong(builder, parseLong(bytes, offset, length, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        }
+        else if (type.equals(SMALLINT)) {
+            type.writeLong(builder, parseLong(bytes, offset, length, Short.MIN_VALUE, Short.MAX_VALUE));
+        }
+        else if (type.equals(TINYINT)) {
+            type.writeLong(builder, parseLong(bytes, offset, length, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        }
+        else if (type.equals(DOUBLE)) {
+            type.writeDouble(builder, Double.parseDouble(new String(bytes, offset, length, UTF_8)));
+        }
+        else if (type.equals(BOOLEAN)) {
+            type.writeBoolean(builder, Boolean.parseBoolean(new String(bytes, offset, length, UTF_8)));
+        }
+        else {
+            LOG.error("decode: HBasePageSource does not support decoding type %s", type);
+            throw new PrestoException(NOT_SUPPORTED, "HBasePageSource does not support decoding type " + type);
+        }
+    }
+
+    /**
+     * Whether values of the type can be decoded by the page source.
+     *
+     * @param type type
+     * @return true/false
+     */
+    public static boolean isSupportedType(Type type)
+    {
+        return type instanceof VarcharType
+                || type.equals(BIGINT)
+                || type.equals(DATE)
+                || type.equals(TIME)
+                || type.equals(TIMESTAMP)
+                || type.equals(INTEGER)
+                || type.equals(SMALLINT)
+                || type.equals(TINYINT)
+                || type.equals(DOUBLE)
+                || type.equals(BOOLEAN);
+    }
+
+    private static boolean isNullValue(byte[] bytes, int offset, int length)
+    {
+        if (length != NULL_VALUE.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (bytes[offset + i] != NULL_VALUE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseLong(byte[] bytes, int offset, int length, long min, long max)
+    {
+        long value = parseLong(bytes, offset, length);
+        if (value < min || value > max) {
+            throw new NumberFormatException("Value out of range. Value:\"" + new String(bytes, offset, length, UTF_8) + "\"");
+        }
+        return value;
+    }
+
+    /**
+     * Parses decimal digits with an optional sign without creating a string, other input falls back to Long.parseLong.
+     */
+    private static long parseLong(byte[] bytes, int offset, int length)
+    {
+        int position = offset;
+        int end = offset + length;
+        boolean negative = false;
+        if (length > 0 && (bytes[position] == '-' || bytes[position] == '+')) {
+            negative = bytes[position] == '-';
+            position++;
+        }
+        // up to 18 digits can not overflow
+        if (position == end || end - position > 18) {
+            return Long.parseLong(new String(bytes, offset, length, UTF_8));
+        }
+        long value = 0;
+        for (; position < end; position++) {
+            int digit = bytes[position] - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.parseLong(new String(bytes, offset, length, UTF_8));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+}
@@ -28,12 +28,17 @@ import io.prestosql.spi.connector.ConnectorTransactionHandle;
 import io.prestosql.spi.connector.RecordPageSource;
 import io.prestosql.spi.connector.RecordSet;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 
 /**
  * HBasePageSourceProvider
@@ -45,6 +50,7 @@ public class HBasePageSourceProvider
 {
     private HBaseRecordSetProvider recordSetProvider;
     private HBaseConnection hbaseConnection;
+    private final ExecutorService scanExecutor = newCachedThreadPool(daemonThreadsNamed("hbase-scan-%s"));
 
     @Inject
     public HBasePageSourceProvider(HBaseRecordSetProvider recordSetProvider, HBaseConnection hbaseConnection)
@@ -95,8 +101,22 @@ public class HBasePageSourceProvider
                                 == ((HBaseTableHandle) table).getRowIdOrdinal())) {
             return new HBaseUpdatablePageSource(hbaseRecordSet, hbaseConnection);
         }
+        else if (hbaseRecordSet != null && hbaseRecordSet.isColumnarScanSupported()) {
+            return new HBasePageSource(
+                    columnsReplaceRowKey.stream().map(HBaseColumnHandle.class::cast).collect(toImmutableList()),
+                    ((HBaseTableHandle) table).getRowId(),
+                    hbaseConnection.getDefaultValue(),
+                    hbaseRecordSet.getScanners(),
+                    scanExecutor);
+        }
         else {
             return new RecordPageSource(recordSet);
         }
     }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        scanExecutor.shutdownNow();
+    }
 }
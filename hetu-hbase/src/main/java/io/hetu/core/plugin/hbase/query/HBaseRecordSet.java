@@ -22,9 +22,10 @@ import io.hetu.core.plugin.hbase.connector.HBaseColumnHandle;
 import io.hetu.core.plugin.hbase.connector.HBaseConnection;
 import io.hetu.core.plugin.hbase.connector.HBaseTableHandle;
 import io.hetu.core.plugin.hbase.split.HBaseSplit;
-import io.hetu.core.plugin.hbase.utils.Constants;
 import io.hetu.core.plugin.hbase.utils.Utils;
 import io.hetu.core.plugin.hbase.utils.serializers.HBaseRowSerializer;
+import io.hetu.core.plugin.hbase.utils.serializers.StringRowSerializer;
+import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.connector.ConnectorSession;
 import io.prestosql.spi.connector.RecordCursor;
 import io.prestosql.spi.connector.RecordSet;
@@ -62,6 +63,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import static io.hetu.core.plugin.hbase.utils.HBaseErrorCode.UNEXPECTED_HBASE_ERROR;
 import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.spi.type.BooleanType.BOOLEAN;
 import static io.prestosql.spi.type.DoubleType.DOUBLE;
@@ -220,6 +222,49 @@ public class HBaseRecordSet
         }
     }
 
+    /**
+     * Whether the split can be read by the columnar HBasePageSource, which scans the split range with a
+     * plain scan and decodes the values the same way as the StringRowSerializer.
+     *
+     * @return true/false
+     */
+    public boolean isColumnarScanSupported()
+    {
+        return hBaseConnection.getHbaseConfig().isColumnarScanEnable()
+                && !hBaseConnection.getHbaseConfig().isClientSideEnable()
+                && !Utils.isBatchGet(split.getTableHandle().getConstraint(), split.getTableHandle().getRowIdOrdinal())
+                && serializer instanceof StringRowSerializer
+                && columnTypes.stream().allMatch(HBasePageSource::isSupportedType);
+    }
+
+    /**
+     * Opens one scanner for every key sub-range of the split, the number of sub-ranges is at most the configured
+     * scan parallelism.
+     *
+     * @return scanners
+     */
+    public List<ResultScanner> getScanners()
+    {
+        List<ResultScanner> scanners = new ArrayList<>();
+        try (Table hTable = connection.getTable(TableName.valueOf(table.getHbaseTableName().get()))) {
+            setAttributeToScan(true);
+            // fetch the next batch of rows in the background while the current one is decoded
+            scan.setAsyncPrefetch(true);
+            List<byte[]> keys = Utils.splitKeyRange(
+                    scan.getStartRow(), scan.getStopRow(), hBaseConnection.getHbaseConfig().getScanParallelism());
+            for (int i = 0; i < keys.size() - 1; i++) {
+                Scan subRangeScan = new Scan(scan).withStartRow(keys.get(i)).withStopRow(keys.get(i + 1));
+                scanners.add(hTable.getScanner(subRangeScan));
+            }
+            return scanners;
+        }
+        catch (IOException e) {
+            LOG.error("HBaseRecordSet : getScanners failed... cause by %s", e.getMessage());
+            scanners.forEach(ResultScanner::close);
+            throw new PrestoException(UNEXPECTED_HBASE_ERROR, "Open HBase scanners failed: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * getHBaseTableHandle
      *
@@ -261,7 +306,7 @@ public class HBaseRecordSet
             scan.withStopRow(Bytes.toBytes(split.getEndRow()));
         }
 
-        scan.setCaching(Constants.SCAN_CACHING_SIZE);
+        scan.setCaching(hBaseConnection.getHbaseConfig().getScanCachingSize());
         scan.setLoadColumnFamiliesOnDemand(true);
         scan.setCacheBlocks(true);
     }
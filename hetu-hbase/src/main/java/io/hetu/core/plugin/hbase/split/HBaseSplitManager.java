@@ -14,6 +14,8 @@
  */
 package io.hetu.core.plugin.hbase.split;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import io.airlift.log.Logger;
 import io.hetu.core.plugin.hbase.connector.HBaseColumnHandle;
@@ -23,6 +25,7 @@ import io.hetu.core.plugin.hbase.utils.Constants;
 import io.hetu.core.plugin.hbase.utils.HBaseErrorCode;
 import io.hetu.core.plugin.hbase.utils.StartAndEndKey;
 import io.hetu.core.plugin.hbase.utils.Utils;
+import io.hetu.core.plugin.hbase.utils.serializers.HBaseRowSerializer;
 import io.prestosql.spi.HostAddress;
 import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.connector.ColumnHandle;
@@ -35,15 +38,25 @@ import io.prestosql.spi.connector.FixedSplitSource;
 import io.prestosql.spi.predicate.Domain;
 import io.prestosql.spi.predicate.Range;
 import io.prestosql.spi.predicate.TupleDomain;
+import io.prestosql.spi.type.Type;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.RegionInfo;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
@@ -82,6 +95,13 @@ public class HBaseSplitManager
             Collections.shuffle(splits);
             return new FixedSplitSource(splits);
         }
+
+        Optional<List<HBaseSplit>> indexSplits = getSplitsForIndexLookup(tupleDomain, tableHandle);
+        if (indexSplits.isPresent()) {
+            splits = indexSplits.get();
+            Collections.shuffle(splits);
+            return new FixedSplitSource(splits);
+        }
         else if (hbaseConnection.getHbaseConfig().isClientSideEnable()) {
             splits = getSplitsForClientSide(tupleDomain, tableHandle);
         }
@@ -269,14 +289,7 @@ public class HBaseSplitManager
         }
 
         List<Range> rowIds = rowIdDomain != null ? rowIdDomain.getValues().getRanges().getOrderedRanges() : new ArrayList<>();
-        int maxSplitSize;
-        // Each split has at least 20 pieces of data, and the maximum number of splits is 30.
-        if (rowIds.size() / Constants.BATCHGET_SPLIT_RECORD_COUNT > Constants.BATCHGET_SPLIT_MAX_COUNT) {
-            maxSplitSize = rowIds.size() / Constants.BATCHGET_SPLIT_MAX_COUNT;
-        }
-        else {
-            maxSplitSize = Constants.BATCHGET_SPLIT_RECORD_COUNT;
-        }
+        int maxSplitSize = getBatchGetSplitSize(rowIds.size());
 
         List<HostAddress> hostAddresses = new ArrayList<>();
         int rangeSize = rowIds.size();
@@ -293,6 +306,146 @@ public class HBaseSplitManager
         return splits;
     }
 
+    private static int getBatchGetSplitSize(int rowCount)
+    {
+        // Each split has at least 20 pieces of data, and the maximum number of splits is 30.
+        if (rowCount / Constants.BATCHGET_SPLIT_RECORD_COUNT > Constants.BATCHGET_SPLIT_MAX_COUNT) {
+            return rowCount / Constants.BATCHGET_SPLIT_MAX_COUNT;
+        }
+        return Constants.BATCHGET_SPLIT_RECORD_COUNT;
+    }
+
+    /**
+     * If the predicate of sql includes "column='xxx'" or "column in ('xxx','xxx')" on an indexed column, the rowKeys
+     * of the matching rows are read from the index table with a prefix scan for every value, and the rows are fetched
+     * by batch gets instead of scanning the whole table. Every split carries a table handle whose constraint includes
+     * the rowKeys of the split, so the workers read it like a batch get on the rowKey.
+     * Index entries may be stale after rows are updated or deleted, the engine still applies the predicate on the
+     * fetched rows.
+     *
+     * @param tupleDomain tupleDomain
+     * @param tableHandle tableHandle
+     * @return splits, empty if the index can not be used
+     */
+    private Optional<List<HBaseSplit>> getSplitsForIndexLookup(TupleDomain<ColumnHandle> tupleDomain, HBaseTableHandle tableHandle)
+    {
+        // the index table is only maintained for tables that are not external
+        if (!hbaseConnection.getHbaseConfig().isIndexLookupEnable()
+                || tableHandle.isExternal()
+                || !tupleDomain.getDomains().isPresent()) {
+            return Optional.empty();
+        }
+        Optional<HBaseColumnHandle> rowIdColumn = tableHandle.getColumns().stream()
+                .filter(column -> column.getOrdinal() == tableHandle.getRowIdOrdinal())
+                .findAny();
+        if (!rowIdColumn.isPresent()) {
+            return Optional.empty();
+        }
+
+        // use the indexed column with the fewest values
+        HBaseColumnHandle indexColumn = null;
+        List<Range> indexValues = null;
+        for (Map.Entry<ColumnHandle, Domain> entry : tupleDomain.getDomains().get().entrySet()) {
+            HBaseColumnHandle column = (HBaseColumnHandle) entry.getKey();
+            Domain domain = entry.getValue();
+            if (!column.isIndexed() || column.getOrdinal() == tableHandle.getRowIdOrdinal() || domain.isNullAllowed()) {
+                continue;
+            }
+            List<Range> ranges = domain.getValues().getRanges().getOrderedRanges();
+            if (ranges.size() <= Constants.INDEX_LOOKUP_MAX_VALUES
+                    && ranges.stream().allMatch(Range::isSingleValue)
+                    && (indexValues == null || ranges.size() < indexValues.size())) {
+                indexColumn = column;
+                indexValues = ranges;
+            }
+        }
+        if (indexColumn == null) {
+            return Optional.empty();
+        }
+
+        Optional<List<Object>> rowIds = lookupIndex(tableHandle, indexColumn, indexValues, rowIdColumn.get().getType());
+        if (!rowIds.isPresent()) {
+            return Optional.empty();
+        }
+
+        List<HBaseSplit> splits = new ArrayList<>();
+        List<HostAddress> hostAddresses = new ArrayList<>();
+        int maxSplitSize = getBatchGetSplitSize(rowIds.get().size());
+        for (List<Object> splitRowIds : Lists.partition(rowIds.get(), maxSplitSize)) {
+            Domain rowIdDomain = Domain.multipleValues(rowIdColumn.get().getType(), splitRowIds);
+            TupleDomain<ColumnHandle> splitDomain = tupleDomain.intersect(
+                    TupleDomain.withColumnDomains(ImmutableMap.of(rowIdColumn.get(), rowIdDomain)));
+            HBaseTableHandle splitTableHandle =
+                    new HBaseTableHandle(
+                            tableHandle.getSchema(),
+                            tableHandle.getTable(),
+                            tableHandle.getRowId(),
+                            tableHandle.isExternal(),
+                            tableHandle.getSerializerClassName(),
+                            tableHandle.getHbaseTableName(),
+                            tableHandle.getFullTableName(),
+                            splitDomain,
+                            tableHandle.getColumns(),
+                            tableHandle.getRowIdOrdinal(),
+                            tableHandle.getLimit());
+            Map<Integer, List<Range>> splitRange = new HashMap<>();
+            splitRange.put(tableHandle.getRowIdOrdinal(), rowIdDomain.getValues().getRanges().getOrderedRanges());
+            splits.add(new HBaseSplit(tableHandle.getRowId(), splitTableHandle, hostAddresses, null, null, splitRange, -1, false, null));
+        }
+
+        printSplits("Index Batch Get", splits);
+        return Optional.of(splits);
+    }
+
+    private Optional<List<Object>> lookupIndex(HBaseTableHandle tableHandle, HBaseColumnHandle indexColumn, List<Range> indexValues, Type rowIdType)
+    {
+        HBaseRowSerializer serializer = HBaseRowSerializer.getSerializerInstance(tableHandle.getSerializerClassName());
+        String indexTableName = Utils.getIndexTableName(tableHandle.getHbaseTableName().get());
+        Set<String> rowKeys = new LinkedHashSet<>();
+        try {
+            if (!hbaseConnection.hasIndexTable(tableHandle.getHbaseTableName().get())) {
+                LOG.debug("Table %s has no index table, scan the table instead", tableHandle.getHbaseTableName().get());
+                return Optional.empty();
+            }
+        }
+        catch (IOException e) {
+            LOG.warn("Index lookup on %s failed, scan the table instead. cause: %s", indexTableName, e.getMessage());
+            return Optional.empty();
+        }
+        try (Table indexTable = hbaseConnection.getConn().getTable(TableName.valueOf(indexTableName))) {
+            for (Range range : indexValues) {
+                byte[] prefix = Utils.getIndexRowKeyPrefix(
+                        indexColumn.getName(), serializer.setObjectBytes(indexColumn.getType(), range.getSingleValue()));
+                Scan scan = new Scan();
+                scan.setRowPrefixFilter(prefix);
+                try (ResultScanner scanner = indexTable.getScanner(scan)) {
+                    for (Result result : scanner) {
+                        byte[] row = result.getRow();
+                        rowKeys.add(Bytes.toString(row, prefix.length, row.length - prefix.length));
+                        if (rowKeys.size() > Constants.INDEX_LOOKUP_MAX_ROWS) {
+                            LOG.debug("Index lookup on %s matches too many rows, scan the table instead", indexColumn.getName());
+                            return Optional.empty();
+                        }
+                    }
+                }
+            }
+        }
+        catch (IOException | UnsupportedOperationException e) {
+            LOG.warn("Index lookup on %s failed, scan the table instead. cause: %s", indexTableName, e.getMessage());
+            return Optional.empty();
+        }
+
+        List<Object> rowIds = new ArrayList<>();
+        for (String rowKey : rowKeys) {
+            Optional<Object> rowId = Utils.getRowIdValue(rowIdType, rowKey);
+            if (!rowId.isPresent()) {
+                return Optional.empty();
+            }
+            rowIds.add(rowId.get());
+        }
+        return Optional.of(rowIds);
+    }
+
     private Map<Integer, List<Range>> predicateTransferToRanges(Map<ColumnHandle, Domain> predicates)
     {
         Map<Integer, List<Range>> ranges = new HashMap<>();
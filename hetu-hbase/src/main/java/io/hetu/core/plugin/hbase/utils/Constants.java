@@ -116,6 +116,36 @@ public class Constants
      */
     public static final int PUT_BATCH_SIZE = 10000;
 
+    /**
+     * suffix of the HBase table holding the secondary index of the indexed columns
+     */
+    public static final String INDEX_TABLE_SUFFIX = "_idx";
+
+    /**
+     * column family of the index table
+     */
+    public static final String INDEX_FAMILY = "i";
+
+    /**
+     * key of the data table descriptor value naming its index table, only set for tables created with the index table
+     */
+    public static final String INDEX_TABLE_DESCRIPTOR_KEY = "hetu.index.table";
+
+    /**
+     * separator between the column name, the column value and the rowKey of an index entry
+     */
+    public static final byte INDEX_SEPARATOR = 0;
+
+    /**
+     * max number of values of an indexed column predicate that are looked up in the index table
+     */
+    public static final int INDEX_LOOKUP_MAX_VALUES = 100;
+
+    /**
+     * max number of rowKeys fetched from the index table, beyond that the table is scanned
+     */
+    public static final int INDEX_LOOKUP_MAX_ROWS = 10000;
+
     /**
      * constant string
      */
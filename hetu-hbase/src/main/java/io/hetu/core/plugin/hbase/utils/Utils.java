@@ -22,6 +22,7 @@ import io.prestosql.spi.predicate.Domain;
 import io.prestosql.spi.predicate.Range;
 import io.prestosql.spi.predicate.TupleDomain;
 import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.VarcharType;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -30,6 +31,7 @@ import org.apache.hadoop.hbase.shaded.protobuf.ProtobufUtil;
 import org.apache.hadoop.hbase.shaded.protobuf.generated.SnapshotProtos;
 import org.apache.hadoop.hbase.snapshot.SnapshotDescriptionUtils;
 import org.apache.hadoop.hbase.snapshot.SnapshotManifest;
+import org.apache.hadoop.hbase.util.Bytes;
 
 import java.io.File;
 import java.io.IOException;
@@ -40,7 +42,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static io.airlift.slice.Slices.utf8Slice;
 import static io.hetu.core.plugin.hbase.utils.Constants.HBASE_DATA_TYPE_NAME_LIST;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static io.prestosql.spi.type.SmallintType.SMALLINT;
+import static io.prestosql.spi.type.TinyintType.TINYINT;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Utils
@@ -173,4 +181,78 @@ public class Utils
         }
         return regionInfos;
     }
+
+    /**
+     * Splits the key range [startKey, stopKey) into at most count sub-ranges of similar key distance.
+     * An empty key is unbounded, a range without a stop key is not split.
+     *
+     * @param startKey start key, inclusive
+     * @param stopKey stop key, exclusive
+     * @param count number of sub-ranges
+     * @return boundary keys, sub-range i is [keys[i], keys[i + 1])
+     */
+    public static List<byte[]> splitKeyRange(byte[] startKey, byte[] stopKey, int count)
+    {
+        List<byte[]> keys = new ArrayList<>();
+        keys.add(startKey);
+        if (count > 1 && stopKey.length > 0 && Bytes.compareTo(startKey, stopKey) < 0) {
+            byte[][] splitKeys = Bytes.split(startKey, stopKey, count - 1);
+            // the first and last split keys are the padded range keys, they are replaced by the original keys
+            for (int i = 1; splitKeys != null && i < splitKeys.length - 1; i++) {
+                if (Bytes.compareTo(keys.get(keys.size() - 1), splitKeys[i]) < 0 && Bytes.compareTo(splitKeys[i], stopKey) < 0) {
+                    keys.add(splitKeys[i]);
+                }
+            }
+        }
+        keys.add(stopKey);
+        return keys;
+    }
+
+    /**
+     * Name of the HBase table holding the secondary index of the indexed columns of a table.
+     *
+     * @param hbaseTableName name of the data table
+     * @return index table name
+     */
+    public static String getIndexTableName(String hbaseTableName)
+    {
+        return hbaseTableName + Constants.INDEX_TABLE_SUFFIX;
+    }
+
+    /**
+     * An index entry has the rowKey "columnName \0 value \0 rowKey", so all rowKeys of the rows with the
+     * given column value are found by a prefix scan of the index table.
+     *
+     * @param columnName indexed column name
+     * @param value serialized column value
+     * @return rowKey prefix of the index entries
+     */
+    public static byte[] getIndexRowKeyPrefix(String columnName, byte[] value)
+    {
+        byte[] separator = new byte[] {Constants.INDEX_SEPARATOR};
+        return Bytes.add(Bytes.add(columnName.getBytes(UTF_8), separator), Bytes.add(value, separator));
+    }
+
+    /**
+     * Converts a rowKey read from the index table to the value of the row ID column.
+     *
+     * @param type type of the row ID column
+     * @param rowKey rowKey
+     * @return value, empty if the type is not supported by index lookups
+     */
+    public static Optional<Object> getRowIdValue(Type type, String rowKey)
+    {
+        try {
+            if (type instanceof VarcharType) {
+                return Optional.of(utf8Slice(rowKey));
+            }
+            if (type.equals(BIGINT) || type.equals(INTEGER) || type.equals(SMALLINT) || type.equals(TINYINT)) {
+                return Optional.of(Long.parseLong(rowKey));
+            }
+        }
+        catch (NumberFormatException e) {
+            LOG.debug("rowKey %s is not a valid %s value", rowKey, type);
+        }
+        return Optional.empty();
+    }
 }
@@ -86,6 +86,22 @@ public class TestHBaseClientConf
 
         hcc.setRetryCreateSnapshotNumber(10);
         assertEquals(10, hcc.getRetryCreateSnapshotNumber());
+
+        assertEquals(true, hcc.isColumnarScanEnable());
+        hcc.setColumnarScanEnable(false);
+        assertEquals(false, hcc.isColumnarScanEnable());
+
+        assertEquals(4, hcc.getScanParallelism());
+        hcc.setScanParallelism(8);
+        assertEquals(8, hcc.getScanParallelism());
+
+        assertEquals(10000, hcc.getScanCachingSize());
+        hcc.setScanCachingSize(500);
+        assertEquals(500, hcc.getScanCachingSize());
+
+        assertEquals(true, hcc.isIndexLookupEnable());
+        hcc.setIndexLookupEnable(false);
+        assertEquals(false, hcc.isIndexLookupEnable());
     }
 
     /**
@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.hbase.query;
+
+import com.google.common.collect.ImmutableList;
+import io.hetu.core.plugin.hbase.client.TestUtils;
+import io.hetu.core.plugin.hbase.connector.HBaseColumnHandle;
+import io.hetu.core.plugin.hbase.utils.Utils;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.PrestoException;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * TestHBasePageSource
+ *
+ * @since 2021-06-01
+ */
+public class TestHBasePageSource
+{
+    private static final byte[] FAMILY = "f".getBytes(UTF_8);
+
+    private ExecutorService executor;
+
+    /**
+     * setUp
+     */
+    @BeforeClass
+    public void setUp()
+    {
+        executor = newCachedThreadPool(daemonThreadsNamed("test-hbase-scan-%s"));
+    }
+
+    /**
+     * tearDown
+     */
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    /**
+     * testParallelSubRangeScans
+     */
+    @Test
+    public void testParallelSubRangeScans()
+    {
+        List<HBaseColumnHandle> columns = ImmutableList.of(
+                TestUtils.createHBaseColumnRowId("rowkey"),
+                new HBaseColumnHandle("a", Optional.of("f"), Optional.of("a"), BIGINT, 1, "", false),
+                new HBaseColumnHandle("b", Optional.of("f"), Optional.of("b"), DOUBLE, 2, "", false),
+                new HBaseColumnHandle("c", Optional.of("f"), Optional.of("c"), VARCHAR, 3, "", false));
+
+        // 3 sub-ranges with more rows than fit in a page
+        List<ResultScanner> scanners = new ArrayList<>();
+        int rowCount = 0;
+        for (int scanner = 0; scanner < 3; scanner++) {
+            List<Result> results = new ArrayList<>();
+            for (int i = 0; i < 1500; i++) {
+                results.add(createResult(rowCount));
+                rowCount++;
+            }
+            scanners.add(new ListResultScanner(results));
+        }
+
+        Map<String, Integer> rows = new HashMap<>();
+        try (HBasePageSource pageSource = new HBasePageSource(columns, "rowkey", "NULL", scanners, executor)) {
+            while (!pageSource.isFinished()) {
+                Page page = pageSource.getNextPage();
+                if (page == null) {
+                    pageSource.isBlocked().join();
+                    continue;
+                }
+                for (int position = 0; position < page.getPositionCount(); position++) {
+                    String rowKey = VARCHAR.getSlice(page.getBlock(0), position).toStringUtf8();
+                    int row = Integer.parseInt(rowKey.substring("row".length()));
+                    assertEquals(BIGINT.getLong(page.getBlock(1), position), row * 10L - 7);
+                    if (row % 3 == 0) {
+                        assertTrue(page.getBlock(2).isNull(position));
+                    }
+                    else {
+                        assertEquals(DOUBLE.getDouble(page.getBlock(2), position), row / 4.0);
+                    }
+                    if (row % 5 == 0) {
+                        assertTrue(page.getBlock(3).isNull(position));
+                    }
+                    else {
+                        assertEquals(VARCHAR.getSlice(page.getBlock(3), position).toStringUtf8(), "value" + row);
+                    }
+                    assertEquals(rows.put(rowKey, row), null);
+                }
+            }
+            assertEquals(pageSource.getCompletedPositions().getAsLong(), rowCount);
+        }
+        assertEquals(rows.size(), rowCount);
+    }
+
+    /**
+     * testScanFailure
+     */
+    @Test
+    public void testScanFailure()
+    {
+        List<HBaseColumnHandle> columns = ImmutableList.of(TestUtils.createHBaseColumnRowId("rowkey"));
+        ResultScanner failingScanner = new ListResultScanner(ImmutableList.of())
+        {
+            @Override
+            public Result next()
+                    throws IOException
+            {
+                throw new IOException("region server unavailable");
+            }
+        };
+        try (HBasePageSource pageSource = new HBasePageSource(columns, "rowkey", "NULL", ImmutableList.of(failingScanner), executor)) {
+            pageSource.isBlocked().join();
+            assertFalse(pageSource.isFinished());
+            pageSource.getNextPage();
+            fail("expected scan failure");
+        }
+        catch (PrestoException e) {
+            assertTrue(e.getMessage().contains("region server unavailable"));
+        }
+    }
+
+    /**
+     * testSplitKeyRange
+     */
+    @Test
+    public void testSplitKeyRange()
+    {
+        byte[] start = Bytes.toBytes("a");
+        byte[] stop = Bytes.toBytes("b|");
+        List<byte[]> keys = Utils.splitKeyRange(start, stop, 4);
+        assertEquals(keys.size(), 5);
+        assertEquals(keys.get(0), start);
+        assertEquals(keys.get(keys.size() - 1), stop);
+        for (int i = 0; i < keys.size() - 1; i++) {
+            assertTrue(Bytes.compareTo(keys.get(i), keys.get(i + 1)) < 0);
+        }
+
+        // unbounded ranges are not split
+        assertEquals(Utils.splitKeyRange(start, new byte[0], 4).size(), 2);
+        assertEquals(Utils.splitKeyRange(start, stop, 1).size(), 2);
+    }
+
+    private static Result createResult(int row)
+    {
+        byte[] rowKey = ("row" + row).getBytes(UTF_8);
+        List<Cell> cells = new ArrayList<>();
+        cells.add(new KeyValue(rowKey, FAMILY, "a".getBytes(UTF_8), String.valueOf(row * 10L - 7).getBytes(UTF_8)));
+        if (row % 3 != 0) {
+            cells.add(new KeyValue(rowKey, FAMILY, "b".getBytes(UTF_8), String.valueOf(row / 4.0).getBytes(UTF_8)));
+        }
+        if (row % 5 != 0) {
+            cells.add(new KeyValue(rowKey, FAMILY, "c".getBytes(UTF_8), ("value" + row).getBytes(UTF_8)));
+        }
+        return Result.create(cells);
+    }
+
+    private static class ListResultScanner
+            implements ResultScanner
+    {
+        private final Iterator<Result> results;
+
+        ListResultScanner(List<Result> results)
+        {
+            this.results = results.iterator();
+        }
+
+        @Override
+        public Result next()
+                throws IOException
+        {
+            return results.hasNext() ? results.next() : null;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        @Override
+        public boolean renewLease()
+        {
+            return false;
+        }
+
+        @Override
+        public ScanMetrics getScanMetrics()
+        {
+            return null;
+        }
+    }
+}
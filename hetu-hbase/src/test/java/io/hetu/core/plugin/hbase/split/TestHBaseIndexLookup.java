@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.hbase.split;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.slice.Slice;
+import io.hetu.core.plugin.hbase.client.TestUtils;
+import io.hetu.core.plugin.hbase.conf.HBaseConfig;
+import io.hetu.core.plugin.hbase.connector.HBaseColumnHandle;
+import io.hetu.core.plugin.hbase.connector.HBaseConnection;
+import io.hetu.core.plugin.hbase.connector.HBaseTableHandle;
+import io.hetu.core.plugin.hbase.metadata.HBaseTable;
+import io.hetu.core.plugin.hbase.query.HBasePageSink;
+import io.hetu.core.plugin.hbase.utils.Utils;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.connector.ColumnHandle;
+import io.prestosql.spi.connector.ConnectorSplit;
+import io.prestosql.spi.connector.ConnectorSplitSource;
+import io.prestosql.spi.predicate.Domain;
+import io.prestosql.spi.predicate.Range;
+import io.prestosql.spi.predicate.TupleDomain;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.TableNotFoundException;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.prestosql.spi.connector.NotPartitionedPartitionHandle.NOT_PARTITIONED;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * TestHBaseIndexLookup
+ *
+ * @since 2021-06-01
+ */
+@Test(singleThreaded = true)
+public class TestHBaseIndexLookup
+{
+    private static final List<HBaseColumnHandle> COLUMNS = ImmutableList.of(
+            TestUtils.createHBaseColumnRowId("rowkey"),
+            new HBaseColumnHandle("phone", Optional.of("f"), Optional.of("phone"), VARCHAR, 1, "", true),
+            new HBaseColumnHandle("name", Optional.of("f"), Optional.of("name"), VARCHAR, 2, "", false));
+
+    private final Map<String, NavigableMap<byte[], Result>> tables = new HashMap<>();
+
+    /**
+     * testIndexLookup
+     *
+     * @throws Exception Exception
+     */
+    @Test
+    public void testIndexLookup()
+            throws Exception
+    {
+        tables.clear();
+        HBaseConnection hbaseConnection = createConnection(new HBaseConfig(), true);
+        new HBasePageSink(hbaseConnection, createTableHandle(COLUMNS, TupleDomain.all())).appendPage(createPage());
+        assertEquals(tables.get("test_table").size(), 100);
+        assertEquals(tables.get(Utils.getIndexTableName("test_table")).size(), 100);
+
+        TupleDomain<ColumnHandle> constraint = createPhoneConstraint();
+        List<ConnectorSplit> splits = getSplits(new HBaseSplitManager(hbaseConnection), createTableHandle(COLUMNS, constraint));
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            if (i % 10 == 3 || i % 10 == 7) {
+                expected.add("row" + i);
+            }
+        }
+        Set<String> actual = new HashSet<>();
+        for (ConnectorSplit connectorSplit : splits) {
+            HBaseSplit split = (HBaseSplit) connectorSplit;
+            // the splits are read as batch gets on the rowKey
+            assertTrue(Utils.isBatchGet(split.getTableHandle().getConstraint(), 0));
+            for (Range range : split.getRanges().get(0)) {
+                assertTrue(actual.add(((Slice) range.getSingleValue()).toStringUtf8()));
+            }
+        }
+        assertEquals(actual, expected);
+
+        // the table is scanned when index lookups are disabled
+        HBaseConfig disabled = new HBaseConfig();
+        disabled.setIndexLookupEnable(false);
+        splits = getSplits(new HBaseSplitManager(createConnection(disabled, true)), createTableHandle(COLUMNS, constraint));
+        assertFalse(Utils.isBatchGet(((HBaseSplit) splits.get(0)).getTableHandle().getConstraint(), 0));
+    }
+
+    /**
+     * testIndexedTableWithoutIndexTable
+     *
+     * @throws Exception Exception
+     */
+    @Test
+    public void testIndexedTableWithoutIndexTable()
+            throws Exception
+    {
+        // a table created with index_columns before index tables were maintained
+        tables.clear();
+        HBaseConnection hbaseConnection = createConnection(new HBaseConfig(), false);
+        new HBasePageSink(hbaseConnection, createTableHandle(COLUMNS, TupleDomain.all())).appendPage(createPage());
+        assertEquals(tables.get("test_table").size(), 100);
+        assertFalse(tables.containsKey(Utils.getIndexTableName("test_table")));
+
+        // the table is scanned
+        List<ConnectorSplit> splits = getSplits(new HBaseSplitManager(hbaseConnection), createTableHandle(COLUMNS, createPhoneConstraint()));
+        assertFalse(Utils.isBatchGet(((HBaseSplit) splits.get(0)).getTableHandle().getConstraint(), 0));
+    }
+
+    /**
+     * testRowIdValue
+     */
+    @Test
+    public void testRowIdValue()
+    {
+        assertEquals(Utils.getRowIdValue(VARCHAR, "row1"), Optional.of(utf8Slice("row1")));
+        assertEquals(Utils.getRowIdValue(BIGINT, "12"), Optional.of(12L));
+        assertEquals(Utils.getRowIdValue(BIGINT, "row1"), Optional.empty());
+        assertEquals(Utils.getRowIdValue(DOUBLE, "1.5"), Optional.empty());
+    }
+
+    private static List<ConnectorSplit> getSplits(HBaseSplitManager splitManager, HBaseTableHandle tableHandle)
+            throws Exception
+    {
+        ConnectorSplitSource splitSource = splitManager.getSplits(null, null, tableHandle, null);
+        return splitSource.getNextBatch(NOT_PARTITIONED, 1000).get().getSplits();
+    }
+
+    private static Page createPage()
+    {
+        BlockBuilder rowKeys = VARCHAR.createBlockBuilder(null, 100);
+        BlockBuilder phones = VARCHAR.createBlockBuilder(null, 100);
+        BlockBuilder names = VARCHAR.createBlockBuilder(null, 100);
+        for (int i = 0; i < 100; i++) {
+            VARCHAR.writeSlice(rowKeys, utf8Slice("row" + i));
+            VARCHAR.writeSlice(phones, utf8Slice("phone" + (i % 10)));
+            VARCHAR.writeSlice(names, utf8Slice("name" + i));
+        }
+        return new Page(new Block[] {rowKeys.build(), phones.build(), names.build()});
+    }
+
+    private static TupleDomain<ColumnHandle> createPhoneConstraint()
+    {
+        return TupleDomain.withColumnDomains(ImmutableMap.of(
+                COLUMNS.get(1),
+                Domain.multipleValues(VARCHAR, ImmutableList.of(utf8Slice("phone3"), utf8Slice("phone7"), utf8Slice("none")))));
+    }
+
+    private static HBaseTableHandle createTableHandle(List<HBaseColumnHandle> columns, TupleDomain<ColumnHandle> constraint)
+    {
+        return new HBaseTableHandle(
+                "hbase",
+                "test_table",
+                "rowkey",
+                false,
+                "io.hetu.core.plugin.hbase.utils.serializers.StringRowSerializer",
+                Optional.of("test_table"),
+                "hbase.test_table",
+                constraint,
+                columns,
+                0,
+                OptionalLong.empty());
+    }
+
+    private HBaseConnection createConnection(HBaseConfig config, boolean hasIndexTable)
+            throws IOException
+    {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.getTable(Mockito.any(TableName.class))).thenAnswer(invocation -> {
+            String name = ((TableName) invocation.getArguments()[0]).getNameAsString();
+            if (!hasIndexTable && name.equals(Utils.getIndexTableName("test_table"))) {
+                throw new TableNotFoundException(name);
+            }
+            return createTable(name);
+        });
+        HBaseConnection hbaseConnection = Mockito.mock(HBaseConnection.class);
+        Mockito.when(hbaseConnection.hasIndexTable("test_table")).thenReturn(hasIndexTable);
+        Mockito.when(hbaseConnection.getConn()).thenReturn(connection);
+        Mockito.when(hbaseConnection.getHbaseConfig()).thenReturn(config);
+        HBaseTable table = Mockito.mock(HBaseTable.class);
+        Mockito.when(table.getSplitByChar()).thenReturn(Optional.of("0~9"));
+        Mockito.when(hbaseConnection.getTable(Mockito.anyString())).thenReturn(table);
+        return hbaseConnection;
+    }
+
+    private Table createTable(String name)
+            throws IOException
+    {
+        NavigableMap<byte[], Result> rows = tables.computeIfAbsent(name, key -> new TreeMap<>(Bytes.BYTES_COMPARATOR));
+        Table table = Mockito.mock(Table.class);
+        Mockito.doAnswer(invocation -> {
+            for (Object object : (List<?>) invocation.getArguments()[0]) {
+                Put put = (Put) object;
+                rows.put(put.getRow(), Result.create(ImmutableList.of(new KeyValue(put.getRow(), "f".getBytes(UTF_8), null, null))));
+            }
+            return null;
+        }).when(table).put(Mockito.anyListOf(Put.class));
+        Mockito.when(table.getScanner(Mockito.any(Scan.class))).thenAnswer(invocation -> {
+            Scan scan = (Scan) invocation.getArguments()[0];
+            return new MapResultScanner(rows.subMap(scan.getStartRow(), true, scan.getStopRow(), false).values().iterator());
+        });
+        return table;
+    }
+
+    private static class MapResultScanner
+            implements ResultScanner
+    {
+        private final Iterator<Result> results;
+
+        MapResultScanner(Iterator<Result> results)
+        {
+            this.results = results;
+        }
+
+        @Override
+        public Result next()
+        {
+            return results.hasNext() ? results.next() : null;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        @Override
+        public boolean renewLease()
+        {
+            return false;
+        }
+
+        @Override
+        public ScanMetrics getScanMetrics()
+        {
+            return null;
+        }
+    }
+}
@@ -15,6 +15,7 @@ package io.hetu.core.plugin.iceberg;
 
 import io.airlift.configuration.Config;
 import io.airlift.configuration.ConfigDescription;
+import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.prestosql.plugin.hive.HiveCompressionCodec;
 
@@ -26,6 +27,7 @@ import javax.validation.constraints.NotNull;
 
 import java.util.Optional;
 
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.hetu.core.plugin.iceberg.CatalogType.HIVE_METASTORE;
 import static io.hetu.core.plugin.iceberg.IcebergFileFormat.ORC;
 import static io.prestosql.plugin.hive.HiveCompressionCodec.ZSTD;
@@ -47,6 +49,10 @@ public class IcebergConfig
     private Optional<String> hiveCatalogName = Optional.empty();
     private double minimumAssignedSplitWeight = 0.05;
     private int formatVersion = FORMAT_VERSION_SUPPORT_MAX;
+    private long manifestCacheMaxDataFiles = 50_000;
+    private DataSize deleteFileCacheMaxSize = new DataSize(128, MEGABYTE);
+    private int maxOutstandingSplits = 1000;
+    private int splitLoaderConcurrency = 4;
 
     public io.hetu.core.plugin.iceberg.CatalogType getCatalogType()
     {
@@ -211,4 +217,60 @@ public class IcebergConfig
     {
         return minimumAssignedSplitWeight;
     }
+
+    @Min(0)
+    public long getManifestCacheMaxDataFiles()
+    {
+        return manifestCacheMaxDataFiles;
+    }
+
+    @Config("iceberg.manifest-cache.max-data-files")
+    @ConfigDescription("Maximum number of data files of table snapshots cached by the coordinator, 0 disables the cache")
+    public IcebergConfig setManifestCacheMaxDataFiles(long manifestCacheMaxDataFiles)
+    {
+        this.manifestCacheMaxDataFiles = manifestCacheMaxDataFiles;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getDeleteFileCacheMaxSize()
+    {
+        return deleteFileCacheMaxSize;
+    }
+
+    @Config("iceberg.delete-file-cache.max-size")
+    @ConfigDescription("Maximum memory used by each worker to cache parsed delete files, 0B disables the cache")
+    public IcebergConfig setDeleteFileCacheMaxSize(DataSize deleteFileCacheMaxSize)
+    {
+        this.deleteFileCacheMaxSize = deleteFileCacheMaxSize;
+        return this;
+    }
+
+    @Min(1)
+    public int getMaxOutstandingSplits()
+    {
+        return maxOutstandingSplits;
+    }
+
+    @Config("iceberg.max-outstanding-splits")
+    @ConfigDescription("Target number of planned splits buffered per table scan before manifest reading pauses")
+    public IcebergConfig setMaxOutstandingSplits(int maxOutstandingSplits)
+    {
+        this.maxOutstandingSplits = maxOutstandingSplits;
+        return this;
+    }
+
+    @Min(1)
+    public int getSplitLoaderConcurrency()
+    {
+        return splitLoaderConcurrency;
+    }
+
+    @Config("iceberg.split-loader-concurrency")
+    @ConfigDescription("Number of manifests of a table scan read in parallel")
+    public IcebergConfig setSplitLoaderConcurrency(int splitLoaderConcurrency)
+    {
+        this.splitLoaderConcurrency = splitLoaderConcurrency;
+        return this;
+    }
 }
@@ -19,6 +19,7 @@ import com.google.inject.Provides;
 import com.google.inject.Scopes;
 import com.google.inject.multibindings.Multibinder;
 import io.airlift.concurrent.BoundedExecutor;
+import io.hetu.core.plugin.iceberg.delete.DeleteFileCache;
 import io.hetu.core.plugin.iceberg.metastore.thrift.BridgingHiveMetastoreFactory;
 import io.hetu.core.plugin.iceberg.procedure.OptimizeTableProcedure;
 import io.prestosql.metadata.TypeRegistry;
@@ -48,6 +49,7 @@ import io.prestosql.sql.analyzer.FeaturesConfig;
 import javax.inject.Singleton;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
 import static com.google.inject.multibindings.Multibinder.newSetBinder;
@@ -74,6 +76,10 @@ public class IcebergModule
         newSetBinder(binder, SessionPropertiesProvider.class).addBinding().to(IcebergSessionProperties.class).in(Scopes.SINGLETON);
         binder.bind(IcebergTableProperties.class).in(Scopes.SINGLETON);
 
+        binder.bind(ManifestCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(ManifestCache.class).withGeneratedName();
+        binder.bind(DeleteFileCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(DeleteFileCache.class).withGeneratedName();
         binder.bind(ConnectorSplitManager.class).to(IcebergSplitManager.class).in(Scopes.SINGLETON);
         newOptionalBinder(binder, ConnectorPageSourceProvider.class).setDefault().to(IcebergPageSourceProvider.class).in(Scopes.SINGLETON);
         binder.bind(ConnectorPageSinkProvider.class).to(IcebergPageSinkProvider.class).in(Scopes.SINGLETON);
@@ -107,6 +113,14 @@ public class IcebergModule
         binder.bind(TypeRegistry.class).in(Scopes.SINGLETON);
     }
 
+    @ForIcebergSplitManager
+    @Singleton
+    @Provides
+    public ExecutorService createSplitLoaderExecutor(CatalogName catalogName)
+    {
+        return newCachedThreadPool(daemonThreadsNamed("iceberg-split-loader-" + catalogName + "-%s"));
+    }
+
     @ForHiveMetastore
     @Singleton
     @Provides
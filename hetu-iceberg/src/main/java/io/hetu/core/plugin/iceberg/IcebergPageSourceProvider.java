@@ -18,6 +18,8 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.graph.Traverser;
 import io.airlift.json.JsonCodec;
 import io.hetu.core.plugin.iceberg.IcebergParquetColumnIOConverter.FieldContext;
+import io.hetu.core.plugin.iceberg.delete.DeleteFileCache;
+import io.hetu.core.plugin.iceberg.delete.DeletePageSourceFactory;
 import io.hetu.core.plugin.iceberg.delete.DummyFileScanTask;
 import io.hetu.core.plugin.iceberg.delete.IcebergPositionDeletePageSink;
 import io.hetu.core.plugin.iceberg.delete.TrinoDeleteFilter;
@@ -180,6 +182,7 @@ public class IcebergPageSourceProvider
     private final IcebergFileWriterFactory fileWriterFactory;
     private final PageIndexerFactory pageIndexerFactory;
     private final int maxOpenPartitions;
+    private final DeleteFileCache deleteFileCache;
 
     @Inject
     public IcebergPageSourceProvider(
@@ -192,7 +195,8 @@ public class IcebergPageSourceProvider
             JsonCodec<CommitTaskData> jsonCodec,
             IcebergFileWriterFactory fileWriterFactory,
             PageIndexerFactory pageIndexerFactory,
-            IcebergConfig icebergConfig)
+            IcebergConfig icebergConfig,
+            DeleteFileCache deleteFileCache)
     {
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.fileFormatDataSourceStats = requireNonNull(fileFormatDataSourceStats, "fileFormatDataSourceStats is null");
@@ -205,6 +209,7 @@ public class IcebergPageSourceProvider
         this.pageIndexerFactory = requireNonNull(pageIndexerFactory, "pageIndexerFactory is null");
         requireNonNull(icebergConfig, "icebergConfig is null");
         this.maxOpenPartitions = icebergConfig.getMaxPartitionsPerWriter();
+        this.deleteFileCache = requireNonNull(deleteFileCache, "deleteFileCache is null");
     }
 
     @Override
@@ -293,11 +298,27 @@ public class IcebergPageSourceProvider
         List<IcebergColumnHandle> readColumns = dataPageSource.getReaderColumns()
                 .map(readerColumns -> readerColumns.get().stream().map(IcebergColumnHandle.class::cast).collect(toList()))
                 .orElse(requiredColumns);
+        DeletePageSourceFactory deletePageSourceFactory = (deleteFile, deleteColumns) -> createDataPageSource(
+                session,
+                hdfsContext,
+                new Path(deleteFile.path().toString()),
+                0,
+                deleteFile.fileSizeInBytes(),
+                deleteFile.fileSizeInBytes(),
+                IcebergFileFormat.fromIceberg(deleteFile.format()),
+                deleteColumns,
+                TupleDomain.all(),
+                Optional.empty(),
+                ImmutableMap.of())
+                .get();
         DeleteFilter<TrinoRow> deleteFilter = new TrinoDeleteFilter(
                 dummyFileScanTask,
                 tableSchema,
                 readColumns,
-                fileIO);
+                fileIO,
+                deleteFileCache,
+                deletePageSourceFactory,
+                typeManager);
 
         Optional<PartitionData> partition = partitionSpec.isUnpartitioned() ? Optional.empty() : Optional.of(partitionData);
         LocationProvider locationProvider = getLocationProvider(table.getSchemaTableName(), table.getTableLocation(), table.getStorageProperties());
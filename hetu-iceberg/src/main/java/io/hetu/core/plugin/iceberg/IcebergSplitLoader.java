@@ -0,0 +1,339 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.iceberg;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.airlift.concurrent.BoundedExecutor;
+import io.prestosql.plugin.hive.util.AsyncQueue;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.ManifestFiles;
+import org.apache.iceberg.ManifestReader;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableScan;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.ManifestEvaluator;
+import org.apache.iceberg.expressions.ResidualEvaluator;
+import org.apache.iceberg.io.CloseableIterable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static java.util.Objects.requireNonNull;
+import static org.apache.iceberg.expressions.Expressions.alwaysTrue;
+import static org.apache.iceberg.expressions.Expressions.and;
+
+/**
+ * Enumerates the file scan tasks of a table scan in the background, reading the manifests of
+ * the snapshot in parallel and handing tasks out through a bounded queue as soon as they are
+ * planned. Manifests are pruned by their partition summaries, using the latest dynamic filter,
+ * before any of their entries are read.
+ */
+public class IcebergSplitLoader
+{
+    private static final List<String> ALL_COLUMNS = ImmutableList.of("*");
+
+    private final TableScan tableScan;
+    private final ManifestCache manifestCache;
+    private final Expression filter;
+    private final Supplier<Expression> dynamicFilter;
+    private final Executor executor;
+    private final AsyncQueue<FileScanTask> queue;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private volatile boolean started;
+    private volatile boolean stopped;
+
+    public IcebergSplitLoader(
+            TableScan tableScan,
+            ManifestCache manifestCache,
+            Expression filter,
+            Supplier<Expression> dynamicFilter,
+            Executor executor,
+            int maxOutstandingSplits,
+            int concurrency)
+    {
+        checkArgument(maxOutstandingSplits > 0, "maxOutstandingSplits must be positive");
+        checkArgument(concurrency > 0, "concurrency must be positive");
+        this.tableScan = requireNonNull(tableScan, "tableScan is null");
+        this.manifestCache = requireNonNull(manifestCache, "manifestCache is null");
+        this.filter = requireNonNull(filter, "filter is null");
+        this.dynamicFilter = requireNonNull(dynamicFilter, "dynamicFilter is null");
+        // loaders block while the queue is full, so the queue must not signal consumers through the bounded executor
+        this.executor = new BoundedExecutor(requireNonNull(executor, "executor is null"), concurrency);
+        this.queue = new AsyncQueue<>(maxOutstandingSplits, executor);
+    }
+
+    public void start()
+    {
+        checkState(!started, "already started");
+        started = true;
+        executor.execute(() -> run(this::loadSnapshot));
+    }
+
+    public ListenableFuture<List<FileScanTask>> getNextBatch(int maxSize)
+    {
+        throwIfFailed();
+        return queue.getBatchAsync(maxSize);
+    }
+
+    public boolean isFinished()
+    {
+        throwIfFailed();
+        return queue.isFinished();
+    }
+
+    public void stop()
+    {
+        stopped = true;
+        queue.finish();
+    }
+
+    private void loadSnapshot()
+    {
+        List<FileScanTask> cachedTasks = manifestCache.getIfPresent(tableScan).orElse(null);
+        if (cachedTasks != null) {
+            offerAll(ManifestCache.filter(tableScan, cachedTasks, filter));
+            queue.finish();
+            return;
+        }
+
+        Snapshot snapshot = tableScan.snapshot();
+        if (snapshot == null || !snapshot.deleteManifests().isEmpty()) {
+            // matching delete files to data files needs Iceberg's own planner
+            try (CloseableIterable<FileScanTask> tasks = manifestCache.planFiles(tableScan, filter)) {
+                offerAll(tasks);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            queue.finish();
+            return;
+        }
+
+        List<ManifestFile> manifests = snapshot.dataManifests().stream()
+                .filter(manifest -> manifest.hasAddedFiles() || manifest.hasExistingFiles())
+                .collect(toImmutableList());
+        if (manifests.isEmpty()) {
+            queue.finish();
+            return;
+        }
+
+        // a snapshot small enough for the cache is read without filters once, and pruned while it is read
+        boolean collect = manifestCache.isCacheable(tableScan);
+        Queue<FileScanTask> collected = collect ? new ConcurrentLinkedQueue<>() : null;
+        AtomicInteger remaining = new AtomicInteger(manifests.size());
+        for (ManifestFile manifest : manifests) {
+            executor.execute(() -> run(() -> {
+                loadManifest(manifest, collected);
+                if (remaining.decrementAndGet() == 0) {
+                    if (collect && !stopped && failure.get() == null) {
+                        manifestCache.put(tableScan, ImmutableList.copyOf(collected));
+                    }
+                    queue.finish();
+                }
+            }));
+        }
+    }
+
+    private void loadManifest(ManifestFile manifest, Queue<FileScanTask> collected)
+    {
+        if (stopped) {
+            return;
+        }
+        Table table = tableScan.table();
+        PartitionSpec spec = table.specs().get(manifest.partitionSpecId());
+        boolean caseSensitive = tableScan.isCaseSensitive();
+
+        Expression manifestFilter = filter;
+        if (collected == null) {
+            manifestFilter = and(filter, dynamicFilter.get());
+            if (!ManifestEvaluator.forRowFilter(manifestFilter, spec, caseSensitive).eval(manifest)) {
+                return;
+            }
+        }
+
+        ManifestReader<DataFile> reader = ManifestFiles.read(manifest, table.io(), table.specs())
+                .select(ALL_COLUMNS)
+                .caseSensitive(caseSensitive);
+        if (collected == null) {
+            reader = reader.filterRows(manifestFilter);
+        }
+        Predicate<FileScanTask> matcher = collected == null ? task -> true : ManifestCache.matcher(tableScan, filter);
+        ResidualEvaluator residuals = ResidualEvaluator.of(spec, collected == null ? manifestFilter : alwaysTrue(), caseSensitive);
+
+        try (CloseableIterable<DataFile> files = reader) {
+            for (DataFile file : files) {
+                if (stopped) {
+                    return;
+                }
+                DataFile copy = file.copy();
+                FileScanTask task = new DataFileScanTask(copy, spec, 0, copy.fileSizeInBytes(), residuals.residualFor(copy.partition()));
+                if (collected != null) {
+                    collected.add(task);
+                }
+                if (matcher.test(task)) {
+                    offer(task);
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void offerAll(Iterable<FileScanTask> tasks)
+    {
+        for (FileScanTask task : tasks) {
+            if (stopped) {
+                return;
+            }
+            offer(task);
+        }
+    }
+
+    private void offer(FileScanTask task)
+    {
+        for (FileScanTask split : task.split(tableScan.targetSplitSize())) {
+            // blocks the loader while the queue is full, a stopped queue drops the task
+            getFutureValue(queue.offer(split));
+        }
+    }
+
+    private void run(Runnable loader)
+    {
+        try {
+            loader.run();
+        }
+        catch (Throwable t) {
+            failure.compareAndSet(null, t);
+            stopped = true;
+            queue.finish();
+        }
+    }
+
+    private void throwIfFailed()
+    {
+        Throwable throwable = failure.get();
+        if (throwable != null) {
+            throwIfUnchecked(throwable);
+            throw new RuntimeException(throwable);
+        }
+    }
+
+    /**
+     * Scan task of a data file without delete files, as planned for snapshots without delete manifests.
+     */
+    private static class DataFileScanTask
+            implements FileScanTask
+    {
+        private final DataFile file;
+        private final PartitionSpec spec;
+        private final long start;
+        private final long length;
+        private final Expression residual;
+
+        DataFileScanTask(DataFile file, PartitionSpec spec, long start, long length, Expression residual)
+        {
+            this.file = requireNonNull(file, "file is null");
+            this.spec = requireNonNull(spec, "spec is null");
+            this.start = start;
+            this.length = length;
+            this.residual = requireNonNull(residual, "residual is null");
+        }
+
+        @Override
+        public DataFile file()
+        {
+            return file;
+        }
+
+        @Override
+        public List<DeleteFile> deletes()
+        {
+            return ImmutableList.of();
+        }
+
+        @Override
+        public PartitionSpec spec()
+        {
+            return spec;
+        }
+
+        @Override
+        public long start()
+        {
+            return start;
+        }
+
+        @Override
+        public long length()
+        {
+            return length;
+        }
+
+        @Override
+        public Expression residual()
+        {
+            return residual;
+        }
+
+        @Override
+        public Iterable<FileScanTask> split(long targetSplitSize)
+        {
+            if (!file.format().isSplittable() || length <= targetSplitSize) {
+                return ImmutableList.of(this);
+            }
+
+            ImmutableList.Builder<FileScanTask> splits = ImmutableList.builder();
+            List<Long> offsets = file.splitOffsets();
+            if (offsets != null && !offsets.isEmpty() && offsets.get(0) == start) {
+                // keep row groups and stripes whole, starting a split once the previous one reaches the target size
+                long splitStart = start;
+                for (int i = 1; i < offsets.size(); i++) {
+                    long offset = offsets.get(i);
+                    if (offset - splitStart >= targetSplitSize && offset < start + length) {
+                        splits.add(new DataFileScanTask(file, spec, splitStart, offset - splitStart, residual));
+                        splitStart = offset;
+                    }
+                }
+                splits.add(new DataFileScanTask(file, spec, splitStart, start + length - splitStart, residual));
+                return splits.build();
+            }
+
+            for (long offset = start; offset < start + length; offset += targetSplitSize) {
+                splits.add(new DataFileScanTask(file, spec, offset, Math.min(targetSplitSize, start + length - offset), residual));
+            }
+            return splits.build();
+        }
+    }
+}
@@ -29,8 +29,11 @@ import io.prestosql.spi.type.TypeManager;
 import org.apache.iceberg.Table;
 import org.apache.iceberg.TableScan;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
+import java.util.concurrent.ExecutorService;
+
 import static io.hetu.core.plugin.iceberg.IcebergSessionProperties.getDynamicFilteringWaitTimeout;
 import static io.hetu.core.plugin.iceberg.IcebergSessionProperties.getMinimumAssignedSplitWeight;
 import static java.util.Objects.requireNonNull;
@@ -42,12 +45,31 @@ public class IcebergSplitManager
 
     private final IcebergTransactionManager transactionManager;
     private final TypeManager typeManager;
+    private final ManifestCache manifestCache;
+    private final ExecutorService executor;
+    private final int maxOutstandingSplits;
+    private final int splitLoaderConcurrency;
 
     @Inject
-    public IcebergSplitManager(IcebergTransactionManager transactionManager, TypeManager typeManager)
+    public IcebergSplitManager(
+            IcebergTransactionManager transactionManager,
+            TypeManager typeManager,
+            ManifestCache manifestCache,
+            IcebergConfig config,
+            @ForIcebergSplitManager ExecutorService executor)
     {
         this.transactionManager = requireNonNull(transactionManager, "transactionManager is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
+        this.manifestCache = requireNonNull(manifestCache, "manifestCache is null");
+        this.executor = requireNonNull(executor, "executor is null");
+        this.maxOutstandingSplits = requireNonNull(config, "config is null").getMaxOutstandingSplits();
+        this.splitLoaderConcurrency = config.getSplitLoaderConcurrency();
+    }
+
+    @PreDestroy
+    public void destroy()
+    {
+        executor.shutdownNow();
     }
 
     @Override
@@ -82,13 +104,17 @@ public class IcebergSplitManager
         IcebergSplitSource splitSource = new IcebergSplitSource(
                 table,
                 tableScan,
+                manifestCache,
                 table.getMaxScannedFileSize(),
                 dynamicFilter,
                 dynamicFilteringWaitTimeout,
                 constraint,
                 typeManager,
                 table.isRecordScannedFiles(),
-                getMinimumAssignedSplitWeight(session));
+                getMinimumAssignedSplitWeight(session),
+                executor,
+                maxOutstandingSplits,
+                splitLoaderConcurrency);
 
         return new ClassLoaderSafeConnectorSplitSource(splitSource, IcebergSplitManager.class.getClassLoader());
     }
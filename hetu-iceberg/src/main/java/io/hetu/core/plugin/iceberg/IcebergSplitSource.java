@@ -17,7 +17,6 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Iterators;
 import com.google.common.io.Closer;
 import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
@@ -43,10 +42,7 @@ import org.apache.iceberg.PartitionSpecParser;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.TableScan;
 import org.apache.iceberg.expressions.Expression;
-import org.apache.iceberg.io.CloseableIterable;
-import org.apache.iceberg.io.CloseableIterator;
 import org.apache.iceberg.types.Type;
-import org.apache.iceberg.util.TableScanUtil;
 
 import javax.annotation.Nullable;
 
@@ -56,13 +52,13 @@ import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import static com.google.common.base.Preconditions.checkState;
@@ -71,6 +67,7 @@ import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Sets.intersection;
+import static io.airlift.concurrent.MoreFutures.toCompletableFuture;
 import static io.hetu.core.plugin.iceberg.ExpressionConverter.toIcebergExpression;
 import static io.hetu.core.plugin.iceberg.IcebergErrorCode.ICEBERG_INVALID_METADATA;
 import static io.hetu.core.plugin.iceberg.IcebergSplitManager.ICEBERG_DOMAIN_COMPACTION_THRESHOLD;
@@ -91,9 +88,11 @@ public class IcebergSplitSource
 {
     private static final ConnectorSplitBatch EMPTY_BATCH = new ConnectorSplitBatch(ImmutableList.of(), false);
     private static final ConnectorSplitBatch NO_MORE_SPLITS_BATCH = new ConnectorSplitBatch(ImmutableList.of(), true);
+    private static final long STANDARD_SPLIT_ROW_COUNT = 1_000_000;
 
     private final IcebergTableHandle tableHandle;
     private final TableScan tableScan;
+    private final ManifestCache manifestCache;
     private final Optional<Long> maxScannedFileSizeInBytes;
     private final Map<Integer, Type.PrimitiveType> fieldIdToType;
     private final DynamicFilter dynamicFilter;
@@ -104,8 +103,12 @@ public class IcebergSplitSource
     private final Closer closer = Closer.create();
     private final double minimumAssignedSplitWeight;
 
-    private CloseableIterable<FileScanTask> fileScanTaskIterable;
-    private CloseableIterator<FileScanTask> fileScanTaskIterator;
+    private final Executor executor;
+    private final int maxOutstandingSplits;
+    private final int splitLoaderConcurrency;
+
+    private IcebergSplitLoader splitLoader;
+    private boolean finished;
     private TupleDomain<IcebergColumnHandle> pushedDownDynamicFilterPredicate;
 
     private final boolean recordScannedFiles;
@@ -114,16 +117,21 @@ public class IcebergSplitSource
     public IcebergSplitSource(
             IcebergTableHandle tableHandle,
             TableScan tableScan,
+            ManifestCache manifestCache,
             Optional<DataSize> maxScannedFileSize,
             DynamicFilter dynamicFilter,
             Duration dynamicFilteringWaitTimeout,
             Constraint constraint,
             TypeManager typeManager,
             boolean recordScannedFiles,
-            double minimumAssignedSplitWeight)
+            double minimumAssignedSplitWeight,
+            Executor executor,
+            int maxOutstandingSplits,
+            int splitLoaderConcurrency)
     {
         this.tableHandle = requireNonNull(tableHandle, "tableHandle is null");
         this.tableScan = requireNonNull(tableScan, "tableScan is null");
+        this.manifestCache = requireNonNull(manifestCache, "manifestCache is null");
         this.maxScannedFileSizeInBytes = requireNonNull(maxScannedFileSize, "maxScannedFileSize is null").map(DataSize::toBytes);
         this.fieldIdToType = primitiveFieldTypes(tableScan.schema());
         this.dynamicFilter = requireNonNull(dynamicFilter, "dynamicFilter is null");
@@ -133,6 +141,9 @@ public class IcebergSplitSource
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.recordScannedFiles = recordScannedFiles;
         this.minimumAssignedSplitWeight = minimumAssignedSplitWeight;
+        this.executor = requireNonNull(executor, "executor is null");
+        this.maxOutstandingSplits = maxOutstandingSplits;
+        this.splitLoaderConcurrency = splitLoaderConcurrency;
     }
 
     @Override
@@ -143,7 +154,11 @@ public class IcebergSplitSource
             return null;
         }
 
-        if (fileScanTaskIterable == null) {
+        if (finished) {
+            return completedFuture(NO_MORE_SPLITS_BATCH);
+        }
+
+        if (splitLoader == null) {
             // Used to avoid duplicating work if the Dynamic Filter was already pushed down to the Iceberg API
             this.pushedDownDynamicFilterPredicate = dynamicFilter.getCurrentPredicate().transformKeys(IcebergColumnHandle.class::cast);
             TupleDomain<IcebergColumnHandle> fullPredicate = tableHandle.getUnenforcedPredicate()
@@ -164,14 +179,17 @@ public class IcebergSplitSource
             }
 
             Expression filterExpression = toIcebergExpression(effectivePredicate);
-            this.fileScanTaskIterable = TableScanUtil.splitFiles(
-                    tableScan.filter(filterExpression)
-                            .includeColumnStats()
-                            .planFiles(),
-                    tableScan.targetSplitSize());
-            closer.register(fileScanTaskIterable);
-            this.fileScanTaskIterator = fileScanTaskIterable.iterator();
-            closer.register(fileScanTaskIterator);
+            IcebergSplitLoader loader = new IcebergSplitLoader(
+                    tableScan,
+                    manifestCache,
+                    filterExpression,
+                    this::getCurrentDynamicFilterExpression,
+                    executor,
+                    maxOutstandingSplits,
+                    splitLoaderConcurrency);
+            closer.register(loader::stop);
+            this.splitLoader = loader;
+            loader.start();
         }
 
         TupleDomain<IcebergColumnHandle> dynamicFilterPredicate = dynamicFilter.getCurrentPredicate()
@@ -181,10 +199,14 @@ public class IcebergSplitSource
             return completedFuture(NO_MORE_SPLITS_BATCH);
         }
 
-        Iterator<FileScanTask> fileScanTasks = Iterators.limit(fileScanTaskIterator, maxSize);
+        return toCompletableFuture(splitLoader.getNextBatch(maxSize))
+                .thenApply(fileScanTasks -> new ConnectorSplitBatch(toSplits(fileScanTasks, dynamicFilterPredicate), isFinished()));
+    }
+
+    private List<ConnectorSplit> toSplits(List<FileScanTask> fileScanTasks, TupleDomain<IcebergColumnHandle> dynamicFilterPredicate)
+    {
         ImmutableList.Builder<ConnectorSplit> splits = ImmutableList.builder();
-        while (fileScanTasks.hasNext()) {
-            FileScanTask scanTask = fileScanTasks.next();
+        for (FileScanTask scanTask : fileScanTasks) {
             if (maxScannedFileSizeInBytes.isPresent() && scanTask.file().fileSizeInBytes() > maxScannedFileSizeInBytes.get()) {
                 continue;
             }
@@ -235,20 +257,27 @@ public class IcebergSplitSource
             }
             splits.add(icebergSplit);
         }
-        return completedFuture(new ConnectorSplitBatch(splits.build(), isFinished()));
+        return splits.build();
+    }
+
+    private Expression getCurrentDynamicFilterExpression()
+    {
+        TupleDomain<IcebergColumnHandle> dynamicFilterPredicate = dynamicFilter.getCurrentPredicate()
+                .transformKeys(IcebergColumnHandle.class::cast)
+                .simplify(ICEBERG_DOMAIN_COMPACTION_THRESHOLD);
+        return toIcebergExpression(dynamicFilterPredicate);
     }
 
     private void finish()
     {
         close();
-        this.fileScanTaskIterable = CloseableIterable.empty();
-        this.fileScanTaskIterator = CloseableIterator.empty();
+        this.finished = true;
     }
 
     @Override
     public boolean isFinished()
     {
-        return fileScanTaskIterator != null && !fileScanTaskIterator.hasNext();
+        return finished || (splitLoader != null && splitLoader.isFinished());
     }
 
     @Override
@@ -392,7 +421,19 @@ public class IcebergSplitSource
                 task.deletes().stream()
                         .map(TrinoDeleteFile::copyOf)
                         .collect(toImmutableList()),
-                SplitWeight.fromProportion(Math.min(Math.max((double) task.length() / tableScan.targetSplitSize(), minimumAssignedSplitWeight), 1.0)));
+                getSplitWeight(task));
+    }
+
+    private SplitWeight getSplitWeight(FileScanTask task)
+    {
+        // weigh by the larger of the byte and the row share, so that highly compressed files are not underweighted
+        double weight = (double) task.length() / tableScan.targetSplitSize();
+        long fileSize = task.file().fileSizeInBytes();
+        if (fileSize > 0) {
+            double rowCount = task.file().recordCount() * ((double) task.length() / fileSize);
+            weight = Math.max(weight, rowCount / STANDARD_SPLIT_ROW_COUNT);
+        }
+        return SplitWeight.fromProportion(Math.min(Math.max(weight, minimumAssignedSplitWeight), 1.0));
     }
 
     private static String hadoopPath(String path)
@@ -0,0 +1,207 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.iceberg;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.SnapshotSummary;
+import org.apache.iceberg.TableScan;
+import org.apache.iceberg.expressions.Evaluator;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.InclusiveMetricsEvaluator;
+import org.apache.iceberg.expressions.Projections;
+import org.apache.iceberg.io.CloseableIterable;
+import org.weakref.jmx.Managed;
+
+import javax.inject.Inject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Predicate;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Coordinator side cache of the data files of a table snapshot, as read from its manifests.
+ * Snapshots are immutable, so a cached file list is pruned per query with the partition and
+ * column metrics evaluators Iceberg applies while planning, instead of re-reading the manifests.
+ */
+public class ManifestCache
+{
+    private final long maxDataFiles;
+    private final Optional<Cache<CacheKey, List<FileScanTask>>> cache;
+
+    @Inject
+    public ManifestCache(IcebergConfig config)
+    {
+        this.maxDataFiles = requireNonNull(config, "config is null").getManifestCacheMaxDataFiles();
+        if (maxDataFiles == 0) {
+            this.cache = Optional.empty();
+        }
+        else {
+            this.cache = Optional.of(CacheBuilder.newBuilder()
+                    .maximumWeight(maxDataFiles)
+                    .weigher((CacheKey key, List<FileScanTask> tasks) -> tasks.size())
+                    .recordStats()
+                    .build());
+        }
+    }
+
+    public CloseableIterable<FileScanTask> planFiles(TableScan tableScan, Expression filter)
+    {
+        if (!isCacheable(tableScan)) {
+            return tableScan.filter(filter)
+                    .includeColumnStats()
+                    .planFiles();
+        }
+
+        List<FileScanTask> tasks;
+        try {
+            tasks = cache.get().get(cacheKey(tableScan), () -> {
+                try (CloseableIterable<FileScanTask> files = tableScan.includeColumnStats().planFiles()) {
+                    return ImmutableList.copyOf(files);
+                }
+            });
+        }
+        catch (ExecutionException | UncheckedExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            if (e.getCause() instanceof IOException) {
+                throw new UncheckedIOException((IOException) e.getCause());
+            }
+            throw new RuntimeException(e.getCause());
+        }
+        return CloseableIterable.withNoopClose(filter(tableScan, tasks, filter));
+    }
+
+    public Optional<List<FileScanTask>> getIfPresent(TableScan tableScan)
+    {
+        if (!isCacheable(tableScan)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get().getIfPresent(cacheKey(tableScan)));
+    }
+
+    /**
+     * Caches all data files of the snapshot of the scan, which must have been read without any filter.
+     */
+    public void put(TableScan tableScan, List<FileScanTask> tasks)
+    {
+        if (isCacheable(tableScan)) {
+            cache.get().put(cacheKey(tableScan), ImmutableList.copyOf(tasks));
+        }
+    }
+
+    public boolean isCacheable(TableScan tableScan)
+    {
+        return cache.isPresent() && tableScan.snapshot() != null && fitsInCache(tableScan.snapshot());
+    }
+
+    /**
+     * Prunes the data files of a snapshot the same way Iceberg does while planning a filtered scan.
+     */
+    public static Iterable<FileScanTask> filter(TableScan tableScan, Iterable<FileScanTask> tasks, Expression filter)
+    {
+        return Iterables.filter(tasks, matcher(tableScan, filter)::test);
+    }
+
+    public static Predicate<FileScanTask> matcher(TableScan tableScan, Expression filter)
+    {
+        boolean caseSensitive = tableScan.isCaseSensitive();
+        InclusiveMetricsEvaluator metricsEvaluator = new InclusiveMetricsEvaluator(tableScan.schema(), filter, caseSensitive);
+        Map<Integer, Evaluator> partitionEvaluators = new ConcurrentHashMap<>();
+        return task -> {
+            PartitionSpec spec = task.spec();
+            Evaluator partitionEvaluator = partitionEvaluators.computeIfAbsent(
+                    spec.specId(),
+                    specId -> new Evaluator(spec.partitionType(), Projections.inclusive(spec, caseSensitive).project(filter), caseSensitive));
+            return partitionEvaluator.eval(task.file().partition()) && metricsEvaluator.eval(task.file());
+        };
+    }
+
+    private static CacheKey cacheKey(TableScan tableScan)
+    {
+        return new CacheKey(tableScan.table().location(), tableScan.snapshot().snapshotId());
+    }
+
+    private boolean fitsInCache(Snapshot snapshot)
+    {
+        // the summary is optional, snapshots without it are never cached
+        String dataFiles = snapshot.summary() == null ? null : snapshot.summary().get(SnapshotSummary.TOTAL_DATA_FILES_PROP);
+        if (dataFiles == null) {
+            return false;
+        }
+        try {
+            return Long.parseLong(dataFiles) <= maxDataFiles;
+        }
+        catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @Managed
+    public long getSize()
+    {
+        return cache.map(Cache::size).orElse(0L);
+    }
+
+    @Managed
+    public double getHitRate()
+    {
+        return cache.map(value -> value.stats().hitRate()).orElse(0.0);
+    }
+
+    private static class CacheKey
+    {
+        private final String tableLocation;
+        private final long snapshotId;
+
+        CacheKey(String tableLocation, long snapshotId)
+        {
+            this.tableLocation = requireNonNull(tableLocation, "tableLocation is null");
+            this.snapshotId = snapshotId;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return snapshotId == other.snapshotId && tableLocation.equals(other.tableLocation);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(tableLocation, snapshotId);
+        }
+    }
+}
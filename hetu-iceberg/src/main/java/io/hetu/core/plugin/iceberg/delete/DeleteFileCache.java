@@ -0,0 +1,191 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.iceberg.delete;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.hetu.core.plugin.iceberg.IcebergConfig;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.util.StructLikeSet;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.weakref.jmx.Managed;
+
+import javax.inject.Inject;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Worker side cache of parsed Iceberg delete files. Position delete files are kept as one
+ * bitmap of deleted row positions per data file, equality delete files as a set of the deleted
+ * key tuples. Delete files are immutable, so entries are only evicted to honor the size limit.
+ */
+public class DeleteFileCache
+{
+    private final Optional<Cache<CacheKey, CachedDeletes>> cache;
+
+    @Inject
+    public DeleteFileCache(IcebergConfig config)
+    {
+        long maxSize = requireNonNull(config, "config is null").getDeleteFileCacheMaxSize().toBytes();
+        if (maxSize == 0) {
+            this.cache = Optional.empty();
+        }
+        else {
+            this.cache = Optional.of(CacheBuilder.newBuilder()
+                    .maximumWeight(maxSize)
+                    .weigher((CacheKey key, CachedDeletes value) -> (int) Math.min(value.getRetainedSize(), Integer.MAX_VALUE))
+                    .recordStats()
+                    .build());
+        }
+    }
+
+    public Map<String, Roaring64Bitmap> getPositionDeletes(DeleteFile deleteFile, Supplier<Map<String, Roaring64Bitmap>> loader)
+    {
+        return get(new CacheKey(deleteFile.path().toString(), null), () -> {
+            Map<String, Roaring64Bitmap> deletes = loader.get();
+            long retainedSize = 0;
+            for (Map.Entry<String, Roaring64Bitmap> entry : deletes.entrySet()) {
+                entry.getValue().runOptimize();
+                retainedSize += entry.getKey().length() * 2L + entry.getValue().serializedSizeInBytes();
+            }
+            return new CachedDeletes(deletes, retainedSize);
+        });
+    }
+
+    public StructLikeSet getEqualityDeletes(DeleteFile deleteFile, Schema deleteSchema, Supplier<EqualityDeletes> loader)
+    {
+        return get(new CacheKey(deleteFile.path().toString(), deleteSchema.asStruct().toString()), () -> {
+            EqualityDeletes deletes = loader.get();
+            return new CachedDeletes(deletes.getDeletedRows(), deletes.getRetainedSize());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(CacheKey key, Supplier<CachedDeletes> loader)
+    {
+        if (!cache.isPresent()) {
+            return (T) loader.get().getDeletes();
+        }
+        try {
+            return (T) cache.get().get(key, loader::get).getDeletes();
+        }
+        catch (ExecutionException | UncheckedExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @Managed
+    public long getSize()
+    {
+        return cache.map(Cache::size).orElse(0L);
+    }
+
+    @Managed
+    public double getHitRate()
+    {
+        return cache.map(value -> value.stats().hitRate()).orElse(0.0);
+    }
+
+    @Managed
+    public long getEvictionCount()
+    {
+        return cache.map(value -> value.stats().evictionCount()).orElse(0L);
+    }
+
+    public static class EqualityDeletes
+    {
+        private final StructLikeSet deletedRows;
+        private final long retainedSize;
+
+        public EqualityDeletes(StructLikeSet deletedRows, long retainedSize)
+        {
+            this.deletedRows = requireNonNull(deletedRows, "deletedRows is null");
+            this.retainedSize = retainedSize;
+        }
+
+        public StructLikeSet getDeletedRows()
+        {
+            return deletedRows;
+        }
+
+        public long getRetainedSize()
+        {
+            return retainedSize;
+        }
+    }
+
+    private static class CachedDeletes
+    {
+        private final Object deletes;
+        private final long retainedSize;
+
+        CachedDeletes(Object deletes, long retainedSize)
+        {
+            this.deletes = requireNonNull(deletes, "deletes is null");
+            this.retainedSize = retainedSize;
+        }
+
+        Object getDeletes()
+        {
+            return deletes;
+        }
+
+        long getRetainedSize()
+        {
+            return retainedSize;
+        }
+    }
+
+    private static class CacheKey
+    {
+        private final String path;
+        // the projected delete schema for equality deletes, null for position deletes
+        private final String deleteSchema;
+
+        CacheKey(String path, String deleteSchema)
+        {
+            this.path = requireNonNull(path, "path is null");
+            this.deleteSchema = deleteSchema;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return path.equals(other.path) && Objects.equals(deleteSchema, other.deleteSchema);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(path, deleteSchema);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.iceberg.delete;
+
+import io.hetu.core.plugin.iceberg.IcebergColumnHandle;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import org.apache.iceberg.DeleteFile;
+
+import java.util.List;
+
+/**
+ * Opens a whole delete file with the connector's own ORC and Parquet readers.
+ */
+public interface DeletePageSourceFactory
+{
+    ConnectorPageSource createPageSource(DeleteFile deleteFile, List<IcebergColumnHandle> columns);
+}
@@ -13,38 +13,251 @@
  */
 package io.hetu.core.plugin.iceberg.delete;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.airlift.slice.Slice;
 import io.hetu.core.plugin.iceberg.IcebergColumnHandle;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.type.TypeManager;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileContent;
+import org.apache.iceberg.FileFormat;
 import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.Schema;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.data.DeleteFilter;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.io.FileIO;
 import org.apache.iceberg.io.InputFile;
 import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.TypeUtil;
 import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.StructLikeSet;
+import org.apache.iceberg.util.StructProjection;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+import static com.google.common.base.Suppliers.memoize;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static io.hetu.core.plugin.iceberg.IcebergColumnHandle.TRINO_UPDATE_ROW_ID_COLUMN_ID;
 import static io.hetu.core.plugin.iceberg.IcebergColumnHandle.TRINO_UPDATE_ROW_ID_COLUMN_NAME;
+import static io.hetu.core.plugin.iceberg.IcebergUtil.getColumnHandle;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
 import static java.util.Objects.requireNonNull;
+import static org.apache.iceberg.MetadataColumns.DELETE_FILE_PATH;
+import static org.apache.iceberg.MetadataColumns.DELETE_FILE_POS;
 import static org.apache.iceberg.MetadataColumns.FILE_PATH;
 import static org.apache.iceberg.MetadataColumns.IS_DELETED;
 import static org.apache.iceberg.MetadataColumns.ROW_POSITION;
 
+/**
+ * Applies the delete files of a split to its rows. When a {@link DeleteFileCache} is supplied the
+ * delete files are read once per worker with the connector's page sources and kept as position
+ * bitmaps and equality sets, otherwise every call to {@link #filter} re-reads them through Iceberg.
+ */
 public class TrinoDeleteFilter
         extends DeleteFilter<TrinoRow>
 {
+    private static final long RECORD_OVERHEAD = 48;
+    private static final long VALUE_OVERHEAD = 16;
+
+    private final FileScanTask task;
     private final FileIO fileIO;
+    private final Optional<DeleteFileCache> deleteFileCache;
+    private final Optional<DeletePageSourceFactory> pageSourceFactory;
+    private final Optional<TypeManager> typeManager;
+    private final Supplier<Predicate<TrinoRow>> deletedRows = memoize(this::createDeletedRowPredicate);
 
     public TrinoDeleteFilter(FileScanTask task, Schema tableSchema, List<IcebergColumnHandle> requestedColumns, FileIO fileIO)
+    {
+        this(task, tableSchema, requestedColumns, fileIO, Optional.empty(), Optional.empty(), Optional.empty());
+    }
+
+    public TrinoDeleteFilter(
+            FileScanTask task,
+            Schema tableSchema,
+            List<IcebergColumnHandle> requestedColumns,
+            FileIO fileIO,
+            DeleteFileCache deleteFileCache,
+            DeletePageSourceFactory pageSourceFactory,
+            TypeManager typeManager)
+    {
+        this(task, tableSchema, requestedColumns, fileIO, Optional.of(deleteFileCache), Optional.of(pageSourceFactory), Optional.of(typeManager));
+    }
+
+    private TrinoDeleteFilter(
+            FileScanTask task,
+            Schema tableSchema,
+            List<IcebergColumnHandle> requestedColumns,
+            FileIO fileIO,
+            Optional<DeleteFileCache> deleteFileCache,
+            Optional<DeletePageSourceFactory> pageSourceFactory,
+            Optional<TypeManager> typeManager)
     {
         super(task, tableSchema, toSchema(tableSchema, requestedColumns));
+        this.task = task;
         this.fileIO = requireNonNull(fileIO, "fileIO is null");
+        this.deleteFileCache = requireNonNull(deleteFileCache, "deleteFileCache is null");
+        this.pageSourceFactory = requireNonNull(pageSourceFactory, "pageSourceFactory is null");
+        this.typeManager = requireNonNull(typeManager, "typeManager is null");
+    }
+
+    @Override
+    public CloseableIterable<TrinoRow> filter(CloseableIterable<TrinoRow> records)
+    {
+        if (!deleteFileCache.isPresent() || !isCacheable()) {
+            return super.filter(records);
+        }
+        Predicate<TrinoRow> isDeleted = deletedRows.get();
+        return CloseableIterable.filter(records, row -> !isDeleted.test(row));
+    }
+
+    private boolean isCacheable()
+    {
+        Set<Integer> topLevelFieldIds = requiredSchema().columns().stream()
+                .filter(field -> field.type().isPrimitiveType() && field.type().typeId() != Type.TypeID.BINARY && field.type().typeId() != Type.TypeID.FIXED)
+                .map(Types.NestedField::fieldId)
+                .collect(toImmutableSet());
+        for (DeleteFile deleteFile : task.deletes()) {
+            if (deleteFile.format() != FileFormat.ORC && deleteFile.format() != FileFormat.PARQUET) {
+                return false;
+            }
+            if (deleteFile.content() == FileContent.EQUALITY_DELETES && !topLevelFieldIds.containsAll(deleteFile.equalityFieldIds())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Predicate<TrinoRow> createDeletedRowPredicate()
+    {
+        String dataFilePath = task.file().path().toString();
+        Roaring64Bitmap deletedPositions = new Roaring64Bitmap();
+        List<Predicate<TrinoRow>> predicates = new ArrayList<>();
+        for (DeleteFile deleteFile : task.deletes()) {
+            if (deleteFile.content() == FileContent.POSITION_DELETES) {
+                List<IcebergColumnHandle> columns = ImmutableList.of(
+                        getColumnHandle(DELETE_FILE_PATH, typeManager.get()),
+                        getColumnHandle(DELETE_FILE_POS, typeManager.get()));
+                Roaring64Bitmap positions = deleteFileCache.get()
+                        .getPositionDeletes(deleteFile, () -> readPositionDeletes(pageSourceFactory.get().createPageSource(deleteFile, columns)))
+                        .get(dataFilePath);
+                if (positions != null) {
+                    deletedPositions.or(positions);
+                }
+            }
+            else if (deleteFile.content() == FileContent.EQUALITY_DELETES) {
+                Schema deleteSchema = TypeUtil.select(requiredSchema(), ImmutableSet.copyOf(deleteFile.equalityFieldIds()));
+                List<IcebergColumnHandle> columns = deleteSchema.columns().stream()
+                        .map(field -> getColumnHandle(field, typeManager.get()))
+                        .collect(toImmutableList());
+                StructLikeSet deleteSet = deleteFileCache.get().getEqualityDeletes(
+                        deleteFile,
+                        deleteSchema,
+                        () -> readEqualityDeletes(pageSourceFactory.get().createPageSource(deleteFile, columns), deleteSchema, columns));
+                StructProjection projection = StructProjection.create(requiredSchema(), deleteSchema);
+                predicates.add(row -> deleteSet.contains(projection.wrap(asStructLike(row))));
+            }
+        }
+        if (!deletedPositions.isEmpty()) {
+            predicates.add(0, row -> deletedPositions.contains(pos(row)));
+        }
+        return predicates.stream()
+                .reduce(Predicate::or)
+                .orElse(row -> false);
+    }
+
+    @VisibleForTesting
+    static Map<String, Roaring64Bitmap> readPositionDeletes(ConnectorPageSource pageSource)
+    {
+        Map<String, Roaring64Bitmap> deletedPositions = new HashMap<>();
+        try (ConnectorPageSource source = pageSource) {
+            // position delete files are sorted by data file path, so consecutive rows mostly share the bitmap
+            Slice currentPath = null;
+            Roaring64Bitmap currentPositions = null;
+            while (!source.isFinished()) {
+                Page page = source.getNextPage();
+                if (page == null) {
+                    continue;
+                }
+                Block paths = page.getBlock(0);
+                Block positions = page.getBlock(1);
+                for (int position = 0; position < page.getPositionCount(); position++) {
+                    Slice path = VARCHAR.getSlice(paths, position);
+                    if (!path.equals(currentPath)) {
+                        currentPath = path;
+                        currentPositions = deletedPositions.computeIfAbsent(path.toStringUtf8(), key -> new Roaring64Bitmap());
+                    }
+                    currentPositions.addLong(BIGINT.getLong(positions, position));
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return deletedPositions;
+    }
+
+    @VisibleForTesting
+    static DeleteFileCache.EqualityDeletes readEqualityDeletes(ConnectorPageSource pageSource, Schema deleteSchema, List<IcebergColumnHandle> columns)
+    {
+        io.prestosql.spi.type.Type[] types = columns.stream()
+                .map(IcebergColumnHandle::getType)
+                .toArray(io.prestosql.spi.type.Type[]::new);
+        StructLikeSet deletedRows = StructLikeSet.create(deleteSchema.asStruct());
+        long retainedSize = 0;
+        try (ConnectorPageSource source = pageSource) {
+            while (!source.isFinished()) {
+                Page page = source.getNextPage();
+                if (page == null) {
+                    continue;
+                }
+                for (TrinoRow row : TrinoRow.fromPage(types, page, page.getPositionCount())) {
+                    GenericRecord record = GenericRecord.create(deleteSchema);
+                    long recordSize = RECORD_OVERHEAD;
+                    for (int field = 0; field < types.length; field++) {
+                        Object value = row.get(field, Object.class);
+                        record.set(field, value);
+                        recordSize += estimatedSizeOf(value);
+                    }
+                    if (deletedRows.add(record)) {
+                        retainedSize += recordSize;
+                    }
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new DeleteFileCache.EqualityDeletes(deletedRows, retainedSize);
+    }
+
+    private static long estimatedSizeOf(Object value)
+    {
+        if (value instanceof CharSequence) {
+            return VALUE_OVERHEAD + 2L * ((CharSequence) value).length();
+        }
+        if (value instanceof ByteBuffer) {
+            return VALUE_OVERHEAD + ((ByteBuffer) value).remaining();
+        }
+        return VALUE_OVERHEAD;
     }
 
     @Override
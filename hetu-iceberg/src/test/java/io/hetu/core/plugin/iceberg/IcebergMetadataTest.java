@@ -28,6 +28,7 @@ import io.hetu.core.plugin.iceberg.catalog.IcebergTableOperationsProvider;
 import io.hetu.core.plugin.iceberg.catalog.TrinoCatalog;
 import io.hetu.core.plugin.iceberg.catalog.file.FileMetastoreTableOperationsProvider;
 import io.hetu.core.plugin.iceberg.catalog.hms.TrinoHiveCatalog;
+import io.hetu.core.plugin.iceberg.delete.DeleteFileCache;
 import io.hetu.core.plugin.iceberg.delete.DummyFileScanTask;
 import io.hetu.core.plugin.iceberg.procedure.OptimizeTableProcedure;
 import io.hetu.core.plugin.iceberg.util.IcebergTestUtil;
@@ -336,7 +337,8 @@ public class IcebergMetadataTest
                 mockCommitTaskCodec,
                 icebergFileWriterFactory,
                 groupByHashPageIndexerFactory,
-                icebergConfig);
+                icebergConfig,
+                new DeleteFileCache(icebergConfig));
     }
 
     @Test
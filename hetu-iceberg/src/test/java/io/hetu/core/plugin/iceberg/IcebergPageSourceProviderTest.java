@@ -22,6 +22,7 @@ import io.hetu.core.plugin.iceberg.catalog.IcebergTableOperationsProvider;
 import io.hetu.core.plugin.iceberg.catalog.TrinoCatalog;
 import io.hetu.core.plugin.iceberg.catalog.file.FileMetastoreTableOperationsProvider;
 import io.hetu.core.plugin.iceberg.catalog.hms.TrinoHiveCatalog;
+import io.hetu.core.plugin.iceberg.delete.DeleteFileCache;
 import io.hetu.core.plugin.iceberg.util.IcebergTestUtil;
 import io.prestosql.GroupByHashPageIndexerFactory;
 import io.prestosql.Session;
@@ -191,7 +192,8 @@ public class IcebergPageSourceProviderTest
                 partitionUpdateCodec,
                 icebergFileWriterFactory,
                 pageIndexerFactory,
-                icebergConfig);
+                icebergConfig,
+                new DeleteFileCache(icebergConfig));
 
         File tempDir = Files.createTempDirectory("test_iceberg_split_source").toFile();
         File metastoreDir = new File(tempDir, "iceberg_data");
@@ -0,0 +1,171 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.iceberg;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.Metrics;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableProperties;
+import org.apache.iceberg.TableScan;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.hadoop.HadoopTables;
+import org.apache.iceberg.types.Types;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static org.apache.iceberg.types.Conversions.toByteBuffer;
+import static org.apache.iceberg.types.Types.NestedField.required;
+import static org.testng.Assert.assertEquals;
+
+public class IcebergSplitLoaderTest
+{
+    private static final Schema SCHEMA = new Schema(
+            required(1, "id", Types.LongType.get()),
+            required(2, "part", Types.IntegerType.get()));
+    private static final PartitionSpec SPEC = PartitionSpec.builderFor(SCHEMA).identity("part").build();
+
+    private File tempDir;
+    private Table table;
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUp()
+            throws IOException
+    {
+        executor = newCachedThreadPool(daemonThreadsNamed("test-split-loader-%s"));
+        tempDir = Files.createTempDirectory("test_split_loader").toFile();
+        table = new HadoopTables(new Configuration()).create(SCHEMA, SPEC, tempDir.getAbsolutePath() + "/table");
+        // one manifest per partition
+        for (int part = 0; part < 3; part++) {
+            table.newAppend()
+                    .appendFile(dataFile(part))
+                    .commit();
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        executor.shutdownNow();
+        deleteRecursively(tempDir.toPath(), ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testLoadSplits()
+    {
+        ManifestCache uncached = new ManifestCache(new IcebergConfig().setManifestCacheMaxDataFiles(0));
+        assertEquals(partitions(load(uncached, Expressions.alwaysTrue(), Expressions.alwaysTrue(), 1)), ImmutableSet.of("part=0", "part=1", "part=2"));
+        assertEquals(partitions(load(uncached, Expressions.equal("part", 1), Expressions.alwaysTrue(), 1)), ImmutableSet.of("part=1"));
+        assertEquals(partitions(load(uncached, Expressions.greaterThan("id", 250L), Expressions.alwaysTrue(), 1000)), ImmutableSet.of("part=2"));
+
+        // manifests are pruned with the dynamic filter collected so far
+        assertEquals(partitions(load(uncached, Expressions.alwaysTrue(), Expressions.lessThan("part", 2), 1000)), ImmutableSet.of("part=0", "part=1"));
+        assertEquals(partitions(load(uncached, Expressions.alwaysTrue(), Expressions.alwaysFalse(), 1000)), ImmutableSet.of());
+    }
+
+    @Test
+    public void testPopulateManifestCache()
+    {
+        ManifestCache manifestCache = new ManifestCache(new IcebergConfig());
+        assertEquals(partitions(load(manifestCache, Expressions.equal("part", 1), Expressions.alwaysTrue(), 1)), ImmutableSet.of("part=1"));
+        assertEquals(manifestCache.getSize(), 1);
+
+        assertEquals(partitions(load(manifestCache, Expressions.greaterThan("id", 150L), Expressions.alwaysTrue(), 1)), ImmutableSet.of("part=1", "part=2"));
+        assertEquals(manifestCache.getHitRate(), 0.5);
+    }
+
+    @Test
+    public void testSplitByOffsets()
+    {
+        ManifestCache uncached = new ManifestCache(new IcebergConfig().setManifestCacheMaxDataFiles(0));
+        TableScan tableScan = newScan().option(TableProperties.SPLIT_SIZE, "40");
+        List<FileScanTask> tasks = load(tableScan, uncached, Expressions.equal("part", 0), Expressions.alwaysTrue(), 1000);
+        // row groups start at 0, 30, 60 and 90
+        assertEquals(tasks.size(), 2);
+        assertEquals(tasks.get(0).start(), 0);
+        assertEquals(tasks.get(0).length(), 60);
+        assertEquals(tasks.get(1).start(), 60);
+        assertEquals(tasks.get(1).length(), 40);
+    }
+
+    private List<FileScanTask> load(ManifestCache manifestCache, Expression filter, Expression dynamicFilter, int maxOutstandingSplits)
+    {
+        return load(newScan(), manifestCache, filter, dynamicFilter, maxOutstandingSplits);
+    }
+
+    private List<FileScanTask> load(TableScan tableScan, ManifestCache manifestCache, Expression filter, Expression dynamicFilter, int maxOutstandingSplits)
+    {
+        IcebergSplitLoader loader = new IcebergSplitLoader(tableScan, manifestCache, filter, () -> dynamicFilter, executor, maxOutstandingSplits, 2);
+        loader.start();
+        ImmutableList.Builder<FileScanTask> tasks = ImmutableList.builder();
+        while (!loader.isFinished()) {
+            tasks.addAll(getFutureValue(loader.getNextBatch(1)));
+        }
+        return tasks.build();
+    }
+
+    private TableScan newScan()
+    {
+        return table.newScan().useSnapshot(table.currentSnapshot().snapshotId());
+    }
+
+    private static Set<String> partitions(List<FileScanTask> tasks)
+    {
+        return tasks.stream()
+                .map(task -> new File(task.file().path().toString()).getParentFile().getName())
+                .collect(ImmutableSet.toImmutableSet());
+    }
+
+    private static DataFile dataFile(int part)
+    {
+        // ids of partition N are in [N * 100, N * 100 + 99]
+        return DataFiles.builder(SPEC)
+                .withPath("/data/part=" + part + "/file.parquet")
+                .withPartitionPath("part=" + part)
+                .withFileSizeInBytes(100)
+                .withSplitOffsets(ImmutableList.of(0L, 30L, 60L, 90L))
+                .withMetrics(new Metrics(
+                        10L,
+                        null,
+                        null,
+                        null,
+                        null,
+                        ImmutableMap.of(1, toByteBuffer(Types.LongType.get(), part * 100L)),
+                        ImmutableMap.of(1, toByteBuffer(Types.LongType.get(), part * 100L + 99))))
+                .build();
+    }
+}
@@ -43,6 +43,7 @@ import io.prestosql.spi.type.testing.TestingTypeManager;
 import io.prestosql.sql.planner.TestingConnectorTransactionHandle;
 import io.prestosql.testing.TestingConnectorSession;
 import org.mockito.Mock;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -51,9 +52,14 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.assertTrue;
 
+@Test(singleThreaded = true)
 public class IcebergSplitManagerTest
 {
     @Mock
@@ -61,13 +67,28 @@ public class IcebergSplitManagerTest
     @Mock
     private TypeManager mockTypeManager;
 
+    private ExecutorService splitLoaderExecutor;
     private IcebergSplitManager icebergSplitManagerUnderTest;
 
     @BeforeMethod
     public void setUp() throws Exception
     {
         initMocks(this);
-        icebergSplitManagerUnderTest = new IcebergSplitManager(mockTransactionManager, mockTypeManager);
+        splitLoaderExecutor = newCachedThreadPool(daemonThreadsNamed("test-split-loader-%s"));
+        icebergSplitManagerUnderTest = new IcebergSplitManager(mockTransactionManager, mockTypeManager, new ManifestCache(new IcebergConfig()), new IcebergConfig(), splitLoaderExecutor);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown()
+    {
+        icebergSplitManagerUnderTest.destroy();
+    }
+
+    @Test
+    public void testDestroyShutsDownSplitLoaderExecutor()
+    {
+        icebergSplitManagerUnderTest.destroy();
+        assertTrue(splitLoaderExecutor.isShutdown());
     }
 
     @Test
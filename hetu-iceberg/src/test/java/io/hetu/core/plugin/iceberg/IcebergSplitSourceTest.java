@@ -79,6 +79,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.hetu.core.plugin.iceberg.IcebergPageSourceProviderTest.writeOrcContent;
 import static io.hetu.core.plugin.iceberg.util.IcebergTestUtil.getHiveConfig;
 import static io.prestosql.plugin.hive.metastore.CachingHiveMetastore.memoizeMetastore;
@@ -87,6 +88,7 @@ import static io.prestosql.spi.connector.Constraint.alwaysTrue;
 import static io.prestosql.spi.connector.RetryMode.NO_RETRIES;
 import static io.prestosql.spi.security.PrincipalType.USER;
 import static io.prestosql.testing.TestingSession.testSessionBuilder;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.testng.Assert.assertTrue;
 
@@ -177,6 +179,7 @@ public class IcebergSplitSourceTest
         icebergSplitSource = new IcebergSplitSource(
                 tableHandle,
                 nationTable.newScan(),
+                new ManifestCache(new IcebergConfig()),
                 Optional.empty(),
                 new DynamicFilter()
                 {
@@ -233,7 +236,10 @@ public class IcebergSplitSourceTest
                 alwaysTrue(),
                 new TestingTypeManager(),
                 false,
-                new IcebergConfig().getMinimumAssignedSplitWeight());
+                new IcebergConfig().getMinimumAssignedSplitWeight(),
+                newCachedThreadPool(daemonThreadsNamed("test-split-loader-%s")),
+                new IcebergConfig().getMaxOutstandingSplits(),
+                new IcebergConfig().getSplitLoaderConcurrency());
     }
 
     @Test
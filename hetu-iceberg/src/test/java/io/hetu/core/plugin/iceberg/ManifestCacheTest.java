@@ -0,0 +1,130 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.iceberg;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.Metrics;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.expressions.Expressions;
+import org.apache.iceberg.hadoop.HadoopTables;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.types.Types;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static org.apache.iceberg.types.Conversions.toByteBuffer;
+import static org.apache.iceberg.types.Types.NestedField.required;
+import static org.testng.Assert.assertEquals;
+
+public class ManifestCacheTest
+{
+    private static final Schema SCHEMA = new Schema(
+            required(1, "id", Types.LongType.get()),
+            required(2, "part", Types.IntegerType.get()));
+    private static final PartitionSpec SPEC = PartitionSpec.builderFor(SCHEMA).identity("part").build();
+
+    private File tempDir;
+    private Table table;
+
+    @BeforeClass
+    public void setUp()
+            throws IOException
+    {
+        tempDir = Files.createTempDirectory("test_manifest_cache").toFile();
+        table = new HadoopTables(new Configuration()).create(SCHEMA, SPEC, tempDir.getAbsolutePath() + "/table");
+        table.newAppend()
+                .appendFile(dataFile(0))
+                .appendFile(dataFile(1))
+                .appendFile(dataFile(2))
+                .commit();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(tempDir.toPath(), ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testPlanFiles()
+            throws IOException
+    {
+        ManifestCache manifestCache = new ManifestCache(new IcebergConfig());
+        assertEquals(planFiles(manifestCache, Expressions.alwaysTrue()), ImmutableSet.of("part=0", "part=1", "part=2"));
+        assertEquals(manifestCache.getSize(), 1);
+
+        // the cached snapshot is pruned by partition values and column metrics
+        assertEquals(planFiles(manifestCache, Expressions.equal("part", 1)), ImmutableSet.of("part=1"));
+        assertEquals(planFiles(manifestCache, Expressions.greaterThan("id", 250L)), ImmutableSet.of("part=2"));
+        assertEquals(planFiles(manifestCache, Expressions.equal("part", 5)), ImmutableSet.of());
+        assertEquals(manifestCache.getSize(), 1);
+
+        // a disabled cache or a snapshot with more files than the limit plans through Iceberg
+        for (IcebergConfig config : ImmutableList.of(
+                new IcebergConfig().setManifestCacheMaxDataFiles(0),
+                new IcebergConfig().setManifestCacheMaxDataFiles(2))) {
+            ManifestCache uncached = new ManifestCache(config);
+            assertEquals(planFiles(uncached, Expressions.equal("part", 1)), ImmutableSet.of("part=1"));
+            assertEquals(uncached.getSize(), 0);
+        }
+    }
+
+    private Set<String> planFiles(ManifestCache manifestCache, Expression filter)
+            throws IOException
+    {
+        ImmutableSet.Builder<String> files = ImmutableSet.builder();
+        try (CloseableIterable<FileScanTask> tasks = manifestCache.planFiles(table.newScan().useSnapshot(table.currentSnapshot().snapshotId()), filter)) {
+            for (FileScanTask task : tasks) {
+                files.add(new File(task.file().path().toString()).getParentFile().getName());
+            }
+        }
+        return files.build();
+    }
+
+    private static DataFile dataFile(int part)
+    {
+        // ids of partition N are in [N * 100, N * 100 + 99]
+        return DataFiles.builder(SPEC)
+                .withPath("/data/part=" + part + "/file.orc")
+                .withPartitionPath("part=" + part)
+                .withFileSizeInBytes(100)
+                .withMetrics(new Metrics(
+                        10L,
+                        null,
+                        null,
+                        null,
+                        null,
+                        ImmutableMap.of(1, toByteBuffer(Types.LongType.get(), part * 100L)),
+                        ImmutableMap.of(1, toByteBuffer(Types.LongType.get(), part * 100L + 99))))
+                .build();
+    }
+}
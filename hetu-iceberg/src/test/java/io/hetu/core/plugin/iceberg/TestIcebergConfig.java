@@ -14,6 +14,7 @@
 package io.hetu.core.plugin.iceberg;
 
 import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.prestosql.plugin.hive.HiveCompressionCodec;
 import org.testng.annotations.Test;
@@ -45,7 +46,11 @@ public class TestIcebergConfig
                 .setTableStatisticsEnabled(true)
                 .setProjectionPushdownEnabled(true)
                 .setMinimumAssignedSplitWeight(0.05d)
-                .setHiveCatalogName(null));
+                .setHiveCatalogName(null)
+                .setManifestCacheMaxDataFiles(50_000)
+                .setDeleteFileCacheMaxSize(DataSize.valueOf("128MB"))
+                .setMaxOutstandingSplits(1000)
+                .setSplitLoaderConcurrency(4));
     }
 
     @Test
@@ -63,6 +68,10 @@ public class TestIcebergConfig
                 .put("iceberg.projection-pushdown-enabled", "false")
                 .put("iceberg.hive-catalog-name", "hive")
                 .put("iceberg.minimum-assigned-split-weight", "test")
+                .put("iceberg.manifest-cache.max-data-files", "1000")
+                .put("iceberg.delete-file-cache.max-size", "1GB")
+                .put("iceberg.max-outstanding-splits", "50")
+                .put("iceberg.split-loader-concurrency", "8")
                 .build();
 
         IcebergConfig expected = new IcebergConfig()
@@ -75,6 +84,10 @@ public class TestIcebergConfig
                 .setDynamicFilteringWaitTimeout(Duration.valueOf("1h"))
                 .setTableStatisticsEnabled(false)
                 .setProjectionPushdownEnabled(false)
-                .setHiveCatalogName("hive");
+                .setHiveCatalogName("hive")
+                .setManifestCacheMaxDataFiles(1000)
+                .setDeleteFileCacheMaxSize(DataSize.valueOf("1GB"))
+                .setMaxOutstandingSplits(50)
+                .setSplitLoaderConcurrency(8);
     }
 }
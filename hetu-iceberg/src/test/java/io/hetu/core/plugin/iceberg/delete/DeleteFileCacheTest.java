@@ -0,0 +1,166 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.iceberg.delete;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.units.DataSize;
+import io.hetu.core.plugin.iceberg.IcebergColumnHandle;
+import io.hetu.core.plugin.iceberg.IcebergConfig;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.connector.FixedPageSource;
+import io.prestosql.spi.type.Type;
+import io.prestosql.spi.type.TypeManager;
+import io.prestosql.spi.type.testing.TestingTypeManager;
+import org.apache.iceberg.FileContent;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.FileIO;
+import org.apache.iceberg.types.Types;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.hetu.core.plugin.iceberg.IcebergUtil.getColumnHandle;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static org.apache.iceberg.MetadataColumns.ROW_POSITION;
+import static org.apache.iceberg.types.Types.NestedField.optional;
+import static org.apache.iceberg.types.Types.NestedField.required;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class DeleteFileCacheTest
+{
+    private static final TypeManager TYPE_MANAGER = new TestingTypeManager();
+    private static final Schema TABLE_SCHEMA = new Schema(
+            required(1, "id", Types.LongType.get()),
+            optional(2, "name", Types.StringType.get()));
+    private static final TrinoDeleteFile POSITION_DELETES = deleteFile(FileContent.POSITION_DELETES, "pos.orc", null);
+    private static final TrinoDeleteFile EQUALITY_DELETES = deleteFile(FileContent.EQUALITY_DELETES, "eq.orc", ImmutableList.of(2));
+
+    @Test
+    public void testFilterWithCachedDeletes()
+    {
+        DeleteFileCache cache = new DeleteFileCache(new IcebergConfig());
+        AtomicInteger opened = new AtomicInteger();
+        DeletePageSourceFactory pageSourceFactory = countingPageSourceFactory(opened);
+
+        // every split of the data file reuses the parsed delete files
+        for (int split = 0; split < 3; split++) {
+            assertEquals(filter(cache, pageSourceFactory), ImmutableList.of(0L, 4L));
+        }
+        assertEquals(opened.get(), 2);
+        assertEquals(cache.getSize(), 2);
+    }
+
+    @Test
+    public void testDisabledCache()
+    {
+        DeleteFileCache cache = new DeleteFileCache(new IcebergConfig().setDeleteFileCacheMaxSize(DataSize.valueOf("0B")));
+        AtomicInteger opened = new AtomicInteger();
+        DeletePageSourceFactory pageSourceFactory = countingPageSourceFactory(opened);
+
+        assertEquals(filter(cache, pageSourceFactory), ImmutableList.of(0L, 4L));
+        assertEquals(filter(cache, pageSourceFactory), ImmutableList.of(0L, 4L));
+        assertEquals(opened.get(), 4);
+        assertEquals(cache.getSize(), 0);
+    }
+
+    @Test
+    public void testReadPositionDeletes()
+    {
+        Map<String, Roaring64Bitmap> deletes = TrinoDeleteFilter.readPositionDeletes(positionDeletes());
+        assertEquals(deletes.size(), 2);
+        assertEquals(deletes.get("data.orc").getLongCardinality(), 2);
+        assertTrue(deletes.get("data.orc").contains(3));
+        assertFalse(deletes.get("data.orc").contains(2));
+        assertTrue(deletes.get("other.orc").contains(2));
+    }
+
+    private static List<Long> filter(DeleteFileCache cache, DeletePageSourceFactory pageSourceFactory)
+    {
+        List<IcebergColumnHandle> columns = ImmutableList.of(
+                getColumnHandle(TABLE_SCHEMA.findField(1), TYPE_MANAGER),
+                getColumnHandle(TABLE_SCHEMA.findField(2), TYPE_MANAGER),
+                getColumnHandle(ROW_POSITION, TYPE_MANAGER));
+        TrinoDeleteFilter deleteFilter = new TrinoDeleteFilter(
+                new DummyFileScanTask("data.orc", ImmutableList.of(POSITION_DELETES, EQUALITY_DELETES)),
+                TABLE_SCHEMA,
+                columns,
+                mock(FileIO.class),
+                cache,
+                pageSourceFactory,
+                TYPE_MANAGER);
+
+        BlockBuilder ids = BIGINT.createBlockBuilder(null, 5);
+        BlockBuilder names = VARCHAR.createBlockBuilder(null, 5);
+        BlockBuilder positions = BIGINT.createBlockBuilder(null, 5);
+        String[] values = {"a", "a", "b", "c", "d"};
+        for (int i = 0; i < values.length; i++) {
+            BIGINT.writeLong(ids, i);
+            VARCHAR.writeSlice(names, utf8Slice(values[i]));
+            BIGINT.writeLong(positions, i);
+        }
+        Page page = new Page(ids.build(), names.build(), positions.build());
+
+        List<Long> remaining = new ArrayList<>();
+        Type[] types = {BIGINT, VARCHAR, BIGINT};
+        for (TrinoRow row : deleteFilter.filter(CloseableIterable.withNoopClose(TrinoRow.fromPage(types, page, page.getPositionCount())))) {
+            remaining.add(BIGINT.getLong(page.getBlock(0), row.getPosition()));
+        }
+        return remaining;
+    }
+
+    private static DeletePageSourceFactory countingPageSourceFactory(AtomicInteger opened)
+    {
+        return (deleteFile, columns) -> {
+            opened.incrementAndGet();
+            if (deleteFile.content() == FileContent.POSITION_DELETES) {
+                return positionDeletes();
+            }
+            assertEquals(columns.size(), 1);
+            BlockBuilder names = VARCHAR.createBlockBuilder(null, 1);
+            VARCHAR.writeSlice(names, utf8Slice("b"));
+            return new FixedPageSource(ImmutableList.of(new Page(names.build())));
+        };
+    }
+
+    private static ConnectorPageSource positionDeletes()
+    {
+        BlockBuilder paths = VARCHAR.createBlockBuilder(null, 3);
+        BlockBuilder positions = BIGINT.createBlockBuilder(null, 3);
+        VARCHAR.writeSlice(paths, utf8Slice("data.orc"));
+        BIGINT.writeLong(positions, 1);
+        VARCHAR.writeSlice(paths, utf8Slice("data.orc"));
+        BIGINT.writeLong(positions, 3);
+        VARCHAR.writeSlice(paths, utf8Slice("other.orc"));
+        BIGINT.writeLong(positions, 2);
+        return new FixedPageSource(ImmutableList.of(new Page(paths.build(), positions.build())));
+    }
+
+    private static TrinoDeleteFile deleteFile(FileContent content, String path, List<Integer> equalityFieldIds)
+    {
+        return new TrinoDeleteFile(null, 0, content, path, FileFormat.ORC, 3, 100, null, null, null, null, null, null, null, equalityFieldIds, null, null);
+    }
+}
@@ -29,6 +29,7 @@ import io.prestosql.plugin.jdbc.ColumnMapping;
 import io.prestosql.plugin.jdbc.ConnectionFactory;
 import io.prestosql.plugin.jdbc.JdbcColumnHandle;
 import io.prestosql.plugin.jdbc.JdbcIdentity;
+import io.prestosql.plugin.jdbc.JdbcOutputTableHandle;
 import io.prestosql.plugin.jdbc.JdbcTableHandle;
 import io.prestosql.plugin.jdbc.JdbcTypeHandle;
 import io.prestosql.plugin.jdbc.StatsCollecting;
@@ -111,6 +112,9 @@ import static java.util.Locale.ENGLISH;
 public class MariaClient
         extends BaseJdbcClient
 {
+    // MariaDB accepts at most 65535 parameters in a prepared statement
+    private static final int MAX_BULK_INSERT_PARAMETERS = 65535;
+
     private final Type jsonType;
     private final JdbcPushDownModule pushDownModule;
     private final BaseJdbcConfig config;
@@ -287,6 +291,24 @@ public class MariaClient
         renameTable(identity, null, handle.getCatalogName(), handle.getTableName(), newTableName);
     }
 
+    @Override
+    public boolean isBulkInsertSupported()
+    {
+        return true;
+    }
+
+    @Override
+    public int getMaxBulkInsertRows(int columnCount)
+    {
+        return MAX_BULK_INSERT_PARAMETERS / columnCount;
+    }
+
+    @Override
+    public String buildBulkInsertSql(JdbcOutputTableHandle handle, int rowCount)
+    {
+        return buildMultiRowInsertSql(handle, rowCount);
+    }
+
     @Override
     protected Optional<BiFunction<String, Long, String>> limitFunction()
     {
@@ -0,0 +1,162 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.mongodb;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A GROUP BY evaluated by a MongoDB $group stage. The rows it produces have one field per
+ * grouping column, named like the column, and one field per aggregate, named like its output.
+ */
+public class MongoAggregation
+{
+    private final List<MongoColumnHandle> groupingColumns;
+    private final List<Aggregate> aggregates;
+
+    @JsonCreator
+    public MongoAggregation(
+            @JsonProperty("groupingColumns") List<MongoColumnHandle> groupingColumns,
+            @JsonProperty("aggregates") List<Aggregate> aggregates)
+    {
+        this.groupingColumns = ImmutableList.copyOf(requireNonNull(groupingColumns, "groupingColumns is null"));
+        this.aggregates = ImmutableList.copyOf(requireNonNull(aggregates, "aggregates is null"));
+    }
+
+    @JsonProperty
+    public List<MongoColumnHandle> getGroupingColumns()
+    {
+        return groupingColumns;
+    }
+
+    @JsonProperty
+    public List<Aggregate> getAggregates()
+    {
+        return aggregates;
+    }
+
+    /**
+     * A global aggregation returns a single row even if no document matches.
+     */
+    public boolean isGlobal()
+    {
+        return groupingColumns.isEmpty();
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(groupingColumns, aggregates);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        MongoAggregation other = (MongoAggregation) obj;
+        return Objects.equals(this.groupingColumns, other.groupingColumns) &&
+                Objects.equals(this.aggregates, other.aggregates);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("groupingColumns", groupingColumns)
+                .add("aggregates", aggregates)
+                .toString();
+    }
+
+    public static class Aggregate
+    {
+        private final String function;
+        private final Optional<MongoColumnHandle> argument;
+        private final MongoColumnHandle output;
+
+        @JsonCreator
+        public Aggregate(
+                @JsonProperty("function") String function,
+                @JsonProperty("argument") Optional<MongoColumnHandle> argument,
+                @JsonProperty("output") MongoColumnHandle output)
+        {
+            this.function = requireNonNull(function, "function is null");
+            this.argument = requireNonNull(argument, "argument is null");
+            this.output = requireNonNull(output, "output is null");
+        }
+
+        /**
+         * One of count, sum, min, max and avg.
+         */
+        @JsonProperty
+        public String getFunction()
+        {
+            return function;
+        }
+
+        /**
+         * The aggregated column, empty for count(*).
+         */
+        @JsonProperty
+        public Optional<MongoColumnHandle> getArgument()
+        {
+            return argument;
+        }
+
+        @JsonProperty
+        public MongoColumnHandle getOutput()
+        {
+            return output;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(function, argument, output);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Aggregate other = (Aggregate) obj;
+            return Objects.equals(this.function, other.function) &&
+                    Objects.equals(this.argument, other.argument) &&
+                    Objects.equals(this.output, other.output);
+        }
+
+        @Override
+        public String toString()
+        {
+            return function + "(" + argument.map(MongoColumnHandle::getName).orElse("*") + ")";
+        }
+    }
+}
@@ -53,6 +53,7 @@ public class MongoClientConfig
 
     // query configurations
     private int cursorBatchSize; // use driver default
+    private boolean pushDownEnabled;
 
     private ReadPreferenceType readPreference = ReadPreferenceType.PRIMARY;
     private WriteConcernType writeConcern = WriteConcernType.ACKNOWLEDGED;
@@ -289,6 +290,18 @@ public class MongoClientConfig
         return this;
     }
 
+    public boolean isPushDownEnabled()
+    {
+        return pushDownEnabled;
+    }
+
+    @Config("mongodb.pushdown.enabled")
+    public MongoClientConfig setPushDownEnabled(boolean pushDownEnabled)
+    {
+        this.pushDownEnabled = pushDownEnabled;
+        return this;
+    }
+
     @NotNull
     public String getImplicitRowFieldPrefix()
     {
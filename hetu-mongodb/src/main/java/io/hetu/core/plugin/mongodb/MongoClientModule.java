@@ -19,6 +19,8 @@ import com.google.inject.Provides;
 import com.google.inject.Scopes;
 import com.mongodb.MongoClient;
 import com.mongodb.MongoClientOptions;
+import io.hetu.core.plugin.mongodb.optimization.MongoPlanOptimizer;
+import io.hetu.core.plugin.mongodb.optimization.MongoPlanOptimizerProvider;
 import io.prestosql.spi.type.TypeManager;
 
 import javax.inject.Singleton;
@@ -36,6 +38,8 @@ public class MongoClientModule
         binder.bind(MongoSplitManager.class).in(Scopes.SINGLETON);
         binder.bind(MongoPageSourceProvider.class).in(Scopes.SINGLETON);
         binder.bind(MongoPageSinkProvider.class).in(Scopes.SINGLETON);
+        binder.bind(MongoPlanOptimizer.class).in(Scopes.SINGLETON);
+        binder.bind(MongoPlanOptimizerProvider.class).in(Scopes.SINGLETON);
 
         configBinder(binder).bindConfig(MongoClientConfig.class);
     }
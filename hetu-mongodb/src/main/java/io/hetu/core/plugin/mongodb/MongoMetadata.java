@@ -31,6 +31,7 @@ import io.prestosql.spi.connector.ConnectorTableMetadata;
 import io.prestosql.spi.connector.ConnectorTableProperties;
 import io.prestosql.spi.connector.Constraint;
 import io.prestosql.spi.connector.ConstraintApplicationResult;
+import io.prestosql.spi.connector.LimitApplicationResult;
 import io.prestosql.spi.connector.LocalProperty;
 import io.prestosql.spi.connector.NotFoundException;
 import io.prestosql.spi.connector.SchemaTableName;
@@ -44,6 +45,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -58,12 +60,14 @@ public class MongoMetadata
     private static final Logger log = Logger.get(MongoMetadata.class);
 
     private final MongoSession mongoSession;
+    private final boolean pushDownEnabled;
 
     private final AtomicReference<Runnable> rollbackAction = new AtomicReference<>();
 
-    public MongoMetadata(MongoSession mongoSession)
+    public MongoMetadata(MongoSession mongoSession, boolean pushDownEnabled)
     {
         this.mongoSession = requireNonNull(mongoSession, "mongoSession is null");
+        this.pushDownEnabled = pushDownEnabled;
     }
 
     @Override
@@ -255,6 +259,10 @@ public class MongoMetadata
     public Optional<ConstraintApplicationResult<ConnectorTableHandle>> applyFilter(ConnectorSession session, ConnectorTableHandle table, Constraint constraint)
     {
         MongoTableHandle handle = (MongoTableHandle) table;
+        if (handle.getAggregation().isPresent() || handle.getLimit().isPresent()) {
+            // the constraint is applied to the documents before they are grouped or limited
+            return Optional.empty();
+        }
 
         TupleDomain<ColumnHandle> oldDomain = handle.getConstraint();
         TupleDomain<ColumnHandle> newDomain = oldDomain.intersect(constraint.getSummary());
@@ -266,7 +274,32 @@ public class MongoMetadata
                 handle.getSchemaTableName(),
                 newDomain);
 
-        return Optional.of(new ConstraintApplicationResult<>(handle, constraint.getSummary()));
+        TupleDomain<ColumnHandle> remainingFilter = constraint.getSummary();
+        if (pushDownEnabled) {
+            // the engine does not have to filter again what the MongoDB query matches exactly,
+            // which lets aggregations over filtered tables be pushed down too
+            remainingFilter = constraint.getSummary().filter((column, domain) -> !MongoSession.isEnforced((MongoColumnHandle) column, domain));
+        }
+        return Optional.of(new ConstraintApplicationResult<>(handle, remainingFilter));
+    }
+
+    @Override
+    public Optional<LimitApplicationResult<ConnectorTableHandle>> applyLimit(ConnectorSession session, ConnectorTableHandle table, long limit)
+    {
+        MongoTableHandle handle = (MongoTableHandle) table;
+        if (limit <= 0 || limit > Integer.MAX_VALUE || (handle.getLimit().isPresent() && handle.getLimit().getAsLong() <= limit)) {
+            return Optional.empty();
+        }
+
+        handle = new MongoTableHandle(
+                handle.getSchemaTableName(),
+                handle.getConstraint(),
+                handle.getAggregation(),
+                handle.getSortItems(),
+                OptionalLong.of(limit));
+
+        // a table is read by a single split, so the limit is exact
+        return Optional.of(new LimitApplicationResult<>(handle, true));
     }
 
     private void setRollback(Runnable action)
@@ -40,6 +40,8 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkState;
@@ -68,6 +70,7 @@ import static io.prestosql.spi.type.TinyintType.TINYINT;
 import static java.lang.Float.floatToIntBits;
 import static java.lang.String.join;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 public class MongoPageSource
         implements ConnectorPageSource
@@ -75,11 +78,14 @@ public class MongoPageSource
     private static final ISOChronology UTC_CHRONOLOGY = ISOChronology.getInstanceUTC();
     private static final int ROWS_PER_REQUEST = 1024;
 
-    private final MongoCursor<Document> cursor;
+    private final MongoCursor<Object[]> cursor;
     private final List<String> columnNames;
+    private final int[] columnFields;
     private final List<Type> columnTypes;
-    private Document currentDoc;
+    private final Optional<MongoAggregation> aggregation;
+    private Object[] currentRow;
     private long count;
+    private long totalCount;
     private boolean finished;
 
     private final PageBuilder pageBuilder;
@@ -90,9 +96,12 @@ public class MongoPageSource
             List<MongoColumnHandle> columns)
     {
         this.columnNames = columns.stream().map(MongoColumnHandle::getName).collect(toList());
+        List<String> fieldNames = MongoSession.getFieldNames(columns);
+        this.columnFields = columns.stream().mapToInt(column -> fieldNames.indexOf(column.getName())).toArray();
         this.columnTypes = columns.stream().map(MongoColumnHandle::getType).collect(toList());
+        this.aggregation = tableHandle.getAggregation();
         this.cursor = mongoSession.execute(tableHandle, columns);
-        currentDoc = null;
+        currentRow = null;
 
         pageBuilder = new PageBuilder(columnTypes);
     }
@@ -129,15 +138,19 @@ public class MongoPageSource
         for (int i = 0; i < ROWS_PER_REQUEST; i++) {
             if (!cursor.hasNext()) {
                 finished = true;
+                if (totalCount == 0 && aggregation.isPresent() && aggregation.get().isGlobal()) {
+                    appendEmptyAggregationRow(aggregation.get());
+                }
                 break;
             }
-            currentDoc = cursor.next();
+            currentRow = cursor.next();
             count++;
+            totalCount++;
 
             pageBuilder.declarePosition();
             for (int column = 0; column < columnTypes.size(); column++) {
                 BlockBuilder output = pageBuilder.getBlockBuilder(column);
-                appendTo(columnTypes.get(column), currentDoc.get(columnNames.get(column)), output);
+                appendTo(columnTypes.get(column), currentRow[columnFields[column]], output);
             }
         }
 
@@ -146,6 +159,21 @@ public class MongoPageSource
         return page;
     }
 
+    private void appendEmptyAggregationRow(MongoAggregation aggregation)
+    {
+        // $group returns no document for no input, the result of a global aggregation over no rows
+        // is one row with zero counts and null for all other aggregates
+        Set<String> counts = aggregation.getAggregates().stream()
+                .filter(aggregate -> aggregate.getFunction().equals("count"))
+                .map(aggregate -> aggregate.getOutput().getName())
+                .collect(toSet());
+        pageBuilder.declarePosition();
+        for (int column = 0; column < columnTypes.size(); column++) {
+            Object value = counts.contains(columnNames.get(column)) ? 0L : null;
+            appendTo(columnTypes.get(column), value, pageBuilder.getBlockBuilder(column));
+        }
+    }
+
     private void appendTo(Type type, Object value, BlockBuilder output)
     {
         if (value == null) {
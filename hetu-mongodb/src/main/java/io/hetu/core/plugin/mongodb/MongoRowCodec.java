@@ -0,0 +1,111 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.mongodb;
+
+import com.google.common.collect.ImmutableMap;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.BsonTypeClassMap;
+import org.bson.codecs.BsonTypeCodecMap;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decodes the requested top level fields of a document straight from the BSON stream into an
+ * array of field values, skipping all other fields without materializing a {@link org.bson.Document}.
+ * Values are represented by the same Java types the {@link org.bson.codecs.DocumentCodec} uses.
+ */
+public class MongoRowCodec
+        implements Codec<Object[]>
+{
+    private final Map<String, Integer> fieldIndexes;
+    private final BsonTypeCodecMap codecs;
+
+    public MongoRowCodec(List<String> fieldNames, CodecRegistry registry)
+    {
+        ImmutableMap.Builder<String, Integer> fieldIndexes = ImmutableMap.builder();
+        for (int i = 0; i < fieldNames.size(); i++) {
+            fieldIndexes.put(fieldNames.get(i), i);
+        }
+        this.fieldIndexes = fieldIndexes.build();
+        this.codecs = new BsonTypeCodecMap(new BsonTypeClassMap(), requireNonNull(registry, "registry is null"));
+    }
+
+    @Override
+    public Object[] decode(BsonReader reader, DecoderContext decoderContext)
+    {
+        Object[] values = new Object[fieldIndexes.size()];
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            Integer index = fieldIndexes.get(reader.readName());
+            if (index == null) {
+                reader.skipValue();
+            }
+            else {
+                values[index] = readValue(reader, decoderContext);
+            }
+        }
+        reader.readEndDocument();
+        return values;
+    }
+
+    private Object readValue(BsonReader reader, DecoderContext decoderContext)
+    {
+        switch (reader.getCurrentBsonType()) {
+            case NULL:
+                reader.readNull();
+                return null;
+            case BOOLEAN:
+                return reader.readBoolean();
+            case INT32:
+                return reader.readInt32();
+            case INT64:
+                return reader.readInt64();
+            case DOUBLE:
+                return reader.readDouble();
+            case STRING:
+                return reader.readString();
+            case DATE_TIME:
+                return new Date(reader.readDateTime());
+            case OBJECT_ID:
+                return reader.readObjectId();
+            case DECIMAL128:
+                return reader.readDecimal128();
+            default:
+                // documents, arrays and the less common types are decoded like DocumentCodec does
+                return codecs.get(reader.getCurrentBsonType()).decode(reader, decoderContext);
+        }
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Object[] value, EncoderContext encoderContext)
+    {
+        throw new UnsupportedOperationException("MongoRowCodec only decodes documents");
+    }
+
+    @Override
+    public Class<Object[]> getEncoderClass()
+    {
+        return Object[].class;
+    }
+}
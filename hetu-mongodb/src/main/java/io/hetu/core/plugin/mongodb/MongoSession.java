@@ -25,6 +25,7 @@ import com.google.common.primitives.Shorts;
 import com.google.common.primitives.SignedBytes;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.mongodb.MongoClient;
+import com.mongodb.client.AggregateIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
@@ -52,6 +53,7 @@ import io.prestosql.spi.type.TypeSignature;
 import io.prestosql.spi.type.TypeSignatureParameter;
 import io.prestosql.spi.type.VarcharType;
 import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.types.ObjectId;
 
 import java.util.ArrayList;
@@ -86,6 +88,8 @@ import static java.util.concurrent.TimeUnit.HOURS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
+import static org.bson.codecs.configuration.CodecRegistries.fromCodecs;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 
 public class MongoSession
 {
@@ -99,6 +103,15 @@ public class MongoSession
     private static final String FIELDS_HIDDEN_KEY = "hidden";
 
     private static final String OR_OP = "$or";
+    private static final String SUM_OP = "$sum";
+    private static final String COND_OP = "$cond";
+    private static final String IF_NULL_OP = "$ifNull";
+
+    private static final String MATCH_STAGE = "$match";
+    private static final String GROUP_STAGE = "$group";
+    private static final String PROJECT_STAGE = "$project";
+    private static final String SORT_STAGE = "$sort";
+    private static final String LIMIT_STAGE = "$limit";
 
     private static final String EQ_OP = "$eq";
     private static final String NOT_EQ_OP = "$ne";
@@ -266,17 +279,39 @@ public class MongoSession
         return MongoIndex.parse(getCollection(tableName).listIndexes());
     }
 
-    public MongoCursor<Document> execute(MongoTableHandle tableHandle, List<MongoColumnHandle> columns)
+    public MongoCursor<Object[]> execute(MongoTableHandle tableHandle, List<MongoColumnHandle> columns)
     {
+        MongoCollection<Document> documents = getCollection(tableHandle.getSchemaTableName());
+        CodecRegistry registry = documents.getCodecRegistry();
+        MongoRowCodec rowCodec = new MongoRowCodec(getFieldNames(columns), registry);
+        MongoCollection<Document> collection = documents.withCodecRegistry(fromRegistries(fromCodecs(rowCodec), registry));
+
+        if (tableHandle.getAggregation().isPresent()) {
+            List<Document> pipeline = buildPipeline(tableHandle);
+            AggregateIterable<Object[]> iterable = collection.aggregate(pipeline, Object[].class).allowDiskUse(true);
+            log.debug("Aggregate documents: collection: %s, pipeline: %s", tableHandle.getSchemaTableName(), pipeline);
+
+            if (cursorBatchSize != 0) {
+                iterable.batchSize(cursorBatchSize);
+            }
+
+            return iterable.iterator();
+        }
+
         Document output = new Document();
         for (MongoColumnHandle column : columns) {
             output.append(column.getName(), 1);
         }
-        MongoCollection<Document> collection = getCollection(tableHandle.getSchemaTableName());
         Document query = buildQuery(tableHandle.getConstraint());
-        FindIterable<Document> iterable = collection.find(query).projection(output);
+        FindIterable<Object[]> iterable = collection.find(query, Object[].class).projection(output);
         log.debug("Find documents: collection: %s, filter: %s, projection: %s", tableHandle.getSchemaTableName(), query.toJson(), output.toJson());
 
+        if (!tableHandle.getSortItems().isEmpty()) {
+            iterable.sort(buildSort(tableHandle.getSortItems()));
+        }
+        if (tableHandle.getLimit().isPresent()) {
+            iterable.limit(toIntExact(tableHandle.getLimit().getAsLong()));
+        }
         if (cursorBatchSize != 0) {
             iterable.batchSize(cursorBatchSize);
         }
@@ -284,6 +319,116 @@ public class MongoSession
         return iterable.iterator();
     }
 
+    /**
+     * The distinct field names of the columns, in the order the values of a row returned by {@link #execute} are in.
+     */
+    public static List<String> getFieldNames(List<MongoColumnHandle> columns)
+    {
+        return columns.stream()
+                .map(MongoColumnHandle::getName)
+                .distinct()
+                .collect(toImmutableList());
+    }
+
+    @VisibleForTesting
+    static List<Document> buildPipeline(MongoTableHandle tableHandle)
+    {
+        MongoAggregation aggregation = tableHandle.getAggregation().orElseThrow(() -> new IllegalArgumentException("aggregation is not pushed down"));
+        ImmutableList.Builder<Document> pipeline = ImmutableList.builder();
+
+        Document query = buildQuery(tableHandle.getConstraint());
+        if (!query.isEmpty()) {
+            pipeline.add(new Document(MATCH_STAGE, query));
+        }
+
+        // missing fields and null values belong to the same group
+        Document groupKey = null;
+        Document project = new Document("_id", 0);
+        List<MongoColumnHandle> groupingColumns = aggregation.getGroupingColumns();
+        if (!aggregation.isGlobal()) {
+            groupKey = new Document();
+            for (int i = 0; i < groupingColumns.size(); i++) {
+                groupKey.append("k" + i, new Document(IF_NULL_OP, Arrays.asList(fieldPath(groupingColumns.get(i)), null)));
+                project.append(groupingColumns.get(i).getName(), "$_id.k" + i);
+            }
+        }
+
+        Document group = new Document("_id", groupKey);
+        List<MongoAggregation.Aggregate> aggregates = aggregation.getAggregates();
+        for (int i = 0; i < aggregates.size(); i++) {
+            MongoAggregation.Aggregate aggregate = aggregates.get(i);
+            String field = "a" + i;
+            String outputName = aggregate.getOutput().getName();
+            switch (aggregate.getFunction()) {
+                case "count":
+                    group.append(field, new Document(SUM_OP, aggregate.getArgument().<Object>map(MongoSession::countIfNotNull).orElse(1)));
+                    project.append(outputName, "$" + field);
+                    break;
+                case "sum":
+                    // $sum of no values is 0, while SQL returns null
+                    String countField = "n" + i;
+                    MongoColumnHandle argument = aggregate.getArgument().get();
+                    group.append(field, new Document(SUM_OP, fieldPath(argument)));
+                    group.append(countField, new Document(SUM_OP, countIfNotNull(argument)));
+                    project.append(outputName, new Document(COND_OP, Arrays.asList(
+                            new Document(GT_OP, Arrays.asList("$" + countField, 0)),
+                            "$" + field,
+                            null)));
+                    break;
+                case "min":
+                case "max":
+                case "avg":
+                    group.append(field, new Document("$" + aggregate.getFunction(), fieldPath(aggregate.getArgument().get())));
+                    project.append(outputName, "$" + field);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported aggregate function: " + aggregate.getFunction());
+            }
+        }
+        pipeline.add(new Document(GROUP_STAGE, group));
+        pipeline.add(new Document(PROJECT_STAGE, project));
+
+        if (!tableHandle.getSortItems().isEmpty()) {
+            pipeline.add(new Document(SORT_STAGE, buildSort(tableHandle.getSortItems())));
+        }
+        if (tableHandle.getLimit().isPresent()) {
+            pipeline.add(new Document(LIMIT_STAGE, tableHandle.getLimit().getAsLong()));
+        }
+        return pipeline.build();
+    }
+
+    private static Document buildSort(List<MongoSortItem> sortItems)
+    {
+        Document sort = new Document();
+        for (MongoSortItem sortItem : sortItems) {
+            sort.append(sortItem.getField(), sortItem.isAscending() ? 1 : -1);
+        }
+        return sort;
+    }
+
+    private static Document countIfNotNull(MongoColumnHandle column)
+    {
+        // a missing field and null both compare lower than any other value
+        return new Document(COND_OP, Arrays.asList(new Document(GT_OP, Arrays.asList(fieldPath(column), null)), 1, 0));
+    }
+
+    private static String fieldPath(MongoColumnHandle column)
+    {
+        return "$" + column.getName();
+    }
+
+    /**
+     * Whether the filter built for a domain matches exactly the documents the domain does,
+     * so that the engine does not need to evaluate it again.
+     */
+    static boolean isEnforced(MongoColumnHandle column, Domain domain)
+    {
+        Type type = column.getType();
+        boolean supportedType = type == BIGINT || type == IntegerType.INTEGER || type == SMALLINT || type == TINYINT ||
+                type instanceof ObjectIdType || type instanceof VarcharType;
+        return supportedType && buildPredicate(column, domain).isPresent();
+    }
+
     @VisibleForTesting
     static Document buildQuery(TupleDomain<ColumnHandle> tupleDomain)
     {
@@ -0,0 +1,74 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.mongodb;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+public class MongoSortItem
+{
+    private final String field;
+    private final boolean ascending;
+
+    @JsonCreator
+    public MongoSortItem(
+            @JsonProperty("field") String field,
+            @JsonProperty("ascending") boolean ascending)
+    {
+        this.field = requireNonNull(field, "field is null");
+        this.ascending = ascending;
+    }
+
+    @JsonProperty
+    public String getField()
+    {
+        return field;
+    }
+
+    @JsonProperty
+    public boolean isAscending()
+    {
+        return ascending;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(field, ascending);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        MongoSortItem other = (MongoSortItem) obj;
+        return Objects.equals(this.field, other.field) &&
+                this.ascending == other.ascending;
+    }
+
+    @Override
+    public String toString()
+    {
+        return field + (ascending ? " ASC" : " DESC");
+    }
+}
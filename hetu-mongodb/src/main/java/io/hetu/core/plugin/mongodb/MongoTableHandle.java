@@ -15,12 +15,16 @@ package io.hetu.core.plugin.mongodb;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
 import io.prestosql.spi.connector.ColumnHandle;
 import io.prestosql.spi.connector.ConnectorTableHandle;
 import io.prestosql.spi.connector.SchemaTableName;
 import io.prestosql.spi.predicate.TupleDomain;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
 
 import static java.util.Objects.requireNonNull;
 
@@ -29,19 +33,33 @@ public class MongoTableHandle
 {
     private final SchemaTableName schemaTableName;
     private final TupleDomain<ColumnHandle> constraint;
+    private final Optional<MongoAggregation> aggregation;
+    private final List<MongoSortItem> sortItems;
+    private final OptionalLong limit;
 
     public MongoTableHandle(SchemaTableName schemaTableName)
     {
         this(schemaTableName, TupleDomain.all());
     }
 
+    public MongoTableHandle(SchemaTableName schemaTableName, TupleDomain<ColumnHandle> constraint)
+    {
+        this(schemaTableName, constraint, Optional.empty(), ImmutableList.of(), OptionalLong.empty());
+    }
+
     @JsonCreator
     public MongoTableHandle(
             @JsonProperty("schemaTableName") SchemaTableName schemaTableName,
-            @JsonProperty("constraint") TupleDomain<ColumnHandle> constraint)
+            @JsonProperty("constraint") TupleDomain<ColumnHandle> constraint,
+            @JsonProperty("aggregation") Optional<MongoAggregation> aggregation,
+            @JsonProperty("sortItems") List<MongoSortItem> sortItems,
+            @JsonProperty("limit") OptionalLong limit)
     {
         this.schemaTableName = requireNonNull(schemaTableName, "schemaTableName is null");
         this.constraint = requireNonNull(constraint, "constraint is null");
+        this.aggregation = requireNonNull(aggregation, "aggregation is null");
+        this.sortItems = ImmutableList.copyOf(requireNonNull(sortItems, "sortItems is null"));
+        this.limit = requireNonNull(limit, "limit is null");
     }
 
     @JsonProperty
@@ -56,6 +74,27 @@ public class MongoTableHandle
         return constraint;
     }
 
+    /**
+     * The $group stage applied to the matching documents, if the aggregation was pushed down.
+     */
+    @JsonProperty
+    public Optional<MongoAggregation> getAggregation()
+    {
+        return aggregation;
+    }
+
+    @JsonProperty
+    public List<MongoSortItem> getSortItems()
+    {
+        return sortItems;
+    }
+
+    @JsonProperty
+    public OptionalLong getLimit()
+    {
+        return limit;
+    }
+
     @Override
     public String getTableName()
     {
@@ -65,7 +104,7 @@ public class MongoTableHandle
     @Override
     public int hashCode()
     {
-        return Objects.hash(schemaTableName, constraint);
+        return Objects.hash(schemaTableName, constraint, aggregation, sortItems, limit);
     }
 
     @Override
@@ -79,12 +118,21 @@ public class MongoTableHandle
         }
         MongoTableHandle other = (MongoTableHandle) obj;
         return Objects.equals(this.schemaTableName, other.schemaTableName) &&
-                Objects.equals(this.constraint, other.constraint);
+                Objects.equals(this.constraint, other.constraint) &&
+                Objects.equals(this.aggregation, other.aggregation) &&
+                Objects.equals(this.sortItems, other.sortItems) &&
+                Objects.equals(this.limit, other.limit);
     }
 
     @Override
     public String toString()
     {
-        return schemaTableName.toString();
+        StringBuilder builder = new StringBuilder(schemaTableName.toString());
+        aggregation.ifPresent(value -> builder.append(" aggregation=").append(value));
+        if (!sortItems.isEmpty()) {
+            builder.append(" sort=").append(sortItems);
+        }
+        limit.ifPresent(value -> builder.append(" limit=").append(value));
+        return builder.toString();
     }
 }
@@ -0,0 +1,290 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.mongodb.optimization;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.hetu.core.plugin.mongodb.MongoAggregation;
+import io.hetu.core.plugin.mongodb.MongoColumnHandle;
+import io.hetu.core.plugin.mongodb.MongoSortItem;
+import io.hetu.core.plugin.mongodb.MongoTableHandle;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.SortOrder;
+import io.prestosql.spi.connector.ColumnHandle;
+import io.prestosql.spi.metadata.TableHandle;
+import io.prestosql.spi.plan.AggregationNode;
+import io.prestosql.spi.plan.LimitNode;
+import io.prestosql.spi.plan.PlanNode;
+import io.prestosql.spi.plan.PlanNodeIdAllocator;
+import io.prestosql.spi.plan.PlanVisitor;
+import io.prestosql.spi.plan.ProjectNode;
+import io.prestosql.spi.plan.Symbol;
+import io.prestosql.spi.plan.TableScanNode;
+import io.prestosql.spi.plan.TopNNode;
+import io.prestosql.spi.predicate.TupleDomain;
+import io.prestosql.spi.relation.RowExpression;
+import io.prestosql.spi.relation.VariableReferenceExpression;
+import io.prestosql.spi.type.Type;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static io.prestosql.spi.type.SmallintType.SMALLINT;
+import static io.prestosql.spi.type.TinyintType.TINYINT;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Replaces aggregations, top-N and limits over a MongoDB table scan with a scan of a table handle
+ * which evaluates them in an aggregation pipeline. The planner runs this before exchanges are
+ * added, and a MongoDB table is read by a single split, so the pushed down operations are exact.
+ */
+public class MongoPlanVisitor
+        extends PlanVisitor<PlanNode, Void>
+{
+    private static final Set<String> FUNCTIONS = ImmutableSet.of("count", "sum", "min", "max", "avg");
+    // $sum, $min, $max and $avg only agree with SQL for numbers
+    private static final Set<Type> NUMERIC_TYPES = ImmutableSet.of(BIGINT, INTEGER, SMALLINT, TINYINT, DOUBLE);
+
+    private final PlanNodeIdAllocator idAllocator;
+
+    public MongoPlanVisitor(PlanNodeIdAllocator idAllocator)
+    {
+        this.idAllocator = requireNonNull(idAllocator, "idAllocator is null");
+    }
+
+    @Override
+    public PlanNode visitPlan(PlanNode node, Void context)
+    {
+        List<PlanNode> sources = node.getSources();
+        List<PlanNode> children = sources.stream()
+                .map(source -> source.accept(this, null))
+                .collect(toImmutableList());
+        for (int i = 0; i < sources.size(); i++) {
+            if (children.get(i) != sources.get(i)) {
+                return node.replaceChildren(children);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public PlanNode visitAggregation(AggregationNode node, Void context)
+    {
+        AggregationNode rewritten = (AggregationNode) visitPlan(node, context);
+        return pushAggregation(rewritten).orElse(rewritten);
+    }
+
+    @Override
+    public PlanNode visitTopN(TopNNode node, Void context)
+    {
+        TopNNode rewritten = (TopNNode) visitPlan(node, context);
+        return pushTopN(rewritten).orElse(rewritten);
+    }
+
+    @Override
+    public PlanNode visitLimit(LimitNode node, Void context)
+    {
+        LimitNode rewritten = (LimitNode) visitPlan(node, context);
+        return pushLimit(rewritten).orElse(rewritten);
+    }
+
+    private Optional<PlanNode> pushAggregation(AggregationNode node)
+    {
+        if (node.getStep() != AggregationNode.Step.SINGLE || node.getGroupingSetCount() != 1 ||
+                node.getHashSymbol().isPresent() || node.getGroupIdSymbol().isPresent()) {
+            return Optional.empty();
+        }
+
+        // identity projections between the aggregation and the scan only rename columns
+        PlanNode source = node.getSource();
+        Map<Symbol, Symbol> renames = new HashMap<>();
+        if (source instanceof ProjectNode) {
+            for (Map.Entry<Symbol, RowExpression> assignment : ((ProjectNode) source).getAssignments().entrySet()) {
+                if (!(assignment.getValue() instanceof VariableReferenceExpression)) {
+                    return Optional.empty();
+                }
+                renames.put(assignment.getKey(), new Symbol(((VariableReferenceExpression) assignment.getValue()).getName()));
+            }
+            source = ((ProjectNode) source).getSource();
+        }
+        Optional<MongoTableHandle> table = getMongoTable(source);
+        if (!table.isPresent() || table.get().getAggregation().isPresent() ||
+                !table.get().getSortItems().isEmpty() || table.get().getLimit().isPresent()) {
+            return Optional.empty();
+        }
+        Map<Symbol, ColumnHandle> scanAssignments = ((TableScanNode) source).getAssignments();
+
+        ImmutableMap.Builder<Symbol, ColumnHandle> assignments = ImmutableMap.builder();
+        Set<String> outputNames = new HashSet<>();
+        ImmutableList.Builder<MongoColumnHandle> groupingColumns = ImmutableList.builder();
+        for (Symbol groupingKey : node.getGroupingKeys()) {
+            MongoColumnHandle column = (MongoColumnHandle) scanAssignments.get(renames.getOrDefault(groupingKey, groupingKey));
+            if (column == null || column.getType().getJavaType() == Block.class || !isPlainFieldName(column.getName()) || !outputNames.add(column.getName())) {
+                return Optional.empty();
+            }
+            groupingColumns.add(column);
+            assignments.put(groupingKey, column);
+        }
+
+        ImmutableList.Builder<MongoAggregation.Aggregate> aggregates = ImmutableList.builder();
+        for (Map.Entry<Symbol, AggregationNode.Aggregation> entry : node.getAggregations().entrySet()) {
+            AggregationNode.Aggregation aggregation = entry.getValue();
+            String function = aggregation.getFunctionCall().getDisplayName().toLowerCase(Locale.ENGLISH);
+            if (!FUNCTIONS.contains(function) || aggregation.isDistinct() || aggregation.getFilter().isPresent() ||
+                    aggregation.getMask().isPresent() || aggregation.getOrderingScheme().isPresent()) {
+                return Optional.empty();
+            }
+
+            Optional<MongoColumnHandle> argument = Optional.empty();
+            List<RowExpression> arguments = aggregation.getArguments();
+            if (arguments.size() == 1 && arguments.get(0) instanceof VariableReferenceExpression) {
+                Symbol symbol = new Symbol(((VariableReferenceExpression) arguments.get(0)).getName());
+                argument = Optional.ofNullable((MongoColumnHandle) scanAssignments.get(renames.getOrDefault(symbol, symbol)));
+                if (!argument.isPresent() || !isPlainFieldName(argument.get().getName())) {
+                    return Optional.empty();
+                }
+            }
+            else if (!arguments.isEmpty()) {
+                return Optional.empty();
+            }
+            if (!function.equals("count") && !(argument.isPresent() && NUMERIC_TYPES.contains(argument.get().getType()))) {
+                return Optional.empty();
+            }
+
+            String outputName = entry.getKey().getName();
+            if (!isPlainFieldName(outputName) || !outputNames.add(outputName)) {
+                return Optional.empty();
+            }
+            MongoColumnHandle output = new MongoColumnHandle(outputName, aggregation.getFunctionCall().getType(), false);
+            aggregates.add(new MongoAggregation.Aggregate(function, argument, output));
+            assignments.put(entry.getKey(), output);
+        }
+
+        MongoTableHandle handle = table.get();
+        MongoTableHandle newHandle = new MongoTableHandle(
+                handle.getSchemaTableName(),
+                handle.getConstraint(),
+                Optional.of(new MongoAggregation(groupingColumns.build(), aggregates.build())),
+                ImmutableList.of(),
+                OptionalLong.empty());
+        TableScanNode scan = (TableScanNode) source;
+        return Optional.of(new TableScanNode(
+                idAllocator.getNextId(),
+                scan.getTable().withConnectorHandle(newHandle),
+                node.getOutputSymbols(),
+                assignments.build(),
+                TupleDomain.all(),
+                Optional.empty(),
+                scan.getStrategy(),
+                scan.getReuseTableScanMappingId(),
+                scan.getConsumerTableScanNodeCount(),
+                scan.isForDelete()));
+    }
+
+    private Optional<PlanNode> pushTopN(TopNNode node)
+    {
+        Optional<MongoTableHandle> table = getMongoTable(node.getSource());
+        if (node.getStep() != TopNNode.Step.SINGLE || node.getCount() > Integer.MAX_VALUE || !table.isPresent() ||
+                !table.get().getSortItems().isEmpty() || table.get().getLimit().isPresent()) {
+            return Optional.empty();
+        }
+        MongoTableHandle handle = table.get();
+        TableScanNode scan = (TableScanNode) node.getSource();
+
+        Set<String> counts = new HashSet<>();
+        handle.getAggregation().ifPresent(aggregation -> aggregation.getAggregates().stream()
+                .filter(aggregate -> aggregate.getFunction().equals("count"))
+                .forEach(aggregate -> counts.add(aggregate.getOutput().getName())));
+
+        ImmutableList.Builder<MongoSortItem> sortItems = ImmutableList.builder();
+        for (Symbol symbol : node.getOrderingScheme().getOrderBy()) {
+            MongoColumnHandle column = (MongoColumnHandle) scan.getAssignments().get(symbol);
+            if (column == null || column.getType().getJavaType() == Block.class || !isPlainFieldName(column.getName())) {
+                return Optional.empty();
+            }
+            // MongoDB sorts missing and null values before all others, counts are never null
+            SortOrder sortOrder = node.getOrderingScheme().getOrdering(symbol);
+            if (sortOrder.isAscending() != sortOrder.isNullsFirst() && !counts.contains(column.getName())) {
+                return Optional.empty();
+            }
+            sortItems.add(new MongoSortItem(column.getName(), sortOrder.isAscending()));
+        }
+
+        MongoTableHandle newHandle = new MongoTableHandle(
+                handle.getSchemaTableName(),
+                handle.getConstraint(),
+                handle.getAggregation(),
+                sortItems.build(),
+                OptionalLong.of(node.getCount()));
+        return Optional.of(replaceTable(scan, newHandle));
+    }
+
+    private Optional<PlanNode> pushLimit(LimitNode node)
+    {
+        Optional<MongoTableHandle> table = getMongoTable(node.getSource());
+        if (node.isPartial() || node.isWithTies() || node.getCount() > Integer.MAX_VALUE ||
+                !table.isPresent() || table.get().getLimit().isPresent()) {
+            return Optional.empty();
+        }
+        MongoTableHandle handle = table.get();
+        MongoTableHandle newHandle = new MongoTableHandle(
+                handle.getSchemaTableName(),
+                handle.getConstraint(),
+                handle.getAggregation(),
+                handle.getSortItems(),
+                OptionalLong.of(node.getCount()));
+        return Optional.of(replaceTable((TableScanNode) node.getSource(), newHandle));
+    }
+
+    private TableScanNode replaceTable(TableScanNode scan, MongoTableHandle handle)
+    {
+        TableHandle table = scan.getTable().withConnectorHandle(handle);
+        return new TableScanNode(
+                idAllocator.getNextId(),
+                table,
+                scan.getOutputSymbols(),
+                scan.getAssignments(),
+                scan.getEnforcedConstraint(),
+                scan.getPredicate(),
+                scan.getStrategy(),
+                scan.getReuseTableScanMappingId(),
+                scan.getConsumerTableScanNodeCount(),
+                scan.isForDelete());
+    }
+
+    private static Optional<MongoTableHandle> getMongoTable(PlanNode node)
+    {
+        if (node instanceof TableScanNode && ((TableScanNode) node).getTable().getConnectorHandle() instanceof MongoTableHandle) {
+            return Optional.of((MongoTableHandle) ((TableScanNode) node).getTable().getConnectorHandle());
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isPlainFieldName(String name)
+    {
+        // field paths with dots address nested documents, a leading $ makes a string an expression
+        return !name.isEmpty() && !name.startsWith("$") && name.indexOf('.') < 0;
+    }
+}
@@ -43,6 +43,7 @@ public class TestMongoClientConfig
                 .setSslEnabled(false)
                 .setMaxConnectionIdleTime(0)
                 .setCursorBatchSize(0)
+                .setPushDownEnabled(false)
                 .setReadPreference(ReadPreferenceType.PRIMARY)
                 .setWriteConcern(WriteConcernType.ACKNOWLEDGED)
                 .setRequiredReplicaSetName(null)
@@ -66,6 +67,7 @@ public class TestMongoClientConfig
                 .put("mongodb.ssl.enabled", "true")
                 .put("mongodb.max-connection-idle-time", "180000")
                 .put("mongodb.cursor-batch-size", "1")
+                .put("mongodb.pushdown.enabled", "true")
                 .put("mongodb.read-preference", "NEAREST")
                 .put("mongodb.write-concern", "UNACKNOWLEDGED")
                 .put("mongodb.required-replica-set", "replica_set")
@@ -86,6 +88,7 @@ public class TestMongoClientConfig
                 .setSslEnabled(true)
                 .setMaxConnectionIdleTime(180_000)
                 .setCursorBatchSize(1)
+                .setPushDownEnabled(true)
                 .setReadPreference(ReadPreferenceType.NEAREST)
                 .setWriteConcern(WriteConcernType.UNACKNOWLEDGED)
                 .setRequiredReplicaSetName("replica_set")
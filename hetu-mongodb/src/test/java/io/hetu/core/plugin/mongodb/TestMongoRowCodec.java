@@ -0,0 +1,71 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.hetu.core.plugin.mongodb;
+
+import com.google.common.collect.ImmutableList;
+import com.mongodb.MongoClient;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import java.util.Date;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class TestMongoRowCodec
+{
+    @Test
+    public void testDecode()
+    {
+        ObjectId id = new ObjectId();
+        Document document = new Document()
+                .append("_id", id)
+                .append("skipped", new Document("a", ImmutableList.of(1, 2)))
+                .append("long", 5L)
+                .append("string", "value")
+                .append("date", new Date(1000))
+                .append("null", null)
+                .append("nested", new Document("x", 1))
+                .append("array", ImmutableList.of("a", "b"));
+
+        MongoRowCodec codec = new MongoRowCodec(
+                ImmutableList.of("nested", "long", "string", "date", "null", "array", "missing", "_id"),
+                MongoClient.getDefaultCodecRegistry());
+        Object[] row = codec.decode(new BsonDocumentReader(toBson(document)), DecoderContext.builder().build());
+
+        assertEquals(row.length, 8);
+        assertEquals(row[0], new Document("x", 1));
+        assertEquals(row[1], 5L);
+        assertEquals(row[2], "value");
+        assertEquals(row[3], new Date(1000));
+        assertNull(row[4]);
+        assertEquals(row[5], ImmutableList.of("a", "b"));
+        assertNull(row[6]);
+        assertEquals(row[7], id);
+    }
+
+    private static BsonDocument toBson(Document document)
+    {
+        BsonDocument bson = new BsonDocument();
+        MongoClient.getDefaultCodecRegistry().get(Document.class)
+                .encode(new BsonDocumentWriter(bson), document, EncoderContext.builder().build());
+        return bson;
+    }
+}
@@ -16,12 +16,17 @@ package io.hetu.core.plugin.mongodb;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.prestosql.spi.connector.ColumnHandle;
+import io.prestosql.spi.connector.SchemaTableName;
 import io.prestosql.spi.predicate.Domain;
 import io.prestosql.spi.predicate.TupleDomain;
 import io.prestosql.spi.predicate.ValueSet;
 import org.bson.Document;
 import org.testng.annotations.Test;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
 import static io.airlift.slice.Slices.utf8Slice;
 import static io.prestosql.spi.predicate.Range.equal;
 import static io.prestosql.spi.predicate.Range.greaterThan;
@@ -103,4 +108,38 @@ public class TestMongoSession
                 new Document(COL1.getName(), new Document("$eq", null))));
         assertEquals(query, expected);
     }
+
+    @Test
+    public void testBuildPipeline()
+    {
+        MongoColumnHandle count = new MongoColumnHandle("cnt", BIGINT, false);
+        MongoColumnHandle sum = new MongoColumnHandle("total", BIGINT, false);
+        MongoTableHandle tableHandle = new MongoTableHandle(
+                new SchemaTableName("schema", "table"),
+                TupleDomain.withColumnDomains(ImmutableMap.of(COL1, Domain.create(ValueSet.ofRanges(greaterThan(BIGINT, 100L)), false))),
+                Optional.of(new MongoAggregation(
+                        ImmutableList.of(COL2),
+                        ImmutableList.of(
+                                new MongoAggregation.Aggregate("count", Optional.empty(), count),
+                                new MongoAggregation.Aggregate("sum", Optional.of(COL1), sum)))),
+                ImmutableList.of(new MongoSortItem("cnt", false)),
+                OptionalLong.of(10));
+
+        List<Document> pipeline = MongoSession.buildPipeline(tableHandle);
+        List<Document> expected = ImmutableList.of(
+                new Document("$match", new Document(COL1.getName(), new Document("$gt", 100L))),
+                new Document("$group", new Document()
+                        .append("_id", new Document("k0", new Document("$ifNull", asList("$col2", null))))
+                        .append("a0", new Document("$sum", 1))
+                        .append("a1", new Document("$sum", "$col1"))
+                        .append("n1", new Document("$sum", new Document("$cond", asList(new Document("$gt", asList("$col1", null)), 1, 0))))),
+                new Document("$project", new Document()
+                        .append("_id", 0)
+                        .append("col2", "$_id.k0")
+                        .append("cnt", "$a0")
+                        .append("total", new Document("$cond", asList(new Document("$gt", asList("$n1", 0)), "$a1", null)))),
+                new Document("$sort", new Document("cnt", -1)),
+                new Document("$limit", 10L));
+        assertEquals(pipeline, expected);
+    }
 }
@@ -13,10 +13,15 @@
  */
 package io.hetu.core.plugin.mongodb;
 
+import com.google.common.collect.ImmutableList;
 import io.airlift.json.JsonCodec;
 import io.prestosql.spi.connector.SchemaTableName;
+import io.prestosql.spi.predicate.TupleDomain;
 import org.testng.annotations.Test;
 
+import java.util.Optional;
+import java.util.OptionalLong;
+
 import static org.testng.Assert.assertEquals;
 
 public class TestMongoTableHandle
@@ -33,4 +38,20 @@ public class TestMongoTableHandle
 
         assertEquals(actual.getSchemaTableName(), expected.getSchemaTableName());
     }
+
+    @Test
+    public void testRoundTripWithSortAndLimit()
+    {
+        MongoTableHandle expected = new MongoTableHandle(
+                new SchemaTableName("schema", "table"),
+                TupleDomain.all(),
+                Optional.empty(),
+                ImmutableList.of(new MongoSortItem("a", true), new MongoSortItem("b", false)),
+                OptionalLong.of(10));
+
+        String json = codec.toJson(expected);
+        MongoTableHandle actual = codec.fromJson(json);
+
+        assertEquals(actual, expected);
+    }
 }
@@ -34,6 +34,7 @@ public class ConnectionPoolFactory
     private final Driver driver;
     private final String connectionUrl;
     private final Properties connectionProperties;
+    private final int statementCacheSize;
     private HetuConnectionObjectPool forReturnConnection;
     private ConcurrentHashMap<Connection, HetuConnectionHandler> connectionHandlers = new ConcurrentHashMap<>();
 
@@ -45,6 +46,22 @@ public class ConnectionPoolFactory
         this.driver = driver;
         this.connectionUrl = connectionUrl;
         this.connectionProperties = connectionProperties;
+        this.statementCacheSize = getStatementCacheSize(connectionProperties);
+    }
+
+    private static int getStatementCacheSize(Properties connectionProperties)
+    {
+        String statementCacheSize = connectionProperties.getProperty("statementCacheSize");
+        if (statementCacheSize == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(statementCacheSize));
+        }
+        catch (NumberFormatException e) {
+            LOG.warn("getStatementCacheSize: invalid statement cache size[%s], statement cache is disabled", statementCacheSize);
+            return 0;
+        }
     }
 
     public void setForReturnConnection(HetuConnectionObjectPool forReturnConnection)
@@ -114,7 +131,7 @@ public class ConnectionPoolFactory
         Connection connection = null;
         try {
             connection = driver.connect(connectionUrl, connectionProperties);
-            HetuConnectionHandler proxy = new HetuConnectionHandler();
+            HetuConnectionHandler proxy = new HetuConnectionHandler(statementCacheSize);
             connection = proxy.bind(connection, this.forReturnConnection);
             connectionHandlers.put(connection, proxy);
         }
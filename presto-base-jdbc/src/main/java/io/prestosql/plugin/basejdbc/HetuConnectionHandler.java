@@ -21,15 +21,34 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class HetuConnectionHandler
         implements InvocationHandler
 {
     private static final Logger LOG = Logger.get(HetuConnectionHandler.class);
+    private final int statementCacheSize;
+    // prepared statements of this connection keyed by their sql, in access order
+    private final Map<String, CachedStatementHandler> statementCache = new LinkedHashMap<>(16, 0.75f, true);
     private Connection realConnection;
     private Connection wrapedConnection;
     private HetuConnectionObjectPool pool;
 
+    public HetuConnectionHandler()
+    {
+        this(0);
+    }
+
+    public HetuConnectionHandler(int statementCacheSize)
+    {
+        this.statementCacheSize = statementCacheSize;
+    }
+
     Connection bind(Connection realConnection, HetuConnectionObjectPool pool)
     {
         this.pool = pool;
@@ -41,6 +60,7 @@ public class HetuConnectionHandler
 
     public void closeConnection()
     {
+        closeCachedStatements();
         try {
             this.realConnection.close();
             if (LOG.isDebugEnabled()) {
@@ -78,6 +98,9 @@ public class HetuConnectionHandler
 
             return null;
         }
+        else if (statementCacheSize > 0 && "prepareStatement".equals(method.getName()) && args != null && args.length == 1) {
+            return prepareCachedStatement((String) args[0]);
+        }
         else {
             try {
                 return method.invoke(this.realConnection, args);
@@ -87,4 +110,205 @@ public class HetuConnectionHandler
             }
         }
     }
+
+    private synchronized PreparedStatement prepareCachedStatement(String sql)
+            throws SQLException
+    {
+        CachedStatementHandler cached = statementCache.get(sql);
+        if (cached != null && !cached.isInUse()) {
+            recordStatementCacheHit();
+            return cached.acquire();
+        }
+        recordStatementCacheMiss();
+
+        PreparedStatement statement = this.realConnection.prepareStatement(sql);
+        if (cached != null) {
+            // the cached statement of this sql is still open, do not cache a second one
+            return statement;
+        }
+        CachedStatementHandler handler;
+        try {
+            handler = new CachedStatementHandler(sql, statement);
+        }
+        catch (SQLException e) {
+            // the settings of the statement can not be restored, do not cache it
+            return statement;
+        }
+        statementCache.put(sql, handler);
+        evictStatements();
+        return handler.acquire();
+    }
+
+    private void evictStatements()
+    {
+        Iterator<CachedStatementHandler> iterator = statementCache.values().iterator();
+        while (statementCache.size() > statementCacheSize && iterator.hasNext()) {
+            CachedStatementHandler eldest = iterator.next();
+            iterator.remove();
+            eldest.evict();
+        }
+    }
+
+    private synchronized void releaseStatement(CachedStatementHandler handler)
+    {
+        if (handler.isEvicted() || statementCache.get(handler.getSql()) != handler) {
+            handler.closeStatement();
+            return;
+        }
+        try {
+            ResultSet resultSet = handler.getStatement().getResultSet();
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            handler.getStatement().clearParameters();
+            handler.resetSettings();
+            handler.release();
+        }
+        catch (SQLException e) {
+            // the statement can not be reused
+            statementCache.remove(handler.getSql());
+            handler.closeStatement();
+        }
+    }
+
+    private synchronized void closeCachedStatements()
+    {
+        for (CachedStatementHandler handler : statementCache.values()) {
+            handler.closeStatement();
+        }
+        statementCache.clear();
+    }
+
+    private void recordStatementCacheHit()
+    {
+        if (this.pool != null) {
+            this.pool.recordStatementCacheHit();
+        }
+    }
+
+    private void recordStatementCacheMiss()
+    {
+        if (this.pool != null) {
+            this.pool.recordStatementCacheMiss();
+        }
+    }
+
+    /**
+     * Keeps a prepared statement of the pooled connection open when the caller closes it,
+     * so that the next split running the same sql does not prepare it again.
+     */
+    private class CachedStatementHandler
+            implements InvocationHandler
+    {
+        private final String sql;
+        private final PreparedStatement statement;
+        private final PreparedStatement wrappedStatement;
+        // settings of the freshly prepared statement, a caller's settings must not leak to the next caller
+        private final int fetchSize;
+        private final int maxRows;
+        private final int queryTimeout;
+        private boolean inUse;
+        private boolean evicted;
+
+        CachedStatementHandler(String sql, PreparedStatement statement)
+                throws SQLException
+        {
+            this.sql = sql;
+            this.statement = statement;
+            this.fetchSize = statement.getFetchSize();
+            this.maxRows = statement.getMaxRows();
+            this.queryTimeout = statement.getQueryTimeout();
+            this.wrappedStatement = (PreparedStatement) Proxy.newProxyInstance(HetuConnectionHandler.class.getClassLoader(),
+                    new Class[] {PreparedStatement.class}, this);
+        }
+
+        String getSql()
+        {
+            return sql;
+        }
+
+        PreparedStatement getStatement()
+        {
+            return statement;
+        }
+
+        boolean isInUse()
+        {
+            return inUse;
+        }
+
+        boolean isEvicted()
+        {
+            return evicted;
+        }
+
+        PreparedStatement acquire()
+        {
+            inUse = true;
+            return wrappedStatement;
+        }
+
+        void resetSettings()
+                throws SQLException
+        {
+            // drivers may reject a fetch size above the max rows, so the max rows are restored first
+            if (statement.getMaxRows() != maxRows) {
+                statement.setMaxRows(maxRows);
+            }
+            if (statement.getFetchSize() != fetchSize) {
+                statement.setFetchSize(fetchSize);
+            }
+            if (statement.getQueryTimeout() != queryTimeout) {
+                statement.setQueryTimeout(queryTimeout);
+            }
+        }
+
+        void release()
+        {
+            inUse = false;
+        }
+
+        void evict()
+        {
+            evicted = true;
+            if (!inUse) {
+                closeStatement();
+            }
+        }
+
+        void closeStatement()
+        {
+            inUse = false;
+            try {
+                statement.close();
+            }
+            catch (SQLException e) {
+                LOG.warn("closeStatement: close cached statement failed... cause by %s", e.getMessage());
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args)
+                throws Throwable
+        {
+            switch (method.getName()) {
+                case "close":
+                    if (inUse) {
+                        releaseStatement(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return !inUse || statement.isClosed();
+                case "getConnection":
+                    return wrapedConnection;
+                default:
+                    try {
+                        return method.invoke(statement, args);
+                    }
+                    catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+            }
+        }
+    }
 }
@@ -14,28 +14,128 @@
  */
 package io.prestosql.plugin.basejdbc;
 
+import io.airlift.stats.CounterStat;
+import io.airlift.stats.TimeStat;
 import org.apache.commons.pool2.impl.AbandonedConfig;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
 
 import java.sql.Connection;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 public class HetuConnectionObjectPool
         extends GenericObjectPool<Connection>
 {
+    private final TimeStat borrowTime = new TimeStat(MILLISECONDS);
+    private final CounterStat borrowFailures = new CounterStat();
+    private final CounterStat statementCacheHits = new CounterStat();
+    private final CounterStat statementCacheMisses = new CounterStat();
     private ConnectionPoolFactory factory;
 
     public HetuConnectionObjectPool(ConnectionPoolFactory factory, GenericObjectPoolConfig config, AbandonedConfig abandonedConfig)
     {
         super(factory, config, abandonedConfig);
         this.factory = factory;
+        // connections created by preparePool() or the evictor must be returned to this pool as well
+        factory.setForReturnConnection(this);
     }
 
     public Connection borrowObject()
             throws Exception
     {
         factory.setForReturnConnection(this);
-        Connection con = super.borrowObject();
-        return con;
+        try (TimeStat.BlockTimer ignored = borrowTime.time()) {
+            return super.borrowObject();
+        }
+        catch (Exception e) {
+            borrowFailures.update(1);
+            throw e;
+        }
+    }
+
+    void recordStatementCacheHit()
+    {
+        statementCacheHits.update(1);
+    }
+
+    void recordStatementCacheMiss()
+    {
+        statementCacheMisses.update(1);
+    }
+
+    @Managed
+    @Nested
+    public TimeStat getBorrowTime()
+    {
+        return borrowTime;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getBorrowFailures()
+    {
+        return borrowFailures;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getStatementCacheHits()
+    {
+        return statementCacheHits;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getStatementCacheMisses()
+    {
+        return statementCacheMisses;
+    }
+
+    @Managed
+    @Override
+    public int getNumActive()
+    {
+        return super.getNumActive();
+    }
+
+    @Managed
+    @Override
+    public int getNumIdle()
+    {
+        return super.getNumIdle();
+    }
+
+    @Managed
+    @Override
+    public int getNumWaiters()
+    {
+        return super.getNumWaiters();
+    }
+
+    @Managed
+    public long getMeanWaitTimeMillis()
+    {
+        return getMeanBorrowWaitTimeMillis();
+    }
+
+    @Managed
+    public long getMaxWaitTimeMillis()
+    {
+        return getMaxBorrowWaitTimeMillis();
+    }
+
+    @Managed
+    public long getConnectionsCreated()
+    {
+        return getCreatedCount();
+    }
+
+    @Managed
+    public long getConnectionsDestroyed()
+    {
+        return getDestroyedCount();
     }
 }
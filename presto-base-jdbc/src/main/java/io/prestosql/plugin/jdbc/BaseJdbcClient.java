@@ -625,6 +625,21 @@ public class BaseJdbcClient
                 join(",", nCopies(handle.getColumnNames().size(), "?")));
     }
 
+    /**
+     * Multi-row INSERT ... VALUES statement, for the clients whose databases support it.
+     */
+    protected String buildMultiRowInsertSql(JdbcOutputTableHandle handle, int rowCount)
+    {
+        checkArgument(rowCount > 0, "rowCount must be positive");
+        // extend the single row statement so that dialect specific insert statements keep working
+        String row = format("(%s)", join(",", nCopies(handle.getColumnNames().size(), "?")));
+        StringBuilder sql = new StringBuilder(buildInsertSql(handle));
+        for (int i = 1; i < rowCount; i++) {
+            sql.append(',').append(row);
+        }
+        return sql.toString();
+    }
+
     @Override
     public Connection getConnection(JdbcIdentity identity, JdbcOutputTableHandle handle)
             throws SQLException
@@ -986,4 +1001,62 @@ public class BaseJdbcClient
         }
         return value;
     }
+
+    @Override
+    public List<SplitStatLog> getSplitFieldQuantiles(TableSplitConfig conf, Connection connection, int rangeCount)
+    {
+        if (!conf.isQuantileScanEnable()) {
+            // computing the quantiles scans and sorts the whole table, it must be enabled per table with quantileScanEnable
+            return emptyList();
+        }
+
+        String sql = format(
+                "SELECT MAX(split_value), COUNT(*) FROM (SELECT %s AS split_value, NTILE(%s) OVER (ORDER BY %s) AS split_bucket FROM %s WHERE %s IS NOT NULL) split_buckets " +
+                        "GROUP BY split_bucket ORDER BY split_bucket",
+                conf.getSplitField(), rangeCount, conf.getSplitField(),
+                quoted(conf.getCatalogName(), conf.getSchemaName(), conf.getTableName()),
+                conf.getSplitField());
+
+        List<SplitStatLog> ranges = new ArrayList<>(rangeCount);
+        try (Statement stat = connection.createStatement(); ResultSet rs = stat.executeQuery(sql)) {
+            long beginIndex = Long.MIN_VALUE;
+            while (rs.next()) {
+                long endIndex = rs.getLong(1);
+                long rows = rs.getLong(2);
+                if (!ranges.isEmpty() && endIndex <= beginIndex) {
+                    // NTILE may spread equal values over several buckets, they must stay in one range
+                    SplitStatLog lastRange = ranges.get(ranges.size() - 1);
+                    lastRange.setRows(lastRange.getRows() + rows);
+                    continue;
+                }
+                ranges.add(newSplitFieldRange(conf, beginIndex, endIndex, rows));
+                beginIndex = endIndex;
+            }
+        }
+        catch (SQLException e) {
+            log.error(e, "SQL : %s, getSplitFieldQuantiles error", sql);
+            return emptyList();
+        }
+
+        if (!ranges.isEmpty()) {
+            // rows inserted after sampling beyond the last quantile belong to the last range
+            ranges.get(ranges.size() - 1).setEndIndex(Long.MAX_VALUE);
+        }
+        return ranges;
+    }
+
+    protected static SplitStatLog newSplitFieldRange(TableSplitConfig conf, long beginIndex, long endIndex, long rows)
+    {
+        return new SplitStatLog()
+                .setCatalogName(conf.getCatalogName())
+                .setSchemaName(conf.getSchemaName())
+                .setTableName(conf.getTableName())
+                .setSplitField(conf.getSplitField())
+                .setSplitCount(conf.getSplitCount())
+                .setBeginIndex(beginIndex)
+                .setEndIndex(endIndex)
+                .setRows(rows)
+                .setTimeStamp(System.nanoTime())
+                .setRecordFlag(SplitStatLog.LogState.STATE_FINISH);
+    }
 }
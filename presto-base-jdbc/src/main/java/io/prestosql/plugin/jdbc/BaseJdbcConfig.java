@@ -16,6 +16,7 @@ package io.prestosql.plugin.jdbc;
 import io.airlift.configuration.Config;
 import io.airlift.configuration.ConfigDescription;
 import io.airlift.configuration.ConfigSecuritySensitive;
+import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import io.airlift.units.MinDuration;
 import io.prestosql.plugin.jdbc.optimization.JdbcPushDownModule;
@@ -23,6 +24,7 @@ import io.prestosql.spi.connector.CatalogSchemaName;
 import io.prestosql.spi.function.Mandatory;
 
 import javax.annotation.Nullable;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
@@ -30,6 +32,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.prestosql.sql.builder.functioncall.BaseFunctionUtil.parserExternalFunctionCatalogSchema;
 import static io.prestosql.sql.builder.functioncall.BaseFunctionUtil.parserPushDownSupportedRemoteCatalogSchema;
 import static io.prestosql.sql.builder.functioncall.FunctionCallConstants.REMOTE_FUNCTION_CATALOG_SCHEMA;
@@ -61,6 +64,8 @@ public class BaseJdbcConfig
     private long timeBetweenEvictionRunsMillis = -1L;
     private boolean blockWhenExhausted = true;
     private boolean jmxEnabled = true;
+    private int statementCacheSize;
+    private boolean prewarmEnabled;
     // Hetu: JDBC fetch size configuration
     private int fetchSize;
     private boolean dmlStatementsCommitInATransaction;
@@ -79,6 +84,12 @@ public class BaseJdbcConfig
     private Duration stepCalcRefreshInterval = new Duration(5, TimeUnit.MINUTES);
     private int stepCalcThreads = 4;
 
+    // Hetu: JDBC bulk write configuration
+    private boolean bulkWriteEnabled;
+    private int bulkWriteRowsPerStatement = 100;
+    private DataSize bulkWriteBatchSize = new DataSize(4, MEGABYTE);
+    private int bulkWriteParallelism = 1;
+
     public Optional<CatalogSchemaName> getConnectorRegistryFunctionNamespace()
     {
         return parserExternalFunctionCatalogSchema(connectorRegistryFunctionNamespace);
@@ -289,6 +300,33 @@ public class BaseJdbcConfig
         return this;
     }
 
+    @Min(0)
+    public int getStatementCacheSize()
+    {
+        return statementCacheSize;
+    }
+
+    @Config("jdbc.connection.pool.statementCacheSize")
+    @ConfigDescription("Number of prepared statements cached per pooled connection, 0 disables the cache")
+    public BaseJdbcConfig setStatementCacheSize(int statementCacheSize)
+    {
+        this.statementCacheSize = statementCacheSize;
+        return this;
+    }
+
+    public boolean isPrewarmEnabled()
+    {
+        return prewarmEnabled;
+    }
+
+    @Config("jdbc.connection.pool.prewarmEnabled")
+    @ConfigDescription("Open the minimum idle connections of the pool when the catalog is loaded")
+    public BaseJdbcConfig setPrewarmEnabled(boolean prewarmEnabled)
+    {
+        this.prewarmEnabled = prewarmEnabled;
+        return this;
+    }
+
     @NotNull
     public String getConnectionUrl()
     {
@@ -538,4 +576,60 @@ public class BaseJdbcConfig
     {
         return stepCalcThreads;
     }
+
+    public boolean isBulkWriteEnabled()
+    {
+        return bulkWriteEnabled;
+    }
+
+    @Config("jdbc.bulk-write-enabled")
+    @ConfigDescription("Write rows with multi-row INSERT ... VALUES statements, optionally over several connections per page sink, if the connector supports them")
+    public BaseJdbcConfig setBulkWriteEnabled(boolean bulkWriteEnabled)
+    {
+        this.bulkWriteEnabled = bulkWriteEnabled;
+        return this;
+    }
+
+    @Min(1)
+    public int getBulkWriteRowsPerStatement()
+    {
+        return bulkWriteRowsPerStatement;
+    }
+
+    @Config("jdbc.bulk-write-rows-per-statement")
+    @ConfigDescription("Maximum number of rows in a single multi-row INSERT statement")
+    public BaseJdbcConfig setBulkWriteRowsPerStatement(int bulkWriteRowsPerStatement)
+    {
+        this.bulkWriteRowsPerStatement = bulkWriteRowsPerStatement;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getBulkWriteBatchSize()
+    {
+        return bulkWriteBatchSize;
+    }
+
+    @Config("jdbc.bulk-write-batch-size")
+    @ConfigDescription("Amount of buffered data that is written and committed by one bulk write batch")
+    public BaseJdbcConfig setBulkWriteBatchSize(DataSize bulkWriteBatchSize)
+    {
+        this.bulkWriteBatchSize = bulkWriteBatchSize;
+        return this;
+    }
+
+    @Min(1)
+    @Max(64)
+    public int getBulkWriteParallelism()
+    {
+        return bulkWriteParallelism;
+    }
+
+    @Config("jdbc.bulk-write-parallelism")
+    @ConfigDescription("Number of connections each page sink uses to write bulk batches concurrently")
+    public BaseJdbcConfig setBulkWriteParallelism(int bulkWriteParallelism)
+    {
+        this.bulkWriteParallelism = bulkWriteParallelism;
+        return this;
+    }
 }
@@ -19,6 +19,8 @@ import io.prestosql.plugin.basejdbc.HetuConnectionObjectPool;
 import org.apache.commons.pool2.impl.AbandonedConfig;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
 
 import java.sql.Connection;
 import java.sql.Driver;
@@ -44,6 +46,7 @@ public class DriverConnectionFactory
     private GenericObjectPoolConfig genericObjectPoolConfig;
     private AbandonedConfig abandonedConfig;
     private GenericObjectPool<Connection> genericObjectPool;
+    private final HetuConnectionObjectPool connectionPool;
     private boolean isUseConnectionPool;
 
     public DriverConnectionFactory(Driver driver, BaseJdbcConfig config)
@@ -83,6 +86,8 @@ public class DriverConnectionFactory
             properties.setProperty("timeBetweenEvictionRunsMillis", "" + config.getTimeBetweenEvictionRunsMillis());
             properties.setProperty("blockWhenExhausted", "" + config.isBlockWhenExhausted());
             properties.setProperty("jmxEnabled", "" + config.isJmxEnabled());
+            properties.setProperty("statementCacheSize", "" + config.getStatementCacheSize());
+            properties.setProperty("prewarmEnabled", "" + config.isPrewarmEnabled());
         }
         catch (Exception e) {
             // ignore exception
@@ -105,7 +110,31 @@ public class DriverConnectionFactory
         this.genericObjectPoolConfig = createGenericObjectPoolConfig(connectionProperties);
         this.isUseConnectionPool = isUseConnectionPool(connectionProperties);
         this.abandonedConfig = new AbandonedConfig();
-        this.genericObjectPool = new HetuConnectionObjectPool(this.connectionPoolFactory, this.genericObjectPoolConfig, this.abandonedConfig);
+        this.connectionPool = new HetuConnectionObjectPool(this.connectionPoolFactory, this.genericObjectPoolConfig, this.abandonedConfig);
+        this.genericObjectPool = this.connectionPool;
+        if (isUseConnectionPool && "true".equals(connectionProperties.getProperty("prewarmEnabled"))) {
+            prewarmConnectionPool();
+        }
+    }
+
+    private void prewarmConnectionPool()
+    {
+        // open the minimum idle connections up front, so the first queries of the catalog do not pay for them
+        try {
+            genericObjectPool.preparePool();
+            LOG.info("prewarmConnectionPool: opened %s connections", genericObjectPool.getNumIdle());
+        }
+        catch (Exception e) {
+            LOG.warn("prewarmConnectionPool: open connections failed... cause by %s", e.getMessage());
+        }
+    }
+
+    @Managed
+    @Nested
+    public HetuConnectionObjectPool getConnectionPool()
+    {
+        // the pool exists even when it is not used, its metrics then stay at zero
+        return connectionPool;
     }
 
     public static boolean isUseConnectionPool(Properties connectionProperties)
@@ -210,5 +239,7 @@ public class DriverConnectionFactory
         connectionProperties.remove("timeBetweenEvictionRunsMillis");
         connectionProperties.remove("blockWhenExhausted");
         connectionProperties.remove("jmxEnabled");
+        connectionProperties.remove("statementCacheSize");
+        connectionProperties.remove("prewarmEnabled");
     }
 }
@@ -22,6 +22,7 @@ import io.prestosql.plugin.splitmanager.TableSplitConfig;
 import io.prestosql.spi.block.Block;
 import io.prestosql.spi.connector.ColumnHandle;
 import io.prestosql.spi.connector.ColumnMetadata;
+import io.prestosql.spi.connector.ConnectorPageSource;
 import io.prestosql.spi.connector.ConnectorSession;
 import io.prestosql.spi.connector.ConnectorSplitSource;
 import io.prestosql.spi.connector.ConnectorTableHandle;
@@ -169,6 +170,24 @@ public abstract class ForwardingJdbcClient
         return getDelegate().buildInsertSql(handle);
     }
 
+    @Override
+    public boolean isBulkInsertSupported()
+    {
+        return getDelegate().isBulkInsertSupported();
+    }
+
+    @Override
+    public int getMaxBulkInsertRows(int columnCount)
+    {
+        return getDelegate().getMaxBulkInsertRows(columnCount);
+    }
+
+    @Override
+    public String buildBulkInsertSql(JdbcOutputTableHandle handle, int rowCount)
+    {
+        return getDelegate().buildBulkInsertSql(handle, rowCount);
+    }
+
     @Override
     public Connection getConnection(JdbcIdentity identity, JdbcOutputTableHandle handle)
             throws SQLException
@@ -395,6 +414,12 @@ public abstract class ForwardingJdbcClient
         return getDelegate().getSplitFieldMinAndMaxValue(conf, connection, tableHandle);
     }
 
+    @Override
+    public List<SplitStatLog> getSplitFieldQuantiles(TableSplitConfig conf, Connection connection, int rangeCount)
+    {
+        return getDelegate().getSplitFieldQuantiles(conf, connection, rangeCount);
+    }
+
     @Override
     public long getTableModificationTime(ConnectorSession session, JdbcTableHandle tableHandle)
     {
@@ -406,4 +431,10 @@ public abstract class ForwardingJdbcClient
     {
         return getDelegate().isPreAggregationSupported(session);
     }
+
+    @Override
+    public Optional<ConnectorPageSource> createPageSource(ConnectorSession session, JdbcSplit split, JdbcTableHandle table, List<JdbcColumnHandle> columns)
+    {
+        return getDelegate().createPageSource(session, split, table, columns);
+    }
 }
@@ -0,0 +1,394 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.jdbc;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.Slice;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.connector.ConnectorPageSink;
+import io.prestosql.spi.connector.ConnectorSession;
+import io.prestosql.spi.type.Type;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Throwables.throwIfInstanceOf;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.prestosql.plugin.jdbc.JdbcErrorCode.JDBC_ERROR;
+import static io.prestosql.plugin.jdbc.JdbcErrorCode.JDBC_NON_TRANSIENT_ERROR;
+import static io.prestosql.plugin.jdbc.JdbcPageSink.appendColumn;
+import static io.prestosql.plugin.jdbc.JdbcPageSink.getWriteMappings;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+/**
+ * Page sink that buffers pages up to a configured size and writes each buffer with
+ * multi-row INSERT statements. Buffers are handed to a pool of writers, each owning its
+ * own connection, so several batches of one sink can be written to the remote database
+ * concurrently. Every batch is committed by the writer that wrote it.
+ */
+public class JdbcBulkPageSink
+        implements ConnectorPageSink
+{
+    private final JdbcIdentity identity;
+    private final JdbcOutputTableHandle handle;
+    private final JdbcClient jdbcClient;
+    private final ExecutorService executor;
+
+    private final List<Type> columnTypes;
+    private final List<WriteFunction> columnWriters;
+    private final List<WriteNullFunction> nullWriters;
+    private final int rowsPerStatement;
+    private final long maxBatchBytes;
+    private final int parallelism;
+
+    private final List<BulkWriter> writers = new ArrayList<>();
+    private final BlockingQueue<BulkWriter> idleWriters = new LinkedBlockingQueue<>();
+    private final List<CompletableFuture<?>> runningBatches = new ArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicLong runningBytes = new AtomicLong();
+
+    private List<Page> bufferedPages = new ArrayList<>();
+    private long bufferedBytes;
+    private long completedBytes;
+    private long rowsWritten;
+
+    public JdbcBulkPageSink(ConnectorSession session, JdbcOutputTableHandle handle, JdbcClient jdbcClient, BaseJdbcConfig config, ExecutorService executor)
+    {
+        this.identity = JdbcIdentity.from(session);
+        this.handle = requireNonNull(handle, "handle is null");
+        this.jdbcClient = requireNonNull(jdbcClient, "jdbcClient is null");
+        this.executor = requireNonNull(executor, "executor is null");
+
+        columnTypes = handle.getColumnTypes();
+        checkArgument(!columnTypes.isEmpty(), "no columns to write");
+
+        List<WriteMapping> writeMappings = getWriteMappings(session, jdbcClient, columnTypes);
+        columnWriters = writeMappings.stream()
+                .map(WriteMapping::getWriteFunction)
+                .collect(toImmutableList());
+        nullWriters = writeMappings.stream()
+                .map(WriteMapping::getWriteNullFunction)
+                .collect(toImmutableList());
+
+        rowsPerStatement = max(1, min(config.getBulkWriteRowsPerStatement(), jdbcClient.getMaxBulkInsertRows(columnTypes.size())));
+        maxBatchBytes = config.getBulkWriteBatchSize().toBytes();
+        parallelism = config.getBulkWriteParallelism();
+    }
+
+    @Override
+    public CompletableFuture<?> appendPage(Page page)
+    {
+        checkFailure();
+        if (page.getPositionCount() == 0) {
+            return NOT_BLOCKED;
+        }
+
+        bufferedPages.add(page);
+        bufferedBytes += page.getSizeInBytes();
+        rowsWritten += page.getPositionCount();
+
+        if (bufferedBytes >= maxBatchBytes) {
+            flush();
+        }
+        return isBlocked();
+    }
+
+    @Override
+    public CompletableFuture<Collection<Slice>> finish()
+    {
+        checkFailure();
+        if (!bufferedPages.isEmpty()) {
+            flush();
+        }
+        awaitRunningBatches();
+        checkFailure();
+
+        SQLException closeFailure = null;
+        for (BulkWriter writer : writers) {
+            try {
+                writer.close();
+            }
+            catch (SQLException e) {
+                if (closeFailure == null) {
+                    closeFailure = e;
+                }
+                else {
+                    closeFailure.addSuppressed(e);
+                }
+            }
+        }
+        if (closeFailure != null) {
+            throw toPrestoException(closeFailure);
+        }
+        // the committer does not need any additional info
+        return completedFuture(ImmutableList.of());
+    }
+
+    @Override
+    public void abort()
+    {
+        bufferedPages = new ArrayList<>();
+        bufferedBytes = 0;
+        awaitRunningBatches();
+
+        PrestoException abortFailure = null;
+        for (BulkWriter writer : writers) {
+            try {
+                writer.rollback();
+            }
+            catch (SQLException e) {
+                if (abortFailure == null) {
+                    abortFailure = new PrestoException(JDBC_ERROR, e);
+                }
+                else {
+                    abortFailure.addSuppressed(e);
+                }
+            }
+        }
+        if (abortFailure != null) {
+            throw abortFailure;
+        }
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return completedBytes;
+    }
+
+    @Override
+    public long getRowsWritten()
+    {
+        return rowsWritten;
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return bufferedBytes + runningBytes.get();
+    }
+
+    private void flush()
+    {
+        BulkWriter writer = idleWriters.poll();
+        if (writer == null) {
+            // all existing writers are busy, isBlocked() guarantees that another one may still be opened
+            writer = new BulkWriter(openConnection());
+            writers.add(writer);
+        }
+
+        List<Page> pages = bufferedPages;
+        long batchBytes = bufferedBytes;
+        bufferedPages = new ArrayList<>();
+        bufferedBytes = 0;
+        completedBytes += batchBytes;
+        runningBytes.addAndGet(batchBytes);
+
+        BulkWriter batchWriter = writer;
+        runningBatches.add(CompletableFuture.runAsync(() -> writeBatch(batchWriter, pages, batchBytes), executor));
+    }
+
+    private void writeBatch(BulkWriter writer, List<Page> pages, long batchBytes)
+    {
+        try {
+            writer.write(pages);
+            idleWriters.add(writer);
+        }
+        catch (Throwable t) {
+            // the failure is reported to the driver by the next call to appendPage or finish
+            failure.compareAndSet(null, t);
+        }
+        finally {
+            runningBytes.addAndGet(-batchBytes);
+        }
+    }
+
+    private CompletableFuture<?> isBlocked()
+    {
+        runningBatches.removeIf(CompletableFuture::isDone);
+        if (runningBatches.size() < parallelism) {
+            return NOT_BLOCKED;
+        }
+        return CompletableFuture.anyOf(runningBatches.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private void awaitRunningBatches()
+    {
+        // batches never complete exceptionally, failures are recorded separately
+        CompletableFuture.allOf(runningBatches.toArray(new CompletableFuture<?>[0])).join();
+        runningBatches.clear();
+    }
+
+    private void checkFailure()
+    {
+        Throwable throwable = failure.get();
+        if (throwable != null) {
+            throwIfInstanceOf(throwable, PrestoException.class);
+            if (throwable instanceof SQLException) {
+                throw toPrestoException((SQLException) throwable);
+            }
+            throw new PrestoException(JDBC_ERROR, throwable);
+        }
+    }
+
+    private Connection openConnection()
+    {
+        Connection connection;
+        try {
+            connection = jdbcClient.getConnection(identity, handle);
+        }
+        catch (SQLException e) {
+            throw new PrestoException(JDBC_ERROR, e);
+        }
+
+        try {
+            connection.setAutoCommit(false);
+        }
+        catch (SQLException e) {
+            closeWithSuppression(connection, e);
+            throw new PrestoException(JDBC_ERROR, "jdbc connection failed to set auto commit");
+        }
+        return connection;
+    }
+
+    private static PrestoException toPrestoException(SQLException e)
+    {
+        if (e instanceof SQLNonTransientException) {
+            return new PrestoException(JDBC_NON_TRANSIENT_ERROR, e);
+        }
+        return new PrestoException(JDBC_ERROR, e);
+    }
+
+    @SuppressWarnings("ObjectEquality")
+    private static void closeWithSuppression(Connection connection, Throwable throwable)
+    {
+        try {
+            connection.close();
+        }
+        catch (Throwable t) {
+            // Self-suppression not permitted
+            if (throwable != t) {
+                throwable.addSuppressed(t);
+            }
+        }
+    }
+
+    private class BulkWriter
+    {
+        private final Connection connection;
+        private PreparedStatement fullStatement;
+
+        BulkWriter(Connection connection)
+        {
+            this.connection = requireNonNull(connection, "connection is null");
+        }
+
+        void write(List<Page> pages)
+                throws SQLException
+        {
+            int totalRows = 0;
+            for (Page page : pages) {
+                totalRows += page.getPositionCount();
+            }
+            int fullStatementRows = totalRows - totalRows % rowsPerStatement;
+            int tailRows = totalRows - fullStatementRows;
+
+            if (fullStatementRows > 0 && fullStatement == null) {
+                fullStatement = connection.prepareStatement(jdbcClient.buildBulkInsertSql(handle, rowsPerStatement));
+            }
+
+            PreparedStatement tailStatement = null;
+            try {
+                int row = 0;
+                for (Page page : pages) {
+                    for (int position = 0; position < page.getPositionCount(); position++) {
+                        PreparedStatement statement;
+                        int rowInStatement;
+                        if (row < fullStatementRows) {
+                            statement = fullStatement;
+                            rowInStatement = row % rowsPerStatement;
+                        }
+                        else {
+                            if (tailStatement == null) {
+                                tailStatement = connection.prepareStatement(jdbcClient.buildBulkInsertSql(handle, tailRows));
+                            }
+                            statement = tailStatement;
+                            rowInStatement = row - fullStatementRows;
+                        }
+
+                        int parameterOffset = rowInStatement * columnTypes.size();
+                        for (int channel = 0; channel < columnTypes.size(); channel++) {
+                            appendColumn(statement, parameterOffset + channel + 1, page.getBlock(channel), position, columnTypes.get(channel), columnWriters.get(channel), nullWriters.get(channel));
+                        }
+                        if (statement == fullStatement && rowInStatement == rowsPerStatement - 1) {
+                            fullStatement.addBatch();
+                        }
+                        row++;
+                    }
+                }
+
+                if (fullStatementRows > 0) {
+                    fullStatement.executeBatch();
+                }
+                if (tailStatement != null) {
+                    tailStatement.executeUpdate();
+                }
+                connection.commit();
+            }
+            finally {
+                if (tailStatement != null) {
+                    tailStatement.close();
+                }
+            }
+        }
+
+        void close()
+                throws SQLException
+        {
+            try (Connection conn = connection;
+                    PreparedStatement statement = fullStatement) {
+                // batches are committed as soon as they are written
+            }
+        }
+
+        void rollback()
+                throws SQLException
+        {
+            try (Connection conn = connection;
+                    PreparedStatement statement = fullStatement) {
+                // skip rollback if implicitly closed due to an error
+                if (!conn.isClosed()) {
+                    conn.rollback();
+                }
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.block.Block;
 import io.prestosql.spi.connector.ColumnHandle;
 import io.prestosql.spi.connector.ColumnMetadata;
+import io.prestosql.spi.connector.ConnectorPageSource;
 import io.prestosql.spi.connector.ConnectorSession;
 import io.prestosql.spi.connector.ConnectorSplitSource;
 import io.prestosql.spi.connector.ConnectorTableHandle;
@@ -113,6 +114,24 @@ public interface JdbcClient
 
     String buildInsertSql(JdbcOutputTableHandle handle);
 
+    default boolean isBulkInsertSupported()
+    {
+        return false;
+    }
+
+    /**
+     * Maximum number of rows of a bulk insert statement of a table with the given number of columns.
+     */
+    default int getMaxBulkInsertRows(int columnCount)
+    {
+        throw new PrestoException(NOT_SUPPORTED, "This connector does not support bulk insert");
+    }
+
+    default String buildBulkInsertSql(JdbcOutputTableHandle handle, int rowCount)
+    {
+        throw new PrestoException(NOT_SUPPORTED, "This connector does not support bulk insert");
+    }
+
     Connection getConnection(JdbcIdentity identity, JdbcOutputTableHandle handle)
             throws SQLException;
 
@@ -261,6 +280,16 @@ public interface JdbcClient
         return null;
     }
 
+    /**
+     * Returns contiguous ranges of the split field that hold roughly the same number of rows,
+     * ordered by range begin. Each range covers (beginIndex, endIndex] and carries its estimated row count.
+     * An empty list means that the data source cannot provide the distribution of the split field.
+     */
+    default List<SplitStatLog> getSplitFieldQuantiles(TableSplitConfig conf, Connection connection, int rangeCount)
+    {
+        return Collections.emptyList();
+    }
+
     default long getTableModificationTime(ConnectorSession session, JdbcTableHandle tableHandle)
     {
         throw new PrestoException(NOT_SUPPORTED, "this connector does not support table modification times");
@@ -270,4 +299,13 @@ public interface JdbcClient
     {
         return false;
     }
+
+    /**
+     * Returns a page source which reads the split in a format native to the data source instead of
+     * through a JDBC {@link java.sql.ResultSet}. An empty result means the record cursor is used.
+     */
+    default Optional<ConnectorPageSource> createPageSource(ConnectorSession session, JdbcSplit split, JdbcTableHandle table, List<JdbcColumnHandle> columns)
+    {
+        return Optional.empty();
+    }
 }
@@ -69,7 +69,20 @@ public class JdbcPageSink
 
         columnTypes = handle.getColumnTypes();
 
-        List<WriteMapping> writeMappings = columnTypes.stream()
+        List<WriteMapping> writeMappings = getWriteMappings(session, jdbcClient, columnTypes);
+
+        columnWriters = writeMappings.stream()
+                .map(WriteMapping::getWriteFunction)
+                .collect(toImmutableList());
+
+        nullWriters = writeMappings.stream()
+                .map(WriteMapping::getWriteNullFunction)
+                .collect(toImmutableList());
+    }
+
+    static List<WriteMapping> getWriteMappings(ConnectorSession session, JdbcClient jdbcClient, List<Type> columnTypes)
+    {
+        return columnTypes.stream()
                 .map(type -> {
                     WriteMapping writeMapping = jdbcClient.toWriteMapping(session, type);
                     WriteFunction writeFunction = writeMapping.getWriteFunction();
@@ -82,14 +95,6 @@ public class JdbcPageSink
                     return writeMapping;
                 })
                 .collect(toImmutableList());
-
-        columnWriters = writeMappings.stream()
-                .map(WriteMapping::getWriteFunction)
-                .collect(toImmutableList());
-
-        nullWriters = writeMappings.stream()
-                .map(WriteMapping::getWriteNullFunction)
-                .collect(toImmutableList());
     }
 
     @Override
@@ -98,7 +103,8 @@ public class JdbcPageSink
         try {
             for (int position = 0; position < page.getPositionCount(); position++) {
                 for (int channel = 0; channel < page.getChannelCount(); channel++) {
-                    appendColumn(page, position, channel);
+                    Block block = page.getBlock(channel);
+                    appendColumn(statement, channel + 1, block, position, columnTypes.get(channel), columnWriters.get(channel), nullWriters.get(channel));
                 }
 
                 statement.addBatch();
@@ -118,20 +124,15 @@ public class JdbcPageSink
         return NOT_BLOCKED;
     }
 
-    private void appendColumn(Page page, int position, int channel)
+    static void appendColumn(PreparedStatement statement, int parameterIndex, Block block, int position, Type type, WriteFunction writeFunction, WriteNullFunction nullWriter)
             throws SQLException
     {
-        Block block = page.getBlock(channel);
-        int parameterIndex = channel + 1;
-
         if (block.isNull(position)) {
-            nullWriters.get(channel).setNull(statement, parameterIndex);
+            nullWriter.setNull(statement, parameterIndex);
             return;
         }
 
-        Type type = columnTypes.get(channel);
         Class<?> javaType = type.getJavaType();
-        WriteFunction writeFunction = columnWriters.get(channel);
         if (javaType == boolean.class) {
             ((BooleanWriteFunction) writeFunction).set(statement, parameterIndex, type.getBoolean(block, position));
         }
@@ -20,30 +20,56 @@ import io.prestosql.spi.connector.ConnectorPageSinkProvider;
 import io.prestosql.spi.connector.ConnectorSession;
 import io.prestosql.spi.connector.ConnectorTransactionHandle;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
+import java.util.concurrent.ExecutorService;
+
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newCachedThreadPool;
 
 public class JdbcPageSinkProvider
         implements ConnectorPageSinkProvider
 {
     private final JdbcClient jdbcClient;
+    private final BaseJdbcConfig config;
+    private final ExecutorService bulkWriteExecutor;
 
     @Inject
-    public JdbcPageSinkProvider(@InternalBaseJdbc JdbcClient jdbcClient)
+    public JdbcPageSinkProvider(@InternalBaseJdbc JdbcClient jdbcClient, BaseJdbcConfig config)
     {
         this.jdbcClient = requireNonNull(jdbcClient, "jdbcClient is null");
+        this.config = requireNonNull(config, "config is null");
+        // connectors whose databases do not support multi-row inserts keep using JdbcPageSink
+        this.bulkWriteExecutor = config.isBulkWriteEnabled() && jdbcClient.isBulkInsertSupported() ? newCachedThreadPool(daemonThreadsNamed("jdbc-bulk-write-%s")) : null;
+    }
+
+    @PreDestroy
+    public void destroy()
+    {
+        if (bulkWriteExecutor != null) {
+            bulkWriteExecutor.shutdownNow();
+        }
     }
 
     @Override
     public ConnectorPageSink createPageSink(ConnectorTransactionHandle transactionHandle, ConnectorSession session, ConnectorOutputTableHandle tableHandle)
     {
-        return new JdbcPageSink(session, (JdbcOutputTableHandle) tableHandle, jdbcClient);
+        return createPageSink(session, (JdbcOutputTableHandle) tableHandle);
     }
 
     @Override
     public ConnectorPageSink createPageSink(ConnectorTransactionHandle transactionHandle, ConnectorSession session, ConnectorInsertTableHandle tableHandle)
     {
-        return new JdbcPageSink(session, (JdbcOutputTableHandle) tableHandle, jdbcClient);
+        return createPageSink(session, (JdbcOutputTableHandle) tableHandle);
+    }
+
+    private ConnectorPageSink createPageSink(ConnectorSession session, JdbcOutputTableHandle tableHandle)
+    {
+        if (bulkWriteExecutor != null) {
+            return new JdbcBulkPageSink(session, tableHandle, jdbcClient, config, bulkWriteExecutor);
+        }
+        return new JdbcPageSink(session, tableHandle, jdbcClient);
     }
 }
@@ -27,7 +27,9 @@ import io.prestosql.spi.connector.RecordSet;
 import javax.inject.Inject;
 
 import java.util.List;
+import java.util.Optional;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.util.Objects.requireNonNull;
 
 public class JdbcPageSourceProvider
@@ -49,6 +51,15 @@ public class JdbcPageSourceProvider
     public ConnectorPageSource createPageSource(ConnectorTransactionHandle transaction, ConnectorSession session, ConnectorSplit split, ConnectorTableHandle table, List<ColumnHandle> columns)
     {
         JdbcTableHandle jdbcTableHandle = (JdbcTableHandle) table;
+        if (!jdbcTableHandle.getDeleteOrUpdate()) {
+            List<JdbcColumnHandle> jdbcColumns = columns.stream()
+                    .map(JdbcColumnHandle.class::cast)
+                    .collect(toImmutableList());
+            Optional<ConnectorPageSource> pageSource = jdbcClient.createPageSource(session, (JdbcSplit) split, jdbcTableHandle, jdbcColumns);
+            if (pageSource.isPresent()) {
+                return pageSource.get();
+            }
+        }
         RecordSet recordSet = recordSetProvider.getRecordSet(transaction, session, split, table, columns);
         if (jdbcTableHandle.getDeleteOrUpdate()) {
             return new JdbcUpdatablePageSource(recordSet, session, table, jdbcClient, config, (JdbcSplit) split);
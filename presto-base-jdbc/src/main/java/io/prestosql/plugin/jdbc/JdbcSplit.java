@@ -17,6 +17,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
 import io.prestosql.spi.HostAddress;
+import io.prestosql.spi.SplitWeight;
 import io.prestosql.spi.connector.ConnectorSplit;
 
 import javax.annotation.Nullable;
@@ -38,6 +39,21 @@ public class JdbcSplit
     private final long timeStamp;
     private final int scanNodes;
     private final Optional<String> additionalPredicate;
+    private final SplitWeight splitWeight;
+
+    public JdbcSplit(
+            @Nullable String catalogName,
+            @Nullable String schemaName,
+            String tableName,
+            String splitField,
+            String rangeStart,
+            String rangEnd,
+            long timeStamp,
+            int scanNodes,
+            Optional<String> additionalPredicate)
+    {
+        this(catalogName, schemaName, tableName, splitField, rangeStart, rangEnd, timeStamp, scanNodes, additionalPredicate, SplitWeight.standard());
+    }
 
     @JsonCreator
     public JdbcSplit(
@@ -49,7 +65,8 @@ public class JdbcSplit
             @JsonProperty("endIndex") String rangEnd,
             @JsonProperty("timeStamp") long timeStamp,
             @JsonProperty("scanNodes") int scanNodes,
-            @JsonProperty("additionalPredicate") Optional<String> additionalPredicate)
+            @JsonProperty("additionalPredicate") Optional<String> additionalPredicate,
+            @JsonProperty("splitWeight") SplitWeight splitWeight)
     {
         this.catalogName = catalogName;
         this.schemaName = schemaName;
@@ -60,6 +77,7 @@ public class JdbcSplit
         this.timeStamp = timeStamp;
         this.scanNodes = scanNodes;
         this.additionalPredicate = requireNonNull(additionalPredicate, "additionalPredicate is null");
+        this.splitWeight = requireNonNull(splitWeight, "splitWeight is null");
     }
 
     @JsonProperty
@@ -119,6 +137,13 @@ public class JdbcSplit
         return splitField;
     }
 
+    @JsonProperty
+    @Override
+    public SplitWeight getSplitWeight()
+    {
+        return splitWeight;
+    }
+
     @Override
     public boolean isRemotelyAccessible()
     {
@@ -15,6 +15,7 @@ package io.prestosql.plugin.jdbc.jmx;
 
 import io.prestosql.plugin.jdbc.ConnectionFactory;
 import io.prestosql.plugin.jdbc.JdbcIdentity;
+import org.weakref.jmx.Flatten;
 import org.weakref.jmx.Managed;
 import org.weakref.jmx.Nested;
 
@@ -62,4 +63,11 @@ public class StatisticsAwareConnectionFactory
     {
         return closeConnection;
     }
+
+    @Managed
+    @Flatten
+    public ConnectionFactory getDelegate()
+    {
+        return delegate;
+    }
 }
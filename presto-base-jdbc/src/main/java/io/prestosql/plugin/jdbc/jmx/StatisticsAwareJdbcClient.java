@@ -221,6 +221,12 @@ public class StatisticsAwareJdbcClient
         return stats.buildInsertSql.wrap(() -> getDelegate().buildInsertSql(handle));
     }
 
+    @Override
+    public String buildBulkInsertSql(JdbcOutputTableHandle handle, int rowCount)
+    {
+        return stats.buildBulkInsertSql.wrap(() -> getDelegate().buildBulkInsertSql(handle, rowCount));
+    }
+
     @Override
     public Connection getConnection(JdbcIdentity identity, JdbcOutputTableHandle handle)
             throws SQLException
@@ -358,6 +364,7 @@ public class StatisticsAwareJdbcClient
         private final JdbcApiStats dropTable = new JdbcApiStats();
         private final JdbcApiStats rollbackCreateTable = new JdbcApiStats();
         private final JdbcApiStats buildInsertSql = new JdbcApiStats();
+        private final JdbcApiStats buildBulkInsertSql = new JdbcApiStats();
         private final JdbcApiStats getPreparedStatement = new JdbcApiStats();
         private final JdbcApiStats getTableStatistics = new JdbcApiStats();
         private final JdbcApiStats createSchema = new JdbcApiStats();
@@ -513,6 +520,13 @@ public class StatisticsAwareJdbcClient
             return buildInsertSql;
         }
 
+        @Managed
+        @Nested
+        public JdbcApiStats getBuildBulkInsertSql()
+        {
+            return buildBulkInsertSql;
+        }
+
         @Managed
         @Nested
         public JdbcApiStats getGetPreparedStatement()
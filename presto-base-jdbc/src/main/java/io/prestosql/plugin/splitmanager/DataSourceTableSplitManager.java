@@ -26,9 +26,11 @@ import io.prestosql.plugin.jdbc.JdbcSplit;
 import io.prestosql.plugin.jdbc.JdbcTableHandle;
 import io.prestosql.spi.NodeManager;
 import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.SplitWeight;
 import io.prestosql.spi.connector.ConnectorSplitSource;
 import io.prestosql.spi.connector.FixedSplitSource;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
 import java.sql.Connection;
@@ -48,12 +50,16 @@ public class DataSourceTableSplitManager
 {
     private static final Logger log = Logger.get(DataSourceTableSplitManager.class);
 
+    private static final double MIN_SPLIT_WEIGHT = 0.01;
+
     private boolean enableTableSplit;
 
     private Map<String, TableSplitConfig> tableSplitsMap = new HashMap<>();
 
     private StepCalcManager stepCalcManager;
 
+    private QuantileSplitCache quantileSplitCache;
+
     private JdbcClient jdbcClient;
 
     @Inject
@@ -74,6 +80,20 @@ public class DataSourceTableSplitManager
             stepCalcThread.setDaemon(true);
             stepCalcThread.start();
             stepCalcManager.start();
+            if (splitConfigs.stream().anyMatch(TableSplitConfig::isQuantileSplitEnable)) {
+                quantileSplitCache = new QuantileSplitCache(jdbcClient, config.getTableSplitStepCalcRefreshInterval());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        if (stepCalcManager != null) {
+            stepCalcManager.stop();
+        }
+        if (quantileSplitCache != null) {
+            quantileSplitCache.stop();
         }
     }
 
@@ -133,7 +153,14 @@ public class DataSourceTableSplitManager
             return getFixedSplitSource(jdbcTableHandle);
         }
         long timeStamp = System.nanoTime();
-        if (splitConfig.isCalcStepEnable()) {
+        if (splitConfig.isQuantileSplitEnable() && quantileSplitCache != null) {
+            Optional<List<SplitStatLog>> splitRanges = quantileSplitCache.getSplitRanges(identity, splitConfig);
+            if (splitRanges.isPresent()) {
+                addSplitsFromRanges(jdbcTableHandle, jdbcSplitsList, splitRanges.get(), splitConfig, timeStamp);
+            }
+        }
+
+        if (jdbcSplitsList.isEmpty() && splitConfig.isCalcStepEnable()) {
             List<SplitStatLog> splitLogs;
             try {
                 splitLogs = stepCalcManager.getAdjustSplitList(jdbcTableHandle.getCatalogName(), jdbcTableHandle.getSchemaName(), jdbcTableHandle.getTableName());
@@ -146,6 +173,7 @@ public class DataSourceTableSplitManager
                 return getFixedSplitSource(jdbcTableHandle);
             }
 
+            long averageRows = getAverageRows(splitLogs);
             for (SplitStatLog splitLog : splitLogs) {
                 String splitPart = splitConfig.getSplitField() + " > " + splitLog.getBeginIndex() + " and "
                         + splitConfig.getSplitField() + " <= " + splitLog.getEndIndex();
@@ -157,7 +185,8 @@ public class DataSourceTableSplitManager
                         splitLog.getEndIndex().toString(),
                         timeStamp,
                         splitConfig.getSplitCount(),
-                        Optional.of(splitPart));
+                        Optional.of(splitPart),
+                        getSplitWeight(splitLog.getRows(), averageRows));
                 jdbcSplitsList.add(jdbcSplit);
             }
         }
@@ -194,6 +223,58 @@ public class DataSourceTableSplitManager
         return new DataSourceSplitSource(jdbcSplitsList);
     }
 
+    /**
+     * Build one split per quantile range. The first and the last range are unbound, so rows outside
+     * of the sampled value range, and rows with a null split field, are still read.
+     */
+    private void addSplitsFromRanges(JdbcTableHandle tableHandle, List<JdbcSplit> splits, List<SplitStatLog> ranges,
+            TableSplitConfig config, long timeStamp)
+    {
+        String splitField = config.getSplitField();
+        long averageRows = getAverageRows(ranges);
+        for (SplitStatLog range : ranges) {
+            String splitPart;
+            if (range.getBeginIndex() == Long.MIN_VALUE) {
+                splitPart = "(" + splitField + " <= " + range.getEndIndex() + " or " + splitField + " is null)";
+            }
+            else if (range.getEndIndex() == Long.MAX_VALUE) {
+                splitPart = splitField + " > " + range.getBeginIndex();
+            }
+            else {
+                splitPart = splitField + " > " + range.getBeginIndex() + " and " + splitField + " <= " + range.getEndIndex();
+            }
+            splits.add(new JdbcSplit(tableHandle.getCatalogName(), tableHandle.getSchemaName(), tableHandle.getTableName(),
+                    splitField, range.getBeginIndex().toString(), range.getEndIndex().toString(), timeStamp, config.getSplitCount(),
+                    Optional.of(splitPart), getSplitWeight(range.getRows(), averageRows)));
+        }
+    }
+
+    private static long getAverageRows(List<SplitStatLog> splitLogs)
+    {
+        if (splitLogs.isEmpty()) {
+            return 0;
+        }
+        long totalRows = 0;
+        for (SplitStatLog splitLog : splitLogs) {
+            if (splitLog.getRows() != null) {
+                totalRows += splitLog.getRows();
+            }
+        }
+        return totalRows / splitLogs.size();
+    }
+
+    /**
+     * Splits carrying an average number of rows get the standard weight, so the scheduler
+     * assigns fewer of the heavier splits to a node.
+     */
+    private static SplitWeight getSplitWeight(Long rows, long averageRows)
+    {
+        if (rows == null || averageRows <= 0) {
+            return SplitWeight.standard();
+        }
+        return SplitWeight.fromProportion(Math.max(rows * 1.0 / averageRows, MIN_SPLIT_WEIGHT));
+    }
+
     private FixedSplitSource getFixedSplitSource(JdbcTableHandle tableHandle)
     {
         return new FixedSplitSource(ImmutableList.of(new JdbcSplit(tableHandle.getCatalogName(),
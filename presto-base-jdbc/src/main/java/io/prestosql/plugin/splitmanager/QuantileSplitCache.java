@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.splitmanager;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.log.Logger;
+import io.airlift.units.Duration;
+import io.prestosql.plugin.jdbc.JdbcClient;
+import io.prestosql.plugin.jdbc.JdbcIdentity;
+import io.prestosql.plugin.jdbc.JdbcSplit;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.prestosql.plugin.splitmanager.TableSplitUtil.generateTableFullName;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Caches split field ranges computed from the quantiles of the split field, so that each range
+ * holds roughly the same number of rows even when the field values are skewed. Ranges are loaded
+ * and refreshed in the background, queries never wait for the remote database to compute them.
+ */
+public class QuantileSplitCache
+{
+    private static final Logger LOGGER = Logger.get(QuantileSplitCache.class);
+
+    private final JdbcClient jdbcClient;
+    private final long refreshIntervalNanos;
+    private final ExecutorService executor;
+    private final Map<String, CachedRanges> cachedRanges = new ConcurrentHashMap<>();
+    private final Set<String> loadingTables = ConcurrentHashMap.newKeySet();
+
+    public QuantileSplitCache(JdbcClient jdbcClient, Duration refreshInterval)
+    {
+        this.jdbcClient = requireNonNull(jdbcClient, "jdbcClient is null");
+        this.refreshIntervalNanos = requireNonNull(refreshInterval, "refreshInterval is null").roundTo(NANOSECONDS);
+        this.executor = newCachedThreadPool(daemonThreadsNamed("quantile-split-refresh-%s"));
+    }
+
+    /**
+     * Returns the cached ranges of the table, scheduling a background refresh when they are missing or stale.
+     */
+    public Optional<List<SplitStatLog>> getSplitRanges(JdbcIdentity identity, TableSplitConfig config)
+    {
+        String key = generateTableFullName(config.getCatalogName(), config.getSchemaName(), config.getTableName());
+        CachedRanges ranges = cachedRanges.get(key);
+        if (ranges == null || System.nanoTime() - ranges.getLoadTime() >= refreshIntervalNanos) {
+            scheduleRefresh(key, identity, config);
+        }
+        if (ranges == null || ranges.getRanges().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(ranges.getRanges());
+    }
+
+    public List<SplitStatLog> loadSplitRanges(JdbcIdentity identity, TableSplitConfig config)
+    {
+        try (Connection connection = jdbcClient.getConnection(identity, (JdbcSplit) null)) {
+            List<SplitStatLog> ranges = jdbcClient.getSplitFieldQuantiles(config, connection, config.getSplitCount());
+            // a single range does not split the table
+            return ranges.size() > 1 ? ImmutableList.copyOf(ranges) : ImmutableList.of();
+        }
+        catch (SQLException e) {
+            LOGGER.error("Load quantile split ranges of table(%s) failed, error info: %s", config.getTableName(), e.getMessage());
+            return ImmutableList.of();
+        }
+    }
+
+    public void stop()
+    {
+        executor.shutdownNow();
+    }
+
+    private void scheduleRefresh(String key, JdbcIdentity identity, TableSplitConfig config)
+    {
+        if (!loadingTables.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    cachedRanges.put(key, new CachedRanges(loadSplitRanges(identity, config), System.nanoTime()));
+                }
+                finally {
+                    loadingTables.remove(key);
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            loadingTables.remove(key);
+            LOGGER.error("Schedule quantile split refresh of table(%s) failed, error info: %s", config.getTableName(), e.getMessage());
+        }
+    }
+
+    private static class CachedRanges
+    {
+        private final List<SplitStatLog> ranges;
+        private final long loadTime;
+
+        CachedRanges(List<SplitStatLog> ranges, long loadTime)
+        {
+            this.ranges = requireNonNull(ranges, "ranges is null");
+            this.loadTime = loadTime;
+        }
+
+        List<SplitStatLog> getRanges()
+        {
+            return ranges;
+        }
+
+        long getLoadTime()
+        {
+            return loadTime;
+        }
+    }
+}
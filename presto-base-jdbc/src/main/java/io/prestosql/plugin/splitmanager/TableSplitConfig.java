@@ -27,6 +27,8 @@ public class TableSplitConfig
     private String splitField;
     private boolean isSplitFieldValid;
     private boolean isCalcStepEnable;
+    private boolean isQuantileSplitEnable;
+    private boolean isQuantileScanEnable;
     private boolean isDataReadOnly;
     private Integer scanNodes;
     private Long fieldMinValue;
@@ -102,6 +104,26 @@ public class TableSplitConfig
         isCalcStepEnable = calcStepEnable;
     }
 
+    public boolean isQuantileSplitEnable()
+    {
+        return isQuantileSplitEnable;
+    }
+
+    public void setQuantileSplitEnable(boolean quantileSplitEnable)
+    {
+        isQuantileSplitEnable = quantileSplitEnable;
+    }
+
+    public boolean isQuantileScanEnable()
+    {
+        return isQuantileScanEnable;
+    }
+
+    public void setQuantileScanEnable(boolean quantileScanEnable)
+    {
+        isQuantileScanEnable = quantileScanEnable;
+    }
+
     public Integer getSplitCount()
     {
         return scanNodes;
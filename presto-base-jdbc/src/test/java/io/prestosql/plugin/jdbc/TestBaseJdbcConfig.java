@@ -15,11 +15,13 @@ package io.prestosql.plugin.jdbc;
 
 import com.google.common.collect.ImmutableMap;
 import io.airlift.configuration.testing.ConfigAssertions;
+import io.airlift.units.DataSize;
 import io.airlift.units.Duration;
 import org.testng.annotations.Test;
 
 import java.util.Map;
 
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static io.prestosql.plugin.jdbc.optimization.JdbcPushDownModule.BASE_PUSHDOWN;
 import static io.prestosql.plugin.jdbc.optimization.JdbcPushDownModule.DEFAULT;
 import static io.prestosql.sql.builder.functioncall.FunctionCallConstants.REMOTE_FUNCTION_CATALOG_SCHEMA;
@@ -46,6 +48,8 @@ public class TestBaseJdbcConfig
                 .setBlockWhenExhausted(false)
                 .setFairness(false)
                 .setJmxEnabled(true)
+                .setStatementCacheSize(0)
+                .setPrewarmEnabled(false)
                 .setLifo(true)
                 .setTestWhileIdle(true)
                 .setTestOnReturn(false)
@@ -65,7 +69,11 @@ public class TestBaseJdbcConfig
                 .setTableSplitEnable(false)
                 .setTableSplitFields(null)
                 .setTableSplitStepCalcRefreshInterval(new Duration(5, MINUTES))
-                .setTableSplitStepCalcCalcThreads(4));
+                .setTableSplitStepCalcCalcThreads(4)
+                .setBulkWriteEnabled(false)
+                .setBulkWriteRowsPerStatement(100)
+                .setBulkWriteBatchSize(new DataSize(4, MEGABYTE))
+                .setBulkWriteParallelism(1));
     }
 
     @Test
@@ -95,6 +103,8 @@ public class TestBaseJdbcConfig
                 .put("jdbc.connection.pool.timeBetweenEvictionRunsMillis", "1000")
                 .put("jdbc.connection.pool.blockWhenExhausted", "false")
                 .put("jdbc.connection.pool.jmxEnabled", "false")
+                .put("jdbc.connection.pool.statementCacheSize", "64")
+                .put("jdbc.connection.pool.prewarmEnabled", "true")
                 .put("jdbc.connection.pool.maxTotal", "200")
                 .put("jdbc.connection.pool.maxIdle", "20")
                 .put("jdbc.connection.pool.minIdle", "12")
@@ -105,6 +115,10 @@ public class TestBaseJdbcConfig
                 .put("jdbc.table-split-fields", "test_field")
                 .put("jdbc.table-split-stepCalc-refresh-interval", "20s")
                 .put("jdbc.table-split-stepCalc-threads", "2")
+                .put("jdbc.bulk-write-enabled", "true")
+                .put("jdbc.bulk-write-rows-per-statement", "500")
+                .put("jdbc.bulk-write-batch-size", "16MB")
+                .put("jdbc.bulk-write-parallelism", "4")
                 .build();
 
         BaseJdbcConfig expected = new BaseJdbcConfig()
@@ -122,6 +136,8 @@ public class TestBaseJdbcConfig
                 .setBlockWhenExhausted(false)
                 .setFairness(true)
                 .setJmxEnabled(false)
+                .setStatementCacheSize(64)
+                .setPrewarmEnabled(true)
                 .setLifo(false)
                 .setTestWhileIdle(false)
                 .setTestOnReturn(true)
@@ -140,7 +156,11 @@ public class TestBaseJdbcConfig
                 .setTableSplitEnable(true)
                 .setTableSplitFields("test_field")
                 .setTableSplitStepCalcRefreshInterval(new Duration(20, SECONDS))
-                .setTableSplitStepCalcCalcThreads(2);
+                .setTableSplitStepCalcCalcThreads(2)
+                .setBulkWriteEnabled(true)
+                .setBulkWriteRowsPerStatement(500)
+                .setBulkWriteBatchSize(new DataSize(16, MEGABYTE))
+                .setBulkWriteParallelism(4);
 
         ConfigAssertions.assertFullMapping(properties, expected);
     }
@@ -23,9 +23,15 @@ import org.testng.annotations.Test;
 
 import java.sql.Connection;
 import java.sql.Driver;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
 import java.util.Properties;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 /**
  * test for connection pool
@@ -106,4 +112,111 @@ public class TestConnectionPool
             throw new RuntimeException("testConnectionPool failed");
         }
     }
+
+    @Test
+    public void testPrewarmedPoolStatementCache()
+            throws Exception
+    {
+        Properties properties = (Properties) connectionProperties.clone();
+        properties.setProperty("minIdle", "2");
+        // the evictor would open the minimum idle connections concurrently with preparePool
+        properties.setProperty("timeBetweenEvictionRunsMillis", "-1");
+        properties.setProperty("statementCacheSize", "2");
+        ConnectionPoolFactory factory = new ConnectionPoolFactory(new org.h2.Driver(), "jdbc:h2:mem:testPrewarmedPool" + System.nanoTime(), properties);
+        HetuConnectionObjectPool pool = new HetuConnectionObjectPool(factory,
+                DriverConnectionFactory.createGenericObjectPoolConfig(properties), new AbandonedConfig());
+        try {
+            pool.preparePool();
+            assertEquals(pool.getNumIdle(), 2);
+            assertEquals(pool.getConnectionsCreated(), 2);
+
+            try (Connection connection = pool.borrowObject()) {
+                PreparedStatement first = connection.prepareStatement("SELECT ?");
+                assertSelect(first, 1);
+                first.close();
+                assertTrue(first.isClosed());
+
+                // the same sql reuses the statement prepared before
+                PreparedStatement second = connection.prepareStatement("SELECT ?");
+                assertFalse(second.isClosed());
+                assertSelect(second, 2);
+
+                // an open cached statement is not shared
+                try (PreparedStatement third = connection.prepareStatement("SELECT ?")) {
+                    assertSelect(third, 3);
+                }
+                second.close();
+                assertEquals(pool.getStatementCacheHits().getTotalCount(), 1);
+                assertEquals(pool.getStatementCacheMisses().getTotalCount(), 2);
+
+                // only the two most recently used statements stay cached
+                for (String sql : new String[] {"SELECT ? + 1", "SELECT ? + 2", "SELECT ?"}) {
+                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        statement.setLong(1, 1);
+                        statement.executeQuery().close();
+                    }
+                }
+                assertEquals(pool.getStatementCacheHits().getTotalCount(), 1);
+                assertEquals(pool.getStatementCacheMisses().getTotalCount(), 5);
+            }
+            // pre-warmed connections are returned to the pool as well
+            assertEquals(pool.getNumIdle(), 2);
+            assertEquals(pool.getNumActive(), 0);
+            assertEquals(pool.getBorrowTime().getAllTime().getCount(), 1.0);
+        }
+        finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testStatementCacheResetsSettings()
+            throws Exception
+    {
+        Properties properties = (Properties) connectionProperties.clone();
+        properties.setProperty("statementCacheSize", "2");
+        ConnectionPoolFactory factory = new ConnectionPoolFactory(new org.h2.Driver(), "jdbc:h2:mem:testStatementSettings" + System.nanoTime(), properties);
+        HetuConnectionObjectPool pool = new HetuConnectionObjectPool(factory,
+                DriverConnectionFactory.createGenericObjectPoolConfig(properties), new AbandonedConfig());
+        try (Connection connection = pool.borrowObject()) {
+            PreparedStatement first = connection.prepareStatement("SELECT ?");
+            int fetchSize = first.getFetchSize();
+            first.setFetchSize(fetchSize + 10);
+            first.setMaxRows(1);
+            first.setQueryTimeout(5);
+            assertSelect(first, 1);
+            first.close();
+
+            // the next caller of the cached statement gets the settings of a new statement
+            try (PreparedStatement second = connection.prepareStatement("SELECT ?")) {
+                assertEquals(pool.getStatementCacheHits().getTotalCount(), 1);
+                assertEquals(second.getFetchSize(), fetchSize);
+                assertEquals(second.getMaxRows(), 0);
+                assertEquals(second.getQueryTimeout(), 0);
+            }
+        }
+        finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testConnectionPoolStatsWithoutPool()
+    {
+        Properties properties = (Properties) connectionProperties.clone();
+        properties.setProperty("useConnectionPool", "false");
+        DriverConnectionFactory connectionFactory = new DriverConnectionFactory(driver, connectionUrl, Optional.empty(), Optional.empty(), properties);
+        // the pool metrics are exported even when the pool is not used
+        assertEquals(connectionFactory.getConnectionPool().getNumActive(), 0);
+    }
+
+    private static void assertSelect(PreparedStatement statement, long value)
+            throws SQLException
+    {
+        statement.setLong(1, value);
+        try (ResultSet resultSet = statement.executeQuery()) {
+            assertTrue(resultSet.next());
+            assertEquals(resultSet.getLong(1), value);
+        }
+    }
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.jdbc;
+
+import com.google.common.collect.ImmutableList;
+import io.airlift.units.DataSize;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.connector.ConnectorInsertTableHandle;
+import io.prestosql.spi.connector.ConnectorPageSink;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.airlift.units.DataSize.Unit.KILOBYTE;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static io.prestosql.testing.TestingConnectorSession.SESSION;
+import static java.util.Locale.ENGLISH;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@Test(singleThreaded = true)
+public class TestJdbcBulkPageSink
+{
+    private TestingDatabase database;
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception
+    {
+        database = new TestingDatabase();
+        executor = newCachedThreadPool(daemonThreadsNamed("test-jdbc-bulk-write-%s"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws Exception
+    {
+        executor.shutdownNow();
+        database.close();
+    }
+
+    @Test
+    public void testParallelBulkWrite()
+            throws Exception
+    {
+        // 7 rows per statement and a tiny batch size exercise full statements, tail statements and several writers
+        assertBulkWrite("bulk_parallel", new BaseJdbcConfig()
+                .setBulkWriteEnabled(true)
+                .setBulkWriteRowsPerStatement(7)
+                .setBulkWriteBatchSize(new DataSize(1, KILOBYTE))
+                .setBulkWriteParallelism(3));
+    }
+
+    @Test
+    public void testSingleWriterBulkWrite()
+            throws Exception
+    {
+        assertBulkWrite("bulk_single", new BaseJdbcConfig()
+                .setBulkWriteEnabled(true)
+                .setBulkWriteRowsPerStatement(100));
+    }
+
+    @Test
+    public void testClientLimitsRowsPerStatement()
+            throws Exception
+    {
+        // the client allows 10 parameters per statement, which is 5 rows of the two columns
+        BulkInsertJdbcClient jdbcClient = new BulkInsertJdbcClient((BaseJdbcClient) database.getJdbcClient(), 10);
+        assertBulkWrite("bulk_limited", jdbcClient, new BaseJdbcConfig()
+                .setBulkWriteEnabled(true)
+                .setBulkWriteRowsPerStatement(100));
+        assertEquals(jdbcClient.maxStatementRows, 5);
+    }
+
+    @Test
+    public void testFallbackWithoutBulkInsertSupport()
+            throws Exception
+    {
+        JdbcOutputTableHandle handle = createTable("bulk_unsupported");
+        JdbcPageSinkProvider pageSinkProvider = new JdbcPageSinkProvider(database.getJdbcClient(), new BaseJdbcConfig().setBulkWriteEnabled(true));
+        try {
+            ConnectorPageSink pageSink = pageSinkProvider.createPageSink(null, SESSION, (ConnectorInsertTableHandle) handle);
+            assertTrue(pageSink instanceof JdbcPageSink);
+            pageSink.abort();
+        }
+        finally {
+            pageSinkProvider.destroy();
+        }
+    }
+
+    private void assertBulkWrite(String tableName, BaseJdbcConfig config)
+            throws SQLException
+    {
+        assertBulkWrite(tableName, new BulkInsertJdbcClient((BaseJdbcClient) database.getJdbcClient(), Short.MAX_VALUE), config);
+    }
+
+    private void assertBulkWrite(String tableName, JdbcClient jdbcClient, BaseJdbcConfig config)
+            throws SQLException
+    {
+        JdbcOutputTableHandle handle = createTable(tableName);
+        ConnectorPageSink pageSink = new JdbcBulkPageSink(SESSION, handle, jdbcClient, config, executor);
+
+        long expectedSum = 0;
+        int rowCount = 0;
+        for (int pageNumber = 0; pageNumber < 10; pageNumber++) {
+            BlockBuilder ids = BIGINT.createBlockBuilder(null, 123);
+            BlockBuilder names = VARCHAR.createBlockBuilder(null, 123);
+            for (int i = 0; i < 123; i++) {
+                BIGINT.writeLong(ids, rowCount);
+                if (rowCount % 10 == 0) {
+                    names.appendNull();
+                }
+                else {
+                    VARCHAR.writeSlice(names, utf8Slice("name" + rowCount));
+                }
+                expectedSum += rowCount;
+                rowCount++;
+            }
+            getFutureValue(pageSink.appendPage(new Page(ids.build(), names.build())));
+        }
+        getFutureValue(pageSink.finish());
+
+        try (Statement statement = database.getConnection().createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT count(*), sum(id), count(name) FROM example." + tableName)) {
+            resultSet.next();
+            assertEquals(resultSet.getLong(1), rowCount);
+            assertEquals(resultSet.getLong(2), expectedSum);
+            assertEquals(resultSet.getLong(3), rowCount - (rowCount + 9) / 10);
+        }
+    }
+
+    private JdbcOutputTableHandle createTable(String tableName)
+            throws SQLException
+    {
+        try (Statement statement = database.getConnection().createStatement()) {
+            statement.execute("CREATE TABLE example." + tableName + "(id bigint, name varchar)");
+        }
+        database.getConnection().commit();
+
+        return new JdbcOutputTableHandle(
+                null,
+                "EXAMPLE",
+                tableName.toUpperCase(ENGLISH),
+                ImmutableList.of("id", "name"),
+                ImmutableList.of(BIGINT, VARCHAR),
+                tableName.toUpperCase(ENGLISH));
+    }
+
+    private static class BulkInsertJdbcClient
+            extends ForwardingJdbcClient
+    {
+        private final BaseJdbcClient delegate;
+        private final int maxParameters;
+        private volatile int maxStatementRows;
+
+        BulkInsertJdbcClient(BaseJdbcClient delegate, int maxParameters)
+        {
+            this.delegate = delegate;
+            this.maxParameters = maxParameters;
+        }
+
+        @Override
+        protected JdbcClient getDelegate()
+        {
+            return delegate;
+        }
+
+        @Override
+        public boolean isBulkInsertSupported()
+        {
+            return true;
+        }
+
+        @Override
+        public int getMaxBulkInsertRows(int columnCount)
+        {
+            return maxParameters / columnCount;
+        }
+
+        @Override
+        public synchronized String buildBulkInsertSql(JdbcOutputTableHandle handle, int rowCount)
+        {
+            maxStatementRows = Math.max(maxStatementRows, rowCount);
+            return delegate.buildMultiRowInsertSql(handle, rowCount);
+        }
+    }
+}
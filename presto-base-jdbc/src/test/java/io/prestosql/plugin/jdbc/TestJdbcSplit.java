@@ -15,6 +15,7 @@ package io.prestosql.plugin.jdbc;
 
 import com.google.common.collect.ImmutableList;
 import io.airlift.json.JsonCodec;
+import io.prestosql.spi.SplitWeight;
 import org.testng.annotations.Test;
 
 import java.util.Optional;
@@ -54,8 +55,25 @@ public class TestJdbcSplit
         String json = codec.toJson(split);
         JdbcSplit copy = codec.fromJson(json);
         assertEquals(copy.getAdditionalPredicate(), split.getAdditionalPredicate());
+        assertEquals(copy.getSplitWeight(), SplitWeight.standard());
 
         assertEquals(copy.getAddresses(), ImmutableList.of());
         assertEquals(copy.isRemotelyAccessible(), true);
     }
+
+    @Test
+    public void testSplitWeightJsonRoundTrip()
+    {
+        JdbcSplit weightedSplit = new JdbcSplit("",
+                "",
+                "tableName",
+                "id", "0", "100",
+                System.nanoTime(), 4,
+                Optional.of("id > 0 and id <= 100"),
+                SplitWeight.fromProportion(2.5));
+        JsonCodec<JdbcSplit> codec = jsonCodec(JdbcSplit.class);
+        JdbcSplit copy = codec.fromJson(codec.toJson(weightedSplit));
+        assertEquals(copy.getSplitWeight(), SplitWeight.fromProportion(2.5));
+        assertEquals(copy.getAdditionalPredicate(), weightedSplit.getAdditionalPredicate());
+    }
 }
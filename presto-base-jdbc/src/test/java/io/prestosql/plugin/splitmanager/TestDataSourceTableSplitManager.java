@@ -14,6 +14,8 @@
  */
 package io.prestosql.plugin.splitmanager;
 
+import com.google.common.collect.ImmutableList;
+import io.airlift.units.Duration;
 import io.prestosql.plugin.jdbc.BaseJdbcClient;
 import io.prestosql.plugin.jdbc.BaseJdbcConfig;
 import io.prestosql.plugin.jdbc.DriverConnectionFactory;
@@ -21,6 +23,7 @@ import io.prestosql.plugin.jdbc.JdbcClient;
 import io.prestosql.plugin.jdbc.JdbcIdentity;
 import io.prestosql.plugin.jdbc.JdbcSplit;
 import io.prestosql.plugin.jdbc.JdbcTableHandle;
+import io.prestosql.spi.SplitWeight;
 import io.prestosql.spi.connector.ConnectorSplit;
 import io.prestosql.spi.connector.ConnectorSplitSource;
 import io.prestosql.spi.connector.FixedSplitSource;
@@ -32,7 +35,9 @@ import org.testng.annotations.Test;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
@@ -41,8 +46,11 @@ import java.util.concurrent.ThreadLocalRandom;
 import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static io.prestosql.spi.connector.NotPartitionedPartitionHandle.NOT_PARTITIONED;
 import static io.prestosql.testing.TestingConnectorSession.SESSION;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 public class TestDataSourceTableSplitManager
 {
@@ -351,6 +359,89 @@ public class TestDataSourceTableSplitManager
         }
     }
 
+    @Test
+    public void testQuantileSplitRanges()
+    {
+        long[][] rangeArray = new long[][]
+                {
+                        {Long.MIN_VALUE, 30},
+                        {30, 60},
+                        {60, 10030},
+                        {10030, Long.MAX_VALUE}
+                };
+        TableSplitConfig tableSplitConfig = new TableSplitConfig();
+        tableSplitConfig.setCatalogName(catalogName);
+        tableSplitConfig.setSchemaName("EXAMPLE");
+        tableSplitConfig.setTableName("SKEWED_NUMBERS");
+        tableSplitConfig.setSplitField("value");
+        tableSplitConfig.setSplitCount(4);
+        tableSplitConfig.setQuantileSplitEnable(true);
+
+        QuantileSplitCache quantileSplitCache = new QuantileSplitCache(jdbcClient, new Duration(5, MINUTES));
+        try {
+            // the generic quantile query scans the whole table, it runs only when enabled for the table
+            assertTrue(quantileSplitCache.loadSplitRanges(JdbcIdentity.from(SESSION), tableSplitConfig).isEmpty());
+
+            tableSplitConfig.setQuantileScanEnable(true);
+            List<SplitStatLog> ranges = quantileSplitCache.loadSplitRanges(JdbcIdentity.from(SESSION), tableSplitConfig);
+            assertEquals(ranges.size(), rangeArray.length);
+            for (int i = 0; i < ranges.size(); i++) {
+                assertEquals(ranges.get(i).getBeginIndex().longValue(), rangeArray[i][0]);
+                assertEquals(ranges.get(i).getEndIndex().longValue(), rangeArray[i][1]);
+                assertEquals(ranges.get(i).getRows().longValue(), 30L);
+            }
+        }
+        finally {
+            quantileSplitCache.stop();
+        }
+    }
+
+    @Test
+    public void testGetQuantileTableSplits()
+            throws Exception
+    {
+        BaseJdbcConfig config = new BaseJdbcConfig();
+        config.setPushDownEnable(true)
+                .setTableSplitEnable(true)
+                .setTableSplitFields("[{\"catalogName\":\"" + catalogName + "\",\"schemaName\":\"EXAMPLE\",\"tableName\":\"SKEWED_NUMBERS\"," +
+                        "\"splitField\":\"value\",\"calcStepEnable\":\"false\",\"quantileSplitEnable\":\"true\",\"quantileScanEnable\":\"true\",\"dataReadOnly\":\"true\",\"splitCount\":\"4\"," +
+                        "\"fieldMinValue\":\"\",\"fieldMaxValue\":\"\"}]");
+        JdbcTableHandle skewedTableHandle = getTableHandle(new SchemaTableName("example", "skewed_numbers"));
+        DataSourceTableSplitManager quantileSplitManager = new DataSourceTableSplitManager(config, jdbcClient, nodeManager);
+        try {
+            quantileSplitManager.getTableSplitConfig(skewedTableHandle).setTableSplitFieldValid(true);
+
+            // quantiles are loaded in the background, the first queries use the evenly stepped ranges
+            List<ConnectorSplit> splits = ImmutableList.of();
+            long deadline = System.nanoTime() + SECONDS.toNanos(30);
+            while (System.nanoTime() < deadline) {
+                ConnectorSplitSource splitSource = quantileSplitManager.getTableSplits(JdbcIdentity.from(SESSION), skewedTableHandle);
+                splits = getFutureValue(splitSource.getNextBatch(NOT_PARTITIONED, 1000)).getSplits();
+                if (Long.parseLong(((JdbcSplit) splits.get(0)).getRangeStart()) == Long.MIN_VALUE) {
+                    break;
+                }
+                Thread.sleep(10);
+            }
+
+            assertEquals(splits.size(), 4);
+            long totalRows = 0;
+            for (ConnectorSplit split : splits) {
+                JdbcSplit jdbcSplit = (JdbcSplit) split;
+                assertEquals(jdbcSplit.getSplitWeight(), SplitWeight.standard());
+                try (Statement statement = connection.createStatement();
+                        ResultSet resultSet = statement.executeQuery("SELECT count(*) FROM example.skewed_numbers WHERE " + jdbcSplit.getAdditionalPredicate().get())) {
+                    assertTrue(resultSet.next());
+                    totalRows += resultSet.getLong(1);
+                }
+            }
+            // the null split field value is read by the first split
+            assertEquals(totalRows, 121);
+        }
+        finally {
+            quantileSplitManager.stop();
+        }
+    }
+
     private void initSplitDatabase()
             throws SQLException
     {
@@ -439,6 +530,14 @@ public class TestDataSourceTableSplitManager
                 "('five2', 'five2', 5)," +
                 "('five3', 'five3', 5)" +
                 "");
+
+        // 60 dense values followed by 60 values far away from them
+        connection.createStatement().execute("CREATE TABLE example.skewed_numbers(value bigint)");
+        StringBuilder skewedValues = new StringBuilder("INSERT INTO example.skewed_numbers(value) VALUES (null)");
+        for (int i = 1; i <= 60; i++) {
+            skewedValues.append(", (").append(i).append("), (").append(10000 + i).append(")");
+        }
+        connection.createStatement().execute(skewedValues.toString());
         connection.commit();
     }
 
@@ -55,6 +55,7 @@ import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.slice.SliceBuilder;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -387,7 +388,7 @@ public class ElasticsearchClient
                 node = nodeById.get(chosen.getNode());
             }
 
-            shards.add(new Shard(chosen.getShard(), node.getAddress()));
+            shards.add(new Shard(chosen.getIndex(), chosen.getShard(), node.getAddress()));
         }
 
         return shards.build();
@@ -487,7 +488,7 @@ public class ElasticsearchClient
         return jsonNode.get(name);
     }
 
-    public SearchResponse beginSearch(String index, int shard, QueryBuilder query, Optional<List<String>> fields, List<String> documentFields, ElasticAggOptimizationContext elasticAggOptimizationContext)
+    public SearchResponse beginSearch(String index, int shard, int shardCount, int slice, int sliceCount, QueryBuilder query, Optional<List<String>> fields, List<String> documentFields, ElasticAggOptimizationContext elasticAggOptimizationContext)
     {
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource()
                 .query(query)
@@ -506,9 +507,17 @@ public class ElasticsearchClient
 
         SearchRequest request = new SearchRequest(index)
                 .searchType(QUERY_THEN_FETCH)
-                .preference("_shards:" + shard)
-                .scroll(new TimeValue(scrollTimeout.toMillis()))
-                .source(sourceBuilder);
+                .scroll(new TimeValue(scrollTimeout.toMillis()));
+        if (sliceCount > 1) {
+            // Elasticsearch hands slice N of a scroll over the whole index to shard N modulo the number of shards
+            // of the index, and splits that shard among the slices it receives. Servers before 7.5 ignore the
+            // _shards preference when doing so, so sliced scrolls are not restricted to the shard.
+            sourceBuilder.slice(new SliceBuilder(shard + slice * shardCount, sliceCount * shardCount));
+        }
+        else {
+            request.preference("_shards:" + shard);
+        }
+        request.source(sourceBuilder);
 
         try {
             return client.search(request);
@@ -74,6 +74,8 @@ public class ElasticsearchConfig
     private Security security;
 
     private boolean isPushDownEnabled;
+    private int scrollSlicesPerShard = 1;
+    private boolean docValueFieldsEnabled;
 
     public boolean isPushDownEnabled()
     {
@@ -88,6 +90,33 @@ public class ElasticsearchConfig
         return this;
     }
 
+    @Min(1)
+    public int getScrollSlicesPerShard()
+    {
+        return scrollSlicesPerShard;
+    }
+
+    @Config("elasticsearch.scroll-slices-per-shard")
+    @ConfigDescription("Number of splits each shard is read with, as slices of a sliced scroll")
+    public ElasticsearchConfig setScrollSlicesPerShard(int scrollSlicesPerShard)
+    {
+        this.scrollSlicesPerShard = scrollSlicesPerShard;
+        return this;
+    }
+
+    public boolean isDocValueFieldsEnabled()
+    {
+        return docValueFieldsEnabled;
+    }
+
+    @Config("elasticsearch.doc-value-fields.enabled")
+    @ConfigDescription("Read numeric and boolean columns from doc values instead of parsing them out of _source")
+    public ElasticsearchConfig setDocValueFieldsEnabled(boolean docValueFieldsEnabled)
+    {
+        this.docValueFieldsEnabled = docValueFieldsEnabled;
+        return this;
+    }
+
     @NotNull
     public String getHost()
     {
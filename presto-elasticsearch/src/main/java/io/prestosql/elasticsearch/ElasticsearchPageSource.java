@@ -15,6 +15,7 @@ package io.prestosql.elasticsearch;
 
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import io.airlift.log.Logger;
 import io.prestosql.elasticsearch.decoders.ArrayDecoder;
 import io.prestosql.elasticsearch.decoders.BigintDecoder;
@@ -36,6 +37,7 @@ import io.prestosql.elasticsearch.decoders.VarcharDecoder;
 import io.prestosql.elasticsearch.optimization.ElasticAggregationBuilder;
 import io.prestosql.elasticsearch.optimization.ElasticsearchAggregationsCompositeResult;
 import io.prestosql.spi.Page;
+import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.block.Block;
 import io.prestosql.spi.block.BlockBuilder;
 import io.prestosql.spi.block.PageBuilderStatus;
@@ -44,6 +46,7 @@ import io.prestosql.spi.type.ArrayType;
 import io.prestosql.spi.type.RowType;
 import io.prestosql.spi.type.Type;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.document.DocumentField;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.aggregations.Aggregation;
@@ -59,6 +62,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
@@ -66,6 +70,7 @@ import static io.prestosql.elasticsearch.BuiltinColumns.ID;
 import static io.prestosql.elasticsearch.BuiltinColumns.SCORE;
 import static io.prestosql.elasticsearch.BuiltinColumns.SOURCE;
 import static io.prestosql.elasticsearch.ElasticsearchQueryBuilder.buildSearchQuery;
+import static io.prestosql.spi.StandardErrorCode.TYPE_MISMATCH;
 import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.spi.type.BooleanType.BOOLEAN;
 import static io.prestosql.spi.type.DoubleType.DOUBLE;
@@ -77,16 +82,18 @@ import static io.prestosql.spi.type.TimestampType.TIMESTAMP;
 import static io.prestosql.spi.type.TinyintType.TINYINT;
 import static io.prestosql.spi.type.VarbinaryType.VARBINARY;
 import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.function.Predicate.isEqual;
-import static java.util.stream.Collectors.toList;
 
 public class ElasticsearchPageSource
         implements ConnectorPageSource
 {
     private static final Logger LOG = Logger.get(ElasticsearchPageSource.class);
+    private static final Set<Type> DOC_VALUE_TYPES = ImmutableSet.of(BIGINT, INTEGER, SMALLINT, TINYINT, DOUBLE, REAL, BOOLEAN);
 
     private final List<Decoder> decoders;
+    private final boolean[] fromDocValues;
 
     private final ElasticSearchResultIterator iterator;
     private final BlockBuilder[] columnBuilders;
@@ -99,7 +106,8 @@ public class ElasticsearchPageSource
             ElasticsearchClient client,
             ElasticsearchTableHandle table,
             ElasticsearchSplit split,
-            List<ElasticsearchColumnHandle> columns)
+            List<ElasticsearchColumnHandle> columns,
+            boolean docValueFieldsEnabled)
     {
         requireNonNull(client, "client is null");
         requireNonNull(columns, "columns is null");
@@ -116,28 +124,50 @@ public class ElasticsearchPageSource
         // Columns to fetch as doc_fields instead of pulling them out of the JSON source
         // This is convenient for types such as DATE, TIMESTAMP, etc, which have multiple possible
         // representations in JSON, but a single normalized representation as doc_field.
-        List<String> documentFields = flattenFields(columns).entrySet().stream()
+        // Scalar numeric and boolean columns can be read from doc values as well, which spares parsing
+        // them out of _source. Doc values may be disabled in the mapping, so this is opt-in.
+        fromDocValues = new boolean[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            ElasticsearchColumnHandle column = columns.get(i);
+            fromDocValues[i] = docValueFieldsEnabled
+                    && !BuiltinColumns.NAMES.contains(column.getName())
+                    && DOC_VALUE_TYPES.contains(column.getType());
+        }
+
+        ImmutableList.Builder<String> documentFields = ImmutableList.builder();
+        flattenFields(columns).entrySet().stream()
                 .filter(entry -> entry.getValue().equals(TIMESTAMP))
                 .map(Map.Entry::getKey)
-                .collect(toImmutableList());
+                .forEach(documentFields::add);
+        for (int i = 0; i < columns.size(); i++) {
+            if (fromDocValues[i]) {
+                documentFields.add(columns.get(i).getName());
+            }
+        }
 
         columnBuilders = columns.stream()
                 .map(ElasticsearchColumnHandle::getType)
                 .map(type -> type.createBlockBuilder(null, 1))
                 .toArray(BlockBuilder[]::new);
 
-        List<String> requiredFields = columns.stream()
-                .map(ElasticsearchColumnHandle::getName)
-                .filter(name -> !BuiltinColumns.NAMES.contains(name))
-                .collect(toList());
+        List<String> requiredFields = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            String name = columns.get(i).getName();
+            if (!BuiltinColumns.NAMES.contains(name) && !fromDocValues[i]) {
+                requiredFields.add(name);
+            }
+        }
 
         long start = System.nanoTime();
         SearchResponse searchResponse = client.beginSearch(
                 table.getIndex(),
                 split.getShard(),
+                split.getShardCount(),
+                split.getSlice(),
+                split.getSliceCount(),
                 buildSearchQuery(table.getConstraint(), columns, table.getQuery()),
                 needAllFields ? Optional.empty() : Optional.of(requiredFields),
-                documentFields, table.getElasticAggOptimizationContext());
+                documentFields.build(), table.getElasticAggOptimizationContext());
         readTimeNanos += System.nanoTime() - start;
         this.iterator = ElasticsearchResultIteratorFactory.getIterator(client, searchResponse);
     }
@@ -209,11 +239,16 @@ public class ElasticsearchPageSource
     {
         if (iterator instanceof SearchHitIterator) {
             SearchHit hit = (SearchHit) iterator.next();
-            Map<String, Object> document = hit.getSourceAsMap();
 
             for (int i = 0; i < decoders.size(); i++) {
                 String field = columns.get(i).getName();
-                decoders.get(i).decode(hit, () -> getField(document, field), columnBuilders[i]);
+                if (fromDocValues[i]) {
+                    decoders.get(i).decode(hit, () -> getDocValue(hit, field), columnBuilders[i]);
+                }
+                else {
+                    // the source is parsed on first use and kept by the hit
+                    decoders.get(i).decode(hit, () -> getField(hit.getSourceAsMap(), field), columnBuilders[i]);
+                }
             }
 
             if (hit.getSourceRef() != null) {
@@ -257,6 +292,18 @@ public class ElasticsearchPageSource
         return value;
     }
 
+    private static Object getDocValue(SearchHit hit, String field)
+    {
+        DocumentField documentField = hit.getFields().get(field);
+        if (documentField == null) {
+            return null;
+        }
+        if (documentField.getValues().size() > 1) {
+            throw new PrestoException(TYPE_MISMATCH, format("Expected single value for column '%s', found: %s", field, documentField.getValues().size()));
+        }
+        return documentField.getValue();
+    }
+
     public static Object getAggregationOrField(Map<String, Aggregation> document, String field, Map<String, Object> groupByFieldValueMap)
     {
         String escapedFieldName = ElasticAggregationBuilder.getEscapedFieldName(field);
@@ -32,11 +32,13 @@ public class ElasticsearchPageSourceProvider
         implements ConnectorPageSourceProvider
 {
     private final ElasticsearchClient client;
+    private final boolean docValueFieldsEnabled;
 
     @Inject
-    public ElasticsearchPageSourceProvider(ElasticsearchClient client)
+    public ElasticsearchPageSourceProvider(ElasticsearchClient client, ElasticsearchConfig config)
     {
         this.client = requireNonNull(client, "client is null");
+        this.docValueFieldsEnabled = requireNonNull(config, "config is null").isDocValueFieldsEnabled();
     }
 
     @Override
@@ -50,6 +52,7 @@ public class ElasticsearchPageSourceProvider
                 (ElasticsearchTableHandle) table, (ElasticsearchSplit) split,
                 columns.stream()
                         .map(ElasticsearchColumnHandle.class::cast)
-                        .collect(toImmutableList()));
+                        .collect(toImmutableList()),
+                docValueFieldsEnabled);
     }
 }
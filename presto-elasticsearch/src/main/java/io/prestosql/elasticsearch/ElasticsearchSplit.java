@@ -22,20 +22,33 @@ import io.prestosql.spi.connector.ConnectorSplit;
 import java.util.List;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 public class ElasticsearchSplit
         implements ConnectorSplit
 {
     private final int shard;
+    private final int shardCount;
+    private final int slice;
+    private final int sliceCount;
     private final String address;
 
     @JsonCreator
     public ElasticsearchSplit(
             @JsonProperty("shard") int shard,
+            @JsonProperty("shardCount") int shardCount,
+            @JsonProperty("slice") int slice,
+            @JsonProperty("sliceCount") int sliceCount,
             @JsonProperty("address") String address)
     {
+        checkArgument(shard >= 0 && shard < shardCount, "shard must be between 0 and shardCount - 1");
+        checkArgument(sliceCount >= 1, "sliceCount must be at least 1");
+        checkArgument(slice >= 0 && slice < sliceCount, "slice must be between 0 and sliceCount - 1");
         this.shard = shard;
+        this.shardCount = shardCount;
+        this.slice = slice;
+        this.sliceCount = sliceCount;
         this.address = requireNonNull(address, "address is null");
     }
 
@@ -45,6 +58,24 @@ public class ElasticsearchSplit
         return shard;
     }
 
+    @JsonProperty
+    public int getShardCount()
+    {
+        return shardCount;
+    }
+
+    @JsonProperty
+    public int getSlice()
+    {
+        return slice;
+    }
+
+    @JsonProperty
+    public int getSliceCount()
+    {
+        return sliceCount;
+    }
+
     @JsonProperty
     public String getAddress()
     {
@@ -74,6 +105,8 @@ public class ElasticsearchSplit
     {
         return toStringHelper(this)
                 .addValue(shard)
+                .add("slice", sliceCount > 1 ? slice + "/" + sliceCount : null)
+                .omitNullValues()
                 .toString();
     }
 }
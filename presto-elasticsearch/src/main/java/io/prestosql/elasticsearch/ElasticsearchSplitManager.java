@@ -13,6 +13,7 @@
  */
 package io.prestosql.elasticsearch;
 
+import io.prestosql.elasticsearch.client.Shard;
 import io.prestosql.spi.connector.ConnectorSession;
 import io.prestosql.spi.connector.ConnectorSplitManager;
 import io.prestosql.spi.connector.ConnectorSplitSource;
@@ -23,6 +24,7 @@ import io.prestosql.spi.connector.FixedSplitSource;
 import javax.inject.Inject;
 
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.util.Objects.requireNonNull;
@@ -31,11 +33,13 @@ public class ElasticsearchSplitManager
         implements ConnectorSplitManager
 {
     private final ElasticsearchClient client;
+    private final int scrollSlicesPerShard;
 
     @Inject
-    public ElasticsearchSplitManager(ElasticsearchClient client)
+    public ElasticsearchSplitManager(ElasticsearchClient client, ElasticsearchConfig config)
     {
         this.client = requireNonNull(client, "client is null");
+        this.scrollSlicesPerShard = requireNonNull(config, "config is null").getScrollSlicesPerShard();
     }
 
     @Override
@@ -43,8 +47,14 @@ public class ElasticsearchSplitManager
     {
         ElasticsearchTableHandle tableHandle = (ElasticsearchTableHandle) table;
 
-        List<ElasticsearchSplit> splits = client.getSearchShards(tableHandle.getIndex()).stream()
-                .map(shard -> new ElasticsearchSplit(shard.getId(), shard.getAddress()))
+        List<Shard> shards = client.getSearchShards(tableHandle.getIndex());
+        // pushed down aggregations are computed per shard and cannot be split further. Slices are
+        // assigned to shards by the shard count of each index, so aliases over several indices are not sliced.
+        boolean singleIndex = shards.stream().map(Shard::getIndex).distinct().count() <= 1;
+        int sliceCount = tableHandle.getElasticAggOptimizationContext() == null && singleIndex ? scrollSlicesPerShard : 1;
+        List<ElasticsearchSplit> splits = shards.stream()
+                .flatMap(shard -> IntStream.range(0, sliceCount)
+                        .mapToObj(slice -> new ElasticsearchSplit(shard.getId(), shards.size(), slice, sliceCount, shard.getAddress())))
                 .collect(toImmutableList());
 
         return new FixedSplitSource(splits);
@@ -17,15 +17,22 @@ import static java.util.Objects.requireNonNull;
 
 public class Shard
 {
+    private final String index;
     private final int id;
     private final String address;
 
-    public Shard(int id, String address)
+    public Shard(String index, int id, String address)
     {
+        this.index = requireNonNull(index, "index is null");
         this.id = id;
         this.address = requireNonNull(address, "address is null");
     }
 
+    public String getIndex()
+    {
+        return index;
+    }
+
     public int getId()
     {
         return id;
@@ -39,6 +46,6 @@ public class Shard
     @Override
     public String toString()
     {
-        return id + "@" + address;
+        return index + ":" + id + "@" + address;
     }
 }
@@ -87,6 +87,8 @@ public final class ElasticsearchQueryRunner
                 .put("elasticsearch.default-schema-name", TPCH_SCHEMA)
                 .put("elasticsearch.scroll-size", "1000")
                 .put("elasticsearch.scroll-timeout", "1m")
+                .put("elasticsearch.scroll-slices-per-shard", "2")
+                .put("elasticsearch.doc-value-fields.enabled", "true")
                 .put("elasticsearch.request-timeout", "2m")
                 .build();
 
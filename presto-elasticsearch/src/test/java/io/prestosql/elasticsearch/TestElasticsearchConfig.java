@@ -53,7 +53,9 @@ public class TestElasticsearchConfig
                 .setTruststorePassword(null)
                 .setVerifyHostnames(true)
                 .setSecurity(null)
-                .setPushDownEnabled(false));
+                .setPushDownEnabled(false)
+                .setScrollSlicesPerShard(1)
+                .setDocValueFieldsEnabled(false));
     }
 
     @Test
@@ -83,6 +85,8 @@ public class TestElasticsearchConfig
                 .put("elasticsearch.tls.verify-hostnames", "false")
                 .put("elasticsearch.security", "PASSWORD")
                 .put("elasticsearch.pushdown.enabled", "true")
+                .put("elasticsearch.scroll-slices-per-shard", "4")
+                .put("elasticsearch.doc-value-fields.enabled", "true")
                 .build();
 
         ElasticsearchConfig expected = new ElasticsearchConfig()
@@ -104,7 +108,9 @@ public class TestElasticsearchConfig
                 .setTruststorePassword("truststore-password")
                 .setVerifyHostnames(false)
                 .setSecurity(PASSWORD)
-                .setPushDownEnabled(true);
+                .setPushDownEnabled(true)
+                .setScrollSlicesPerShard(4)
+                .setDocValueFieldsEnabled(true);
 
         assertFullMapping(properties, expected);
     }
@@ -17,27 +17,43 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Closer;
 import io.airlift.tpch.TpchTable;
+import io.prestosql.elasticsearch.optimization.ElasticAggregationBuilder;
 import io.prestosql.testing.MaterializedResult;
 import io.prestosql.testing.MaterializedRow;
 import io.prestosql.testing.QueryRunner;
 import io.prestosql.tests.AbstractTestIntegrationSmokeTest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.search.SearchHit;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.prestosql.elasticsearch.ElasticsearchQueryRunner.createElasticsearchQueryRunner;
 import static io.prestosql.elasticsearch.EmbeddedElasticsearchNode.createEmbeddedElasticsearchNode;
+import static io.prestosql.spi.connector.ConnectorSplitManager.SplitSchedulingStrategy.UNGROUPED_SCHEDULING;
+import static io.prestosql.spi.connector.NotPartitionedPartitionHandle.NOT_PARTITIONED;
 import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.spi.type.VarcharType.VARCHAR;
 import static io.prestosql.testing.MaterializedResult.resultBuilder;
+import static io.prestosql.testing.TestingConnectorSession.SESSION;
 import static io.prestosql.testing.assertions.Assert.assertEquals;
 import static java.lang.String.format;
 import static org.elasticsearch.client.Requests.refreshRequest;
+import static org.elasticsearch.index.query.QueryBuilders.matchAllQuery;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 public class TestElasticsearchIntegrationSmokeTest
         extends AbstractTestIntegrationSmokeTest
@@ -548,6 +564,77 @@ public class TestElasticsearchIntegrationSmokeTest
         assertQueryFails("SELECT count(*) FROM \"orders: ++foo AND\"", "\\QFailed to parse query [ ++foo and]\\E");
     }
 
+    @Test
+    public void testSlicedScroll()
+            throws IOException
+    {
+        String indexName = "sliced";
+
+        embeddedElasticsearchNode.getClient()
+                .admin()
+                .indices()
+                .prepareCreate(indexName)
+                .setSettings(Settings.builder()
+                        .put("number_of_shards", 3)
+                        .put("number_of_replicas", 0))
+                .addMapping("doc", "value", "type=long")
+                .get();
+
+        for (int i = 0; i < 100; i++) {
+            index(indexName, ImmutableMap.of("value", i));
+        }
+
+        embeddedElasticsearchNode.getClient()
+                .admin()
+                .indices()
+                .refresh(refreshRequest(indexName))
+                .actionGet();
+
+        ElasticsearchConfig config = new ElasticsearchConfig()
+                .setHost("localhost")
+                .setPort(9200)
+                                .setScrollSize(10)
+                .setScrollSlicesPerShard(2);
+        ElasticsearchClient client = new ElasticsearchClient(config, Optional.empty(), new ElasticAggregationBuilder(null));
+        try {
+            client.initialize();
+            List<ElasticsearchSplit> splits = new ElasticsearchSplitManager(client, config).getSplits(
+                    ElasticsearchTransactionHandle.INSTANCE,
+                    SESSION,
+                    new ElasticsearchTableHandle("tpch", indexName, Optional.empty()),
+                    UNGROUPED_SCHEDULING)
+                    .getNextBatch(NOT_PARTITIONED, 100)
+                    .getNow(null)
+                    .getSplits().stream()
+                    .map(ElasticsearchSplit.class::cast)
+                    .collect(toImmutableList());
+            assertEquals(splits.size(), 6);
+
+            // every slice reads some of the documents, and together they read each document once
+            Set<String> documents = new HashSet<>();
+            for (ElasticsearchSplit split : splits) {
+                Set<String> slice = new HashSet<>();
+                SearchResponse response = client.beginSearch(indexName, split.getShard(), split.getShardCount(), split.getSlice(), split.getSliceCount(),
+                        matchAllQuery(), Optional.of(ImmutableList.of()), ImmutableList.of(), null);
+                while (response.getHits().getHits().length > 0) {
+                    for (SearchHit hit : response.getHits().getHits()) {
+                        assertTrue(slice.add(hit.getId()));
+                    }
+                    response = client.nextPage(response.getScrollId());
+                }
+                client.clearScroll(response.getScrollId());
+
+                assertFalse(slice.isEmpty(), "empty slice " + split);
+                assertTrue(Collections.disjoint(documents, slice), "overlapping slice " + split);
+                documents.addAll(slice);
+            }
+            assertEquals(documents.size(), 100);
+        }
+        finally {
+            client.close();
+        }
+    }
+
     private void index(String indexName, Map<String, Object> document)
     {
         embeddedElasticsearchNode.getClient()
@@ -156,8 +156,8 @@ public class ElasticSearchPlanOptimizerTest
         elasticsearchMetadata = new ElasticsearchMetadata(new InternalTypeManager(FunctionAndTypeManager.createTestFunctionAndTypeManager()), elasticsearchClient, elasticsearchConfig);
 
         lifeCycleManager = new LifeCycleManager(Collections.emptyList(), null);
-        elasticsearchSplitManager = new ElasticsearchSplitManager(elasticsearchClient);
-        elasticsearchPageSourceProvider = new ElasticsearchPageSourceProvider(elasticsearchClient);
+        elasticsearchSplitManager = new ElasticsearchSplitManager(elasticsearchClient, elasticsearchConfig);
+        elasticsearchPageSourceProvider = new ElasticsearchPageSourceProvider(elasticsearchClient, elasticsearchConfig);
 
         elasticsearchConnector = new ElasticsearchConnector(lifeCycleManager, elasticsearchMetadata, elasticsearchSplitManager, elasticsearchPageSourceProvider, elasticSearchPlanOptimizerProvider);
     }
@@ -220,6 +220,8 @@ public class ElasticSearchPlanOptimizerTest
                 .put("elasticsearch.tls.verify-hostnames", "false")
                 .put("elasticsearch.security", "PASSWORD")
                 .put("elasticsearch.pushdown.enabled", "true")
+                .put("elasticsearch.scroll-slices-per-shard", "4")
+                .put("elasticsearch.doc-value-fields.enabled", "true")
                 .build();
 
         ElasticsearchConfig expected = new ElasticsearchConfig()
@@ -241,7 +243,9 @@ public class ElasticSearchPlanOptimizerTest
                 .setTruststorePassword("truststore-password")
                 .setVerifyHostnames(false)
                 .setSecurity(PASSWORD)
-                .setPushDownEnabled(true);
+                .setPushDownEnabled(true)
+                .setScrollSlicesPerShard(4)
+                .setDocValueFieldsEnabled(true);
 
         assertFullMapping(properties, expected);
     }
@@ -83,6 +83,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.IntPredicate;
 import java.util.function.Supplier;
@@ -104,9 +105,9 @@ import static io.prestosql.plugin.hive.HiveUtil.isPartitionFiltered;
 import static io.prestosql.plugin.hive.S3SelectPushdown.shouldEnablePushdownForTable;
 import static io.prestosql.plugin.hive.metastore.MetastoreUtil.getHiveSchema;
 import static io.prestosql.plugin.hive.metastore.MetastoreUtil.getPartitionLocation;
+import static io.prestosql.plugin.hive.util.HiveFileIterator.NestedDirectoryPolicy.DEFER;
 import static io.prestosql.plugin.hive.util.HiveFileIterator.NestedDirectoryPolicy.FAIL;
 import static io.prestosql.plugin.hive.util.HiveFileIterator.NestedDirectoryPolicy.IGNORED;
-import static io.prestosql.plugin.hive.util.HiveFileIterator.NestedDirectoryPolicy.RECURSE;
 import static io.prestosql.spi.StandardErrorCode.NOT_SUPPORTED;
 import static java.lang.Math.max;
 import static java.lang.String.format;
@@ -122,6 +123,13 @@ public class BackgroundHiveSplitLoader
 
     private static final ListenableFuture<?> COMPLETED_FUTURE = immediateFuture(null);
 
+    // splits a loader task takes from a file iterator before the iterator goes to the back of the queue,
+    // so that the splits of all open partitions are interleaved
+    private static final int SPLITS_PER_TURN = 32;
+    // partitions are opened ahead of the file iterators being drained while there are fewer open file
+    // iterators than this number per loader task, which bounds the memory of the open listings
+    private static final int OPEN_FILE_ITERATORS_PER_TASK = 4;
+
     private final Table table;
     private final TupleDomain<? extends ColumnHandle> compactEffectivePredicate;
     private final Optional<BucketSplitInfo> tableBucketInfo;
@@ -135,6 +143,8 @@ public class BackgroundHiveSplitLoader
     private final ConnectorSession session;
     private final ConcurrentLazyQueue<HivePartitionMetadata> partitions;
     private final Deque<Iterator<InternalHiveSplit>> fileIterators = new ConcurrentLinkedDeque<>();
+    // approximate size of fileIterators, whose size() is linear in the number of iterators
+    private final AtomicInteger fileIteratorCount = new AtomicInteger();
     private final Optional<ValidWriteIdList> validWriteIds;
     private final Supplier<List<Set<DynamicFilter>>> dynamicFilterSupplier;
     private final Configuration configuration;
@@ -326,6 +336,14 @@ public class BackgroundHiveSplitLoader
     private ListenableFuture<?> loadSplits()
             throws IOException
     {
+        // open more partitions while few are open, so that the first splits are spread over many partitions
+        if (fileIteratorCount.get() < loaderConcurrency * OPEN_FILE_ITERATORS_PER_TASK) {
+            HivePartitionMetadata partition = partitions.poll();
+            if (partition != null) {
+                return loadPartition(partition);
+            }
+        }
+
         Iterator<InternalHiveSplit> splits = fileIterators.poll();
         if (splits == null) {
             HivePartitionMetadata partition = partitions.poll();
@@ -334,13 +352,20 @@ public class BackgroundHiveSplitLoader
             }
             return loadPartition(partition);
         }
+        fileIteratorCount.decrementAndGet();
 
+        int splitCount = 0;
         while (splits.hasNext() && !stopped) {
             ListenableFuture<?> future = hiveSplitSource.addToQueue(splits.next());
             if (!future.isDone()) {
-                fileIterators.addFirst(splits);
+                addFileIterator(splits, true);
                 return future;
             }
+            splitCount++;
+            if (splitCount == SPLITS_PER_TURN) {
+                addFileIterator(splits, false);
+                return COMPLETED_FUTURE;
+            }
         }
 
         // No need to put the iterator back, since it's either empty or we've stopped
@@ -562,7 +587,7 @@ public class BackgroundHiveSplitLoader
                 for (HadoopShims.HdfsFileStatusWithId f : directory.getOriginalFiles()) {
                     Path currFilePath = f.getFileStatus().getPath();
                     int currBucketNumber = getBucketNumber(currFilePath.getName()).getAsInt();
-                    fileIterators.addLast(createInternalHiveSplitIterator(currFilePath, fs, splitFactory, splittable, deleteDeltaLocations, Optional.of(bucketStartRowOffset[currBucketNumber]), pathFilter));
+                    addFileIterator(createInternalHiveSplitIterator(currFilePath, fs, splitFactory, splittable, deleteDeltaLocations, Optional.of(bucketStartRowOffset[currBucketNumber]), pathFilter), false);
                     try {
                         Reader copyReader = OrcFile.createReader(f.getFileStatus().getPath(),
                                 OrcFile.readerOptions(configuration));
@@ -598,13 +623,24 @@ public class BackgroundHiveSplitLoader
         }
 
         for (Path readPath : readPaths) {
-            fileIterators.addLast(createInternalHiveSplitIterator(readPath, fs, splitFactory, splittable,
-                    getDeleteDeltaLocationFor(readPath, deleteDeltaLocations), Optional.empty(), pathFilter));
+            addFileIterator(createInternalHiveSplitIterator(readPath, fs, splitFactory, splittable,
+                    getDeleteDeltaLocationFor(readPath, deleteDeltaLocations), Optional.empty(), pathFilter), false);
         }
 
         return COMPLETED_FUTURE;
     }
 
+    private void addFileIterator(Iterator<InternalHiveSplit> splits, boolean first)
+    {
+        fileIteratorCount.incrementAndGet();
+        if (first) {
+            fileIterators.addFirst(splits);
+        }
+        else {
+            fileIterators.addLast(splits);
+        }
+    }
+
     private Optional<DeleteDeltaLocations> getDeleteDeltaLocationFor(Path readPath, Optional<DeleteDeltaLocations> allDeleteDeltaLocations)
     {
         if (!allDeleteDeltaLocations.isPresent() || allDeleteDeltaLocations.get().getDeleteDeltas().isEmpty()) {
@@ -665,7 +701,17 @@ public class BackgroundHiveSplitLoader
 
     private Iterator<InternalHiveSplit> createInternalHiveSplitIterator(Path path, FileSystem fileSystem, InternalHiveSplitFactory splitFactory, boolean splittable, Optional<DeleteDeltaLocations> deleteDeltaLocations, Optional<Long> startRowOffsetOfFile, PathFilter pathFilter)
     {
-        return Streams.stream(new HiveFileIterator(table, path, fileSystem, directoryLister, namenodeStats, recursiveDirWalkerEnabled ? RECURSE : IGNORED, pathFilter))
+        // nested directories get their own file iterators, so that the loader tasks list them in parallel
+        HiveFileIterator files = new HiveFileIterator(
+                table,
+                path,
+                fileSystem,
+                directoryLister,
+                namenodeStats,
+                recursiveDirWalkerEnabled ? DEFER : IGNORED,
+                pathFilter,
+                nestedDirectory -> addFileIterator(createInternalHiveSplitIterator(nestedDirectory, fileSystem, splitFactory, splittable, deleteDeltaLocations, startRowOffsetOfFile, pathFilter), false));
+        return Streams.stream(files)
                 .map(status -> splitFactory.createInternalHiveSplit(status, splittable, deleteDeltaLocations, startRowOffsetOfFile))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
@@ -13,10 +13,13 @@
  */
 package io.prestosql.plugin.hive;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.Weigher;
 import com.google.common.collect.ImmutableList;
+import io.airlift.log.Logger;
 import io.airlift.units.Duration;
 import io.prestosql.plugin.hive.metastore.Table;
 import io.prestosql.spi.connector.SchemaTableName;
@@ -31,35 +34,103 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static java.util.Objects.requireNonNull;
 
+/**
+ * Caches the listings of the directories of the configured tables. A listing is used until it
+ * expires, or, when validation is enabled, until the modification time of its directory changes,
+ * which file systems like HDFS update whenever a file is added to or removed from the directory.
+ * Listings used after the refresh interval are reloaded in the background, so that the listings
+ * of frequently scanned partitions are replaced before they expire. Refreshes that keep the files of
+ * an unchanged directory do not extend the expiry of its listing.
+ */
 public class CachingDirectoryLister
         implements DirectoryLister
 {
-    private final Cache<Path, List<PrestoFileStatus>> cache;
+    private static final Logger log = Logger.get(CachingDirectoryLister.class);
+
+    private static final String ALL_TABLES = "*";
+    // modification time reported by file systems which do not track it for directories
+    private static final long UNKNOWN_MODIFICATION_TIME = 0;
+
+    private final Cache<Path, DirectoryListing> cache;
+    private final long expireAfterWriteNanos;
+    private final boolean allTables;
     private final Set<SchemaTableName> tableNames;
+    private final Optional<Duration> refreshInterval;
+    private final boolean validationEnabled;
+    private final ExecutorService refreshExecutor;
+    private final Ticker ticker;
+    private final Set<Path> refreshingPaths = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong staleCount = new AtomicLong();
+    private final AtomicLong refreshCount = new AtomicLong();
+    private final AtomicLong refreshFailureCount = new AtomicLong();
 
     @Inject
+    public CachingDirectoryLister(HiveConfig hiveClientConfig, @ForHive ExecutorService refreshExecutor)
+    {
+        this(
+                hiveClientConfig.getFileStatusCacheExpireAfterWrite(),
+                hiveClientConfig.getFileStatusCacheMaxSize(),
+                hiveClientConfig.getFileStatusCacheTables(),
+                hiveClientConfig.getFileStatusCacheRefreshInterval(),
+                hiveClientConfig.isFileStatusCacheValidationEnabled(),
+                refreshExecutor,
+                Ticker.systemTicker());
+    }
+
     public CachingDirectoryLister(HiveConfig hiveClientConfig)
     {
-        this(hiveClientConfig.getFileStatusCacheExpireAfterWrite(), hiveClientConfig.getFileStatusCacheMaxSize(), hiveClientConfig.getFileStatusCacheTables());
+        this(hiveClientConfig, newDirectExecutorService());
     }
 
     public CachingDirectoryLister(Duration expireAfterWrite, long maxSize, List<String> tables)
+    {
+        this(expireAfterWrite, maxSize, tables, Optional.empty(), false, newDirectExecutorService(), Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    CachingDirectoryLister(
+            Duration expireAfterWrite,
+            long maxSize,
+            List<String> tables,
+            Optional<Duration> refreshInterval,
+            boolean validationEnabled,
+            ExecutorService refreshExecutor,
+            Ticker ticker)
     {
         this.cache = CacheBuilder.newBuilder()
                 .maximumWeight(maxSize)
-                .weigher((Weigher<Path, List<PrestoFileStatus>>) (key, value) -> value.size())
+                // empty directories are weighed as one file, so that they are evicted as well
+                .weigher((Weigher<Path, DirectoryListing>) (key, value) -> value.getFiles().size() + 1)
                 .expireAfterWrite(expireAfterWrite.toMillis(), TimeUnit.MILLISECONDS)
+                .ticker(ticker)
                 .recordStats()
                 .build();
+        this.expireAfterWriteNanos = expireAfterWrite.roundTo(TimeUnit.NANOSECONDS);
+        this.allTables = tables.contains(ALL_TABLES);
         this.tableNames = tables.stream()
+                .filter(table -> !table.equals(ALL_TABLES))
                 .map(CachingDirectoryLister::parseTableName)
                 .collect(Collectors.toSet());
+        this.refreshInterval = requireNonNull(refreshInterval, "refreshInterval is null");
+        this.validationEnabled = validationEnabled;
+        this.refreshExecutor = requireNonNull(refreshExecutor, "refreshExecutor is null");
+        this.ticker = requireNonNull(ticker, "ticker is null");
     }
 
     private static SchemaTableName parseTableName(String tableName)
@@ -73,19 +144,90 @@ public class CachingDirectoryLister
     public RemoteIterator<PrestoFileStatus> list(FileSystem fs, Table table, Path path)
             throws IOException
     {
-        List<PrestoFileStatus> files = cache.getIfPresent(path);
-        if (files != null) {
-            return simpleRemoteIterator(files);
+        if (!allTables && !tableNames.contains(table.getSchemaTableName())) {
+            return new PrestoFileStatusRemoteIterator(fs.listLocatedStatus(path));
+        }
+
+        DirectoryListing listing = cache.getIfPresent(path);
+        if (listing != null && ticker.read() - listing.getListTime() >= expireAfterWriteNanos) {
+            // refreshes of an unchanged directory replace the cache entry, so its files may be older than the entry
+            cache.asMap().remove(path, listing);
+            listing = null;
+        }
+        if (listing != null) {
+            if (!validationEnabled || listing.isCurrent(getModificationTime(fs, path))) {
+                hitCount.incrementAndGet();
+                if (refreshInterval.isPresent() && ticker.read() - listing.getLoadTime() >= refreshInterval.get().roundTo(TimeUnit.NANOSECONDS)) {
+                    refreshInBackground(fs, path, listing);
+                }
+                return simpleRemoteIterator(listing.getFiles());
+            }
+            staleCount.incrementAndGet();
+            cache.asMap().remove(path, listing);
+        }
+        missCount.incrementAndGet();
+
+        // the modification time is read before the listing, so that a change made while listing makes the listing stale
+        long loadTime = ticker.read();
+        long modificationTime = validationEnabled ? getModificationTime(fs, path) : UNKNOWN_MODIFICATION_TIME;
+        return cachingRemoteIterator(new PrestoFileStatusRemoteIterator(fs.listLocatedStatus(path)), path, modificationTime, loadTime);
+    }
+
+    private void refreshInBackground(FileSystem fs, Path path, DirectoryListing listing)
+    {
+        if (!refreshingPaths.add(path)) {
+            return;
         }
-        RemoteIterator<PrestoFileStatus> iterator = new PrestoFileStatusRemoteIterator(fs.listLocatedStatus(path));
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh(fs, path, listing);
+                    refreshCount.incrementAndGet();
+                }
+                catch (IOException | RuntimeException e) {
+                    refreshFailureCount.incrementAndGet();
+                    log.debug(e, "Failed to refresh the listing of %s", path);
+                }
+                finally {
+                    refreshingPaths.remove(path);
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            refreshingPaths.remove(path);
+        }
+    }
 
-        if (!tableNames.contains(table.getSchemaTableName())) {
-            return iterator;
+    private void refresh(FileSystem fs, Path path, DirectoryListing listing)
+            throws IOException
+    {
+        long loadTime = ticker.read();
+        long modificationTime = validationEnabled ? getModificationTime(fs, path) : UNKNOWN_MODIFICATION_TIME;
+        DirectoryListing refreshed;
+        if (validationEnabled && modificationTime != UNKNOWN_MODIFICATION_TIME && listing.isCurrent(modificationTime)) {
+            // the directory did not change, so its files are kept without listing the directory again,
+            // together with the time they were listed at, which the expiry of the listing is based on
+            refreshed = new DirectoryListing(listing.getFiles(), modificationTime, listing.getListTime(), loadTime);
+        }
+        else {
+            ImmutableList.Builder<PrestoFileStatus> builder = ImmutableList.builder();
+            RemoteIterator<PrestoFileStatus> iterator = new PrestoFileStatusRemoteIterator(fs.listLocatedStatus(path));
+            while (iterator.hasNext()) {
+                builder.add(iterator.next());
+            }
+            refreshed = new DirectoryListing(builder.build(), modificationTime, loadTime, loadTime);
         }
-        return cachingRemoteIterator(iterator, path);
+        // the listing is only replaced if it was not invalidated or replaced while it was refreshed
+        cache.asMap().replace(path, listing, refreshed);
     }
 
-    private RemoteIterator<PrestoFileStatus> cachingRemoteIterator(RemoteIterator<PrestoFileStatus> iterator, Path path)
+    private static long getModificationTime(FileSystem fs, Path path)
+            throws IOException
+    {
+        return fs.getFileStatus(path).getModificationTime();
+    }
+
+    private RemoteIterator<PrestoFileStatus> cachingRemoteIterator(RemoteIterator<PrestoFileStatus> iterator, Path path, long modificationTime, long loadTime)
     {
         return new RemoteIterator<PrestoFileStatus>()
         {
@@ -97,7 +239,7 @@ public class CachingDirectoryLister
             {
                 boolean hasNext = iterator.hasNext();
                 if (!hasNext) {
-                    cache.put(path, ImmutableList.copyOf(files));
+                    cache.put(path, new DirectoryListing(ImmutableList.copyOf(files), modificationTime, loadTime, loadTime));
                 }
                 return hasNext;
             }
@@ -117,7 +259,7 @@ public class CachingDirectoryLister
     {
         return new RemoteIterator<PrestoFileStatus>()
         {
-            private final Iterator<PrestoFileStatus> iterator = ImmutableList.copyOf(files).iterator();
+            private final Iterator<PrestoFileStatus> iterator = files.iterator();
 
             @Override
             public boolean hasNext()
@@ -142,30 +284,107 @@ public class CachingDirectoryLister
     @Managed
     public Double getHitRate()
     {
-        return cache.stats().hitRate();
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) getHitCount() / requestCount;
     }
 
     @Managed
     public Double getMissRate()
     {
-        return cache.stats().missRate();
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 0.0 : (double) getMissCount() / requestCount;
     }
 
     @Managed
     public long getHitCount()
     {
-        return cache.stats().hitCount();
+        return hitCount.get();
     }
 
     @Managed
     public long getMissCount()
     {
-        return cache.stats().missCount();
+        return missCount.get();
     }
 
     @Managed
     public long getRequestCount()
     {
-        return cache.stats().requestCount();
+        return getHitCount() + getMissCount();
+    }
+
+    @Managed
+    public long getStaleCount()
+    {
+        return staleCount.get();
+    }
+
+    @Managed
+    public long getRefreshCount()
+    {
+        return refreshCount.get();
+    }
+
+    @Managed
+    public long getRefreshFailureCount()
+    {
+        return refreshFailureCount.get();
+    }
+
+    @Managed
+    public long getEvictionCount()
+    {
+        return cache.stats().evictionCount();
+    }
+
+    @Managed
+    public long getCachedFileCount()
+    {
+        return cache.asMap().values().stream()
+                .mapToLong(listing -> listing.getFiles().size())
+                .sum();
+    }
+
+    private static class DirectoryListing
+    {
+        private final List<PrestoFileStatus> files;
+        private final long modificationTime;
+        private final long listTime;
+        private final long loadTime;
+
+        public DirectoryListing(List<PrestoFileStatus> files, long modificationTime, long listTime, long loadTime)
+        {
+            this.files = requireNonNull(files, "files is null");
+            this.modificationTime = modificationTime;
+            this.listTime = listTime;
+            this.loadTime = loadTime;
+        }
+
+        public List<PrestoFileStatus> getFiles()
+        {
+            return files;
+        }
+
+        /**
+         * Time the files were listed at, which is earlier than the load time when a refresh found the directory unchanged.
+         */
+        public long getListTime()
+        {
+            return listTime;
+        }
+
+        public long getLoadTime()
+        {
+            return loadTime;
+        }
+
+        /**
+         * File systems which do not track the modification time of directories can not be validated,
+         * so their listings are used until they expire.
+         */
+        public boolean isCurrent(long currentModificationTime)
+        {
+            return modificationTime == UNKNOWN_MODIFICATION_TIME || modificationTime == currentModificationTime;
+        }
     }
 }
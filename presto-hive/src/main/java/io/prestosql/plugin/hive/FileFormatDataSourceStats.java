@@ -25,6 +25,7 @@ public class FileFormatDataSourceStats
 {
     private final DistributionStat readBytes = new DistributionStat();
     private final DistributionStat maxCombinedBytesPerRow = new DistributionStat();
+    private final DistributionStat filterReorders = new DistributionStat();
     private final TimeStat time0Bto100KB = new TimeStat(MILLISECONDS);
     private final TimeStat time100KBto1MB = new TimeStat(MILLISECONDS);
     private final TimeStat time1MBto10MB = new TimeStat(MILLISECONDS);
@@ -44,6 +45,13 @@ public class FileFormatDataSourceStats
         return maxCombinedBytesPerRow;
     }
 
+    @Managed
+    @Nested
+    public DistributionStat getFilterReorders()
+    {
+        return filterReorders;
+    }
+
     @Managed
     @Nested
     public TimeStat get0Bto100KB()
@@ -93,4 +101,9 @@ public class FileFormatDataSourceStats
     {
         maxCombinedBytesPerRow.add(bytes);
     }
+
+    public void addFilterReorders(long reorders)
+    {
+        filterReorders.add(reorders);
+    }
 }
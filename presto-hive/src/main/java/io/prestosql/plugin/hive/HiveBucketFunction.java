@@ -72,6 +72,20 @@ public class HiveBucketFunction
         return HiveBucketing.getHiveBucket(bucketingVersion, bucketCount, typeInfos, page, position);
     }
 
+    /**
+     * Computes the buckets of all positions of the page into {@code buckets}.
+     */
+    public void getBuckets(Page page, int[] buckets)
+    {
+        if (isRowIdPartitioner) {
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                buckets[position] = getBucket(page, position);
+            }
+            return;
+        }
+        HiveBucketing.getHiveBuckets(bucketingVersion, bucketCount, typeInfos, page, buckets);
+    }
+
     @Override
     public String toString()
     {
@@ -94,6 +94,17 @@ public final class HiveBucketing
         return getBucketNumber(getBucketHashCode(bucketingVersion, types, page, position), bucketCount);
     }
 
+    /**
+     * Computes the buckets of all positions of the page, see {@link HiveBucketingV1#getBucketHashCodes}.
+     */
+    public static void getHiveBuckets(BucketingVersion bucketingVersion, int bucketCount, List<TypeInfo> types, Page page, int[] buckets)
+    {
+        getBucketHashCodes(bucketingVersion, types, page, page.getChannelCount(), buckets);
+        for (int position = 0; position < page.getPositionCount(); position++) {
+            buckets[position] = getBucketNumber(buckets[position], bucketCount);
+        }
+    }
+
     public static int getHiveBucket(BucketingVersion bucketingVersion, int bucketCount, List<TypeInfo> types, Object[] values)
     {
         return getBucketNumber(getBucketHashCode(bucketingVersion, types, values), bucketCount);
@@ -124,6 +135,20 @@ public final class HiveBucketing
         }
     }
 
+    static void getBucketHashCodes(BucketingVersion bucketingVersion, List<TypeInfo> types, Page page, int channelCount, int[] hashCodes)
+    {
+        switch (bucketingVersion) {
+            case BUCKETING_V1:
+                HiveBucketingV1.getBucketHashCodes(types, page, channelCount, hashCodes);
+                return;
+            case BUCKETING_V2:
+                HiveBucketingV2.getBucketHashCodes(types, page, channelCount, hashCodes);
+                return;
+            default:
+                throw new IllegalArgumentException("Unsupported bucketing version: " + bucketingVersion);
+        }
+    }
+
     @VisibleForTesting
     static int getBucketHashCode(BucketingVersion bucketingVersion, List<TypeInfo> types, Object[] values)
     {
@@ -91,6 +91,7 @@ public class HiveConfig
     private Duration metastoreDBRefreshInterval = new Duration(1, TimeUnit.SECONDS);
 
     private long metastoreCacheMaximumSize = 10000;
+    private boolean metastoreCachePartitionStatisticsPrefetchEnabled;
     private long perTransactionMetastoreCacheMaximumSize = 1000;
     private int maxMetastoreRefreshThreads = 100;
     private HostAndPort metastoreSocksProxy;
@@ -125,6 +126,8 @@ public class HiveConfig
     private boolean useParquetColumnNames;
     private boolean failOnCorruptedParquetStatistics = true;
     private DataSize parquetMaxReadBlockSize = new DataSize(16, MEGABYTE);
+    private boolean parquetUseColumnIndex = true;
+    private boolean parquetPredicatePushdownEnabled = true;
 
     private boolean assumeCanonicalPartitionKeys;
 
@@ -194,6 +197,8 @@ public class HiveConfig
     private Duration fileStatusCacheExpireAfterWrite = new Duration(24, TimeUnit.HOURS);
     private long fileStatusCacheMaxSize = 1000 * 1000;
     private List<String> fileStatusCacheTables = ImmutableList.of();
+    private Optional<Duration> fileStatusCacheRefreshInterval = Optional.empty();
+    private boolean fileStatusCacheValidationEnabled;
 
     private Optional<Duration> hiveTransactionHeartbeatInterval = Optional.empty();
     private int hiveTransactionHeartbeatThreads = 5;
@@ -205,6 +210,10 @@ public class HiveConfig
 
     private boolean orcCacheStatsMetricCollectionEnabled;
 
+    private boolean orcDeleteDeltaCacheEnabled = true;
+    private Duration orcDeleteDeltaCacheTtl = new Duration(1, TimeUnit.HOURS);
+    private DataSize orcDeleteDeltaCacheMaximumWeight = new DataSize(256, MEGABYTE);
+
     private int vacuumDeltaNumThreshold = 10;
     private double vacuumDeltaPercentThreshold = 0.1;
     private boolean autoVacuumEnabled;
@@ -506,6 +515,19 @@ public class HiveConfig
         return this;
     }
 
+    public boolean isMetastoreCachePartitionStatisticsPrefetchEnabled()
+    {
+        return metastoreCachePartitionStatisticsPrefetchEnabled;
+    }
+
+    @Config("hive.metastore-cache-partition-statistics-prefetch-enabled")
+    @ConfigDescription("Load the statistics of the partitions of a table in the background when the partitions are loaded")
+    public HiveConfig setMetastoreCachePartitionStatisticsPrefetchEnabled(boolean metastoreCachePartitionStatisticsPrefetchEnabled)
+    {
+        this.metastoreCachePartitionStatisticsPrefetchEnabled = metastoreCachePartitionStatisticsPrefetchEnabled;
+        return this;
+    }
+
     @Min(1)
     public long getPerTransactionMetastoreCacheMaximumSize()
     {
@@ -1116,6 +1138,32 @@ public class HiveConfig
         return this;
     }
 
+    public boolean isParquetUseColumnIndex()
+    {
+        return parquetUseColumnIndex;
+    }
+
+    @Config("hive.parquet.use-column-index")
+    @ConfigDescription("Use the Parquet column and offset indexes to skip pages which do not match the predicate")
+    public HiveConfig setParquetUseColumnIndex(boolean parquetUseColumnIndex)
+    {
+        this.parquetUseColumnIndex = parquetUseColumnIndex;
+        return this;
+    }
+
+    public boolean isParquetPredicatePushdownEnabled()
+    {
+        return parquetPredicatePushdownEnabled;
+    }
+
+    @Config("hive.parquet.predicate-pushdown-enabled")
+    @ConfigDescription("Filter the rows of Parquet files while decoding the predicate columns, and only load the other columns for the remaining rows")
+    public HiveConfig setParquetPredicatePushdownEnabled(boolean parquetPredicatePushdownEnabled)
+    {
+        this.parquetPredicatePushdownEnabled = parquetPredicatePushdownEnabled;
+        return this;
+    }
+
     public boolean isOptimizeMismatchedBucketCount()
     {
         return optimizeMismatchedBucketCount;
@@ -1134,6 +1182,7 @@ public class HiveConfig
     }
 
     @Config("hive.file-status-cache-tables")
+    @ConfigDescription("Tables whose directory listings are cached, as schema.table, or * for all tables")
     public HiveConfig setFileStatusCacheTables(String fileStatusCacheTables)
     {
         this.fileStatusCacheTables = SPLITTER.splitToList(fileStatusCacheTables);
@@ -1164,6 +1213,33 @@ public class HiveConfig
         return this;
     }
 
+    @NotNull
+    public Optional<Duration> getFileStatusCacheRefreshInterval()
+    {
+        return fileStatusCacheRefreshInterval;
+    }
+
+    @Config("hive.file-status-cache-refresh-interval")
+    @ConfigDescription("Age after which a cached directory listing is refreshed in the background when it is used")
+    public HiveConfig setFileStatusCacheRefreshInterval(Duration fileStatusCacheRefreshInterval)
+    {
+        this.fileStatusCacheRefreshInterval = Optional.ofNullable(fileStatusCacheRefreshInterval);
+        return this;
+    }
+
+    public boolean isFileStatusCacheValidationEnabled()
+    {
+        return fileStatusCacheValidationEnabled;
+    }
+
+    @Config("hive.file-status-cache-validation-enabled")
+    @ConfigDescription("Check the modification time of a directory before using its cached listing")
+    public HiveConfig setFileStatusCacheValidationEnabled(boolean fileStatusCacheValidationEnabled)
+    {
+        this.fileStatusCacheValidationEnabled = fileStatusCacheValidationEnabled;
+        return this;
+    }
+
     public int getMetastoreWriteBatchSize()
     {
         return hmsWriteBatchSize;
@@ -1681,6 +1757,46 @@ public class HiveConfig
         return this;
     }
 
+    public boolean isOrcDeleteDeltaCacheEnabled()
+    {
+        return orcDeleteDeltaCacheEnabled;
+    }
+
+    @Config("hive.orc.delete-delta.cache.enabled")
+    @ConfigDescription("Flag to enable sharing the row ids deleted by the delete deltas of a bucket between splits")
+    public HiveConfig setOrcDeleteDeltaCacheEnabled(boolean orcDeleteDeltaCacheEnabled)
+    {
+        this.orcDeleteDeltaCacheEnabled = orcDeleteDeltaCacheEnabled;
+        return this;
+    }
+
+    @MinDuration("0ms")
+    public Duration getOrcDeleteDeltaCacheTtl()
+    {
+        return orcDeleteDeltaCacheTtl;
+    }
+
+    @Config("hive.orc.delete-delta.cache.ttl")
+    @ConfigDescription("Orc delete delta cache TTL.")
+    public HiveConfig setOrcDeleteDeltaCacheTtl(Duration orcDeleteDeltaCacheTtl)
+    {
+        this.orcDeleteDeltaCacheTtl = orcDeleteDeltaCacheTtl;
+        return this;
+    }
+
+    public DataSize getOrcDeleteDeltaCacheMaximumWeight()
+    {
+        return orcDeleteDeltaCacheMaximumWeight;
+    }
+
+    @Config("hive.orc.delete-delta.cache.max.weight")
+    @ConfigDescription("Orc delete delta cache max weight.")
+    public HiveConfig setOrcDeleteDeltaCacheMaximumWeight(DataSize orcDeleteDeltaCacheMaximumWeight)
+    {
+        this.orcDeleteDeltaCacheMaximumWeight = orcDeleteDeltaCacheMaximumWeight;
+        return this;
+    }
+
     @Config("hive.transaction-heartbeat-interval")
     @ConfigDescription("Interval after which heartbeat is sent for open Hive transaction")
     public HiveConfig setHiveTransactionHeartbeatInterval(Duration interval)
@@ -106,6 +106,8 @@ import org.apache.hadoop.hive.ql.exec.FileSinkOperator;
 import org.apache.hadoop.hive.ql.io.AcidUtils;
 import org.apache.hadoop.hive.serde.serdeConstants;
 import org.apache.hadoop.hive.serde2.OpenCSVSerde;
+import org.apache.hadoop.hive.serde2.typeinfo.StructTypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfo;
 import org.apache.hadoop.mapred.JobConf;
 
 import java.io.File;
@@ -2342,7 +2344,10 @@ public class HiveMetadata
         List<TupleDomain<HiveColumnHandle>> newEffectivePredicates = null;
         boolean isSuitableToPush = false;
         if (HiveSessionProperties.isOrcPredicatePushdownEnabled(session)) {
-            isSuitableToPush = checkIfSuitableToPush(allColumnHandles, tableHandle, session);
+            // filters on STRUCT, LIST and MAP columns are not pushed down, the selective readers can only output these
+            isSuitableToPush = checkIfSuitableToPush(allColumnHandles, tableHandle, session)
+                    && hasOnlyPrimitiveColumnDomains(newEffectivePredicate)
+                    && builder.build().stream().allMatch(HiveMetadata::hasOnlyPrimitiveColumnDomains);
         }
 
         if (isSuitableToPush && HiveSessionProperties.isOrcDisjunctPredicatePushdownEnabled(session)) {
@@ -2404,7 +2409,8 @@ public class HiveMetadata
      * Then further check if pushdown can be supported by connector. It support iff below all condition satisfies.
      * 1. Storage Format should be only ORC.
      * 2. Table to be scanned is not transactional table (so effectively DELETE/UPDATE also not supported).
-     * 3. Also columns part of the scan are of any primitive data-type except byte.
+     * 3. Also columns part of the scan are of any primitive data-type except byte, or STRUCT, LIST and MAP
+     *    columns of the table (struct fields follow the same rule).
      * NOTE: This should be adjusted as we continue to support additional functionality.
      * @param allColumnHandles set of all column handles being part of scan.
      * @param tableHandle table handle
@@ -2421,11 +2427,10 @@ public class HiveMetadata
 
         for (ColumnHandle handle : allColumnHandles) {
             HiveColumnHandle hiveColumnHandle = (HiveColumnHandle) handle;
-            // Non-primitive data type(e.g. STRUCT, MAP, LIST) and BYTE are not supported to pushdown.
+            // UNION and BYTE are not supported to pushdown.
             // UPDATE/DELETE which has explicit column $rowId of STRUCT Type, will be not allowed to pushdown.
-            // NOTE: Incase STRUCT type supported, support of UPDATE/DELETE should be checked or should be handled here.
-            if (hiveColumnHandle.getHiveType().getCategory().equals(PRIMITIVE) == false
-                    || hiveColumnHandle.getHiveType().equals(HiveType.HIVE_BYTE)) {
+            if ((hiveColumnHandle.getHiveType().getCategory().equals(PRIMITIVE) == false && !hiveColumnHandle.isRegular())
+                    || !isSelectiveReadSupported(hiveColumnHandle.getHiveType().getTypeInfo())) {
                 return false;
             }
         }
@@ -2433,6 +2438,30 @@ public class HiveMetadata
         return true;
     }
 
+    private static boolean isSelectiveReadSupported(TypeInfo typeInfo)
+    {
+        switch (typeInfo.getCategory()) {
+            case PRIMITIVE:
+                return !typeInfo.equals(HiveType.HIVE_BYTE.getTypeInfo());
+            case STRUCT:
+                return ((StructTypeInfo) typeInfo).getAllStructFieldTypeInfos().stream()
+                        .allMatch(HiveMetadata::isSelectiveReadSupported);
+            case LIST:
+            case MAP:
+                // collections are decoded by the non selective readers, which support all element types
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean hasOnlyPrimitiveColumnDomains(TupleDomain<HiveColumnHandle> predicate)
+    {
+        return predicate.getDomains()
+                .map(domains -> domains.keySet().stream().allMatch(column -> column.getHiveType().getCategory() == PRIMITIVE))
+                .orElse(true);
+    }
+
     @Override
     public Optional<ConnectorPartitioningHandle> getCommonPartitioningHandle(ConnectorSession session, ConnectorPartitioningHandle left, ConnectorPartitioningHandle right)
     {
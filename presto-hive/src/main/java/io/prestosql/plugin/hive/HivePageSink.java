@@ -33,6 +33,7 @@ import io.prestosql.spi.PageIndexerFactory;
 import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.block.Block;
 import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.block.IntArrayBlock;
 import io.prestosql.spi.block.IntArrayBlockBuilder;
 import io.prestosql.spi.block.RowBlock;
 import io.prestosql.spi.block.RunLengthEncodedBlock;
@@ -879,13 +880,9 @@ public class HivePageSink
             return null;
         }
 
-        IntArrayBlockBuilder bucketColumnBuilder = new IntArrayBlockBuilder(null, page.getPositionCount());
-        Page bucketColumnsPage = extractColumns(page, bucketColumns);
-        for (int position = 0; position < page.getPositionCount(); position++) {
-            int bucket = bucketFunction.getBucket(bucketColumnsPage, position);
-            bucketColumnBuilder.writeInt(bucket);
-        }
-        return bucketColumnBuilder.build();
+        int[] buckets = new int[page.getPositionCount()];
+        bucketFunction.getBuckets(extractColumns(page, bucketColumns), buckets);
+        return new IntArrayBlock(page.getPositionCount(), Optional.empty(), buckets);
     }
 
     /**
@@ -70,6 +70,8 @@ public final class HiveSessionProperties
     private static final String PARQUET_USE_COLUMN_NAME = "parquet_use_column_names";
     private static final String PARQUET_FAIL_WITH_CORRUPTED_STATISTICS = "parquet_fail_with_corrupted_statistics";
     private static final String PARQUET_MAX_READ_BLOCK_SIZE = "parquet_max_read_block_size";
+    private static final String PARQUET_USE_COLUMN_INDEX = "parquet_use_column_index";
+    private static final String PARQUET_PREDICATE_PUSHDOWN = "parquet_predicate_pushdown_enabled";
     private static final String PARQUET_WRITER_BLOCK_SIZE = "parquet_writer_block_size";
     private static final String PARQUET_WRITER_PAGE_SIZE = "parquet_writer_page_size";
     private static final String MAX_SPLIT_SIZE = "max_split_size";
@@ -294,6 +296,16 @@ public final class HiveSessionProperties
                         "Parquet: Maximum size of a block to read",
                         hiveConfig.getParquetMaxReadBlockSize(),
                         false),
+                booleanProperty(
+                        PARQUET_USE_COLUMN_INDEX,
+                        "Parquet: Use the column indexes to skip pages which do not match the predicate",
+                        hiveConfig.isParquetUseColumnIndex(),
+                        false),
+                booleanProperty(
+                        PARQUET_PREDICATE_PUSHDOWN,
+                        "Parquet: Filter rows while decoding the predicate columns",
+                        hiveConfig.isParquetPredicatePushdownEnabled(),
+                        false),
                 dataSizeProperty(
                         PARQUET_WRITER_BLOCK_SIZE,
                         "Parquet: Writer block size",
@@ -569,6 +581,16 @@ public final class HiveSessionProperties
         return session.getProperty(PARQUET_MAX_READ_BLOCK_SIZE, DataSize.class);
     }
 
+    public static boolean isParquetUseColumnIndex(ConnectorSession session)
+    {
+        return session.getProperty(PARQUET_USE_COLUMN_INDEX, Boolean.class);
+    }
+
+    public static boolean isParquetPredicatePushdownEnabled(ConnectorSession session)
+    {
+        return session.getProperty(PARQUET_PREDICATE_PUSHDOWN, Boolean.class);
+    }
+
     public static DataSize getParquetWriterBlockSize(ConnectorSession session)
     {
         return session.getProperty(PARQUET_WRITER_BLOCK_SIZE, DataSize.class);
@@ -59,6 +59,7 @@ import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.Properties;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
@@ -123,7 +124,8 @@ public class OrcFileWriter
             Optional<AcidOutputFormat.Options> acidOptions,
             Optional<HiveACIDWriteType> acidWriteType,
             Optional<HiveFileWriter> deleteDeltaFileWriter,
-            Path path)
+            Path path,
+            Optional<Executor> writerExecutor)
     {
         requireNonNull(orcDataSink, "orcDataSink is null");
 
@@ -140,7 +142,8 @@ public class OrcFileWriter
                 validationMode,
                 stats,
                 Optional.of(flushStripeCallback()),
-                Optional.of(closeCallback()));
+                Optional.of(closeCallback()),
+                writerExecutor);
         this.deleteDeltaFileWriter = deleteDeltaFileWriter;
         this.rollbackAction = requireNonNull(rollbackAction, "rollbackAction is null");
 
@@ -110,4 +110,28 @@ public class OrcFileWriterConfig
         options = options.withMaxCompressionBufferSize(maxCompressionBufferSize);
         return this;
     }
+
+    public int getEncodingParallelism()
+    {
+        return options.getEncodingParallelism();
+    }
+
+    @Config("hive.orc.writer.encoding-parallelism")
+    public OrcFileWriterConfig setEncodingParallelism(int encodingParallelism)
+    {
+        options = options.withEncodingParallelism(encodingParallelism);
+        return this;
+    }
+
+    public boolean isAsyncStripeFlush()
+    {
+        return options.isAsyncStripeFlush();
+    }
+
+    @Config("hive.orc.writer.async-stripe-flush")
+    public OrcFileWriterConfig setAsyncStripeFlush(boolean asyncStripeFlush)
+    {
+        options = options.withAsyncStripeFlush(asyncStripeFlush);
+        return this;
+    }
 }
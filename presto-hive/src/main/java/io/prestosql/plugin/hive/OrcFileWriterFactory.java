@@ -49,6 +49,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 
 import static io.prestosql.plugin.hive.HiveUtil.getColumnNames;
@@ -71,6 +73,7 @@ public class OrcFileWriterFactory
     private final OrcWriterStats stats = new OrcWriterStats();
     private final OrcWriterOptions orcWriterOptions;
     private final boolean writeLegacyVersion;
+    private final Optional<Executor> writerExecutor;
 
     @Inject
     public OrcFileWriterFactory(
@@ -79,7 +82,8 @@ public class OrcFileWriterFactory
             NodeVersion nodeVersion,
             HiveConfig hiveConfig,
             FileFormatDataSourceStats readStats,
-            OrcFileWriterConfig config)
+            OrcFileWriterConfig config,
+            @ForHive ExecutorService executorService)
     {
         this(
                 hdfsEnvironment,
@@ -87,7 +91,8 @@ public class OrcFileWriterFactory
                 nodeVersion,
                 hiveConfig.isOrcWriteLegacyVersion(),
                 readStats,
-                requireNonNull(config, "config is null").toOrcWriterOptions());
+                requireNonNull(config, "config is null").toOrcWriterOptions(),
+                Optional.of(requireNonNull(executorService, "executorService is null")));
     }
 
     public OrcFileWriterFactory(
@@ -97,6 +102,18 @@ public class OrcFileWriterFactory
             boolean writeLegacyVersion,
             FileFormatDataSourceStats readStats,
             OrcWriterOptions orcWriterOptions)
+    {
+        this(hdfsEnvironment, typeManager, nodeVersion, writeLegacyVersion, readStats, orcWriterOptions, Optional.empty());
+    }
+
+    public OrcFileWriterFactory(
+            HdfsEnvironment hdfsEnvironment,
+            TypeManager typeManager,
+            NodeVersion nodeVersion,
+            boolean writeLegacyVersion,
+            FileFormatDataSourceStats readStats,
+            OrcWriterOptions orcWriterOptions,
+            Optional<Executor> writerExecutor)
     {
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
@@ -104,6 +121,7 @@ public class OrcFileWriterFactory
         this.writeLegacyVersion = writeLegacyVersion;
         this.readStats = requireNonNull(readStats, "stats is null");
         this.orcWriterOptions = requireNonNull(orcWriterOptions, "orcWriterOptions is null");
+        this.writerExecutor = requireNonNull(writerExecutor, "writerExecutor is null");
     }
 
     @Managed
@@ -229,7 +247,8 @@ public class OrcFileWriterFactory
                     acidOptions,
                     acidWriteType,
                     deleteDeltaWriter,
-                    path));
+                    path,
+                    writerExecutor));
         }
         catch (IOException e) {
             throw new PrestoException(HiveErrorCode.HIVE_WRITER_OPEN_ERROR, "Error creating ORC file", e);
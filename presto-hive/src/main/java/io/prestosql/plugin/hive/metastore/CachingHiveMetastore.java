@@ -57,6 +57,10 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
@@ -81,6 +85,7 @@ import static io.prestosql.plugin.hive.metastore.HivePartitionName.hivePartition
 import static io.prestosql.plugin.hive.metastore.HiveTableName.hiveTableName;
 import static io.prestosql.plugin.hive.metastore.MetastoreUtil.makePartitionName;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.hadoop.hive.common.FileUtils.makePartName;
 
@@ -122,6 +127,11 @@ public class CachingHiveMetastore
     private final boolean skipTableCache;
     private final boolean dontVerifyCacheEntry;
 
+    private final Executor executor;
+    private final boolean partitionStatisticsPrefetchEnabled;
+    // statistics being prefetched per table, awaited before the statistics cache is read so that they are not loaded twice
+    private final Map<WithIdentity<HiveTableName>, CompletableFuture<?>> partitionStatisticsPrefetches = new ConcurrentHashMap<>();
+
     private final LoadingCache<TablesWithParameterCacheKey, List<String>> tablesWithParameterCache;
 
     @Inject
@@ -140,12 +150,20 @@ public class CachingHiveMetastore
                 hiveConfig.getMetastoreDBCacheTtl(),
                 hiveConfig.getMetastoreDBRefreshInterval(),
                 hiveConfig.getMetastoreCacheMaximumSize(),
-                !(nodeManager.getCurrentNode().isCoordinator() || hiveConfig.getWorkerMetaStoreCacheEnabled()));
+                !(nodeManager.getCurrentNode().isCoordinator() || hiveConfig.getWorkerMetaStoreCacheEnabled()),
+                hiveConfig.isMetastoreCachePartitionStatisticsPrefetchEnabled());
     }
 
     public CachingHiveMetastore(HiveMetastore delegate, Executor executor, Executor tableRefreshExecutor, Duration cacheTtl, Duration refreshInterval,
                                 Duration dbCacheTtl, Duration dbRefreshInterval,
                                 long maximumSize, boolean skipCache)
+    {
+        this(delegate, executor, tableRefreshExecutor, cacheTtl, refreshInterval, dbCacheTtl, dbRefreshInterval, maximumSize, skipCache, false);
+    }
+
+    public CachingHiveMetastore(HiveMetastore delegate, Executor executor, Executor tableRefreshExecutor, Duration cacheTtl, Duration refreshInterval,
+                                Duration dbCacheTtl, Duration dbRefreshInterval,
+                                long maximumSize, boolean skipCache, boolean partitionStatisticsPrefetchEnabled)
     {
         this(
                 delegate,
@@ -155,7 +173,8 @@ public class CachingHiveMetastore
                 OptionalLong.of(dbCacheTtl.toMillis()),
                 dbRefreshInterval.toMillis() >= dbCacheTtl.toMillis() ? OptionalLong.empty() : OptionalLong.of(dbRefreshInterval.toMillis()),
                 maximumSize,
-                skipCache);
+                skipCache,
+                partitionStatisticsPrefetchEnabled);
     }
 
     public static CachingHiveMetastore memoizeMetastore(HiveMetastore delegate, long maximumSize)
@@ -170,17 +189,19 @@ public class CachingHiveMetastore
                 OptionalLong.empty(),
                 OptionalLong.empty(),
                 maximumSize,
-                false || delegate instanceof CachingHiveMetastore);
+                false || delegate instanceof CachingHiveMetastore,
+                false);
     }
 
     private CachingHiveMetastore(HiveMetastore delegate, Executor executor, Executor tableRefreshExecutor,
                                  OptionalLong expiresAfterWriteMillisTable, OptionalLong refreshMillsTable,
                                  OptionalLong expiresAfterWriteMillisDB, OptionalLong refreshMillsDB,
-                                 long maximumSize, boolean skipCache)
+                                 long maximumSize, boolean skipCache, boolean partitionStatisticsPrefetchEnabled)
     {
         boolean dontVerifyCache;
         this.delegate = requireNonNull(delegate, "delegate is null");
-        requireNonNull(executor, "executor is null");
+        this.executor = requireNonNull(executor, "executor is null");
+        this.partitionStatisticsPrefetchEnabled = partitionStatisticsPrefetchEnabled;
 
         // if refreshMillsDB is present and is 0 , keeps cache unrefreshed.
         this.skipCache = skipCache
@@ -513,6 +534,7 @@ public class CachingHiveMetastore
             return delegate.getPartitionStatistics(identity1, table, partitionNames);
         }
 
+        awaitPartitionStatisticsPrefetch(new WithIdentity<>(updateIdentity(identity), hiveTableName));
         Map<WithIdentity<HivePartitionName>, WithValidation<Table, PartitionStatistics>> statistics = getAll(partitionStatisticsCache, partitions);
         if (dontVerifyCacheEntry
                 || statistics.size() == 0) {
@@ -624,11 +646,12 @@ public class CachingHiveMetastore
             delegate.updatePartitionsStatistics(identity, databaseName, tableName, partNamesUpdateFunctionMap);
         }
         finally {
-            partNamesUpdateFunctionMap.entrySet().stream().forEach(e -> {
-                partitionStatisticsCache.invalidate(new WithIdentity<>(identity, HivePartitionName.hivePartitionName(databaseName, tableName, e.getKey())));
-                //statistics updated for partition itself in above call.
-                partitionCache.invalidate(new WithIdentity<>(identity, HivePartitionName.hivePartitionName(databaseName, tableName, e.getKey())));
-            });
+            List<WithIdentity<HivePartitionName>> partitions = partNamesUpdateFunctionMap.keySet().stream()
+                    .map(partitionName -> new WithIdentity<>(identity, HivePartitionName.hivePartitionName(databaseName, tableName, partitionName)))
+                    .collect(toImmutableList());
+            partitionStatisticsCache.invalidateAll(partitions);
+            //statistics updated for partition itself in above call.
+            partitionCache.invalidateAll(partitions);
             tableCache.invalidate(new WithIdentity<>(identity, HiveTableName.hiveTableName(databaseName, tableName)));
         }
     }
@@ -886,7 +909,7 @@ public class CachingHiveMetastore
 
     private List<Partition> getExistingPartitionsByNames(HiveIdentity identity, Table table, List<String> partitionNames)
     {
-        Map<String, Partition> partitions = getPartitionsByNames(identity, table.getDatabaseName(), table.getTableName(), partitionNames).entrySet().stream()
+        Map<String, Partition> partitions = getPartitionsByNamesNoPrefetch(identity, table.getDatabaseName(), table.getTableName(), partitionNames).entrySet().stream()
                 .map(entry -> immutableEntry(entry.getKey(), entry.getValue().orElseThrow(() ->
                         new PartitionNotFoundException(table.getSchemaTableName(), extractPartitionValues(entry.getKey())))))
                 .collect(toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
@@ -999,6 +1022,60 @@ public class CachingHiveMetastore
 
     @Override
     public Map<String, Optional<Partition>> getPartitionsByNames(HiveIdentity identity, String databaseName, String tableName, List<String> partitionNames)
+    {
+        Map<String, Optional<Partition>> partitions = getPartitionsByNamesNoPrefetch(identity, databaseName, tableName, partitionNames);
+        if (partitionStatisticsPrefetchEnabled && !skipTableCache) {
+            prefetchPartitionStatistics(updateIdentity(identity), hiveTableName(databaseName, tableName), partitions);
+        }
+        return partitions;
+    }
+
+    /**
+     * The pruned partitions of a table are loaded while planning, and their statistics are requested by the
+     * statistics provider shortly after. Load the statistics of the partitions which are not yet cached with
+     * one batched request in the background, so that it overlaps with the rest of the planning.
+     */
+    private void prefetchPartitionStatistics(HiveIdentity identity, HiveTableName hiveTableName, Map<String, Optional<Partition>> partitions)
+    {
+        List<WithIdentity<HivePartitionName>> missingStatistics = partitions.entrySet().stream()
+                .filter(entry -> entry.getValue().isPresent())
+                .map(entry -> new WithIdentity<>(identity, hivePartitionName(hiveTableName, entry.getKey())))
+                .filter(partition -> partitionStatisticsCache.getIfPresent(partition) == null)
+                .collect(toImmutableList());
+        if (missingStatistics.isEmpty()) {
+            return;
+        }
+
+        WithIdentity<HiveTableName> table = new WithIdentity<>(identity, hiveTableName);
+        CompletableFuture<?> prefetch = partitionStatisticsPrefetches.compute(table, (key, previous) -> {
+            CompletableFuture<?> previousPrefetch = previous == null ? completedFuture(null) : previous;
+            // chained after the previous prefetch of the table, so that a partition is not loaded by both
+            return previousPrefetch
+                    .handleAsync((ignored, throwable) -> getAll(partitionStatisticsCache, missingStatistics), executor)
+                    .whenComplete((ignored, throwable) -> {
+                        if (throwable != null) {
+                            LOG.debug(throwable, "Failed to prefetch statistics of partitions of %s", hiveTableName);
+                        }
+                    });
+        });
+        prefetch.whenComplete((ignored, throwable) -> partitionStatisticsPrefetches.remove(table, prefetch));
+    }
+
+    private void awaitPartitionStatisticsPrefetch(WithIdentity<HiveTableName> table)
+    {
+        CompletableFuture<?> prefetch = partitionStatisticsPrefetches.get(table);
+        if (prefetch == null) {
+            return;
+        }
+        try {
+            prefetch.join();
+        }
+        catch (CompletionException | CancellationException e) {
+            // the statistics which were not prefetched are loaded on demand
+        }
+    }
+
+    private Map<String, Optional<Partition>> getPartitionsByNamesNoPrefetch(HiveIdentity identity, String databaseName, String tableName, List<String> partitionNames)
     {
         if (skipTableCache) {
             HiveIdentity identity1 = updateIdentity(identity);
@@ -1197,18 +1274,10 @@ public class CachingHiveMetastore
     private void invalidatePartitionCache(String databaseName, String tableName)
     {
         HiveTableName hiveTableName = HiveTableName.hiveTableName(databaseName, tableName);
-        partitionNamesCache.asMap().keySet().stream()
-                .filter(partitionName -> partitionName.getKey().equals(hiveTableName))
-                .forEach(partitionNamesCache::invalidate);
-        partitionCache.asMap().keySet().stream()
-                .filter(partitionName -> partitionName.getKey().getHiveTableName().equals(hiveTableName))
-                .forEach(partitionCache::invalidate);
-        partitionFilterCache.asMap().keySet().stream()
-                .filter(partitionFilter -> partitionFilter.getKey().getHiveTableName().equals(hiveTableName))
-                .forEach(partitionFilterCache::invalidate);
-        partitionStatisticsCache.asMap().keySet().stream()
-                .filter(partitionFilter -> partitionFilter.getKey().getHiveTableName().equals(hiveTableName))
-                .forEach(partitionStatisticsCache::invalidate);
+        partitionNamesCache.asMap().keySet().removeIf(partitionName -> partitionName.getKey().equals(hiveTableName));
+        partitionCache.asMap().keySet().removeIf(partitionName -> partitionName.getKey().getHiveTableName().equals(hiveTableName));
+        partitionFilterCache.asMap().keySet().removeIf(partitionFilter -> partitionFilter.getKey().getHiveTableName().equals(hiveTableName));
+        partitionStatisticsCache.asMap().keySet().removeIf(partitionName -> partitionName.getKey().getHiveTableName().equals(hiveTableName));
     }
 
     @Override
@@ -0,0 +1,306 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.orc;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.prestosql.memory.context.LocalMemoryContext;
+import io.prestosql.plugin.hive.HiveConfig;
+import io.prestosql.spi.Page;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.openjdk.jol.info.ClassLayout;
+import org.weakref.jmx.Managed;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static io.airlift.slice.SizeOf.sizeOfIntArray;
+import static io.airlift.slice.SizeOf.sizeOfLongArray;
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Row ids deleted by the delete deltas of a bucket, shared by all splits reading the bucket. The row
+ * ids are keyed by the path, length and modification time of the delete delta files of the bucket,
+ * so a table dropped and created again, or overwritten, at the same location does not reuse the row
+ * ids of the old files. Row ids which would not fit in the cache are cached as absent, and the splits
+ * merge them from the delete deltas instead.
+ */
+public class OrcDeleteDeltaCache
+{
+    public static final OrcDeleteDeltaCache CACHE_NOTHING = new OrcDeleteDeltaCache(false, new DataSize(0, BYTE), new Duration(0, MILLISECONDS));
+
+    // an entry heavier than the share of a segment in the maximum weight is evicted as soon as it is loaded
+    private static final int CONCURRENCY_LEVEL = 4;
+
+    private final Optional<Cache<List<DeleteDeltaFile>, Optional<DeletedRowIds>>> cache;
+    private final long maximumEntrySize;
+
+    public OrcDeleteDeltaCache(HiveConfig config)
+    {
+        this(config.isOrcDeleteDeltaCacheEnabled(), config.getOrcDeleteDeltaCacheMaximumWeight(), config.getOrcDeleteDeltaCacheTtl());
+    }
+
+    public OrcDeleteDeltaCache(boolean enabled, DataSize maximumWeight, Duration ttl)
+    {
+        this.maximumEntrySize = Math.min(Integer.MAX_VALUE, maximumWeight.toBytes() / CONCURRENCY_LEVEL);
+        if (!enabled) {
+            this.cache = Optional.empty();
+            return;
+        }
+        this.cache = Optional.of(CacheBuilder.newBuilder()
+                .concurrencyLevel(CONCURRENCY_LEVEL)
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((List<DeleteDeltaFile> files, Optional<DeletedRowIds> rowIds) -> (int) rowIds.map(DeletedRowIds::getRetainedSizeInBytes).orElse(0L).longValue())
+                .expireAfterAccess(ttl.toMillis(), MILLISECONDS)
+                .recordStats()
+                .build());
+    }
+
+    public boolean isEnabled()
+    {
+        return cache.isPresent();
+    }
+
+    /**
+     * Retained size in bytes of the largest row ids that can be cached.
+     */
+    public long getMaximumEntrySize()
+    {
+        return maximumEntrySize;
+    }
+
+    /**
+     * Returns the row ids deleted by the delete delta files, or empty if they are too large to be cached.
+     */
+    public Optional<DeletedRowIds> get(List<DeleteDeltaFile> deleteDeltaFiles, Callable<Optional<DeletedRowIds>> loader)
+    {
+        try {
+            if (!cache.isPresent()) {
+                return loader.call();
+            }
+            return cache.get().get(deleteDeltaFiles, loader);
+        }
+        catch (ExecutionException | UncheckedExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+        catch (Exception e) {
+            throwIfUnchecked(e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Managed
+    public void flushCache()
+    {
+        cache.ifPresent(Cache::invalidateAll);
+    }
+
+    @Managed
+    public long getHitCount()
+    {
+        return getStats().hitCount();
+    }
+
+    @Managed
+    public long getMissCount()
+    {
+        return getStats().missCount();
+    }
+
+    @Managed
+    public long getLoadCount()
+    {
+        return getStats().loadCount();
+    }
+
+    @Managed
+    public long getEvictionCount()
+    {
+        return getStats().evictionCount();
+    }
+
+    @Managed
+    public long getSize()
+    {
+        return cache.map(Cache::size).orElse(0L);
+    }
+
+    private CacheStats getStats()
+    {
+        return cache.map(Cache::stats).orElseGet(() -> new CacheStats(0, 0, 0, 0, 0, 0));
+    }
+
+    /**
+     * A delete delta file as of the time it is read.
+     */
+    public static final class DeleteDeltaFile
+    {
+        private final Path path;
+        private final long length;
+        private final long modificationTime;
+
+        public DeleteDeltaFile(FileStatus fileStatus)
+        {
+            this(fileStatus.getPath(), fileStatus.getLen(), fileStatus.getModificationTime());
+        }
+
+        public DeleteDeltaFile(Path path, long length, long modificationTime)
+        {
+            this.path = requireNonNull(path, "path is null");
+            this.length = length;
+            this.modificationTime = modificationTime;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            DeleteDeltaFile that = (DeleteDeltaFile) o;
+            return length == that.length &&
+                    modificationTime == that.modificationTime &&
+                    path.equals(that.path);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(path, length, modificationTime);
+        }
+
+        @Override
+        public String toString()
+        {
+            return toStringHelper(this)
+                    .add("path", path)
+                    .add("length", length)
+                    .add("modificationTime", modificationTime)
+                    .toString();
+        }
+    }
+
+    /**
+     * Deleted row ids in the merge order of the delete deltas, which is the order of {@link OrcAcidRowId}.
+     */
+    public static class DeletedRowIds
+    {
+        private static final int INSTANCE_SIZE = ClassLayout.parseClass(DeletedRowIds.class).instanceSize();
+
+        public static final DeletedRowIds EMPTY = new DeletedRowIds(new long[0], new int[0], new long[0], 0);
+
+        private final long[] originalTransactions;
+        private final int[] buckets;
+        private final long[] rowIds;
+        private final int size;
+
+        private DeletedRowIds(long[] originalTransactions, int[] buckets, long[] rowIds, int size)
+        {
+            this.originalTransactions = requireNonNull(originalTransactions, "originalTransactions is null");
+            this.buckets = requireNonNull(buckets, "buckets is null");
+            this.rowIds = requireNonNull(rowIds, "rowIds is null");
+            this.size = size;
+        }
+
+        /**
+         * Copies the row ids of the sorted pages of the delete deltas, whose blocks are the original
+         * transaction, the bucket and the row id. The arrays are charged to the memory context while
+         * they are copied, and empty is returned as soon as they would retain more than the maximum size.
+         */
+        public static Optional<DeletedRowIds> copyOf(Iterator<Page> sortedPages, long maximumRetainedSize, LocalMemoryContext memoryContext)
+        {
+            long[] originalTransactions = new long[0];
+            int[] buckets = new int[0];
+            long[] rowIds = new long[0];
+            int size = 0;
+            while (sortedPages.hasNext()) {
+                Page page = sortedPages.next();
+                int positionCount = page.getPositionCount();
+                if (size + positionCount > originalTransactions.length) {
+                    int capacity = Math.max(size + positionCount, originalTransactions.length * 2);
+                    if (getRetainedSizeInBytes(capacity) > maximumRetainedSize) {
+                        capacity = size + positionCount;
+                        if (getRetainedSizeInBytes(capacity) > maximumRetainedSize) {
+                            return Optional.empty();
+                        }
+                    }
+                    memoryContext.setBytes(getRetainedSizeInBytes(originalTransactions.length) + getRetainedSizeInBytes(capacity));
+                    originalTransactions = Arrays.copyOf(originalTransactions, capacity);
+                    buckets = Arrays.copyOf(buckets, capacity);
+                    rowIds = Arrays.copyOf(rowIds, capacity);
+                    memoryContext.setBytes(getRetainedSizeInBytes(capacity));
+                }
+                for (int position = 0; position < positionCount; position++) {
+                    originalTransactions[size] = BIGINT.getLong(page.getBlock(0), position);
+                    buckets[size] = (int) INTEGER.getLong(page.getBlock(1), position);
+                    rowIds[size] = BIGINT.getLong(page.getBlock(2), position);
+                    size++;
+                }
+            }
+            if (size == 0) {
+                return Optional.of(EMPTY);
+            }
+            if (size < originalTransactions.length) {
+                memoryContext.setBytes(getRetainedSizeInBytes(originalTransactions.length) + getRetainedSizeInBytes(size));
+                originalTransactions = Arrays.copyOf(originalTransactions, size);
+                buckets = Arrays.copyOf(buckets, size);
+                rowIds = Arrays.copyOf(rowIds, size);
+            }
+            DeletedRowIds deletedRowIds = new DeletedRowIds(originalTransactions, buckets, rowIds, size);
+            memoryContext.setBytes(deletedRowIds.getRetainedSizeInBytes());
+            return Optional.of(deletedRowIds);
+        }
+
+        private static long getRetainedSizeInBytes(int capacity)
+        {
+            return INSTANCE_SIZE + sizeOfLongArray(capacity) * 2 + sizeOfIntArray(capacity);
+        }
+
+        public int size()
+        {
+            return size;
+        }
+
+        public void get(int index, OrcAcidRowId rowId)
+        {
+            rowId.set(originalTransactions[index], buckets[index], rowIds[index]);
+        }
+
+        public long getRetainedSizeInBytes()
+        {
+            return INSTANCE_SIZE + sizeOf(originalTransactions) + sizeOf(buckets) + sizeOf(rowIds);
+        }
+    }
+}
@@ -14,12 +14,16 @@
 package io.prestosql.plugin.hive.orc;
 
 import com.google.common.collect.ImmutableList;
-import io.prestosql.orc.OrcCorruptionException;
+import com.google.common.io.Closer;
+import io.prestosql.memory.context.AggregatedMemoryContext;
+import io.prestosql.memory.context.LocalMemoryContext;
 import io.prestosql.plugin.hive.DeleteDeltaLocations;
 import io.prestosql.plugin.hive.HdfsEnvironment;
 import io.prestosql.plugin.hive.HiveErrorCode;
 import io.prestosql.plugin.hive.HiveUtil;
 import io.prestosql.plugin.hive.WriteIdInfo;
+import io.prestosql.plugin.hive.orc.OrcDeleteDeltaCache.DeleteDeltaFile;
+import io.prestosql.plugin.hive.orc.OrcDeleteDeltaCache.DeletedRowIds;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.block.Block;
@@ -47,7 +51,10 @@ import java.util.Optional;
 import java.util.regex.Pattern;
 
 import static com.google.common.base.Verify.verify;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.prestosql.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
 import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
 import static org.apache.hadoop.hive.ql.io.AcidUtils.deleteDeltaSubdir;
 
 @NotThreadSafe
@@ -65,6 +72,11 @@ public class OrcDeletedRows
     private final Pattern originalCopyFilePattern = Pattern.compile("[0-9]+_[0-9]+" + "_copy_" + "[0-9]+");
     private final String bucketPrefix = "bucket_";
 
+    private final OrcDeleteDeltaCache deleteDeltaCache;
+    private final LocalMemoryContext memoryContext;
+    private DeletedRowIds deletedRowIds;
+    private int deletedRowIndex;
+
     private final List<ConnectorPageSource> pageSources = new ArrayList<>();
     private Iterator<Page> sortedRowsIterator;
     private Page currentPage;
@@ -79,6 +91,20 @@ public class OrcDeletedRows
             Configuration configuration,
             HdfsEnvironment hdfsEnvironment,
             Optional<Long> startRowOffsetOfFile)
+    {
+        this(sourceFileName, deleteDeltaLocations, pageSourceFactory, sessionUser, configuration, hdfsEnvironment, startRowOffsetOfFile, OrcDeleteDeltaCache.CACHE_NOTHING, newSimpleAggregatedMemoryContext());
+    }
+
+    public OrcDeletedRows(
+            String sourceFileName,
+            Optional<DeleteDeltaLocations> deleteDeltaLocations,
+            OrcDeleteDeltaPageSourceFactory pageSourceFactory,
+            String sessionUser,
+            Configuration configuration,
+            HdfsEnvironment hdfsEnvironment,
+            Optional<Long> startRowOffsetOfFile,
+            OrcDeleteDeltaCache deleteDeltaCache,
+            AggregatedMemoryContext systemMemoryContext)
     {
         this.sourceFileName = sourceFileName;
         this.pageSourceFactory = pageSourceFactory;
@@ -92,6 +118,8 @@ public class OrcDeletedRows
             this.deleteDeltaLocations = null;
         }
         this.startRowOffsetOfFile = startRowOffsetOfFile;
+        this.deleteDeltaCache = requireNonNull(deleteDeltaCache, "deleteDeltaCache is null");
+        this.memoryContext = requireNonNull(systemMemoryContext, "systemMemoryContext is null").newLocalMemoryContext(OrcDeletedRows.class.getSimpleName());
     }
 
     public MaskDeletedRowsFunction getMaskDeletedRowsFunction(Page sourcePage, Optional<Long> pageRowOffset)
@@ -171,36 +199,60 @@ public class OrcDeletedRows
 
     private boolean isDeleted(OrcAcidRowId sourcePageRowId)
     {
-        if (sortedRowsIterator == null) {
-            for (WriteIdInfo deleteDeltaInfo : deleteDeltaLocations.getDeleteDeltas()) {
-                Path path = createPath(deleteDeltaLocations.getPartitionLocation(), deleteDeltaInfo, sourceFileName);
-                try {
-                    FileSystem fileSystem = hdfsEnvironment.getFileSystem(sessionUser, path, configuration);
-                    FileStatus fileStatus = hdfsEnvironment.doAs(sessionUser, () -> fileSystem.getFileStatus(path));
+        if (deletedRowIds == null && sortedRowsIterator == null) {
+            loadDeletedRows();
+        }
+        if (deletedRowIds != null) {
+            return isDeletedRowId(sourcePageRowId);
+        }
+        return isSortedRow(sourcePageRowId);
+    }
+
+    private void loadDeletedRows()
+    {
+        List<FileStatus> deleteDeltaFiles = getDeleteDeltaFiles();
+        if (deleteDeltaCache.isEnabled()) {
+            List<DeleteDeltaFile> cacheKey = deleteDeltaFiles.stream()
+                    .map(DeleteDeltaFile::new)
+                    .collect(toImmutableList());
+            Optional<DeletedRowIds> cachedRowIds = deleteDeltaCache.get(cacheKey, () -> readDeletedRowIds(deleteDeltaFiles));
+            if (cachedRowIds.isPresent()) {
+                deletedRowIds = cachedRowIds.get();
+                memoryContext.setBytes(deletedRowIds.getRetainedSizeInBytes());
+                return;
+            }
+            memoryContext.setBytes(0);
+        }
+        // the row ids are not cached, so they are merged from the delete deltas while the rows are masked
+        for (FileStatus deleteDeltaFile : deleteDeltaFiles) {
+            pageSources.add(createPageSource(deleteDeltaFile));
+        }
+        sortedRowsIterator = getSortedRows(pageSources);
+    }
 
-                    pageSources.add(pageSourceFactory.createPageSource(fileStatus.getPath(), fileStatus.getLen(), fileStatus.getModificationTime()));
-                }
-                catch (FileNotFoundException ignored) {
-                    // source file does not have a delta delete file in this location
-                    continue;
-                }
-                catch (PrestoException e) {
-                    throw e;
-                }
-                catch (OrcCorruptionException e) {
-                    throw new PrestoException(HiveErrorCode.HIVE_BAD_DATA, format("Failed to read ORC file: %s", path), e);
-                }
-                catch (RuntimeException | IOException e) {
-                    throw new PrestoException(HiveErrorCode.HIVE_CURSOR_ERROR, format("Failed to read ORC file: %s", path), e);
-                }
+    private boolean isDeletedRowId(OrcAcidRowId sourcePageRowId)
+    {
+        // source rows are masked in increasing order, so the deleted rows are merged with them
+        while (deletedRowIndex < deletedRowIds.size()) {
+            deletedRowIds.get(deletedRowIndex, deletedRowId);
+            int comparison = deletedRowId.compareTo(sourcePageRowId);
+            if (comparison == 0) {
+                //source row is deleted.
+                return true;
+            }
+            if (comparison > 0) {
+                //source row entry not found, but next deleted entry is greater than current source row.
+                //So current source row is not deleted.
+                return false;
             }
-            List<Type> columnTypes = ImmutableList.of(BigintType.BIGINT, IntegerType.INTEGER, BigintType.BIGINT);
-            //Last index for rowIdHandle
-            List<Integer> sortFields = ImmutableList.of(0, 1, 2);
-            List<SortOrder> sortOrders = ImmutableList.of(SortOrder.ASC_NULLS_FIRST, SortOrder.ASC_NULLS_FIRST, SortOrder.ASC_NULLS_FIRST);
-            sortedRowsIterator = HiveUtil.getMergeSortedPages(pageSources, columnTypes, sortFields,
-                    sortOrders);
+            deletedRowIndex++;
         }
+        //No more entries in deleted_delta
+        return false;
+    }
+
+    private boolean isSortedRow(OrcAcidRowId sourcePageRowId)
+    {
         do {
             if (currentPage == null || currentPageOffset >= currentPage.getPositionCount()) {
                 currentPage = null;
@@ -233,6 +285,64 @@ public class OrcDeletedRows
         return false;
     }
 
+    private List<FileStatus> getDeleteDeltaFiles()
+    {
+        ImmutableList.Builder<FileStatus> deleteDeltaFiles = ImmutableList.builder();
+        for (WriteIdInfo deleteDeltaInfo : deleteDeltaLocations.getDeleteDeltas()) {
+            Path path = createPath(deleteDeltaLocations.getPartitionLocation(), deleteDeltaInfo, sourceFileName);
+            try {
+                FileSystem fileSystem = hdfsEnvironment.getFileSystem(sessionUser, path, configuration);
+                deleteDeltaFiles.add(hdfsEnvironment.doAs(sessionUser, () -> fileSystem.getFileStatus(path)));
+            }
+            catch (FileNotFoundException ignored) {
+                // source file does not have a delta delete file in this location
+                continue;
+            }
+            catch (PrestoException e) {
+                throw e;
+            }
+            catch (RuntimeException | IOException e) {
+                throw new PrestoException(HiveErrorCode.HIVE_CURSOR_ERROR, format("Failed to read ORC file: %s", path), e);
+            }
+        }
+        return deleteDeltaFiles.build();
+    }
+
+    private ConnectorPageSource createPageSource(FileStatus deleteDeltaFile)
+    {
+        Path path = deleteDeltaFile.getPath();
+        try {
+            return pageSourceFactory.createPageSource(path, deleteDeltaFile.getLen(), deleteDeltaFile.getModificationTime());
+        }
+        catch (PrestoException e) {
+            throw e;
+        }
+        catch (RuntimeException e) {
+            throw new PrestoException(HiveErrorCode.HIVE_CURSOR_ERROR, format("Failed to read ORC file: %s", path), e);
+        }
+    }
+
+    private Optional<DeletedRowIds> readDeletedRowIds(List<FileStatus> deleteDeltaFiles)
+            throws IOException
+    {
+        List<ConnectorPageSource> deleteDeltaPageSources = new ArrayList<>();
+        try (Closer closer = Closer.create()) {
+            for (FileStatus deleteDeltaFile : deleteDeltaFiles) {
+                deleteDeltaPageSources.add(closer.register(createPageSource(deleteDeltaFile)));
+            }
+            return DeletedRowIds.copyOf(getSortedRows(deleteDeltaPageSources), deleteDeltaCache.getMaximumEntrySize(), memoryContext);
+        }
+    }
+
+    private static Iterator<Page> getSortedRows(List<ConnectorPageSource> deleteDeltaPageSources)
+    {
+        List<Type> columnTypes = ImmutableList.of(BigintType.BIGINT, IntegerType.INTEGER, BigintType.BIGINT);
+        //Last index for rowIdHandle
+        List<Integer> sortFields = ImmutableList.of(0, 1, 2);
+        List<SortOrder> sortOrders = ImmutableList.of(SortOrder.ASC_NULLS_FIRST, SortOrder.ASC_NULLS_FIRST, SortOrder.ASC_NULLS_FIRST);
+        return HiveUtil.getMergeSortedPages(deleteDeltaPageSources, columnTypes, sortFields, sortOrders);
+    }
+
     private int getBucketNumber(String fileName)
     {
         if (fileName.startsWith(bucketPrefix)) {
@@ -272,6 +382,7 @@ public class OrcDeletedRows
 
     void close()
     {
+        memoryContext.close();
         pageSources.forEach(pageSource ->
         {
             try {
@@ -69,6 +69,8 @@ import org.apache.hadoop.hive.ql.io.AcidUtils;
 import org.apache.hadoop.hive.ql.io.orc.OrcSerde;
 import org.apache.hadoop.hive.serde2.typeinfo.StructTypeInfo;
 import org.joda.time.DateTimeZone;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
 
 import javax.inject.Inject;
 
@@ -144,6 +146,7 @@ public class OrcPageSourceFactory
     private final OrcCacheStore orcCacheStore;
     private final int domainCompactionThreshold;
     private final DateTimeZone legacyTimeZone;
+    private final OrcDeleteDeltaCache deleteDeltaCache;
 
     @Inject
     public OrcPageSourceFactory(TypeManager typeManager, HiveConfig config, HdfsEnvironment hdfsEnvironment, FileFormatDataSourceStats stats, OrcCacheStore orcCacheStore)
@@ -167,6 +170,14 @@ public class OrcPageSourceFactory
         this.orcCacheStore = orcCacheStore;
         this.legacyTimeZone = requireNonNull(config, "hiveConfig is null").getOrcLegacyDateTimeZone();
         this.domainCompactionThreshold = domainCompactionThreshold;
+        this.deleteDeltaCache = new OrcDeleteDeltaCache(config);
+    }
+
+    @Managed
+    @Nested
+    public OrcDeleteDeltaCache getDeleteDeltaCache()
+    {
+        return deleteDeltaCache;
     }
 
     @Override
@@ -233,7 +244,8 @@ public class OrcPageSourceFactory
                 orcCacheProperties,
                 domainCompactionThreshold,
                 session.isPageMetadataEnabled(),
-                dataSourceLastModifiedTime));
+                dataSourceLastModifiedTime,
+                deleteDeltaCache));
     }
 
     public static OrcPageSource createOrcPageSource(
@@ -267,7 +279,8 @@ public class OrcPageSourceFactory
             OrcCacheProperties orcCacheProperties,
             int domainCompactionThreshold,
             boolean pageMetadataEnabled,
-            long dataSourceLastModifiedTime)
+            long dataSourceLastModifiedTime,
+            OrcDeleteDeltaCache deleteDeltaCache)
     {
         for (HiveColumnHandle column : columns) {
             checkArgument(
@@ -442,7 +455,9 @@ public class OrcPageSourceFactory
                     sessionUser,
                     configuration,
                     hdfsEnvironment,
-                    startRowOffsetOfFile);
+                    startRowOffsetOfFile,
+                    deleteDeltaCache,
+                    systemMemoryUsage);
 
             boolean eagerload = false;
             if (indexes.isPresent()) {
@@ -129,6 +129,7 @@ public class OrcSelectivePageSource
 
         try {
             stats.addMaxCombinedBytesPerRow(recordReader.getMaxCombinedBytesPerRow());
+            stats.addFilterReorders(recordReader.getFilterReorders());
             recordReader.close();
         }
         catch (IOException e) {
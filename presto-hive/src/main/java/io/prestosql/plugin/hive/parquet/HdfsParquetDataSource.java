@@ -79,7 +79,7 @@ public class HdfsParquetDataSource
         this.inputStream = inputStream;
         this.stats = stats;
         this.options = requireNonNull(options, "options is null");
-        this.size = 0L;
+        this.size = estimatedSize;
     }
 
     @Override
@@ -146,9 +146,9 @@ public class HdfsParquetDataSource
         }
     }
 
-    public static HdfsParquetDataSource buildHdfsParquetDataSource(FSDataInputStream inputStream, Path path, long fileSize, FileFormatDataSourceStats stats)
+    public static HdfsParquetDataSource buildHdfsParquetDataSource(FSDataInputStream inputStream, Path path, long fileSize, FileFormatDataSourceStats stats, ParquetReaderOptions options)
     {
-        return new HdfsParquetDataSource(new ParquetDataSourceId(path.toString()), fileSize, inputStream, stats);
+        return new HdfsParquetDataSource(new ParquetDataSourceId(path.toString()), fileSize, inputStream, stats, options);
     }
 
     @Override
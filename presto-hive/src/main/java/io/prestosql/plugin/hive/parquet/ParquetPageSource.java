@@ -14,6 +14,7 @@
 package io.prestosql.plugin.hive.parquet;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
 import io.prestosql.parquet.Field;
 import io.prestosql.parquet.ParquetCorruptionException;
 import io.prestosql.parquet.reader.ParquetReader;
@@ -25,21 +26,27 @@ import io.prestosql.spi.block.LazyBlock;
 import io.prestosql.spi.block.LazyBlockLoader;
 import io.prestosql.spi.block.RunLengthEncodedBlock;
 import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.predicate.Domain;
 import io.prestosql.spi.predicate.TupleDomain;
 import io.prestosql.spi.type.Type;
 import io.prestosql.spi.type.TypeManager;
 import org.apache.parquet.io.MessageColumnIO;
 import org.apache.parquet.schema.MessageType;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 
 import static com.google.common.base.Preconditions.checkState;
 import static io.prestosql.parquet.ParquetTypeUtils.getFieldIndex;
 import static io.prestosql.parquet.ParquetTypeUtils.lookupColumnByName;
+import static io.prestosql.parquet.reader.ParquetReader.isFilterSupported;
 import static io.prestosql.plugin.hive.HiveColumnHandle.ColumnType.REGULAR;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_BAD_DATA;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_CURSOR_ERROR;
@@ -59,6 +66,9 @@ public class ParquetPageSource
 
     private final Block[] constantBlocks;
     private final int[] hiveColumnIndexes;
+    // filter of every column which is evaluated while decoding, null for the other columns
+    private final Domain[] filters;
+    private final int[] filterColumns;
 
     private int batchId;
     private boolean closed;
@@ -73,6 +83,20 @@ public class ParquetPageSource
             List<HiveColumnHandle> columns,
             TupleDomain<HiveColumnHandle> effectivePredicate,
             boolean useParquetColumnNames)
+    {
+        this(parquetReader, fileSchema, messageColumnIO, typeManager, splitSchema, columns, effectivePredicate, useParquetColumnNames, false);
+    }
+
+    public ParquetPageSource(
+            ParquetReader parquetReader,
+            MessageType fileSchema,
+            MessageColumnIO messageColumnIO,
+            TypeManager typeManager,
+            Properties splitSchema,
+            List<HiveColumnHandle> columns,
+            TupleDomain<HiveColumnHandle> effectivePredicate,
+            boolean useParquetColumnNames,
+            boolean predicatePushdownEnabled)
     {
         requireNonNull(splitSchema, "splitSchema is null");
         requireNonNull(columns, "columns is null");
@@ -84,6 +108,7 @@ public class ParquetPageSource
         int size = columns.size();
         this.constantBlocks = new Block[size];
         this.hiveColumnIndexes = new int[size];
+        this.filters = new Domain[size];
 
         ImmutableList.Builder<String> namesBuilder = ImmutableList.builder();
         ImmutableList.Builder<Type> typesBuilder = ImmutableList.builder();
@@ -111,6 +136,20 @@ public class ParquetPageSource
         types = typesBuilder.build();
         fields = fieldsBuilder.build();
         columnNames = namesBuilder.build();
+
+        ImmutableList.Builder<Integer> filterColumns = ImmutableList.builder();
+        if (predicatePushdownEnabled && effectivePredicate.getDomains().isPresent()) {
+            Map<HiveColumnHandle, Domain> domains = effectivePredicate.getDomains().get();
+            for (int columnIndex = 0; columnIndex < size; columnIndex++) {
+                Domain domain = domains.get(columns.get(columnIndex));
+                Optional<Field> field = fields.get(columnIndex);
+                if (domain != null && !domain.isAll() && domain.getType().equals(types.get(columnIndex)) && field.isPresent() && isFilterSupported(field.get())) {
+                    filters[columnIndex] = domain;
+                    filterColumns.add(columnIndex);
+                }
+            }
+        }
+        this.filterColumns = Ints.toArray(filterColumns.build());
     }
 
     @Override
@@ -141,38 +180,23 @@ public class ParquetPageSource
     public Page getNextPage()
     {
         try {
-            batchId++;
-            int batchSize = parquetReader.nextBatch();
+            while (true) {
+                batchId++;
+                int batchSize = parquetReader.nextBatch();
 
-            if (closed || batchSize <= 0) {
-                close();
-                return null;
-            }
+                if (closed || batchSize <= 0) {
+                    close();
+                    return null;
+                }
 
-            Block[] blocks = new Block[hiveColumnIndexes.length];
-            for (int fieldId = 0; fieldId < blocks.length; fieldId++) {
-                if (constantBlocks[fieldId] != null) {
-                    blocks[fieldId] = constantBlocks[fieldId].getRegion(0, batchSize);
+                if (filterColumns.length == 0) {
+                    return createPage(batchSize, new Block[hiveColumnIndexes.length], null);
                 }
-                else {
-                    Type type = types.get(fieldId);
-                    Optional<Field> field = fields.get(fieldId);
-                    int fieldIndex;
-                    if (useParquetColumnNames) {
-                        fieldIndex = getFieldIndex(fileSchema, columnNames.get(fieldId));
-                    }
-                    else {
-                        fieldIndex = hiveColumnIndexes[fieldId];
-                    }
-                    if (fieldIndex != -1 && field.isPresent()) {
-                        blocks[fieldId] = new LazyBlock(batchSize, new ParquetBlockLoader(field.get()));
-                    }
-                    else {
-                        blocks[fieldId] = RunLengthEncodedBlock.create(type, null, batchSize);
-                    }
+                Page page = filterBatch(batchSize);
+                if (page != null) {
+                    return page;
                 }
             }
-            return new Page(batchSize, blocks);
         }
         catch (PrestoException e) {
             closeWithSuppression(e);
@@ -184,6 +208,105 @@ public class ParquetPageSource
         }
     }
 
+    /**
+     * Evaluates the filters one column after the other, each only on the rows which passed the
+     * filters before it, and returns the page of the remaining rows, or null if no row remains.
+     * Rows are only dropped when they can not match the effective predicate, which the engine
+     * evaluates again, so the filters may be applied partially.
+     */
+    private Page filterBatch(int batchSize)
+    {
+        int[] positions = new int[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            positions[i] = i;
+        }
+        int positionCount = batchSize;
+
+        Block[] filterBlocks = new Block[filterColumns.length];
+        int[][] filterBlockPositions = new int[filterColumns.length][];
+        for (int i = 0; i < filterColumns.length; i++) {
+            int columnIndex = filterColumns[i];
+            Block block = readFilteredBlock(fields.get(columnIndex).get(), filters[columnIndex], positions, positionCount);
+            positionCount = block.getPositionCount();
+            if (positionCount == 0) {
+                return null;
+            }
+            filterBlocks[i] = block;
+            filterBlockPositions[i] = Arrays.copyOf(positions, positionCount);
+        }
+
+        Block[] blocks = new Block[hiveColumnIndexes.length];
+        int[] selectedPositions = Arrays.copyOf(positions, positionCount);
+        for (int i = 0; i < filterColumns.length; i++) {
+            // the filters after a column dropped more rows, which are removed from its block
+            blocks[filterColumns[i]] = selectPositions(filterBlocks[i], filterBlockPositions[i], selectedPositions, positionCount);
+        }
+        return createPage(positionCount, blocks, positionCount == batchSize ? null : selectedPositions);
+    }
+
+    private static Block selectPositions(Block block, int[] blockPositions, int[] selectedPositions, int positionCount)
+    {
+        if (block.getPositionCount() == positionCount) {
+            return block;
+        }
+        int[] indexes = new int[positionCount];
+        int index = 0;
+        for (int i = 0; i < positionCount; i++) {
+            while (blockPositions[index] < selectedPositions[i]) {
+                index++;
+            }
+            indexes[i] = index;
+        }
+        return block.getPositions(indexes, 0, positionCount);
+    }
+
+    /**
+     * Creates the page of a batch, where the blocks not set yet are loaded lazily. If selectedPositions
+     * is set, the rows of the batch at these positions are the rows of the page.
+     */
+    private Page createPage(int positionCount, Block[] blocks, int[] selectedPositions)
+    {
+        for (int fieldId = 0; fieldId < blocks.length; fieldId++) {
+            if (blocks[fieldId] != null) {
+                continue;
+            }
+            if (constantBlocks[fieldId] != null) {
+                blocks[fieldId] = constantBlocks[fieldId].getRegion(0, positionCount);
+            }
+            else {
+                Type type = types.get(fieldId);
+                Optional<Field> field = fields.get(fieldId);
+                int fieldIndex;
+                if (useParquetColumnNames) {
+                    fieldIndex = getFieldIndex(fileSchema, columnNames.get(fieldId));
+                }
+                else {
+                    fieldIndex = hiveColumnIndexes[fieldId];
+                }
+                if (fieldIndex != -1 && field.isPresent()) {
+                    blocks[fieldId] = new LazyBlock(positionCount, new ParquetBlockLoader(field.get(), selectedPositions, positionCount));
+                }
+                else {
+                    blocks[fieldId] = RunLengthEncodedBlock.create(type, null, positionCount);
+                }
+            }
+        }
+        return new Page(positionCount, blocks);
+    }
+
+    private Block readFilteredBlock(Field field, Domain filter, int[] positions, int positionCount)
+    {
+        try {
+            return parquetReader.readFilteredBlock(field, filter, positions, positionCount);
+        }
+        catch (ParquetCorruptionException e) {
+            throw new PrestoException(HIVE_BAD_DATA, e);
+        }
+        catch (IOException e) {
+            throw new PrestoException(HIVE_CURSOR_ERROR, e);
+        }
+    }
+
     private void closeWithSuppression(Throwable throwable)
     {
         requireNonNull(throwable, "throwable is null");
@@ -219,11 +342,16 @@ public class ParquetPageSource
     {
         private final int expectedBatchId = batchId;
         private final Field field;
+        @Nullable
+        private final int[] positions;
+        private final int positionCount;
         private boolean loaded;
 
-        public ParquetBlockLoader(Field field)
+        public ParquetBlockLoader(Field field, @Nullable int[] positions, int positionCount)
         {
             this.field = requireNonNull(field, "field is null");
+            this.positions = positions;
+            this.positionCount = positionCount;
         }
 
         @Override
@@ -236,7 +364,8 @@ public class ParquetPageSource
             checkState(batchId == expectedBatchId);
 
             try {
-                Block block = parquetReader.readBlock(field);
+                // only the rows which passed the filters are read
+                Block block = positions == null ? parquetReader.readBlock(field) : parquetReader.readBlock(field, positions, positionCount);
                 lazyBlock.setBlock(block);
             }
             catch (ParquetCorruptionException e) {
@@ -16,10 +16,10 @@ package io.prestosql.plugin.hive.parquet;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import io.airlift.units.DataSize;
 import io.prestosql.memory.context.AggregatedMemoryContext;
 import io.prestosql.parquet.ParquetCorruptionException;
 import io.prestosql.parquet.ParquetDataSource;
+import io.prestosql.parquet.ParquetReaderOptions;
 import io.prestosql.parquet.RichColumnDescriptor;
 import io.prestosql.parquet.predicate.Predicate;
 import io.prestosql.parquet.reader.MetadataReader;
@@ -48,6 +48,7 @@ import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.FileMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.internal.filter2.columnindex.ColumnIndexStore;
 import org.apache.parquet.io.MessageColumnIO;
 import org.apache.parquet.schema.MessageType;
 import org.joda.time.DateTimeZone;
@@ -72,12 +73,15 @@ import static io.prestosql.parquet.ParquetTypeUtils.getDescriptors;
 import static io.prestosql.parquet.ParquetTypeUtils.getParquetTypeByName;
 import static io.prestosql.parquet.predicate.PredicateUtils.buildPredicate;
 import static io.prestosql.parquet.predicate.PredicateUtils.predicateMatches;
+import static io.prestosql.parquet.reader.ParquetColumnIndexStore.getColumnIndexStore;
 import static io.prestosql.plugin.hive.HiveColumnHandle.ColumnType.REGULAR;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_BAD_DATA;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_CANNOT_OPEN_SPLIT;
 import static io.prestosql.plugin.hive.HiveErrorCode.HIVE_MISSING_DATA;
 import static io.prestosql.plugin.hive.HiveSessionProperties.getParquetMaxReadBlockSize;
 import static io.prestosql.plugin.hive.HiveSessionProperties.isFailOnCorruptedParquetStatistics;
+import static io.prestosql.plugin.hive.HiveSessionProperties.isParquetPredicatePushdownEnabled;
+import static io.prestosql.plugin.hive.HiveSessionProperties.isParquetUseColumnIndex;
 import static io.prestosql.plugin.hive.HiveSessionProperties.isUseParquetColumnNames;
 import static io.prestosql.plugin.hive.HiveUtil.getDeserializerClassName;
 import static io.prestosql.plugin.hive.HiveUtil.shouldUseRecordReaderFromInputFormat;
@@ -147,7 +151,10 @@ public class ParquetPageSourceFactory
                 columns,
                 isUseParquetColumnNames(session),
                 isFailOnCorruptedParquetStatistics(session),
-                getParquetMaxReadBlockSize(session),
+                new ParquetReaderOptions()
+                        .withMaxReadBlockSize(getParquetMaxReadBlockSize(session))
+                        .withUseColumnIndex(isParquetUseColumnIndex(session)),
+                isParquetPredicatePushdownEnabled(session),
                 typeManager,
                 effectivePredicate,
                 stats,
@@ -166,7 +173,8 @@ public class ParquetPageSourceFactory
             List<HiveColumnHandle> columns,
             boolean useParquetColumnNames,
             boolean failOnCorruptedParquetStatistics,
-            DataSize maxReadBlockSize,
+            ParquetReaderOptions options,
+            boolean predicatePushdownEnabled,
             TypeManager typeManager,
             TupleDomain<HiveColumnHandle> effectivePredicate,
             FileFormatDataSourceStats stats,
@@ -182,7 +190,7 @@ public class ParquetPageSourceFactory
             ParquetMetadata parquetMetadata = MetadataReader.readFooter(inputStream, path, fileSize);
             FileMetaData fileMetaData = parquetMetadata.getFileMetaData();
             MessageType fileSchema = fileMetaData.getSchema();
-            dataSource = buildHdfsParquetDataSource(inputStream, path, fileSize, stats);
+            dataSource = buildHdfsParquetDataSource(inputStream, path, fileSize, stats, options);
             String writerTimeZoneId = fileMetaData.getKeyValueMetaData().get(WRITER_TIME_ZONE_KEY);
             if (writerTimeZoneId != null && !writerTimeZoneId.equalsIgnoreCase(readerTimeZone.getID())) {
                 readerTimeZone = DateTimeZone.forID(writerTimeZoneId);
@@ -196,22 +204,26 @@ public class ParquetPageSourceFactory
 
             MessageType requestedSchema = new MessageType(fileSchema.getName(), fields);
 
-            ImmutableList.Builder<BlockMetaData> footerBlocks = ImmutableList.builder();
-            for (BlockMetaData block : parquetMetadata.getBlocks()) {
-                long firstDataPage = block.getColumns().get(0).getFirstDataPageOffset();
-                if (firstDataPage >= start && firstDataPage < start + length) {
-                    footerBlocks.add(block);
-                }
-            }
-
             Map<List<String>, RichColumnDescriptor> descriptorsByPath = getDescriptors(fileSchema, requestedSchema);
             TupleDomain<ColumnDescriptor> parquetTupleDomain = getParquetTupleDomain(descriptorsByPath, effectivePredicate);
             Predicate parquetPredicate = buildPredicate(requestedSchema, parquetTupleDomain, descriptorsByPath);
             final ParquetDataSource finalDataSource = dataSource;
             ImmutableList.Builder<BlockMetaData> blocks = ImmutableList.builder();
-            for (BlockMetaData block : footerBlocks.build()) {
-                if (predicateMatches(parquetPredicate, block, finalDataSource, descriptorsByPath, parquetTupleDomain, failOnCorruptedParquetStatistics)) {
+            ImmutableList.Builder<Long> firstRowsOfBlocks = ImmutableList.builder();
+            ImmutableList.Builder<Optional<ColumnIndexStore>> columnIndexStores = ImmutableList.builder();
+            long nextFirstRow = 0;
+            for (BlockMetaData block : parquetMetadata.getBlocks()) {
+                long firstRow = nextFirstRow;
+                nextFirstRow += block.getRowCount();
+                long firstDataPage = block.getColumns().get(0).getFirstDataPageOffset();
+                if (firstDataPage < start || firstDataPage >= start + length) {
+                    continue;
+                }
+                Optional<ColumnIndexStore> columnIndexStore = getColumnIndexStore(finalDataSource, block, descriptorsByPath, parquetTupleDomain, options);
+                if (predicateMatches(parquetPredicate, block, finalDataSource, descriptorsByPath, parquetTupleDomain, columnIndexStore, failOnCorruptedParquetStatistics)) {
                     blocks.add(block);
+                    firstRowsOfBlocks.add(firstRow);
+                    columnIndexStores.add(columnIndexStore);
                 }
             }
             MessageColumnIO messageColumnIO = getColumnIO(fileSchema, requestedSchema);
@@ -219,10 +231,13 @@ public class ParquetPageSourceFactory
                     Optional.ofNullable(fileMetaData.getCreatedBy()),
                     messageColumnIO,
                     blocks.build(),
+                    firstRowsOfBlocks.build(),
                     dataSource,
                     readerTimeZone,
                     systemMemoryContext,
-                    maxReadBlockSize);
+                    options,
+                    parquetPredicate,
+                    columnIndexStores.build());
 
             return new ParquetPageSource(
                     parquetReader,
@@ -232,7 +247,8 @@ public class ParquetPageSourceFactory
                     schema,
                     columns,
                     effectivePredicate,
-                    useParquetColumnNames);
+                    useParquetColumnNames,
+                    predicatePushdownEnabled);
         }
         catch (Exception e) {
             try {
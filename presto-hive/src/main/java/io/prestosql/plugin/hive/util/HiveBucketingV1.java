@@ -19,13 +19,17 @@ import io.airlift.slice.Slice;
 import io.prestosql.plugin.hive.HiveType;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.DictionaryBlock;
+import io.prestosql.spi.block.RunLengthEncodedBlock;
 import io.prestosql.spi.type.Chars;
 import io.prestosql.spi.type.Type;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector.Category;
 import org.apache.hadoop.hive.serde2.typeinfo.ListTypeInfo;
 import org.apache.hadoop.hive.serde2.typeinfo.MapTypeInfo;
 import org.apache.hadoop.hive.serde2.typeinfo.PrimitiveTypeInfo;
 import org.apache.hadoop.hive.serde2.typeinfo.TypeInfo;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -56,6 +60,83 @@ public final class HiveBucketingV1
         return result;
     }
 
+    /**
+     * Computes the bucket hash codes of all positions of the page at once. The blocks are hashed column
+     * by column, so the type of a column is resolved once per page rather than once per value, and run
+     * length encoded and dictionary blocks only hash their distinct values.
+     */
+    public static void getBucketHashCodes(List<TypeInfo> types, Page page, int channelCount, int[] hashCodes)
+    {
+        checkArgument(types.size() == channelCount);
+        int positionCount = page.getPositionCount();
+        checkArgument(hashCodes.length >= positionCount, "hashCodes is smaller than the page");
+        Arrays.fill(hashCodes, 0, positionCount, 0);
+        for (int i = 0; i < channelCount; i++) {
+            addHashCodes(types.get(i), page.getBlock(i), positionCount, hashCodes);
+        }
+    }
+
+    private static void addHashCodes(TypeInfo type, Block block, int positionCount, int[] hashCodes)
+    {
+        if (block instanceof RunLengthEncodedBlock) {
+            int fieldHash = hash(type, block, 0);
+            for (int position = 0; position < positionCount; position++) {
+                hashCodes[position] = hashCodes[position] * 31 + fieldHash;
+            }
+            return;
+        }
+        if (block instanceof DictionaryBlock && ((DictionaryBlock) block).getDictionary().getPositionCount() < positionCount) {
+            DictionaryBlock dictionaryBlock = (DictionaryBlock) block;
+            Block dictionary = dictionaryBlock.getDictionary();
+            int[] dictionaryHashes = new int[dictionary.getPositionCount()];
+            addHashCodes(type, dictionary, dictionary.getPositionCount(), dictionaryHashes);
+            for (int position = 0; position < positionCount; position++) {
+                hashCodes[position] = hashCodes[position] * 31 + dictionaryHashes[dictionaryBlock.getId(position)];
+            }
+            return;
+        }
+        if (type.getCategory() != Category.PRIMITIVE) {
+            for (int position = 0; position < positionCount; position++) {
+                hashCodes[position] = hashCodes[position] * 31 + hash(type, block, position);
+            }
+            return;
+        }
+
+        PrimitiveTypeInfo typeInfo = (PrimitiveTypeInfo) type;
+        Type prestoType = requireNonNull(HiveType.getPrimitiveType(typeInfo));
+        switch (typeInfo.getPrimitiveCategory()) {
+            case INT:
+            case DATE:
+                for (int position = 0; position < positionCount; position++) {
+                    int fieldHash = block.isNull(position) ? 0 : toIntExact(prestoType.getLong(block, position));
+                    hashCodes[position] = hashCodes[position] * 31 + fieldHash;
+                }
+                break;
+            case LONG:
+                for (int position = 0; position < positionCount; position++) {
+                    int fieldHash = 0;
+                    if (!block.isNull(position)) {
+                        long value = prestoType.getLong(block, position);
+                        fieldHash = (int) ((value >>> 32) ^ value);
+                    }
+                    hashCodes[position] = hashCodes[position] * 31 + fieldHash;
+                }
+                break;
+            case STRING:
+            case VARCHAR:
+                int initialValue = typeInfo.getPrimitiveCategory() == PrimitiveCategory.STRING ? 0 : 1;
+                for (int position = 0; position < positionCount; position++) {
+                    int fieldHash = block.isNull(position) ? 0 : hashBytes(initialValue, prestoType.getSlice(block, position));
+                    hashCodes[position] = hashCodes[position] * 31 + fieldHash;
+                }
+                break;
+            default:
+                for (int position = 0; position < positionCount; position++) {
+                    hashCodes[position] = hashCodes[position] * 31 + hash(type, block, position);
+                }
+        }
+    }
+
     public static int getBucketHashCode(List<TypeInfo> types, Object[] values)
     {
         checkArgument(types.size() == values.length);
@@ -19,17 +19,24 @@ import io.airlift.slice.Slice;
 import io.prestosql.plugin.hive.HiveType;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.DictionaryBlock;
+import io.prestosql.spi.block.RunLengthEncodedBlock;
 import io.prestosql.spi.type.Chars;
 import io.prestosql.spi.type.Type;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector.Category;
 import org.apache.hadoop.hive.serde2.typeinfo.ListTypeInfo;
 import org.apache.hadoop.hive.serde2.typeinfo.MapTypeInfo;
 import org.apache.hadoop.hive.serde2.typeinfo.PrimitiveTypeInfo;
 import org.apache.hadoop.hive.serde2.typeinfo.TypeInfo;
 import org.apache.hive.common.util.Murmur3;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.SizeOf.SIZE_OF_INT;
+import static io.airlift.slice.SizeOf.SIZE_OF_LONG;
+import static io.airlift.slice.SizeOf.SIZE_OF_SHORT;
 import static java.lang.Double.doubleToLongBits;
 import static java.lang.Double.doubleToRawLongBits;
 import static java.lang.Float.floatToIntBits;
@@ -59,6 +66,115 @@ public final class HiveBucketingV2
         return result;
     }
 
+    /**
+     * Computes the bucket hash codes of all positions of the page at once. The blocks are hashed column
+     * by column, so the type of a column is resolved once per page rather than once per value, and run
+     * length encoded and dictionary blocks only hash their distinct values.
+     */
+    public static void getBucketHashCodes(List<TypeInfo> types, Page page, int channelCount, int[] hashCodes)
+    {
+        checkArgument(types.size() == channelCount);
+        int positionCount = page.getPositionCount();
+        checkArgument(hashCodes.length >= positionCount, "hashCodes is smaller than the page");
+        Arrays.fill(hashCodes, 0, positionCount, 0);
+        for (int i = 0; i < channelCount; i++) {
+            addHashCodes(types.get(i), page.getBlock(i), positionCount, hashCodes);
+        }
+    }
+
+    private static void addHashCodes(TypeInfo type, Block block, int positionCount, int[] hashCodes)
+    {
+        if (block instanceof RunLengthEncodedBlock) {
+            int fieldHash = hash(type, block, 0);
+            for (int position = 0; position < positionCount; position++) {
+                hashCodes[position] = hashCodes[position] * 31 + fieldHash;
+            }
+            return;
+        }
+        if (block instanceof DictionaryBlock && ((DictionaryBlock) block).getDictionary().getPositionCount() < positionCount) {
+            DictionaryBlock dictionaryBlock = (DictionaryBlock) block;
+            Block dictionary = dictionaryBlock.getDictionary();
+            int[] dictionaryHashes = new int[dictionary.getPositionCount()];
+            addHashCodes(type, dictionary, dictionary.getPositionCount(), dictionaryHashes);
+            for (int position = 0; position < positionCount; position++) {
+                hashCodes[position] = hashCodes[position] * 31 + dictionaryHashes[dictionaryBlock.getId(position)];
+            }
+            return;
+        }
+        if (type.getCategory() != Category.PRIMITIVE) {
+            for (int position = 0; position < positionCount; position++) {
+                hashCodes[position] = hashCodes[position] * 31 + hash(type, block, position);
+            }
+            return;
+        }
+
+        PrimitiveTypeInfo typeInfo = (PrimitiveTypeInfo) type;
+        Type prestoType = requireNonNull(HiveType.getPrimitiveType(typeInfo));
+        switch (typeInfo.getPrimitiveCategory()) {
+            case SHORT:
+            case INT:
+            case DATE:
+            case LONG:
+                // the big-endian bytes of the values are hashed from a reused buffer
+                int length = getFixedWidth(typeInfo.getPrimitiveCategory());
+                byte[] buffer = new byte[length];
+                for (int position = 0; position < positionCount; position++) {
+                    int fieldHash = 0;
+                    if (!block.isNull(position)) {
+                        long value = prestoType.getLong(block, position);
+                        if (length == SIZE_OF_SHORT) {
+                            Shorts.checkedCast(value);
+                        }
+                        else if (length == SIZE_OF_INT) {
+                            toIntExact(value);
+                        }
+                        for (int i = length - 1; i >= 0; i--) {
+                            buffer[i] = (byte) value;
+                            value >>= 8;
+                        }
+                        fieldHash = Murmur3.hash32(buffer, length);
+                    }
+                    hashCodes[position] = hashCodes[position] * 31 + fieldHash;
+                }
+                break;
+            case STRING:
+            case VARCHAR:
+                for (int position = 0; position < positionCount; position++) {
+                    int fieldHash = block.isNull(position) ? 0 : hashSlice(prestoType.getSlice(block, position));
+                    hashCodes[position] = hashCodes[position] * 31 + fieldHash;
+                }
+                break;
+            default:
+                for (int position = 0; position < positionCount; position++) {
+                    hashCodes[position] = hashCodes[position] * 31 + hash(type, block, position);
+                }
+        }
+    }
+
+    private static int getFixedWidth(PrimitiveCategory primitiveCategory)
+    {
+        switch (primitiveCategory) {
+            case SHORT:
+                return SIZE_OF_SHORT;
+            case INT:
+            case DATE:
+                return SIZE_OF_INT;
+            case LONG:
+                return SIZE_OF_LONG;
+            default:
+                throw new IllegalArgumentException("Not a fixed width category: " + primitiveCategory);
+        }
+    }
+
+    private static int hashSlice(Slice slice)
+    {
+        if (slice.hasByteArray()) {
+            // hash the bytes in place rather than copying them out of the slice
+            return Murmur3.hash32(slice.byteArray(), slice.byteArrayOffset(), slice.length(), Murmur3.DEFAULT_SEED);
+        }
+        return Murmur3.hash32(slice.getBytes());
+    }
+
     public static int getBucketHashCode(List<TypeInfo> types, Object[] values)
     {
         checkArgument(types.size() == values.length);
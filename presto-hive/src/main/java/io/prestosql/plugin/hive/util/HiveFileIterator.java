@@ -33,6 +33,7 @@ import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.function.Consumer;
 
 import static java.util.Objects.requireNonNull;
 
@@ -43,6 +44,8 @@ public class HiveFileIterator
     {
         IGNORED,
         RECURSE,
+        // nested directories are handed to the nested directory consumer, so that they can be listed in parallel
+        DEFER,
         FAIL
     }
 
@@ -53,6 +56,7 @@ public class HiveFileIterator
     private final NamenodeStats namenodeStats;
     private final NestedDirectoryPolicy nestedDirectoryPolicy;
     private final PathFilter pathFilter;
+    private final Consumer<Path> nestedDirectoryConsumer;
 
     private Iterator<PrestoFileStatus> remoteIterator = Collections.emptyIterator();
 
@@ -64,6 +68,21 @@ public class HiveFileIterator
             NamenodeStats namenodeStats,
             NestedDirectoryPolicy nestedDirectoryPolicy,
             PathFilter pathFilter)
+    {
+        this(table, path, fileSystem, directoryLister, namenodeStats, nestedDirectoryPolicy, pathFilter, nestedDirectory -> {
+            throw new IllegalStateException("No consumer for nested directory: " + nestedDirectory);
+        });
+    }
+
+    public HiveFileIterator(
+            Table table,
+            Path path,
+            FileSystem fileSystem,
+            DirectoryLister directoryLister,
+            NamenodeStats namenodeStats,
+            NestedDirectoryPolicy nestedDirectoryPolicy,
+            PathFilter pathFilter,
+            Consumer<Path> nestedDirectoryConsumer)
     {
         paths.addLast(requireNonNull(path, "path is null"));
         this.table = requireNonNull(table, "table is null");
@@ -72,6 +91,7 @@ public class HiveFileIterator
         this.namenodeStats = requireNonNull(namenodeStats, "namenodeStats is null");
         this.nestedDirectoryPolicy = requireNonNull(nestedDirectoryPolicy, "nestedDirectoryPolicy is null");
         this.pathFilter = requireNonNull(pathFilter, "pathFilter is null");
+        this.nestedDirectoryConsumer = requireNonNull(nestedDirectoryConsumer, "nestedDirectoryConsumer is null");
     }
 
     @Override
@@ -94,6 +114,9 @@ public class HiveFileIterator
                         case RECURSE:
                             paths.add(status.getPath());
                             continue;
+                        case DEFER:
+                            nestedDirectoryConsumer.accept(status.getPath());
+                            continue;
                         case FAIL:
                             throw new NestedDirectoryNotAllowedException();
                     }
@@ -13,13 +13,39 @@
  */
 package io.prestosql.plugin.hive;
 
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+import io.airlift.testing.TestingTicker;
 import io.airlift.units.Duration;
+import io.prestosql.plugin.hive.metastore.Column;
+import io.prestosql.plugin.hive.metastore.StorageFormat;
+import io.prestosql.plugin.hive.metastore.Table;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
+import org.apache.hadoop.hive.metastore.TableType;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static io.prestosql.plugin.hive.HiveType.HIVE_STRING;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@Test(singleThreaded = true)
 public class CachingDirectoryListerTest
 {
     private CachingDirectoryLister cachingDirectoryListerUnderTest;
@@ -47,4 +73,169 @@ public class CachingDirectoryListerTest
     {
         final Double result = cachingDirectoryListerUnderTest.getMissRate();
     }
+
+    @Test
+    public void testAllTables()
+            throws IOException
+    {
+        File directory = Files.createTempDir();
+        try {
+            createFile(directory, "a");
+            CachingDirectoryLister lister = new CachingDirectoryLister(new Duration(5, TimeUnit.MINUTES), 1000, ImmutableList.of("*"));
+            assertEquals(list(lister, directory), ImmutableList.of("a"));
+            assertEquals(list(lister, directory), ImmutableList.of("a"));
+            assertEquals(lister.getMissCount(), 1);
+            assertEquals(lister.getHitCount(), 1);
+        }
+        finally {
+            deleteRecursively(directory.toPath(), ALLOW_INSECURE);
+        }
+    }
+
+    @Test
+    public void testModificationTimeValidation()
+            throws IOException
+    {
+        File directory = Files.createTempDir();
+        try {
+            createFile(directory, "a");
+            assertTrue(directory.setLastModified(1_000_000));
+            CachingDirectoryLister lister = new CachingDirectoryLister(
+                    new Duration(5, TimeUnit.MINUTES),
+                    1000,
+                    ImmutableList.of("test_dbname.test_table"),
+                    Optional.empty(),
+                    true,
+                    newDirectExecutorService(),
+                    Ticker.systemTicker());
+            assertEquals(list(lister, directory), ImmutableList.of("a"));
+            assertEquals(list(lister, directory), ImmutableList.of("a"));
+
+            createFile(directory, "b");
+            assertTrue(directory.setLastModified(2_000_000));
+            assertEquals(list(lister, directory), ImmutableList.of("a", "b"));
+            assertEquals(list(lister, directory), ImmutableList.of("a", "b"));
+
+            assertEquals(lister.getMissCount(), 2);
+            assertEquals(lister.getHitCount(), 2);
+            assertEquals(lister.getStaleCount(), 1);
+        }
+        finally {
+            deleteRecursively(directory.toPath(), ALLOW_INSECURE);
+        }
+    }
+
+    @Test
+    public void testBackgroundRefresh()
+            throws IOException
+    {
+        File directory = Files.createTempDir();
+        try {
+            createFile(directory, "a");
+            TestingTicker ticker = new TestingTicker();
+            CachingDirectoryLister lister = new CachingDirectoryLister(
+                    new Duration(10, TimeUnit.MINUTES),
+                    1000,
+                    ImmutableList.of("test_dbname.test_table"),
+                    Optional.of(new Duration(5, TimeUnit.MINUTES)),
+                    false,
+                    newDirectExecutorService(),
+                    ticker);
+            assertEquals(list(lister, directory), ImmutableList.of("a"));
+            createFile(directory, "b");
+
+            // the listing is used until the refresh interval passed
+            ticker.increment(4, TimeUnit.MINUTES);
+            assertEquals(list(lister, directory), ImmutableList.of("a"));
+            assertEquals(lister.getRefreshCount(), 0);
+
+            // the outdated listing is returned once, while it is refreshed
+            ticker.increment(2, TimeUnit.MINUTES);
+            assertEquals(list(lister, directory), ImmutableList.of("a"));
+            assertEquals(lister.getRefreshCount(), 1);
+
+            // the refreshed listing does not expire with the original one
+            ticker.increment(5, TimeUnit.MINUTES);
+            assertEquals(list(lister, directory), ImmutableList.of("a", "b"));
+            assertEquals(lister.getMissCount(), 1);
+            assertEquals(lister.getHitCount(), 3);
+        }
+        finally {
+            deleteRecursively(directory.toPath(), ALLOW_INSECURE);
+        }
+    }
+
+    @Test
+    public void testRefreshOfUnchangedDirectoryExpires()
+            throws IOException
+    {
+        File directory = Files.createTempDir();
+        try {
+            createFile(directory, "a");
+            assertTrue(directory.setLastModified(1_000_000));
+            TestingTicker ticker = new TestingTicker();
+            CachingDirectoryLister lister = new CachingDirectoryLister(
+                    new Duration(10, TimeUnit.MINUTES),
+                    1000,
+                    ImmutableList.of("test_dbname.test_table"),
+                    Optional.of(new Duration(5, TimeUnit.MINUTES)),
+                    true,
+                    newDirectExecutorService(),
+                    ticker);
+            assertEquals(list(lister, directory), ImmutableList.of("a"));
+
+            // the refresh finds the directory unchanged and keeps the listing
+            ticker.increment(6, TimeUnit.MINUTES);
+            assertEquals(list(lister, directory), ImmutableList.of("a"));
+            assertEquals(lister.getRefreshCount(), 1);
+
+            // a change the modification time does not reflect is picked up once the original listing expires
+            createFile(directory, "b");
+            assertTrue(directory.setLastModified(1_000_000));
+            ticker.increment(3, TimeUnit.MINUTES);
+            assertEquals(list(lister, directory), ImmutableList.of("a"));
+            ticker.increment(1, TimeUnit.MINUTES);
+            assertEquals(list(lister, directory), ImmutableList.of("a", "b"));
+            assertEquals(lister.getMissCount(), 2);
+        }
+        finally {
+            deleteRecursively(directory.toPath(), ALLOW_INSECURE);
+        }
+    }
+
+    private static List<String> list(CachingDirectoryLister lister, File directory)
+            throws IOException
+    {
+        Path path = new Path(directory.toURI());
+        FileSystem fileSystem = path.getFileSystem(new Configuration());
+        RemoteIterator<PrestoFileStatus> iterator = lister.list(fileSystem, table(directory), path);
+        List<String> names = new ArrayList<>();
+        while (iterator.hasNext()) {
+            names.add(iterator.next().getPath().getName());
+        }
+        names.sort(String::compareTo);
+        return names;
+    }
+
+    private static void createFile(File directory, String name)
+            throws IOException
+    {
+        assertTrue(new File(directory, name).createNewFile());
+    }
+
+    private static Table table(File directory)
+    {
+        Table.Builder tableBuilder = Table.builder();
+        tableBuilder.getStorageBuilder()
+                .setStorageFormat(StorageFormat.fromHiveStorageFormat(HiveStorageFormat.ORC))
+                .setLocation(directory.toURI().toString());
+        return tableBuilder
+                .setDatabaseName("test_dbname")
+                .setOwner("testOwner")
+                .setTableName("test_table")
+                .setTableType(TableType.MANAGED_TABLE.toString())
+                .setDataColumns(ImmutableList.of(new Column("col1", HIVE_STRING, Optional.empty())))
+                .setParameters(ImmutableMap.of())
+                .build();
+    }
 }
@@ -67,6 +67,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
 import static io.prestosql.metadata.MetadataManager.createTestMetadataManager;
 import static io.prestosql.plugin.hive.HiveColumnHandle.ColumnType.PARTITION_KEY;
 import static io.prestosql.plugin.hive.HiveType.HIVE_LONG;
@@ -171,7 +172,8 @@ public final class HiveTestUtils
                 new NodeVersion("test_version"),
                 hiveConfig,
                 new FileFormatDataSourceStats(),
-                new OrcFileWriterConfig());
+                new OrcFileWriterConfig(),
+                newDirectExecutorService());
     }
 
     public static List<Type> getTypes(List<? extends ColumnHandle> columnHandles)
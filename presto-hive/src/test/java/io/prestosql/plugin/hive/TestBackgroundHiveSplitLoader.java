@@ -670,6 +670,70 @@ public class TestBackgroundHiveSplitLoader
         assertEquals(splits.size(), 0, "Splits should be filtered");
     }
 
+    @Test
+    public void testInterleavedPartitionsWithNestedDirectories()
+            throws Exception
+    {
+        int partitionCount = 8;
+        int fileCount = 100;
+        java.nio.file.Path tablePath = Files.createTempDirectory(UUID.randomUUID().toString());
+        Table table = table(tablePath.toString(), PARTITION_COLUMNS, Optional.empty(), ImmutableMap.of());
+        try {
+            ImmutableList.Builder<HivePartitionMetadata> partitions = ImmutableList.builder();
+            for (int partition = 0; partition < partitionCount; partition++) {
+                java.nio.file.Path partitionPath = tablePath.resolve("p" + partition);
+                Files.createDirectories(partitionPath.resolve("nested/deeper"));
+                for (int file = 0; file < fileCount; file++) {
+                    Files.write(partitionPath.resolve("file_" + file), "x".getBytes(UTF_8));
+                }
+                Files.write(partitionPath.resolve("nested/file"), "x".getBytes(UTF_8));
+                Files.write(partitionPath.resolve("nested/deeper/file"), "x".getBytes(UTF_8));
+
+                Storage storage = new Storage(table.getStorage().getStorageFormat(), partitionPath.toString(), Optional.empty(), false, ImmutableMap.of());
+                partitions.add(new HivePartitionMetadata(
+                        new HivePartition(table.getSchemaTableName(), "p=" + partition, ImmutableMap.of()),
+                        Optional.of(new Partition(table.getDatabaseName(), table.getTableName(), ImmutableList.of(String.valueOf(partition)), storage, table.getDataColumns(), ImmutableMap.of())),
+                        ImmutableMap.of()));
+            }
+
+            ConnectorSession connectorSession = new TestingConnectorSession(
+                    new HiveSessionProperties(new HiveConfig().setMaxSplitSize(new DataSize(1.0, GIGABYTE)), new OrcFileWriterConfig(), new ParquetFileWriterConfig()).getSessionProperties());
+            BackgroundHiveSplitLoader backgroundHiveSplitLoader = new BackgroundHiveSplitLoader(
+                    table,
+                    partitions.build(),
+                    TupleDomain.all(),
+                    Optional.empty(),
+                    connectorSession,
+                    createTestHdfsEnvironment(new HiveConfig()),
+                    new NamenodeStats(),
+                    new CachingDirectoryLister(new HiveConfig()),
+                    directExecutor(),
+                    1,
+                    true,
+                    Optional.empty(),
+                    null,
+                    Optional.empty(),
+                    ImmutableMap.of(),
+                    null);
+
+            HiveSplitSource hiveSplitSource = hiveSplitSource(backgroundHiveSplitLoader);
+            backgroundHiveSplitLoader.start(hiveSplitSource);
+            List<String> splits = drain(hiveSplitSource);
+
+            assertEquals(splits.size(), partitionCount * (fileCount + 2));
+            assertEquals(splits.stream().filter(path -> path.endsWith("/nested/deeper/file")).count(), partitionCount);
+            // the splits of the partitions opened first are interleaved rather than emitted one partition after another
+            long firstPartitions = splits.subList(0, 128).stream()
+                    .map(path -> new Path(path).getParent().getName())
+                    .distinct()
+                    .count();
+            assertEquals(firstPartitions, 4);
+        }
+        finally {
+            MoreFiles.deleteRecursively(tablePath, ALLOW_INSECURE);
+        }
+    }
+
     private static List<String> drain(HiveSplitSource source)
             throws Exception
     {
@@ -21,6 +21,8 @@ import io.prestosql.plugin.hive.HiveBucketing.BucketingVersion;
 import io.prestosql.spi.Page;
 import io.prestosql.spi.block.Block;
 import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.block.DictionaryBlock;
+import io.prestosql.spi.block.RunLengthEncodedBlock;
 import io.prestosql.spi.type.StandardTypes;
 import io.prestosql.spi.type.TimestampType;
 import io.prestosql.spi.type.Type;
@@ -41,7 +43,11 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.prestosql.plugin.hive.HiveBucketing.BucketingVersion.BUCKETING_V1;
 import static io.prestosql.plugin.hive.HiveBucketing.BucketingVersion.BUCKETING_V2;
 import static io.prestosql.plugin.hive.HiveBucketing.getBucketHashCode;
+import static io.prestosql.plugin.hive.HiveBucketing.getBucketHashCodes;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.SmallintType.SMALLINT;
 import static io.prestosql.spi.type.TypeUtils.writeNativeValue;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
 import static java.lang.Double.longBitsToDouble;
 import static java.lang.Float.intBitsToFloat;
 import static java.util.Arrays.asList;
@@ -161,6 +167,49 @@ public class TestHiveBucketing
                 -1120812524);
     }
 
+    @Test
+    public void testBucketsOfPage()
+    {
+        int positionCount = 1000;
+        BlockBuilder bigintBuilder = BIGINT.createBlockBuilder(null, positionCount);
+        BlockBuilder varcharBuilder = VARCHAR.createBlockBuilder(null, 10);
+        int[] ids = new int[positionCount];
+        for (int position = 0; position < positionCount; position++) {
+            if (position % 7 == 0) {
+                bigintBuilder.appendNull();
+            }
+            else {
+                BIGINT.writeLong(bigintBuilder, position * 1_000_003L);
+            }
+            ids[position] = position % 10;
+        }
+        for (int i = 0; i < 10; i++) {
+            if (i == 3) {
+                varcharBuilder.appendNull();
+            }
+            else {
+                VARCHAR.writeSlice(varcharBuilder, Slices.utf8Slice("value" + i));
+            }
+        }
+        BlockBuilder smallintBuilder = SMALLINT.createBlockBuilder(null, 1);
+        SMALLINT.writeLong(smallintBuilder, 42);
+        Page page = new Page(
+                bigintBuilder.build(),
+                new DictionaryBlock(varcharBuilder.build(), ids),
+                new RunLengthEncodedBlock(smallintBuilder.build(), positionCount));
+        List<TypeInfo> typeInfos = ImmutableList.of(HiveType.HIVE_LONG, HiveType.HIVE_STRING, HiveType.HIVE_SHORT).stream()
+                .map(HiveType::getTypeInfo)
+                .collect(toImmutableList());
+
+        for (BucketingVersion version : BucketingVersion.values()) {
+            int[] buckets = new int[positionCount];
+            HiveBucketing.getHiveBuckets(version, 17, typeInfos, page, buckets);
+            for (int position = 0; position < positionCount; position++) {
+                assertEquals(buckets[position], HiveBucketing.getHiveBucket(version, 17, typeInfos, page, position), "position " + position);
+            }
+        }
+    }
+
     private static void assertBucketEquals(String hiveTypeString, Object hiveValue, int expectedHashCodeV1, int expectedHashCodeV2)
     {
         assertBucketEquals(hiveTypeString, hiveValue, BUCKETING_V1, expectedHashCodeV1);
@@ -230,9 +279,13 @@ public class TestHiveBucketing
             nativeContainerValues[i] = toNativeContainerValue(type, hiveValue);
         }
         ImmutableList<Block> blockList = blockListBuilder.build();
-        int result1 = getBucketHashCode(bucketingVersion, hiveTypeInfos, new Page(blockList.toArray(new Block[blockList.size()])), 2);
+        Page page = new Page(blockList.toArray(new Block[blockList.size()]));
+        int result1 = getBucketHashCode(bucketingVersion, hiveTypeInfos, page, 2);
         int result2 = getBucketHashCode(bucketingVersion, hiveTypeInfos, nativeContainerValues);
         assertEquals(result1, result2, "overloads of getBucketHashCode produced different result");
+        int[] hashCodes = new int[page.getPositionCount()];
+        getBucketHashCodes(bucketingVersion, hiveTypeInfos, page, page.getChannelCount(), hashCodes);
+        assertEquals(hashCodes, new int[] {0, 0, result1}, "getBucketHashCodes produced different result");
         return result1;
     }
 
@@ -50,6 +50,7 @@ public class TestHiveConfig
                 .setMetastoreDBCacheTtl(new Duration(0, TimeUnit.SECONDS))
                 .setMetastoreDBRefreshInterval(new Duration(1, TimeUnit.SECONDS))
                 .setMetastoreCacheMaximumSize(10000)
+                .setMetastoreCachePartitionStatisticsPrefetchEnabled(false)
                 .setPerTransactionMetastoreCacheMaximumSize(1000)
                 .setMaxMetastoreRefreshThreads(100)
                 .setMetastoreSocksProxy(null)
@@ -89,6 +90,8 @@ public class TestHiveConfig
                 .setUseParquetColumnNames(false)
                 .setFailOnCorruptedParquetStatistics(true)
                 .setParquetMaxReadBlockSize(new DataSize(16, Unit.MEGABYTE))
+                .setParquetUseColumnIndex(true)
+                .setParquetPredicatePushdownEnabled(true)
                 .setUseOrcColumnNames(false)
                 .setAssumeCanonicalPartitionKeys(false)
                 .setOrcBloomFiltersEnabled(false)
@@ -103,6 +106,7 @@ public class TestHiveConfig
                 .setOrcRowIndexCacheEnabled(false).setOrcRowIndexCacheTtl(new Duration(4, TimeUnit.HOURS)).setOrcRowIndexCacheLimit(250_000)
                 .setOrcBloomFiltersCacheEnabled(false).setOrcBloomFiltersCacheTtl(new Duration(4, TimeUnit.HOURS)).setOrcBloomFiltersCacheLimit(250_000)
                 .setOrcRowDataCacheEnabled(false).setOrcRowDataCacheTtl(new Duration(4, TimeUnit.HOURS)).setOrcRowDataCacheMaximumWeight(new DataSize(20, GIGABYTE))
+                .setOrcDeleteDeltaCacheEnabled(true).setOrcDeleteDeltaCacheTtl(new Duration(1, TimeUnit.HOURS)).setOrcDeleteDeltaCacheMaximumWeight(new DataSize(256, MEGABYTE))
                 .setOrcLazyReadSmallRanges(true)
                 .setRcfileTimeZone(TimeZone.getDefault().getID())
                 .setRcfileWriterValidate(false)
@@ -134,6 +138,8 @@ public class TestHiveConfig
                 .setFileStatusCacheExpireAfterWrite(new Duration(24, TimeUnit.HOURS))
                 .setFileStatusCacheMaxSize(1000 * 1000)
                 .setFileStatusCacheTables("")
+                .setFileStatusCacheRefreshInterval(null)
+                .setFileStatusCacheValidationEnabled(false)
                 .setHiveTransactionHeartbeatInterval(null)
                 .setHiveTransactionHeartbeatThreads(5)
                 .setTableCreatesWithLocationAllowed(true)
@@ -171,6 +177,7 @@ public class TestHiveConfig
                 .put("hive.metastore-db-cache-ttl", "2h")
                 .put("hive.metastore-db-refresh-interval", "30m")
                 .put("hive.metastore-cache-maximum-size", "5000")
+                .put("hive.metastore-cache-partition-statistics-prefetch-enabled", "true")
                 .put("hive.per-transaction-metastore-cache-maximum-size", "500")
                 .put("hive.metastore-refresh-max-threads", "2500")
                 .put("hive.metastore.thrift.client.socks-proxy", "localhost:1080")
@@ -212,6 +219,8 @@ public class TestHiveConfig
                 .put("hive.parquet.use-column-names", "true")
                 .put("hive.parquet.fail-on-corrupted-statistics", "false")
                 .put("hive.parquet.max-read-block-size", "66kB")
+                .put("hive.parquet.use-column-index", "false")
+                .put("hive.parquet.predicate-pushdown-enabled", "false")
                 .put("hive.orc.use-column-names", "true")
                 .put("hive.orc.bloom-filters.enabled", "true")
                 .put("hive.orc.default-bloom-filter-fpp", "0.96")
@@ -235,6 +244,9 @@ public class TestHiveConfig
                 .put("hive.orc.row-data.block.cache.enabled", "true")
                 .put("hive.orc.row-data.block.cache.ttl", "1h")
                 .put("hive.orc.row-data.block.cache.max.weight", "1MB")
+                .put("hive.orc.delete-delta.cache.enabled", "false")
+                .put("hive.orc.delete-delta.cache.ttl", "10m")
+                .put("hive.orc.delete-delta.cache.max.weight", "64MB")
                 .put("hive.orc.lazy-read-small-ranges", "false")
                 .put("hive.rcfile.time-zone", nonDefaultTimeZone().getID())
                 .put("hive.rcfile.writer.validate", "true")
@@ -267,6 +279,8 @@ public class TestHiveConfig
                 .put("hive.file-status-cache-tables", "foo.bar1, foo.bar2")
                 .put("hive.file-status-cache-size", "1000")
                 .put("hive.file-status-cache-expire-time", "30m")
+                .put("hive.file-status-cache-refresh-interval", "10m")
+                .put("hive.file-status-cache-validation-enabled", "true")
                 .put("hive.transaction-heartbeat-interval", "10s")
                 .put("hive.transaction-heartbeat-threads", "10")
                 .put("hive.metastore.thrift.client.ssl.enabled", "true")
@@ -299,6 +313,7 @@ public class TestHiveConfig
                 .setMetastoreDBCacheTtl(new Duration(2, TimeUnit.HOURS))
                 .setMetastoreDBRefreshInterval(new Duration(30, TimeUnit.MINUTES))
                 .setMetastoreCacheMaximumSize(5000)
+                .setMetastoreCachePartitionStatisticsPrefetchEnabled(true)
                 .setPerTransactionMetastoreCacheMaximumSize(500)
                 .setMaxMetastoreRefreshThreads(2500)
                 .setMetastoreSocksProxy(HostAndPort.fromParts("localhost", 1080))
@@ -337,6 +352,8 @@ public class TestHiveConfig
                 .setUseParquetColumnNames(true)
                 .setFailOnCorruptedParquetStatistics(false)
                 .setParquetMaxReadBlockSize(new DataSize(66, Unit.KILOBYTE))
+                .setParquetUseColumnIndex(false)
+                .setParquetPredicatePushdownEnabled(false)
                 .setUseOrcColumnNames(true)
                 .setAssumeCanonicalPartitionKeys(true)
                 .setRcfileTimeZone(nonDefaultTimeZone().getID())
@@ -352,6 +369,7 @@ public class TestHiveConfig
                 .setOrcRowIndexCacheEnabled(true).setOrcRowIndexCacheTtl(new Duration(1, TimeUnit.HOURS)).setOrcRowIndexCacheLimit(100)
                 .setOrcBloomFiltersCacheEnabled(true).setOrcBloomFiltersCacheTtl(new Duration(1, TimeUnit.HOURS)).setOrcBloomFiltersCacheLimit(100)
                 .setOrcRowDataCacheEnabled(true).setOrcRowDataCacheTtl(new Duration(1, TimeUnit.HOURS)).setOrcRowDataCacheMaximumWeight(new DataSize(1, MEGABYTE))
+                .setOrcDeleteDeltaCacheEnabled(false).setOrcDeleteDeltaCacheTtl(new Duration(10, TimeUnit.MINUTES)).setOrcDeleteDeltaCacheMaximumWeight(new DataSize(64, MEGABYTE))
                 .setOrcLazyReadSmallRanges(false)
                 .setRcfileTimeZone(nonDefaultTimeZone().getID())
                 .setRcfileWriterValidate(true)
@@ -384,6 +402,8 @@ public class TestHiveConfig
                 .setFileStatusCacheTables("foo.bar1,foo.bar2")
                 .setFileStatusCacheMaxSize(1000)
                 .setFileStatusCacheExpireAfterWrite(new Duration(30, TimeUnit.MINUTES))
+                .setFileStatusCacheRefreshInterval(new Duration(10, TimeUnit.MINUTES))
+                .setFileStatusCacheValidationEnabled(true)
                 .setHiveTransactionHeartbeatInterval(new Duration(10, TimeUnit.SECONDS))
                 .setHiveTransactionHeartbeatThreads(10)
                 .setTableCreatesWithLocationAllowed(false)
@@ -38,7 +38,9 @@ public class TestOrcFileWriterConfig
                 .setRowGroupMaxRowCount(10_000)
                 .setDictionaryMaxMemory(new DataSize(16, MEGABYTE))
                 .setStringStatisticsLimit(new DataSize(64, BYTE))
-                .setMaxCompressionBufferSize(new DataSize(256, KILOBYTE)));
+                .setMaxCompressionBufferSize(new DataSize(256, KILOBYTE))
+                .setEncodingParallelism(1)
+                .setAsyncStripeFlush(false));
     }
 
     @Test
@@ -52,6 +54,8 @@ public class TestOrcFileWriterConfig
                 .put("hive.orc.writer.dictionary-max-memory", "13MB")
                 .put("hive.orc.writer.string-statistics-limit", "17MB")
                 .put("hive.orc.writer.max-compression-buffer-size", "19MB")
+                .put("hive.orc.writer.encoding-parallelism", "4")
+                .put("hive.orc.writer.async-stripe-flush", "true")
                 .build();
 
         OrcFileWriterConfig expected = new OrcFileWriterConfig()
@@ -61,7 +65,9 @@ public class TestOrcFileWriterConfig
                 .setRowGroupMaxRowCount(11)
                 .setDictionaryMaxMemory(new DataSize(13, MEGABYTE))
                 .setStringStatisticsLimit(new DataSize(17, MEGABYTE))
-                .setMaxCompressionBufferSize(new DataSize(19, MEGABYTE));
+                .setMaxCompressionBufferSize(new DataSize(19, MEGABYTE))
+                .setEncodingParallelism(4)
+                .setAsyncStripeFlush(true);
 
         assertFullMapping(properties, expected);
     }
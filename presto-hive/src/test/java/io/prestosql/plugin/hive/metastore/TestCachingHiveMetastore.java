@@ -14,6 +14,7 @@
 package io.prestosql.plugin.hive.metastore;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import io.airlift.units.Duration;
@@ -29,10 +30,13 @@ import io.prestosql.spi.connector.TableNotFoundException;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
 import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.prestosql.testing.TestingConnectorSession.SESSION;
@@ -40,6 +44,7 @@ import static java.util.concurrent.Executors.newCachedThreadPool;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 @Test(singleThreaded = true)
 public class TestCachingHiveMetastore
@@ -206,6 +211,42 @@ public class TestCachingHiveMetastore
         assertEquals(mockClient.getAccessCount(), 10);
     }
 
+    @Test
+    public void testPrefetchPartitionStatistics()
+    {
+        CachingHiveMetastore prefetchingMetastore = new CachingHiveMetastore(
+                new BridgingHiveMetastore(new ThriftHiveMetastore(new MockMetastoreLocator(mockClient), new ThriftHiveMetastoreConfig())),
+                directExecutor(),
+                directExecutor(),
+                new Duration(6, TimeUnit.MINUTES),
+                new Duration(6, TimeUnit.MINUTES),
+                new Duration(5, TimeUnit.MINUTES),
+                new Duration(1, TimeUnit.MINUTES),
+                1000,
+                false,
+                true);
+        List<String> partitionNames = ImmutableList.of(MockThriftMetastoreClient.TEST_PARTITION_UP1, MockThriftMetastoreClient.TEST_PARTITION_UP2);
+
+        Table table = prefetchingMetastore.getTable(IDENTITY, MockThriftMetastoreClient.TEST_DATABASE, MockThriftMetastoreClient.TEST_TABLE_UP_NAME).get();
+        List<Partition> partitions = prefetchingMetastore.getPartitionsByNames(IDENTITY, MockThriftMetastoreClient.TEST_DATABASE, MockThriftMetastoreClient.TEST_TABLE_UP_NAME, partitionNames).values().stream()
+                .map(Optional::get)
+                .collect(toImmutableList());
+        int accessCount = mockClient.getAccessCount();
+
+        // the statistics were loaded together with the partitions
+        assertEquals(prefetchingMetastore.getPartitionStatistics(IDENTITY, table, partitions).keySet(), ImmutableSet.copyOf(partitionNames));
+        assertEquals(mockClient.getAccessCount(), accessCount);
+
+        // the statistics are not prefetched again while they are cached
+        prefetchingMetastore.getPartitionsByNames(IDENTITY, MockThriftMetastoreClient.TEST_DATABASE, MockThriftMetastoreClient.TEST_TABLE_UP_NAME, partitionNames);
+        assertEquals(mockClient.getAccessCount(), accessCount);
+
+        // writes to the table invalidate the prefetched statistics
+        prefetchingMetastore.invalidateTable(MockThriftMetastoreClient.TEST_DATABASE, MockThriftMetastoreClient.TEST_TABLE_UP_NAME);
+        prefetchingMetastore.getPartitionStatistics(IDENTITY, table, partitions);
+        assertTrue(mockClient.getAccessCount() > accessCount);
+    }
+
     @Test
     public void testListRoles()
             throws Exception
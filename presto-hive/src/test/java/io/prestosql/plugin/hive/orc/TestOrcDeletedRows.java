@@ -15,6 +15,8 @@ package io.prestosql.plugin.hive.orc;
 
 import com.google.common.collect.ImmutableSet;
 import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.prestosql.memory.context.AggregatedMemoryContext;
 import io.prestosql.plugin.hive.DeleteDeltaLocations;
 import io.prestosql.plugin.hive.FileFormatDataSourceStats;
 import io.prestosql.plugin.hive.HiveTestUtils;
@@ -30,13 +32,23 @@ import org.apache.hadoop.mapred.JobConf;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.units.DataSize.Unit.BYTE;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static io.prestosql.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
 import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static java.nio.file.Files.createTempDirectory;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 public class TestOrcDeletedRows
 {
@@ -92,13 +104,140 @@ public class TestOrcDeletedRows
         assertEquals(block.getPositionCount(), 10);
     }
 
+    @Test
+    public void testSharedDeleteDeltaCache()
+    {
+        DeleteDeltaLocations.Builder deleteDeltaLocationsBuilder = DeleteDeltaLocations.builder(partitionDirectory);
+        addDeleteDelta(deleteDeltaLocationsBuilder, 4L, 4L, 0);
+        addDeleteDelta(deleteDeltaLocationsBuilder, 7L, 7L, 0);
+        Optional<DeleteDeltaLocations> deleteDeltaLocations = deleteDeltaLocationsBuilder.build();
+        OrcDeleteDeltaCache deleteDeltaCache = new OrcDeleteDeltaCache(true, new DataSize(1, MEGABYTE), new Duration(1, TimeUnit.HOURS));
+
+        // every split of the bucket masks its rows with the row ids read by the first one
+        for (int split = 0; split < 3; split++) {
+            OrcDeletedRows deletedRows = createOrcDeletedRows(deleteDeltaLocations, deleteDeltaCache);
+            Page testPage = createTestPage(0, 10);
+            Block block = deletedRows.getMaskDeletedRowsFunction(testPage, Optional.empty()).apply(testPage.getBlock(0));
+            Set<Object> validRows = MaterializedResult.resultBuilder(HiveTestUtils.SESSION, BIGINT)
+                    .page(new Page(block))
+                    .build()
+                    .getOnlyColumnAsSet();
+            assertEquals(validRows, ImmutableSet.of(0L, 1L, 3L, 4L, 5L, 7L, 8L, 9L));
+        }
+        assertEquals(deleteDeltaCache.getLoadCount(), 1);
+        assertEquals(deleteDeltaCache.getHitCount(), 2);
+    }
+
+    @Test
+    public void testRewrittenDeleteDeltaIsReadAgain()
+            throws Exception
+    {
+        File tempDir = createTempDirectory(getClass().getName()).toFile();
+        try {
+            File sourceDir = new File(TestOrcDeletedRows.class.getClassLoader().getResource("fullacid_delete_delta_test").toURI());
+            File bucketFile4 = copyBucketFile(sourceDir, tempDir, 4L);
+            File bucketFile7 = copyBucketFile(sourceDir, tempDir, 7L);
+            Path tempPartitionDirectory = new Path(tempDir.toURI().toString());
+            DeleteDeltaLocations.Builder deleteDeltaLocationsBuilder = DeleteDeltaLocations.builder(tempPartitionDirectory);
+            addDeleteDelta(deleteDeltaLocationsBuilder, tempPartitionDirectory, 4L, 4L, 0);
+            addDeleteDelta(deleteDeltaLocationsBuilder, tempPartitionDirectory, 7L, 7L, 0);
+            Optional<DeleteDeltaLocations> deleteDeltaLocations = deleteDeltaLocationsBuilder.build();
+            OrcDeleteDeltaCache deleteDeltaCache = new OrcDeleteDeltaCache(true, new DataSize(1, MEGABYTE), new Duration(1, TimeUnit.HOURS));
+
+            assertEquals(getValidRows(createOrcDeletedRows(deleteDeltaLocations, deleteDeltaCache)), ImmutableSet.of(0L, 1L, 3L, 4L, 5L, 7L, 8L, 9L));
+
+            // the table is written again at the same location, so the file at the same path deletes other rows
+            Files.copy(bucketFile4.toPath(), bucketFile7.toPath(), REPLACE_EXISTING);
+            assertTrue(bucketFile7.setLastModified(bucketFile7.lastModified() + 10_000));
+            assertEquals(getValidRows(createOrcDeletedRows(deleteDeltaLocations, deleteDeltaCache)), ImmutableSet.of(0L, 1L, 3L, 4L, 5L, 6L, 7L, 8L, 9L));
+            assertEquals(deleteDeltaCache.getLoadCount(), 2);
+            assertEquals(deleteDeltaCache.getHitCount(), 0);
+        }
+        finally {
+            deleteRecursively(tempDir.toPath(), ALLOW_INSECURE);
+        }
+    }
+
+    @Test
+    public void testDeleteDeltaTooLargeToCache()
+    {
+        DeleteDeltaLocations.Builder deleteDeltaLocationsBuilder = DeleteDeltaLocations.builder(partitionDirectory);
+        addDeleteDelta(deleteDeltaLocationsBuilder, 4L, 4L, 0);
+        addDeleteDelta(deleteDeltaLocationsBuilder, 7L, 7L, 0);
+        Optional<DeleteDeltaLocations> deleteDeltaLocations = deleteDeltaLocationsBuilder.build();
+        OrcDeleteDeltaCache deleteDeltaCache = new OrcDeleteDeltaCache(true, new DataSize(100, BYTE), new Duration(1, TimeUnit.HOURS));
+
+        // the row ids are merged from the delete deltas by every split, which do not try to cache them again
+        for (int split = 0; split < 2; split++) {
+            AggregatedMemoryContext memoryContext = newSimpleAggregatedMemoryContext();
+            OrcDeletedRows deletedRows = createOrcDeletedRows(deleteDeltaLocations, deleteDeltaCache, memoryContext);
+            assertEquals(getValidRows(deletedRows), ImmutableSet.of(0L, 1L, 3L, 4L, 5L, 7L, 8L, 9L));
+            assertEquals(memoryContext.getBytes(), 0);
+            deletedRows.close();
+        }
+        assertEquals(deleteDeltaCache.getLoadCount(), 1);
+        assertEquals(deleteDeltaCache.getHitCount(), 1);
+    }
+
+    @Test
+    public void testCachedRowIdsMemoryUsage()
+    {
+        DeleteDeltaLocations.Builder deleteDeltaLocationsBuilder = DeleteDeltaLocations.builder(partitionDirectory);
+        addDeleteDelta(deleteDeltaLocationsBuilder, 4L, 4L, 0);
+        addDeleteDelta(deleteDeltaLocationsBuilder, 7L, 7L, 0);
+        OrcDeleteDeltaCache deleteDeltaCache = new OrcDeleteDeltaCache(true, new DataSize(1, MEGABYTE), new Duration(1, TimeUnit.HOURS));
+        AggregatedMemoryContext memoryContext = newSimpleAggregatedMemoryContext();
+
+        OrcDeletedRows deletedRows = createOrcDeletedRows(deleteDeltaLocationsBuilder.build(), deleteDeltaCache, memoryContext);
+        assertEquals(getValidRows(deletedRows), ImmutableSet.of(0L, 1L, 3L, 4L, 5L, 7L, 8L, 9L));
+        assertTrue(memoryContext.getBytes() > 0);
+
+        deletedRows.close();
+        assertEquals(memoryContext.getBytes(), 0);
+    }
+
+    private Set<Object> getValidRows(OrcDeletedRows deletedRows)
+    {
+        Page testPage = createTestPage(0, 10);
+        Block block = deletedRows.getMaskDeletedRowsFunction(testPage, Optional.empty()).apply(testPage.getBlock(0));
+        return MaterializedResult.resultBuilder(HiveTestUtils.SESSION, BIGINT)
+                .page(new Page(block))
+                .build()
+                .getOnlyColumnAsSet();
+    }
+
+    private static File copyBucketFile(File sourceDir, File targetDir, long writeId)
+            throws Exception
+    {
+        String deleteDeltaSubdir = AcidUtils.deleteDeltaSubdir(writeId, writeId, 0);
+        File target = new File(new File(targetDir, deleteDeltaSubdir), "bucket_00000");
+        assertTrue(target.getParentFile().mkdirs());
+        Files.copy(new File(new File(sourceDir, deleteDeltaSubdir), "bucket_00000").toPath(), target.toPath());
+        return target;
+    }
+
     private void addDeleteDelta(DeleteDeltaLocations.Builder deleteDeltaLocationsBuilder, long minWriteId, long maxWriteId, int statementId)
+    {
+        addDeleteDelta(deleteDeltaLocationsBuilder, partitionDirectory, minWriteId, maxWriteId, statementId);
+    }
+
+    private static void addDeleteDelta(DeleteDeltaLocations.Builder deleteDeltaLocationsBuilder, Path partitionDirectory, long minWriteId, long maxWriteId, int statementId)
     {
         Path deleteDeltaPath = new Path(partitionDirectory, AcidUtils.deleteDeltaSubdir(minWriteId, maxWriteId, statementId));
         deleteDeltaLocationsBuilder.addDeleteDelta(deleteDeltaPath, minWriteId, maxWriteId, statementId);
     }
 
     private OrcDeletedRows createOrcDeletedRows(Optional<DeleteDeltaLocations> deleteDeltaLocations)
+    {
+        return createOrcDeletedRows(deleteDeltaLocations, OrcDeleteDeltaCache.CACHE_NOTHING);
+    }
+
+    private OrcDeletedRows createOrcDeletedRows(Optional<DeleteDeltaLocations> deleteDeltaLocations, OrcDeleteDeltaCache deleteDeltaCache)
+    {
+        return createOrcDeletedRows(deleteDeltaLocations, deleteDeltaCache, newSimpleAggregatedMemoryContext());
+    }
+
+    private OrcDeletedRows createOrcDeletedRows(Optional<DeleteDeltaLocations> deleteDeltaLocations, OrcDeleteDeltaCache deleteDeltaCache, AggregatedMemoryContext memoryContext)
     {
         JobConf configuration = new JobConf(new Configuration(false));
         OrcDeleteDeltaPageSourceFactory pageSourceFactory = new OrcDeleteDeltaPageSourceFactory(
@@ -121,7 +260,9 @@ public class TestOrcDeletedRows
                 "test",
                 configuration,
                 HiveTestUtils.HDFS_ENVIRONMENT,
-                Optional.empty());
+                Optional.empty(),
+                deleteDeltaCache,
+                memoryContext);
     }
 
     private Page createTestPage(int originalTransactionStart, int originalTransactionEnd)
@@ -0,0 +1,266 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.hive.parquet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+import io.airlift.units.DataSize;
+import io.prestosql.parquet.ParquetReaderOptions;
+import io.prestosql.plugin.hive.FileFormatDataSourceStats;
+import io.prestosql.plugin.hive.HiveColumnHandle;
+import io.prestosql.spi.Page;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.connector.ConnectorPageSource;
+import io.prestosql.spi.predicate.Domain;
+import io.prestosql.spi.predicate.Range;
+import io.prestosql.spi.predicate.TupleDomain;
+import io.prestosql.spi.predicate.ValueSet;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.joda.time.DateTimeZone;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.IntPredicate;
+
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static io.prestosql.plugin.hive.HiveColumnHandle.ColumnType.REGULAR;
+import static io.prestosql.plugin.hive.HiveTestUtils.HDFS_ENVIRONMENT;
+import static io.prestosql.plugin.hive.HiveTestUtils.TYPE_MANAGER;
+import static io.prestosql.plugin.hive.HiveType.HIVE_INT;
+import static io.prestosql.plugin.hive.HiveType.HIVE_LONG;
+import static io.prestosql.plugin.hive.HiveType.HIVE_STRING;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestParquetSelectiveReader
+{
+    private static final int ROW_COUNT = 10_000;
+    private static final MessageType SCHEMA = MessageTypeParser.parseMessageType("" +
+            "message test { " +
+            "required int64 id; " +
+            "optional binary name (UTF8); " +
+            "optional int32 category; " +
+            "}");
+
+    private static final HiveColumnHandle ID = new HiveColumnHandle("id", HIVE_LONG, BIGINT.getTypeSignature(), 0, REGULAR, Optional.empty());
+    private static final HiveColumnHandle NAME = new HiveColumnHandle("name", HIVE_STRING, VARCHAR.getTypeSignature(), 1, REGULAR, Optional.empty());
+    private static final HiveColumnHandle CATEGORY = new HiveColumnHandle("category", HIVE_INT, INTEGER.getTypeSignature(), 2, REGULAR, Optional.empty());
+    private static final List<HiveColumnHandle> COLUMNS = ImmutableList.of(ID, NAME, CATEGORY);
+
+    private File tempDirectory;
+    private File file;
+
+    @BeforeClass
+    public void setUp()
+            throws IOException
+    {
+        tempDirectory = Files.createTempDir();
+        file = new File(tempDirectory, "data.parquet");
+        // small pages, so that the column indexes prune pages within the row group
+        try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(new Path(file.toURI()))
+                .withType(SCHEMA)
+                .withConf(new Configuration())
+                .withDictionaryEncoding(true)
+                .withPageRowCountLimit(100)
+                .build()) {
+            SimpleGroupFactory groupFactory = new SimpleGroupFactory(SCHEMA);
+            for (int row = 0; row < ROW_COUNT; row++) {
+                Group group = groupFactory.newGroup().append("id", (long) row);
+                if (row % 13 != 0) {
+                    group.append("name", name(row));
+                }
+                if (row % 11 != 0) {
+                    group.append("category", category(row));
+                }
+                writer.write(group);
+            }
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(tempDirectory.toPath(), ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testRangeFilter()
+            throws IOException
+    {
+        TupleDomain<HiveColumnHandle> predicate = TupleDomain.withColumnDomains(ImmutableMap.of(
+                ID, Domain.create(ValueSet.ofRanges(Range.range(BIGINT, 4_050L, true, 4_349L, true)), false)));
+        assertRows(predicate, row -> row >= 4_050 && row <= 4_349);
+    }
+
+    @Test
+    public void testColumnIndexSkipsPages()
+            throws IOException
+    {
+        TupleDomain<HiveColumnHandle> predicate = TupleDomain.withColumnDomains(ImmutableMap.of(
+                ID, Domain.singleValue(BIGINT, 7_777L)));
+        assertTrue(readBytes(predicate, true) < readBytes(predicate, false) / 2);
+    }
+
+    @Test
+    public void testDictionaryFilter()
+            throws IOException
+    {
+        TupleDomain<HiveColumnHandle> predicate = TupleDomain.withColumnDomains(ImmutableMap.of(
+                NAME, Domain.multipleValues(VARCHAR, ImmutableList.of(utf8Slice(name(3)), utf8Slice(name(17))))));
+        assertRows(predicate, row -> row % 13 != 0 && (row % 50 == 3 || row % 50 == 17));
+    }
+
+    @Test
+    public void testMultipleFilters()
+            throws IOException
+    {
+        TupleDomain<HiveColumnHandle> predicate = TupleDomain.withColumnDomains(ImmutableMap.of(
+                ID, Domain.create(ValueSet.ofRanges(Range.lessThan(BIGINT, 5_000L)), false),
+                CATEGORY, Domain.create(ValueSet.of(INTEGER, 2L, 5L), true),
+                NAME, Domain.create(ValueSet.ofRanges(Range.greaterThan(VARCHAR, utf8Slice(name(40)))), true)));
+        assertRows(predicate, row -> row < 5_000
+                && (row % 11 == 0 || category(row) == 2 || category(row) == 5)
+                && (row % 13 == 0 || row % 50 > 40 || (row % 50 >= 5 && row % 50 <= 9)));
+    }
+
+    @Test
+    public void testNullFilter()
+            throws IOException
+    {
+        TupleDomain<HiveColumnHandle> predicate = TupleDomain.withColumnDomains(ImmutableMap.of(CATEGORY, Domain.onlyNull(INTEGER)));
+        assertRows(predicate, row -> row % 11 == 0);
+    }
+
+    @Test
+    public void testNoMatch()
+            throws IOException
+    {
+        TupleDomain<HiveColumnHandle> predicate = TupleDomain.withColumnDomains(ImmutableMap.of(
+                NAME, Domain.singleValue(VARCHAR, utf8Slice("missing"))));
+        assertRows(predicate, row -> false);
+    }
+
+    private void assertRows(TupleDomain<HiveColumnHandle> predicate, IntPredicate expectedRows)
+            throws IOException
+    {
+        List<List<Object>> expected = new ArrayList<>();
+        for (int row = 0; row < ROW_COUNT; row++) {
+            if (expectedRows.test(row)) {
+                expected.add(Arrays.asList((long) row, row % 13 == 0 ? null : name(row), row % 11 == 0 ? null : (long) category(row)));
+            }
+        }
+        assertEquals(readRows(predicate, true, true), expected);
+        assertEquals(readRows(predicate, true, false), expected);
+
+        // without filtering while decoding, the rows not matching the predicate are left to the engine
+        List<List<Object>> rows = readRows(predicate, false, true);
+        assertTrue(rows.containsAll(expected));
+    }
+
+    private List<List<Object>> readRows(TupleDomain<HiveColumnHandle> predicate, boolean predicatePushdownEnabled, boolean useColumnIndex)
+            throws IOException
+    {
+        List<List<Object>> rows = new ArrayList<>();
+        try (ConnectorPageSource pageSource = createPageSource(predicate, predicatePushdownEnabled, useColumnIndex)) {
+            while (!pageSource.isFinished()) {
+                Page page = pageSource.getNextPage();
+                if (page == null) {
+                    continue;
+                }
+                // read the columns in reverse, so that lazy blocks are loaded after the filter columns
+                Block category = page.getBlock(2).getLoadedBlock();
+                Block name = page.getBlock(1).getLoadedBlock();
+                Block id = page.getBlock(0).getLoadedBlock();
+                for (int position = 0; position < page.getPositionCount(); position++) {
+                    rows.add(Arrays.asList(
+                            BIGINT.getLong(id, position),
+                            name.isNull(position) ? null : VARCHAR.getSlice(name, position).toStringUtf8(),
+                            category.isNull(position) ? null : INTEGER.getLong(category, position)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long readBytes(TupleDomain<HiveColumnHandle> predicate, boolean useColumnIndex)
+            throws IOException
+    {
+        try (ConnectorPageSource pageSource = createPageSource(predicate, true, useColumnIndex)) {
+            while (!pageSource.isFinished()) {
+                Page page = pageSource.getNextPage();
+                if (page != null) {
+                    page.getLoadedPage();
+                }
+            }
+            return pageSource.getCompletedBytes();
+        }
+    }
+
+    private ConnectorPageSource createPageSource(TupleDomain<HiveColumnHandle> predicate, boolean predicatePushdownEnabled, boolean useColumnIndex)
+    {
+        return ParquetPageSourceFactory.createParquetPageSource(
+                HDFS_ENVIRONMENT,
+                "test",
+                new Configuration(),
+                new Path(file.toURI()),
+                0,
+                file.length(),
+                file.length(),
+                new Properties(),
+                COLUMNS,
+                true,
+                true,
+                new ParquetReaderOptions()
+                        .withMaxReadBlockSize(new DataSize(16, MEGABYTE))
+                        .withUseColumnIndex(useColumnIndex),
+                predicatePushdownEnabled,
+                TYPE_MANAGER,
+                predicate,
+                new FileFormatDataSourceStats(),
+                DateTimeZone.UTC);
+    }
+
+    private static String name(int row)
+    {
+        return "name" + (row % 50);
+    }
+
+    private static int category(int row)
+    {
+        return row % 7;
+    }
+}
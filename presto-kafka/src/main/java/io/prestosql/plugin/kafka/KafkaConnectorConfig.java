@@ -23,6 +23,7 @@ import io.airlift.units.MinDuration;
 import io.prestosql.spi.HostAddress;
 import io.prestosql.spi.function.Mandatory;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
@@ -70,6 +71,17 @@ public class KafkaConnectorConfig
      */
     private boolean hideInternalColumns = true;
 
+    /**
+     * Maximum number of messages read by a single split. Larger partitions are read by several splits in parallel.
+     */
+    private long messagesPerSplit = 100_000;
+
+    /**
+     * Whether an upper bound on _timestamp limits the offsets read. Only safe for topics whose message
+     * timestamps increase with the offset, such as topics using LogAppendTime.
+     */
+    private boolean timestampUpperBoundPushDownEnabled;
+
     /**
      * the path of krb5.conf ,used for develop
      */
@@ -342,6 +354,31 @@ public class KafkaConnectorConfig
         return this;
     }
 
+    @Min(1)
+    public long getMessagesPerSplit()
+    {
+        return messagesPerSplit;
+    }
+
+    @Config("kafka.messages-per-split")
+    public KafkaConnectorConfig setMessagesPerSplit(long messagesPerSplit)
+    {
+        this.messagesPerSplit = messagesPerSplit;
+        return this;
+    }
+
+    public boolean isTimestampUpperBoundPushDownEnabled()
+    {
+        return timestampUpperBoundPushDownEnabled;
+    }
+
+    @Config("kafka.timestamp-upper-bound-force-push-down-enabled")
+    public KafkaConnectorConfig setTimestampUpperBoundPushDownEnabled(boolean timestampUpperBoundPushDownEnabled)
+    {
+        this.timestampUpperBoundPushDownEnabled = timestampUpperBoundPushDownEnabled;
+        return this;
+    }
+
     public static ImmutableSet<HostAddress> parseNodes(String nodes)
     {
         Splitter splitter = Splitter.on(',').omitEmptyStrings().trimResults();
@@ -25,15 +25,19 @@ import io.prestosql.spi.connector.ConnectorSession;
 import io.prestosql.spi.connector.ConnectorTableHandle;
 import io.prestosql.spi.connector.ConnectorTableMetadata;
 import io.prestosql.spi.connector.ConnectorTableProperties;
+import io.prestosql.spi.connector.Constraint;
+import io.prestosql.spi.connector.ConstraintApplicationResult;
 import io.prestosql.spi.connector.SchemaTableName;
 import io.prestosql.spi.connector.SchemaTablePrefix;
 import io.prestosql.spi.connector.TableNotFoundException;
+import io.prestosql.spi.predicate.TupleDomain;
 
 import javax.inject.Inject;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
@@ -50,6 +54,11 @@ public class KafkaMetadata
         implements ConnectorMetadata
 {
     private static final Logger LOG = Logger.get(KafkaMetadata.class);
+    private static final Set<String> PUSHABLE_INTERNAL_COLUMNS = ImmutableSet.of(
+            KafkaInternalFieldDescription.PARTITION_ID_FIELD.getColumnName(),
+            KafkaInternalFieldDescription.PARTITION_OFFSET_FIELD.getColumnName(),
+            KafkaInternalFieldDescription.TIMESTAMP_FIELD.getColumnName());
+
     private final boolean hideInternalColumns;
     private final Map<SchemaTableName, KafkaTopicDescription> tableDescriptions;
 
@@ -228,6 +237,36 @@ public class KafkaMetadata
         return new ConnectorTableMetadata(schemaTableName, builder.build());
     }
 
+    @Override
+    public Optional<ConstraintApplicationResult<ConnectorTableHandle>> applyFilter(ConnectorSession session, ConnectorTableHandle table, Constraint constraint)
+    {
+        KafkaTableHandle handle = convertTableHandle(table);
+
+        // only predicates on the partition, offset and timestamp of messages limit what is read
+        TupleDomain<ColumnHandle> pushable = constraint.getSummary().filter((column, domain) -> {
+            KafkaColumnHandle kafkaColumn = convertColumnHandle(column);
+            return kafkaColumn.isInternal() && PUSHABLE_INTERNAL_COLUMNS.contains(kafkaColumn.getName());
+        });
+        TupleDomain<ColumnHandle> oldDomain = handle.getConstraint();
+        TupleDomain<ColumnHandle> newDomain = oldDomain.intersect(pushable);
+        if (oldDomain.equals(newDomain)) {
+            return Optional.empty();
+        }
+
+        handle = new KafkaTableHandle(
+                handle.getSchemaName(),
+                handle.getTableName(),
+                handle.getTopicName(),
+                handle.getKeyDataFormat(),
+                handle.getMessageDataFormat(),
+                handle.getKeyDataSchemaLocation(),
+                handle.getMessageDataSchemaLocation(),
+                newDomain);
+
+        // splits are cut at offsets, so the predicate is still applied to the messages read
+        return Optional.of(new ConstraintApplicationResult<>(handle, constraint.getSummary()));
+    }
+
     @Override
     public boolean usesLegacyTableLayouts()
     {
@@ -237,6 +237,12 @@ public class KafkaRecordSet
                         case SEGMENT_END_FIELD:
                             currentRowValuesMap.put(columnHandle, longValueProvider(split.getEnd()));
                             break;
+                        case TIMESTAMP_FIELD:
+                            // messages of the pre 0.10 format carry no timestamp
+                            if (record.timestamp() != ConsumerRecord.NO_TIMESTAMP) {
+                                currentRowValuesMap.put(columnHandle, longValueProvider(record.timestamp()));
+                            }
+                            break;
                         default:
                             throw new IllegalArgumentException("unknown internal field " + fieldDescription);
                     }
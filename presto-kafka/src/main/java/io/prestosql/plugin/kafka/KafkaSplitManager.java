@@ -13,6 +13,7 @@
  */
 package io.prestosql.plugin.kafka;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -20,6 +21,7 @@ import com.google.common.io.CharStreams;
 import io.airlift.log.Logger;
 import io.prestosql.spi.HostAddress;
 import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.connector.ColumnHandle;
 import io.prestosql.spi.connector.ConnectorSession;
 import io.prestosql.spi.connector.ConnectorSplit;
 import io.prestosql.spi.connector.ConnectorSplitManager;
@@ -27,12 +29,18 @@ import io.prestosql.spi.connector.ConnectorSplitSource;
 import io.prestosql.spi.connector.ConnectorTableHandle;
 import io.prestosql.spi.connector.ConnectorTransactionHandle;
 import io.prestosql.spi.connector.FixedSplitSource;
+import io.prestosql.spi.predicate.Domain;
+import io.prestosql.spi.predicate.Marker;
+import io.prestosql.spi.predicate.Range;
+import io.prestosql.spi.predicate.SortedRangeSet;
+import io.prestosql.spi.predicate.TupleDomain;
 import kafka.api.PartitionOffsetRequestInfo;
 import kafka.common.TopicAndPartition;
 import kafka.javaapi.OffsetRequest;
 import kafka.javaapi.OffsetResponse;
 import kafka.javaapi.consumer.SimpleConsumer;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
 import org.apache.kafka.common.Node;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
@@ -48,10 +56,16 @@ import java.net.URI;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static io.prestosql.plugin.kafka.KafkaErrorCode.KAFKA_SPLIT_ERROR;
+import static io.prestosql.plugin.kafka.KafkaInternalFieldDescription.PARTITION_ID_FIELD;
+import static io.prestosql.plugin.kafka.KafkaInternalFieldDescription.PARTITION_OFFSET_FIELD;
+import static io.prestosql.plugin.kafka.KafkaInternalFieldDescription.TIMESTAMP_FIELD;
 import static io.prestosql.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
 import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -68,6 +82,8 @@ public class KafkaSplitManager
 
     private final KafkaSimpleConsumerManager consumerManager;
     private final Set<HostAddress> nodes;
+    private final long messagesPerSplit;
+    private final boolean timestampUpperBoundPushDownEnabled;
 
     @Inject
     public KafkaSplitManager(
@@ -78,18 +94,33 @@ public class KafkaSplitManager
 
         requireNonNull(kafkaConnectorConfig, "kafkaConfig is null");
         this.nodes = ImmutableSet.copyOf(kafkaConnectorConfig.getNodes());
+        this.messagesPerSplit = kafkaConnectorConfig.getMessagesPerSplit();
+        this.timestampUpperBoundPushDownEnabled = kafkaConnectorConfig.isTimestampUpperBoundPushDownEnabled();
     }
 
     @Override
     public ConnectorSplitSource getSplits(ConnectorTransactionHandle transaction, ConnectorSession session, ConnectorTableHandle table, SplitSchedulingStrategy splitSchedulingStrategy)
     {
         KafkaTableHandle kafkaTableHandle = (KafkaTableHandle) table;
+        if (kafkaTableHandle.getConstraint().isNone()) {
+            return new FixedSplitSource(ImmutableList.of());
+        }
+        Map<String, Domain> domains = getInternalColumnDomains(kafkaTableHandle.getConstraint());
+        Optional<Domain> partitionIdDomain = Optional.ofNullable(domains.get(PARTITION_ID_FIELD.getColumnName()));
+        Optional<Domain> offsetDomain = Optional.ofNullable(domains.get(PARTITION_OFFSET_FIELD.getColumnName()));
+        // messages without a timestamp may be stored at any offset
+        Optional<Domain> timestampDomain = Optional.ofNullable(domains.get(TIMESTAMP_FIELD.getColumnName()))
+                .filter(domain -> !domain.isNullAllowed());
+
         try (KafkaConsumer<ByteBuffer, ByteBuffer> kafkaConsumer = consumerManager.getSaslConsumer(selectRandom(nodes))) {
             List<PartitionInfo> partitionInfos = kafkaConsumer.partitionsFor(kafkaTableHandle.getTopicName());
 
             ImmutableList.Builder<ConnectorSplit> splits = ImmutableList.builder();
 
             for (PartitionInfo partitionInfo : partitionInfos) {
+                if (partitionIdDomain.isPresent() && !partitionIdDomain.get().includesNullableValue((long) partitionInfo.partition())) {
+                    continue;
+                }
                 log.debug("Adding Partition %s/%s", partitionInfo.topic(), partitionInfo.partition());
                 Node leader = partitionInfo.leader();
                 HostAddress partitionLeader = HostAddress.fromParts(leader.host(), leader.port());
@@ -97,17 +128,38 @@ public class KafkaSplitManager
                 kafkaConsumer.assign(ImmutableList.of(topicPartition));
                 long beginOffset = kafkaConsumer.beginningOffsets(ImmutableList.of(topicPartition)).values().iterator().next();
                 long endOffset = kafkaConsumer.endOffsets(ImmutableList.of(topicPartition)).values().iterator().next();
-                KafkaSplit split = new KafkaSplit(
-                        topicPartition.topic(),
-                        kafkaTableHandle.getKeyDataFormat(),
-                        kafkaTableHandle.getMessageDataFormat(),
-                        kafkaTableHandle.getKeyDataSchemaLocation().map(KafkaSplitManager::readSchema),
-                        kafkaTableHandle.getMessageDataSchemaLocation().map(KafkaSplitManager::readSchema),
-                        topicPartition.partition(),
-                        beginOffset,
-                        endOffset,
-                        partitionLeader);
-                splits.add(split);
+
+                long start = beginOffset;
+                long end = endOffset;
+                if (offsetDomain.isPresent()) {
+                    start = Math.max(start, getLowerBound(offsetDomain.get()).orElse(start));
+                    end = Math.min(end, getUpperBound(offsetDomain.get()).orElse(end));
+                }
+                if (timestampDomain.isPresent()) {
+                    OptionalLong lowerBound = getLowerBound(timestampDomain.get());
+                    if (lowerBound.isPresent()) {
+                        start = Math.max(start, findOffsetForTime(kafkaConsumer, topicPartition, lowerBound.getAsLong()).orElse(endOffset));
+                    }
+                    OptionalLong upperBound = getUpperBound(timestampDomain.get());
+                    if (timestampUpperBoundPushDownEnabled && upperBound.isPresent()) {
+                        end = Math.min(end, findOffsetForTime(kafkaConsumer, topicPartition, upperBound.getAsLong()).orElse(endOffset));
+                    }
+                }
+
+                // large partitions are read by several splits in parallel
+                for (long splitStart = start; splitStart < end; splitStart += messagesPerSplit) {
+                    KafkaSplit split = new KafkaSplit(
+                            topicPartition.topic(),
+                            kafkaTableHandle.getKeyDataFormat(),
+                            kafkaTableHandle.getMessageDataFormat(),
+                            kafkaTableHandle.getKeyDataSchemaLocation().map(KafkaSplitManager::readSchema),
+                            kafkaTableHandle.getMessageDataSchemaLocation().map(KafkaSplitManager::readSchema),
+                            topicPartition.partition(),
+                            splitStart,
+                            Math.min(end, splitStart + messagesPerSplit),
+                            partitionLeader);
+                    splits.add(split);
+                }
             }
 
             return new FixedSplitSource(splits.build());
@@ -120,6 +172,63 @@ public class KafkaSplitManager
         }
     }
 
+    private static Map<String, Domain> getInternalColumnDomains(TupleDomain<ColumnHandle> constraint)
+    {
+        ImmutableMap.Builder<String, Domain> domains = ImmutableMap.builder();
+        constraint.getDomains().ifPresent(columnDomains -> columnDomains.forEach((column, domain) ->
+                domains.put(((KafkaColumnHandle) column).getName(), domain)));
+        return domains.build();
+    }
+
+    /**
+     * Returns the earliest offset of a message with a timestamp at or after the given one, if there is any.
+     */
+    private static OptionalLong findOffsetForTime(KafkaConsumer<ByteBuffer, ByteBuffer> kafkaConsumer, TopicPartition topicPartition, long timestamp)
+    {
+        OffsetAndTimestamp offset = kafkaConsumer.offsetsForTimes(ImmutableMap.of(topicPartition, timestamp)).get(topicPartition);
+        return offset == null ? OptionalLong.empty() : OptionalLong.of(offset.offset());
+    }
+
+    /**
+     * Inclusive lower bound of a domain of a bigint or timestamp column.
+     */
+    @VisibleForTesting
+    static OptionalLong getLowerBound(Domain domain)
+    {
+        if (domain.getValues().isNone()) {
+            return OptionalLong.of(Long.MAX_VALUE);
+        }
+        if (!(domain.getValues() instanceof SortedRangeSet)) {
+            return OptionalLong.empty();
+        }
+        Range span = domain.getValues().getRanges().getSpan();
+        if (span.isLowUnbounded()) {
+            return OptionalLong.empty();
+        }
+        long value = (long) span.getLowValue().get();
+        return OptionalLong.of(span.getLow().getBound() == Marker.Bound.EXACTLY || value == Long.MAX_VALUE ? value : value + 1);
+    }
+
+    /**
+     * Exclusive upper bound of a domain of a bigint or timestamp column.
+     */
+    @VisibleForTesting
+    static OptionalLong getUpperBound(Domain domain)
+    {
+        if (domain.getValues().isNone()) {
+            return OptionalLong.of(Long.MIN_VALUE);
+        }
+        if (!(domain.getValues() instanceof SortedRangeSet)) {
+            return OptionalLong.empty();
+        }
+        Range span = domain.getValues().getRanges().getSpan();
+        if (span.isHighUnbounded()) {
+            return OptionalLong.empty();
+        }
+        long value = (long) span.getHighValue().get();
+        return OptionalLong.of(span.getHigh().getBound() == Marker.Bound.BELOW || value == Long.MAX_VALUE ? value : value + 1);
+    }
+
     private static String readSchema(String dataSchemaLocation)
     {
         InputStream inputStream = null;
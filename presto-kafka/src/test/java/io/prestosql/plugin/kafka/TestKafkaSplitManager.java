@@ -0,0 +1,61 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.kafka;
+
+import com.google.common.collect.ImmutableList;
+import io.prestosql.spi.predicate.Domain;
+import io.prestosql.spi.predicate.Range;
+import io.prestosql.spi.predicate.ValueSet;
+import org.testng.annotations.Test;
+
+import java.util.OptionalLong;
+
+import static io.prestosql.plugin.kafka.KafkaSplitManager.getLowerBound;
+import static io.prestosql.plugin.kafka.KafkaSplitManager.getUpperBound;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static org.testng.Assert.assertEquals;
+
+public class TestKafkaSplitManager
+{
+    @Test
+    public void testOffsetBounds()
+    {
+        // _partition_offset BETWEEN 10 AND 20
+        Domain between = Domain.create(ValueSet.ofRanges(Range.range(BIGINT, 10L, true, 20L, true)), false);
+        assertEquals(getLowerBound(between), OptionalLong.of(10));
+        assertEquals(getUpperBound(between), OptionalLong.of(21));
+
+        // _partition_offset > 10 AND _partition_offset < 20
+        Domain exclusive = Domain.create(ValueSet.ofRanges(Range.range(BIGINT, 10L, false, 20L, false)), false);
+        assertEquals(getLowerBound(exclusive), OptionalLong.of(11));
+        assertEquals(getUpperBound(exclusive), OptionalLong.of(20));
+
+        // _partition_offset IN (5, 42) reads the span of the values
+        Domain values = Domain.multipleValues(BIGINT, ImmutableList.of(5L, 42L));
+        assertEquals(getLowerBound(values), OptionalLong.of(5));
+        assertEquals(getUpperBound(values), OptionalLong.of(43));
+
+        Domain greaterThan = Domain.create(ValueSet.ofRanges(Range.greaterThanOrEqual(BIGINT, 7L)), false);
+        assertEquals(getLowerBound(greaterThan), OptionalLong.of(7));
+        assertEquals(getUpperBound(greaterThan), OptionalLong.empty());
+
+        assertEquals(getLowerBound(Domain.all(BIGINT)), OptionalLong.empty());
+        assertEquals(getUpperBound(Domain.all(BIGINT)), OptionalLong.empty());
+
+        // no value matches, so the bounds describe an empty range
+        Domain none = Domain.onlyNull(BIGINT);
+        assertEquals(getLowerBound(none), OptionalLong.of(Long.MAX_VALUE));
+        assertEquals(getUpperBound(none), OptionalLong.of(Long.MIN_VALUE));
+    }
+}
@@ -59,6 +59,7 @@ import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.util.concurrent.Futures.immediateFuture;
 import static io.airlift.concurrent.MoreFutures.whenAnyCompleteCancelOthers;
 import static io.prestosql.execution.scheduler.NodeSchedulerConfig.NetworkTopologyType;
+import static io.prestosql.execution.scheduler.NodeSchedulerConfig.SoftAffinityMode;
 import static io.prestosql.metadata.NodeState.ACTIVE;
 import static java.util.Objects.requireNonNull;
 
@@ -81,6 +82,9 @@ public class NodeScheduler
     private final boolean optimizedLocalScheduling;
     private final NodeTaskMap nodeTaskMap;
     private final boolean useNetworkTopology;
+    private final SoftAffinityMode softAffinityMode;
+    private final double softAffinityLoadFactor;
+    private final int softAffinityCandidates;
 
     @Inject
     public NodeScheduler(NetworkTopology networkTopology, InternalNodeManager nodeManager, NodeSchedulerConfig config, NodeTaskMap nodeTaskMap)
@@ -105,6 +109,9 @@ public class NodeScheduler
         this.nodeTaskMap = requireNonNull(nodeTaskMap, "nodeTaskMap is null");
         checkArgument(maxSplitsPerNode >= maxPendingSplitsPerTask, "maxSplitsPerNode must be > maxPendingSplitsPerTask");
         this.useNetworkTopology = !config.getNetworkTopology().equals(NetworkTopologyType.LEGACY);
+        this.softAffinityMode = config.getSoftAffinityMode();
+        this.softAffinityLoadFactor = config.getSoftAffinityLoadFactor();
+        this.softAffinityCandidates = config.getSoftAffinityCandidates();
 
         ImmutableList.Builder<CounterStat> builder = ImmutableList.builder();
         if (useNetworkTopology) {
@@ -208,6 +215,21 @@ public class NodeScheduler
             defaultNodeSelector = new SimpleNodeSelector(nodeManager, nodeTaskMap, includeCoordinator, nodeMap, minCandidates, maxSplitsPerNode, maxPendingSplitsPerTask, optimizedLocalScheduling, feederScheduledNodes);
         }
 
+        if (softAffinityMode != SoftAffinityMode.DISABLED) {
+            defaultNodeSelector = new SoftAffinityNodeSelector(
+                    nodeManager,
+                    nodeTaskMap,
+                    includeCoordinator,
+                    nodeMap,
+                    maxSplitsPerNode,
+                    maxPendingSplitsPerTask,
+                    optimizedLocalScheduling,
+                    softAffinityMode,
+                    softAffinityLoadFactor,
+                    softAffinityCandidates,
+                    defaultNodeSelector);
+        }
+
         if (PropertyService.getBooleanProperty(HetuConstant.SPLIT_CACHE_MAP_ENABLED)) {
             return new SplitCacheAwareNodeSelector(
                     nodeManager,
@@ -19,6 +19,7 @@ import io.airlift.configuration.DefunctConfig;
 import io.airlift.configuration.LegacyConfig;
 import io.airlift.units.Duration;
 
+import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
@@ -45,6 +46,9 @@ public class NodeSchedulerConfig
 
     private Duration allowedNoMatchingNodePeriod = new Duration(2, TimeUnit.MINUTES);
     private NodeAllocatorType nodeAllocatorType = NodeAllocatorType.BIN_PACKING;
+    private SoftAffinityMode softAffinityMode = SoftAffinityMode.DISABLED;
+    private double softAffinityLoadFactor = 1.25;
+    private int softAffinityCandidates = 2;
 
     @NotNull
     public String getNetworkTopology()
@@ -164,4 +168,73 @@ public class NodeSchedulerConfig
                 throw new IllegalArgumentException("Unknown node allocator type: " + nodeAllocatorType);
         }
     }
+
+    public enum SoftAffinityMode
+    {
+        DISABLED,
+        /**
+         * All splits of a file prefer the same worker
+         */
+        FILE,
+        /**
+         * Every split of a file prefers its own worker, chosen by the file and the start of the split
+         */
+        SPLIT
+    }
+
+    @NotNull
+    public SoftAffinityMode getSoftAffinityMode()
+    {
+        return softAffinityMode;
+    }
+
+    @Config("node-scheduler.soft-affinity-mode")
+    @ConfigDescription("Schedule the splits of a file on the same worker in every query, so that the worker caches of the file are reused: disabled, file or split")
+    public NodeSchedulerConfig setSoftAffinityMode(String softAffinityMode)
+    {
+        this.softAffinityMode = toSoftAffinityMode(softAffinityMode);
+        return this;
+    }
+
+    private static SoftAffinityMode toSoftAffinityMode(String softAffinityMode)
+    {
+        switch (softAffinityMode.toLowerCase(ENGLISH)) {
+            case "disabled":
+                return SoftAffinityMode.DISABLED;
+            case "file":
+                return SoftAffinityMode.FILE;
+            case "split":
+                return SoftAffinityMode.SPLIT;
+            default:
+                throw new IllegalArgumentException("Unknown soft affinity mode: " + softAffinityMode);
+        }
+    }
+
+    @DecimalMin("1.0")
+    public double getSoftAffinityLoadFactor()
+    {
+        return softAffinityLoadFactor;
+    }
+
+    @Config("node-scheduler.soft-affinity-load-factor")
+    @ConfigDescription("Maximum split count of the preferred worker of a split, relative to the average split count of the workers")
+    public NodeSchedulerConfig setSoftAffinityLoadFactor(double softAffinityLoadFactor)
+    {
+        this.softAffinityLoadFactor = softAffinityLoadFactor;
+        return this;
+    }
+
+    @Min(1)
+    public int getSoftAffinityCandidates()
+    {
+        return softAffinityCandidates;
+    }
+
+    @Config("node-scheduler.soft-affinity-candidates")
+    @ConfigDescription("Number of preferred workers tried for a split before it is scheduled on any worker")
+    public NodeSchedulerConfig setSoftAffinityCandidates(int softAffinityCandidates)
+    {
+        this.softAffinityCandidates = softAffinityCandidates;
+        return this;
+    }
 }
@@ -0,0 +1,383 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.execution.scheduler;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimap;
+import com.google.common.hash.HashFunction;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.prestosql.execution.NodeTaskMap;
+import io.prestosql.execution.RemoteTask;
+import io.prestosql.execution.SqlStageExecution;
+import io.prestosql.execution.scheduler.NodeSchedulerConfig.SoftAffinityMode;
+import io.prestosql.metadata.InternalNode;
+import io.prestosql.metadata.InternalNodeManager;
+import io.prestosql.metadata.Split;
+import io.prestosql.spi.connector.ConnectorSplit;
+import sun.reflect.generics.reflectiveObjects.NotImplementedException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.google.common.collect.Maps.immutableEntry;
+import static com.google.common.hash.Hashing.murmur3_128;
+import static io.airlift.concurrent.MoreFutures.whenAnyCompleteCancelOthers;
+import static io.prestosql.execution.scheduler.NodeScheduler.calculateLowWatermark;
+import static io.prestosql.execution.scheduler.NodeScheduler.randomizedNodes;
+import static io.prestosql.execution.scheduler.NodeScheduler.selectDistributionNodes;
+import static io.prestosql.execution.scheduler.NodeScheduler.selectExactNodes;
+import static io.prestosql.execution.scheduler.NodeScheduler.selectNodes;
+import static io.prestosql.execution.scheduler.NodeScheduler.toWhenHasSplitQueueSpaceFuture;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparingLong;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Schedules the splits of a file on the same worker in every query, so the caches a worker keeps for
+ * the files it reads, like the ORC file tail, stripe footer and row index caches, are hit by the next
+ * scan of the file. Files are mapped to workers by a consistent hash ring, so only the files of a worker
+ * which joins or leaves the cluster move to other workers.
+ * <p>
+ * The load of a worker is bounded: a worker only takes a split while its split count stays within the
+ * load factor times the average split count of the workers, otherwise the next worker on the ring is
+ * tried. Splits whose candidate workers are all above the bound, and splits which are not remotely
+ * accessible or do not expose their file, are scheduled by the default node selector. So are splits
+ * stored on a worker when optimized local scheduling is enabled. When the split queues of all candidate
+ * workers are full, the split waits for queue space on them.
+ * <p>
+ * Stages which reuse the splits of another table scan or feed a CTE record the workers of their splits
+ * in the default node selector, so all their splits are scheduled by it.
+ */
+public class SoftAffinityNodeSelector
+        implements NodeSelector
+{
+    private static final HashFunction HASH_FUNCTION = murmur3_128();
+    private static final int VIRTUAL_NODES_PER_NODE = 128;
+
+    private final InternalNodeManager nodeManager;
+    private final NodeTaskMap nodeTaskMap;
+    private final boolean includeCoordinator;
+    private final AtomicReference<Supplier<NodeMap>> nodeMap;
+    private final int maxSplitsPerNode;
+    private final int maxPendingSplitsPerTask;
+    private final boolean optimizedLocalScheduling;
+    private final SoftAffinityMode mode;
+    private final double loadFactor;
+    private final int candidateCount;
+    private final NodeSelector defaultNodeSelector;
+
+    private volatile HashRing hashRing = new HashRing(ImmutableSet.of());
+
+    public SoftAffinityNodeSelector(
+            InternalNodeManager nodeManager,
+            NodeTaskMap nodeTaskMap,
+            boolean includeCoordinator,
+            Supplier<NodeMap> nodeMap,
+            int maxSplitsPerNode,
+            int maxPendingSplitsPerTask,
+            boolean optimizedLocalScheduling,
+            SoftAffinityMode mode,
+            double loadFactor,
+            int candidateCount,
+            NodeSelector defaultNodeSelector)
+    {
+        this.nodeManager = requireNonNull(nodeManager, "nodeManager is null");
+        this.nodeTaskMap = requireNonNull(nodeTaskMap, "nodeTaskMap is null");
+        this.includeCoordinator = includeCoordinator;
+        this.nodeMap = new AtomicReference<>(nodeMap);
+        this.maxSplitsPerNode = maxSplitsPerNode;
+        this.maxPendingSplitsPerTask = maxPendingSplitsPerTask;
+        this.optimizedLocalScheduling = optimizedLocalScheduling;
+        this.mode = requireNonNull(mode, "mode is null");
+        checkArgument(mode != SoftAffinityMode.DISABLED, "soft affinity is disabled");
+        checkArgument(loadFactor >= 1, "loadFactor must be at least 1");
+        this.loadFactor = loadFactor;
+        checkArgument(candidateCount >= 1, "candidateCount must be at least 1");
+        this.candidateCount = candidateCount;
+        this.defaultNodeSelector = requireNonNull(defaultNodeSelector, "defaultNodeSelector is null");
+    }
+
+    @Override
+    public void lockDownNodes()
+    {
+        nodeMap.set(Suppliers.ofInstance(nodeMap.get().get()));
+        defaultNodeSelector.lockDownNodes();
+    }
+
+    @Override
+    public List<InternalNode> allNodes()
+    {
+        return ImmutableList.copyOf(nodeMap.get().get().getNodesByHostAndPort().values());
+    }
+
+    @Override
+    public int selectableNodeCount()
+    {
+        NodeMap map = nodeMap.get().get();
+        return (int) map.getNodesByHostAndPort().values().stream()
+                .filter(InternalNode::isWorker)
+                .count();
+    }
+
+    @Override
+    public InternalNode selectCurrentNode()
+    {
+        // TODO: this is a hack to force scheduling on the coordinator
+        return nodeManager.getCurrentNode();
+    }
+
+    @Override
+    public List<InternalNode> selectRandomNodes(int limit, Set<InternalNode> excludedNodes)
+    {
+        return selectNodes(limit, randomizedNodes(nodeMap.get().get(), excludedNodes));
+    }
+
+    @Override
+    public SplitPlacementResult computeAssignments(Set<Split> splits, List<RemoteTask> existingTasks, Optional<SqlStageExecution> stage)
+    {
+        if (stage.isPresent() && isSchedulingShared(stage.get())) {
+            return defaultNodeSelector.computeAssignments(splits, existingTasks, stage);
+        }
+
+        NodeMap nodeMapSlice = this.nodeMap.get().get();
+        Set<InternalNode> nodes = nodeMapSlice.getNodesByHostAndPort().values().stream()
+                .filter(InternalNode::isWorker)
+                .filter(node -> includeCoordinator || !nodeMapSlice.getCoordinatorNodeIds().contains(node.getNodeIdentifier()))
+                .collect(toImmutableSet());
+        HashRing ring = getHashRing(nodes);
+
+        // splits are placed in the order of their hash, so that the same splits overflow the same workers in every query
+        List<AffinitySplit> affinitySplits = new ArrayList<>();
+        Set<Split> unassignedSplits = new HashSet<>();
+        for (Split split : splits) {
+            Optional<String> affinityKey = getAffinityKey(split, nodeMapSlice);
+            if (affinityKey.isPresent() && !nodes.isEmpty()) {
+                affinitySplits.add(new AffinitySplit(split, hash(affinityKey.get())));
+            }
+            else {
+                unassignedSplits.add(split);
+            }
+        }
+        affinitySplits.sort(comparingLong(AffinitySplit::getHash));
+
+        Multimap<InternalNode, Split> assignment = HashMultimap.create();
+        NodeAssignmentStats assignmentStats = new NodeAssignmentStats(nodeTaskMap, nodeMapSlice, existingTasks);
+        Set<InternalNode> blockedNodes = new HashSet<>();
+        long totalSplitCount = nodes.stream()
+                .mapToLong(assignmentStats::getTotalSplitCount)
+                .sum();
+        for (AffinitySplit affinitySplit : affinitySplits) {
+            // bounded load: no worker takes more than the load factor times the average split count
+            long maxSplitCount = (long) Math.ceil(loadFactor * (totalSplitCount + 1) / nodes.size());
+            List<InternalNode> candidates = ring.getCandidates(affinitySplit.getHash(), candidateCount);
+            InternalNode chosenNode = null;
+            boolean overloaded = false;
+            for (InternalNode node : candidates) {
+                if (!hasSplitQueueSpace(assignmentStats, node)) {
+                    continue;
+                }
+                if (assignmentStats.getTotalSplitCount(node) >= maxSplitCount) {
+                    overloaded = true;
+                    continue;
+                }
+                chosenNode = node;
+                break;
+            }
+            if (chosenNode == null) {
+                if (overloaded) {
+                    // the workers the split prefers are busier than the others, so the split goes to any worker
+                    unassignedSplits.add(affinitySplit.getSplit());
+                }
+                else {
+                    // the split queues of the workers the split prefers are full, the split waits for them
+                    blockedNodes.addAll(candidates);
+                }
+                continue;
+            }
+            assignment.put(chosenNode, affinitySplit.getSplit());
+            assignmentStats.addAssignedSplit(chosenNode);
+            totalSplitCount++;
+        }
+
+        ListenableFuture<?> blocked = toWhenHasSplitQueueSpaceFuture(blockedNodes, existingTasks, calculateLowWatermark(maxPendingSplitsPerTask));
+        if (unassignedSplits.isEmpty()) {
+            return new SplitPlacementResult(blocked, assignment);
+        }
+
+        SplitPlacementResult defaultSplitPlacementResult = defaultNodeSelector.computeAssignments(unassignedSplits, existingTasks, stage);
+        assignment.putAll(defaultSplitPlacementResult.getAssignments());
+        if (blockedNodes.isEmpty()) {
+            blocked = defaultSplitPlacementResult.getBlocked();
+        }
+        else if (!defaultSplitPlacementResult.getBlocked().isDone()) {
+            blocked = whenAnyCompleteCancelOthers(ImmutableList.of(blocked, defaultSplitPlacementResult.getBlocked()));
+        }
+        return new SplitPlacementResult(blocked, assignment);
+    }
+
+    @Override
+    public SplitPlacementResult computeAssignments(Set<Split> splits, List<RemoteTask> existingTasks, BucketNodeMap bucketNodeMap)
+    {
+        return selectDistributionNodes(nodeMap.get().get(), nodeTaskMap, maxSplitsPerNode, maxPendingSplitsPerTask, splits, existingTasks, bucketNodeMap);
+    }
+
+    private boolean hasSplitQueueSpace(NodeAssignmentStats assignmentStats, InternalNode node)
+    {
+        // the same limits as the default node selector: the split count of the worker or the queue of the stage task
+        return assignmentStats.getTotalSplitCount(node) < maxSplitsPerNode
+                || assignmentStats.getQueuedSplitCountForStage(node) < maxPendingSplitsPerTask;
+    }
+
+    private static boolean isSchedulingShared(SqlStageExecution stage)
+    {
+        return stage.getStateMachine().getProducerScanNode() != null
+                || stage.getStateMachine().getConsumerScanNode() != null
+                || stage.getFragment().getFeederCTEId().isPresent();
+    }
+
+    private Optional<String> getAffinityKey(Split split, NodeMap nodeMap)
+    {
+        ConnectorSplit connectorSplit = split.getConnectorSplit();
+        if (!connectorSplit.isRemotelyAccessible()) {
+            return Optional.empty();
+        }
+        if (optimizedLocalScheduling && !selectExactNodes(nodeMap, split.getAddresses(), includeCoordinator).isEmpty()) {
+            // the default node selector prefers the workers holding the data of the split
+            return Optional.empty();
+        }
+        try {
+            String path = connectorSplit.getFilePath();
+            if (path == null || path.isEmpty()) {
+                return Optional.empty();
+            }
+            if (mode == SoftAffinityMode.SPLIT) {
+                return Optional.of(path + "#" + connectorSplit.getStartIndex());
+            }
+            return Optional.of(path);
+        }
+        catch (NotImplementedException | UnsupportedOperationException e) {
+            // the connector does not expose the file of its splits
+            return Optional.empty();
+        }
+    }
+
+    private HashRing getHashRing(Set<InternalNode> nodes)
+    {
+        HashRing ring = hashRing;
+        if (!ring.getNodes().equals(nodes)) {
+            ring = new HashRing(nodes);
+            hashRing = ring;
+        }
+        return ring;
+    }
+
+    private static long hash(String value)
+    {
+        return HASH_FUNCTION.hashString(value, UTF_8).asLong();
+    }
+
+    private static class AffinitySplit
+    {
+        private final Split split;
+        private final long hash;
+
+        public AffinitySplit(Split split, long hash)
+        {
+            this.split = requireNonNull(split, "split is null");
+            this.hash = hash;
+        }
+
+        public Split getSplit()
+        {
+            return split;
+        }
+
+        public long getHash()
+        {
+            return hash;
+        }
+    }
+
+    /**
+     * Consistent hash ring with virtual nodes, so that the keys of a node are spread evenly over the
+     * other nodes when it leaves the ring.
+     */
+    @VisibleForTesting
+    static class HashRing
+    {
+        private final Set<InternalNode> nodes;
+        private final long[] positions;
+        private final InternalNode[] owners;
+
+        public HashRing(Set<InternalNode> nodes)
+        {
+            this.nodes = ImmutableSet.copyOf(requireNonNull(nodes, "nodes is null"));
+
+            List<Map.Entry<Long, InternalNode>> entries = new ArrayList<>(nodes.size() * VIRTUAL_NODES_PER_NODE);
+            for (InternalNode node : nodes) {
+                for (int i = 0; i < VIRTUAL_NODES_PER_NODE; i++) {
+                    entries.add(immutableEntry(hash(node.getNodeIdentifier() + "#" + i), node));
+                }
+            }
+            entries.sort(Map.Entry.comparingByKey());
+            this.positions = new long[entries.size()];
+            this.owners = new InternalNode[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                positions[i] = entries.get(i).getKey();
+                owners[i] = entries.get(i).getValue();
+            }
+        }
+
+        public Set<InternalNode> getNodes()
+        {
+            return nodes;
+        }
+
+        /**
+         * Returns up to count distinct nodes, in the order they follow the hash on the ring.
+         */
+        public List<InternalNode> getCandidates(long hash, int count)
+        {
+            int limit = Math.min(count, nodes.size());
+            List<InternalNode> candidates = new ArrayList<>(limit);
+            if (limit == 0) {
+                return candidates;
+            }
+            int index = Arrays.binarySearch(positions, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            for (int i = 0; i < positions.length && candidates.size() < limit; i++) {
+                InternalNode node = owners[(index + i) % positions.length];
+                if (!candidates.contains(node)) {
+                    candidates.add(node);
+                }
+            }
+            return candidates;
+        }
+    }
+}
@@ -54,7 +54,7 @@ import static java.util.Objects.requireNonNull;
 // - finishMemoryRevoke: must be empty, because new input (including markers) can't be added until finishMemoryRevoke is called
 // - sortedPages: only set after "finish" is called
 @RestorableConfig(uncapturedFields = {"sortChannels", "sortOrder", "outputChannels", "sourceTypes", "spillerFactory",
-        "orderingCompiler", "spillInProgress", "finishMemoryRevoke", "sortedPages", "state", "snapshotState", "spill2InProgress", "finishMemoryRevoke2"})
+        "orderingCompiler", "spillInProgress", "finishMemoryRevoke", "sortedPages", "state", "snapshotState", "spill2InProgress", "finishMemoryRevoke2", "sortMemoryContext"})
 public class OrderByOperator
         implements Operator, Spillable
 {
@@ -174,6 +174,7 @@ public class OrderByOperator
     private final LocalMemoryContext revocableMemoryContext;
     private final LocalMemoryContext localUserMemoryContext;
     private final LocalMemoryContext secondaryMemoryContext;
+    private final LocalMemoryContext sortMemoryContext;
 
     private final PagesIndex pageIndex;
     private final PagesIndex secondaryPageIndex;
@@ -229,6 +230,7 @@ public class OrderByOperator
         this.localUserMemoryContext = operatorContext.localUserMemoryContext();
         this.revocableMemoryContext = operatorContext.localRevocableMemoryContext();
         this.secondaryMemoryContext = operatorContext.localUserMemoryContext();
+        this.sortMemoryContext = operatorContext.aggregateUserMemoryContext().newLocalMemoryContext(PagesIndex.class.getSimpleName());
 
         this.pageIndex = pagesIndexFactory.newPagesIndex(sourceTypes, expectedPositions);
         this.secondaryPageIndex = pagesIndexFactory.newPagesIndex(sourceTypes, expectedPositions);
@@ -279,10 +281,10 @@ public class OrderByOperator
                 }
             }
 
-            pageIndex.sort(sortChannels, sortOrder);
+            pageIndex.sort(sortChannels, sortOrder, sortMemoryContext);
             Iterator<Page> sortedPagesIndex = pageIndex.getSortedPages();
 
-            secondaryPageIndex.sort(sortChannels, sortOrder);
+            secondaryPageIndex.sort(sortChannels, sortOrder, sortMemoryContext);
             Iterator<Page> secondaryPageIndexSorted = secondaryPageIndex.getSortedPages();
 
             List<WorkProcessor<Page>> spilledPages = getSpilledPages();
@@ -423,7 +425,7 @@ public class OrderByOperator
                     operatorContext.getDriverContext().getTaskId().getQueryId().toString(), isSpillToHdfsEnabled));
         }
         primarySpillRunning = true;
-        pageIndex.sort(sortChannels, sortOrder);
+        pageIndex.sort(sortChannels, sortOrder, sortMemoryContext);
         Pair<ListenableFuture<?>, Runnable> spillState = spiller.get().spillUnCommit(pageIndex.getSortedPages());
         spillInProgress = spillState.getLeft();
         LOG.debug("spilling to disk initiated by Order by operator using primary spiller");
@@ -553,7 +555,7 @@ public class OrderByOperator
     {
         verify(spiller.isPresent(), "spiller not present");
         secondarySpillRunning = true;
-        secondaryPageIndex.sort(sortChannels, sortOrder);
+        secondaryPageIndex.sort(sortChannels, sortOrder, sortMemoryContext);
         Pair<ListenableFuture<?>, Runnable> spillState = spiller.get().spillUnCommit(secondaryPageIndex.getSortedPages());
         spill2InProgress = spillState.getLeft();
         LOG.debug("spilling to disk initiated by Order by operator using secondary spiller");
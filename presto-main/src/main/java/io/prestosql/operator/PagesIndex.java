@@ -23,6 +23,7 @@ import io.airlift.slice.Slices;
 import io.airlift.units.DataSize;
 import io.prestosql.Session;
 import io.prestosql.geospatial.Rectangle;
+import io.prestosql.memory.context.LocalMemoryContext;
 import io.prestosql.metadata.Metadata;
 import io.prestosql.operator.SpatialIndexBuilderOperator.SpatialPredicate;
 import io.prestosql.spi.Page;
@@ -84,6 +85,8 @@ public class PagesIndex
 {
     private static final int INSTANCE_SIZE = ClassLayout.parseClass(PagesIndex.class).instanceSize();
     private static final Logger log = Logger.get(PagesIndex.class);
+    // below this size the comparator sort is faster than extracting the keys
+    private static final int RADIX_SORT_MIN_POSITIONS = 512;
 
     private final OrderingCompiler orderingCompiler;
     private final JoinCompiler joinCompiler;
@@ -93,6 +96,7 @@ public class PagesIndex
     private final LongArrayList valueAddresses;
     private final ObjectArrayList<Block>[] channels;
     private final boolean eagerCompact;
+    private final boolean radixSortEnabled;
 
     private int nextBlockToCompact;
     private int positionCount;
@@ -105,7 +109,8 @@ public class PagesIndex
             Metadata metadata,
             List<Type> types,
             int expectedPositions,
-            boolean eagerCompact)
+            boolean eagerCompact,
+            boolean radixSortEnabled)
     {
         this.orderingCompiler = requireNonNull(orderingCompiler, "orderingCompiler is null");
         this.joinCompiler = requireNonNull(joinCompiler, "joinCompiler is null");
@@ -113,6 +118,7 @@ public class PagesIndex
         this.types = ImmutableList.copyOf(requireNonNull(types, "types is null"));
         this.valueAddresses = new LongArrayList(expectedPositions);
         this.eagerCompact = eagerCompact;
+        this.radixSortEnabled = radixSortEnabled;
 
         //noinspection rawtypes
         channels = (ObjectArrayList<Block>[]) new ObjectArrayList[types.size()];
@@ -135,16 +141,23 @@ public class PagesIndex
         private static final Metadata METADATA = createTestMetadataManager();
         private static final JoinCompiler JOIN_COMPILER = new JoinCompiler(METADATA);
         private final boolean eagerCompact;
+        private final boolean radixSortEnabled;
 
         public TestingFactory(boolean eagerCompact)
+        {
+            this(eagerCompact, true);
+        }
+
+        public TestingFactory(boolean eagerCompact, boolean radixSortEnabled)
         {
             this.eagerCompact = eagerCompact;
+            this.radixSortEnabled = radixSortEnabled;
         }
 
         @Override
         public PagesIndex newPagesIndex(List<Type> types, int expectedPositions)
         {
-            return new PagesIndex(ORDERING_COMPILER, JOIN_COMPILER, METADATA, types, expectedPositions, eagerCompact);
+            return new PagesIndex(ORDERING_COMPILER, JOIN_COMPILER, METADATA, types, expectedPositions, eagerCompact, radixSortEnabled);
         }
     }
 
@@ -154,6 +167,7 @@ public class PagesIndex
         private final OrderingCompiler orderingCompiler;
         private final JoinCompiler joinCompiler;
         private final boolean eagerCompact;
+        private final boolean radixSortEnabled;
         private final Metadata metadata;
 
         @Inject
@@ -162,13 +176,14 @@ public class PagesIndex
             this.orderingCompiler = requireNonNull(orderingCompiler, "orderingCompiler is null");
             this.joinCompiler = requireNonNull(joinCompiler, "joinCompiler is null");
             this.eagerCompact = requireNonNull(featuresConfig, "featuresConfig is null").isPagesIndexEagerCompactionEnabled();
+            this.radixSortEnabled = featuresConfig.isPagesIndexRadixSortEnabled();
             this.metadata = requireNonNull(metadata, "metadata is null");
         }
 
         @Override
         public PagesIndex newPagesIndex(List<Type> types, int expectedPositions)
         {
-            return new PagesIndex(orderingCompiler, joinCompiler, metadata, types, expectedPositions, eagerCompact);
+            return new PagesIndex(orderingCompiler, joinCompiler, metadata, types, expectedPositions, eagerCompact, radixSortEnabled);
         }
     }
 
@@ -384,9 +399,41 @@ public class PagesIndex
 
     public void sort(List<Integer> sortChannels, List<SortOrder> sortOrders, int startPosition, int endPosition)
     {
+        // the radix sort needs a memory context to account for its scratch arrays
         createPagesIndexComparator(sortChannels, sortOrders).sort(this, startPosition, endPosition);
     }
 
+    public void sort(List<Integer> sortChannels, List<SortOrder> sortOrders, LocalMemoryContext sortMemoryContext)
+    {
+        sort(sortChannels, sortOrders, 0, getPositionCount(), sortMemoryContext);
+    }
+
+    /**
+     * Sorts the positions like {@link #sort(List, List, int, int)}. When the radix sort is used, its scratch arrays
+     * are reserved in the sort memory context for the duration of the sort, and the positions are sorted with the
+     * comparator if the reservation fails.
+     */
+    public void sort(List<Integer> sortChannels, List<SortOrder> sortOrders, int startPosition, int endPosition, LocalMemoryContext sortMemoryContext)
+    {
+        requireNonNull(sortMemoryContext, "sortMemoryContext is null");
+        PagesIndexOrdering ordering = createPagesIndexComparator(sortChannels, sortOrders);
+        if (radixSortEnabled
+                && endPosition - startPosition >= RADIX_SORT_MIN_POSITIONS
+                && PagesIndexRadixSorter.isSupported(types.get(sortChannels.get(0)))
+                && sortMemoryContext.trySetBytes(PagesIndexRadixSorter.getScratchSizeInBytes(endPosition - startPosition))) {
+            try {
+                // only positions with equal leading keys need the comparator
+                Optional<PagesIndexOrdering> tieBreaker = sortChannels.size() > 1 ? Optional.of(ordering) : Optional.empty();
+                PagesIndexRadixSorter.sort(this, sortChannels.get(0), sortOrders.get(0), tieBreaker, startPosition, endPosition);
+            }
+            finally {
+                sortMemoryContext.setBytes(0);
+            }
+            return;
+        }
+        ordering.sort(this, startPosition, endPosition);
+    }
+
     public boolean positionEqualsPosition(PagesHashStrategy partitionHashStrategy, int leftPosition, int rightPosition)
     {
         long leftAddress = valueAddresses.getLong(leftPosition);
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.operator;
+
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.SortOrder;
+import io.prestosql.spi.type.DecimalType;
+import io.prestosql.spi.type.Type;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+import java.util.Optional;
+
+import static io.prestosql.operator.SyntheticAddress.decodePosition;
+import static io.prestosql.operator.SyntheticAddress.decodeSliceIndex;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.DateType.DATE;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static io.prestosql.spi.type.RealType.REAL;
+import static io.prestosql.spi.type.SmallintType.SMALLINT;
+import static io.prestosql.spi.type.TimestampType.TIMESTAMP;
+import static io.prestosql.spi.type.TinyintType.TINYINT;
+import static java.lang.Double.doubleToLongBits;
+import static java.lang.Float.floatToIntBits;
+import static java.lang.Float.intBitsToFloat;
+
+/**
+ * Sorts the positions of a {@link PagesIndex} on a fixed width leading sort key.
+ * <p>
+ * The leading key of every position is normalized to an unsigned 64 bit value that orders the
+ * same way as the type, and the value addresses are sorted by it with an LSD radix sort over
+ * contiguous arrays. Only runs of equal keys are then sorted with the compiled comparator, so the
+ * comparator, and the random block accesses it does, are skipped for most of the positions.
+ */
+final class PagesIndexRadixSorter
+{
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX_SIZE = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX_SIZE - 1;
+    private static final int PASSES = Long.SIZE / RADIX_BITS;
+
+    private PagesIndexRadixSorter() {}
+
+    public static boolean isSupported(Type type)
+    {
+        return isLongOrdered(type) || type.equals(DOUBLE) || type.equals(REAL);
+    }
+
+    /**
+     * Returns the size of the arrays allocated to sort the given number of positions.
+     */
+    public static long getScratchSizeInBytes(int positionCount)
+    {
+        // keys and addresses, each with a target array of the radix passes, and the digit histograms
+        return 4L * Long.BYTES * positionCount + (long) PASSES * RADIX_SIZE * Integer.BYTES;
+    }
+
+    /**
+     * Sorts positions [startPosition, endPosition) of the index by the sort channel. When the
+     * tie breaker is present, positions with equal sort channel values are sorted with it.
+     */
+    public static void sort(PagesIndex pagesIndex, int sortChannel, SortOrder sortOrder, Optional<PagesIndexOrdering> tieBreaker, int startPosition, int endPosition)
+    {
+        Type type = pagesIndex.getType(sortChannel);
+        ObjectArrayList<Block> blocks = pagesIndex.getChannel(sortChannel);
+        long[] valueAddresses = pagesIndex.getValueAddresses().elements();
+        int positionCount = endPosition - startPosition;
+
+        // non null positions are collected at the front of the arrays, null positions at the back
+        long[] keys = new long[positionCount];
+        long[] addresses = new long[positionCount];
+        int valueCount = 0;
+        int nullCount = 0;
+        for (int position = startPosition; position < endPosition; position++) {
+            long address = valueAddresses[position];
+            Block block = blocks.get(decodeSliceIndex(address));
+            int blockPosition = decodePosition(address);
+            if (block.isNull(blockPosition)) {
+                nullCount++;
+                addresses[positionCount - nullCount] = address;
+            }
+            else {
+                long key = normalizedKey(type, block, blockPosition);
+                keys[valueCount] = sortOrder.isAscending() ? key : ~key;
+                addresses[valueCount] = address;
+                valueCount++;
+            }
+        }
+
+        radixSort(keys, addresses, valueCount);
+
+        int valueStart = sortOrder.isNullsFirst() ? startPosition + nullCount : startPosition;
+        int nullStart = sortOrder.isNullsFirst() ? startPosition : startPosition + valueCount;
+        System.arraycopy(addresses, 0, valueAddresses, valueStart, valueCount);
+        System.arraycopy(addresses, positionCount - nullCount, valueAddresses, nullStart, nullCount);
+
+        if (!tieBreaker.isPresent()) {
+            return;
+        }
+        PagesIndexOrdering ordering = tieBreaker.get();
+        if (nullCount > 1) {
+            ordering.sort(pagesIndex, nullStart, nullStart + nullCount);
+        }
+        int runStart = 0;
+        for (int i = 1; i <= valueCount; i++) {
+            if (i == valueCount || keys[i] != keys[runStart]) {
+                if (i - runStart > 1) {
+                    ordering.sort(pagesIndex, valueStart + runStart, valueStart + i);
+                }
+                runStart = i;
+            }
+        }
+    }
+
+    /**
+     * Sorts the first count keys as unsigned values, moving the addresses along with them.
+     */
+    private static void radixSort(long[] keys, long[] addresses, int count)
+    {
+        if (count < 2) {
+            return;
+        }
+
+        // the histograms of all passes are built with a single scan of the keys
+        int[][] counts = new int[PASSES][RADIX_SIZE];
+        for (int i = 0; i < count; i++) {
+            long key = keys[i];
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass][(int) (key >>> (pass * RADIX_BITS)) & RADIX_MASK]++;
+            }
+        }
+
+        long[] sourceKeys = keys;
+        long[] sourceAddresses = addresses;
+        long[] targetKeys = null;
+        long[] targetAddresses = null;
+        for (int pass = 0; pass < PASSES; pass++) {
+            int shift = pass * RADIX_BITS;
+            int[] passCounts = counts[pass];
+            if (passCounts[(int) (sourceKeys[0] >>> shift) & RADIX_MASK] == count) {
+                // all keys have the same digit, the pass would not move anything
+                continue;
+            }
+            if (targetKeys == null) {
+                targetKeys = new long[count];
+                targetAddresses = new long[count];
+            }
+
+            int offset = 0;
+            for (int digit = 0; digit < RADIX_SIZE; digit++) {
+                int digitCount = passCounts[digit];
+                passCounts[digit] = offset;
+                offset += digitCount;
+            }
+            for (int i = 0; i < count; i++) {
+                long key = sourceKeys[i];
+                int target = passCounts[(int) (key >>> shift) & RADIX_MASK]++;
+                targetKeys[target] = key;
+                targetAddresses[target] = sourceAddresses[i];
+            }
+
+            long[] swap = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swap;
+            swap = sourceAddresses;
+            sourceAddresses = targetAddresses;
+            targetAddresses = swap;
+        }
+
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, count);
+            System.arraycopy(sourceAddresses, 0, addresses, 0, count);
+        }
+    }
+
+    /**
+     * Maps the value to an unsigned 64 bit key with the same order as the type comparison.
+     */
+    private static long normalizedKey(Type type, Block block, int position)
+    {
+        if (type.equals(DOUBLE)) {
+            // doubleToLongBits collapses all NaNs into one value, ordered after positive infinity as in Double.compare
+            long bits = doubleToLongBits(type.getDouble(block, position));
+            return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+        }
+        if (type.equals(REAL)) {
+            int bits = floatToIntBits(intBitsToFloat((int) type.getLong(block, position)));
+            return (bits ^ ((bits >> 31) | Integer.MIN_VALUE)) & 0xFFFF_FFFFL;
+        }
+        return type.getLong(block, position) ^ Long.MIN_VALUE;
+    }
+
+    private static boolean isLongOrdered(Type type)
+    {
+        if (type instanceof DecimalType) {
+            return ((DecimalType) type).isShort();
+        }
+        return type.equals(BIGINT)
+                || type.equals(INTEGER)
+                || type.equals(SMALLINT)
+                || type.equals(TINYINT)
+                || type.equals(DATE)
+                || type.equals(TIMESTAMP);
+    }
+}
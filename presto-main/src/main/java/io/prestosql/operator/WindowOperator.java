@@ -76,7 +76,7 @@ import static java.util.Objects.requireNonNull;
 
 // - driverWindowInfo: only set after "close" is called
 // - pageBuffer: needsInput requires pageBuffer to have null page and not finished
-@RestorableConfig(uncapturedFields = {"outputTypes", "outputChannels", "driverWindowInfo", "pageBuffer", "snapshotState"})
+@RestorableConfig(uncapturedFields = {"outputTypes", "outputChannels", "driverWindowInfo", "pageBuffer", "snapshotState", "sortMemoryContext"})
 public class WindowOperator
         implements Operator, Spillable
 {
@@ -220,6 +220,7 @@ public class WindowOperator
     private final PageBuffer pageBuffer = new PageBuffer();
     private final boolean spillEnabled;
     private final PagesIndexWithHashStrategies inMemoryPagesIndexWithHashStrategies;
+    private final LocalMemoryContext sortMemoryContext;
 
     private final SingleInputSnapshotState snapshotState;
     private boolean isSpillToHdfsEnabled;
@@ -258,6 +259,7 @@ public class WindowOperator
         this.snapshotState = operatorContext.isSnapshotEnabled() ? SingleInputSnapshotState.forOperator(this, operatorContext) : null;
         this.spillEnabled = spillEnabled;
         this.operatorContext = operatorContext;
+        this.sortMemoryContext = operatorContext.aggregateUserMemoryContext().newLocalMemoryContext(PagesIndex.class.getSimpleName());
         this.outputChannels = Ints.toArray(outputChannels);
         this.windowFunctions = windowFunctionDefinitions.stream()
                 .map(functionDefinition -> new FramedWindowFunction(functionDefinition.createWindowFunction(), functionDefinition.getFrameInfo()))
@@ -1216,7 +1218,7 @@ public class WindowOperator
             int startPosition = 0;
             while (startPosition < pagesIndexWithHashStrategies.pagesIndex.getPositionCount()) {
                 int endPosition = findGroupEnd(pagesIndexWithHashStrategies.pagesIndex, pagesIndexWithHashStrategies.preSortedPartitionHashStrategy, startPosition);
-                pagesIndexWithHashStrategies.pagesIndex.sort(orderChannels, ordering, startPosition, endPosition);
+                pagesIndexWithHashStrategies.pagesIndex.sort(orderChannels, ordering, startPosition, endPosition, sortMemoryContext);
                 startPosition = endPosition;
             }
         }
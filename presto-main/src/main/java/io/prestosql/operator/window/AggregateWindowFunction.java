@@ -30,12 +30,18 @@ import java.util.Optional;
 
 import static java.util.Objects.requireNonNull;
 
-@RestorableConfig(uncapturedFields = {"argumentChannels", "windowIndex", "accumulatorFactory"})
+@RestorableConfig(uncapturedFields = {"argumentChannels", "windowIndex", "accumulatorFactory", "segmentTree"})
 public class AggregateWindowFunction
         implements WindowFunction
 {
+    // frames with fewer rows are cheaper to aggregate directly than from the segment tree
+    private static final int SEGMENT_TREE_MIN_FRAME_SIZE = 64;
+
     private final List<Integer> argumentChannels;
     private final AccumulatorFactory accumulatorFactory;
+    private final boolean segmentTreeSupported;
+    // used instead of the accumulator for aggregations that support removing input
+    private final RemovableWindowAggregation removableAggregation;
 
     // Snapshot: all windowIndex operations revolves around pagesIndex which is passed in and captured/restored outside
     // windowIndex fields in all window functions are reset when WindowPartition is created(see WindowPartition line 71)
@@ -44,23 +50,53 @@ public class AggregateWindowFunction
     private Accumulator accumulator;
     private int currentStart;
     private int currentEnd;
+    // cleared for the rest of the query when the removable aggregation fails on an overflow
+    private boolean useRemovableAggregation;
+    // built on first use for each partition
+    private WindowSegmentTree segmentTree;
 
-    private AggregateWindowFunction(InternalAggregationFunction function, List<Integer> argumentChannels)
+    private AggregateWindowFunction(String name, InternalAggregationFunction function, List<Integer> argumentChannels)
     {
         this.argumentChannels = ImmutableList.copyOf(argumentChannels);
         this.accumulatorFactory = function.bind(createArgs(function), Optional.empty());
+        this.removableAggregation = RemovableWindowAggregation.create(name, function.getParameterTypes(), this.argumentChannels, function.getFinalType()).orElse(null);
+        this.useRemovableAggregation = removableAggregation != null;
+        this.segmentTreeSupported = name.equals("min") || name.equals("max");
     }
 
     @Override
     public void reset(WindowIndex windowIndex)
     {
         this.windowIndex = windowIndex;
-        resetAccumulator();
+        this.segmentTree = null;
+        if (useRemovableAggregation) {
+            removableAggregation.reset();
+            currentStart = -1;
+            currentEnd = -1;
+        }
+        else {
+            resetAccumulator();
+        }
     }
 
     @Override
     public void processRow(BlockBuilder output, int peerGroupStart, int peerGroupEnd, int frameStart, int frameEnd)
     {
+        if (useRemovableAggregation) {
+            try {
+                processRowRemovable(frameStart, frameEnd);
+                removableAggregation.evaluateFinal(output);
+                return;
+            }
+            catch (ArithmeticException e) {
+                // fall back to the accumulator, which reports overflows the same way as without a sliding frame
+                useRemovableAggregation = false;
+                accumulator = accumulatorFactory.createAccumulator();
+                currentStart = -1;
+                currentEnd = -1;
+            }
+        }
+
         if (frameStart < 0) {
             // empty frame
             resetAccumulator();
@@ -73,7 +109,15 @@ public class AggregateWindowFunction
         else {
             // different frame
             resetAccumulator();
-            accumulate(frameStart, frameEnd);
+            if (segmentTreeSupported && frameEnd - frameStart >= SEGMENT_TREE_MIN_FRAME_SIZE) {
+                if (segmentTree == null) {
+                    segmentTree = new WindowSegmentTree(windowIndex, argumentChannels, accumulatorFactory);
+                }
+                segmentTree.addInput(accumulator, frameStart, frameEnd);
+            }
+            else {
+                accumulate(frameStart, frameEnd);
+            }
             currentStart = frameStart;
             currentEnd = frameEnd;
         }
@@ -81,6 +125,31 @@ public class AggregateWindowFunction
         accumulator.evaluateFinal(output);
     }
 
+    private void processRowRemovable(int frameStart, int frameEnd)
+    {
+        if (frameStart < 0) {
+            // empty frame
+            removableAggregation.reset();
+            frameEnd = -1;
+        }
+        else if (currentStart >= 0 && frameStart >= currentStart && frameStart <= currentEnd + 1 && frameEnd >= currentEnd) {
+            // same, expanding or sliding frame: remove the rows that left the frame and add the rows that entered it
+            if (frameStart > currentStart) {
+                removableAggregation.removeInput(windowIndex, currentStart, frameStart - 1);
+            }
+            if (frameEnd > currentEnd) {
+                removableAggregation.addInput(windowIndex, currentEnd + 1, frameEnd);
+            }
+        }
+        else {
+            // different frame
+            removableAggregation.reset();
+            removableAggregation.addInput(windowIndex, frameStart, frameEnd);
+        }
+        currentStart = frameStart;
+        currentEnd = frameEnd;
+    }
+
     private void accumulate(int start, int end)
     {
         accumulator.addInput(windowIndex, argumentChannels, start, end);
@@ -103,7 +172,7 @@ public class AggregateWindowFunction
             @Override
             protected WindowFunction newWindowFunction(List<Integer> inputs)
             {
-                return new AggregateWindowFunction(function, inputs);
+                return new AggregateWindowFunction(signature.getNameSuffix(), function, inputs);
             }
         };
     }
@@ -124,6 +193,10 @@ public class AggregateWindowFunction
         if (accumulator != null) {
             myState.accumulator = accumulator.capture(serdeProvider);
         }
+        myState.useRemovableAggregation = useRemovableAggregation;
+        if (useRemovableAggregation) {
+            myState.removableAggregation = removableAggregation.capture();
+        }
         myState.currentStart = currentStart;
         myState.currentEnd = currentEnd;
         return myState;
@@ -142,6 +215,11 @@ public class AggregateWindowFunction
             }
             this.accumulator.restore(myState.accumulator, serdeProvider);
         }
+        this.useRemovableAggregation = myState.useRemovableAggregation;
+        if (useRemovableAggregation) {
+            this.removableAggregation.restore(myState.removableAggregation);
+        }
+        this.segmentTree = null;
         this.currentStart = myState.currentStart;
         this.currentEnd = myState.currentEnd;
     }
@@ -150,6 +228,8 @@ public class AggregateWindowFunction
             implements Serializable
     {
         private Object accumulator;
+        private boolean useRemovableAggregation;
+        private Object removableAggregation;
         private int currentStart;
         private int currentEnd;
     }
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.operator.window;
+
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.function.WindowIndex;
+import io.prestosql.spi.type.Type;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Optional;
+
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static io.prestosql.spi.type.SmallintType.SMALLINT;
+import static io.prestosql.spi.type.TinyintType.TINYINT;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Window aggregation whose input can be removed as well as added, so that a sliding frame is
+ * updated with the rows entering and leaving it instead of being aggregated from scratch.
+ * Supports count, and sum and avg over the exact integer types. Floating point sums are not
+ * supported, since subtracting a value that left the frame does not restore the sum of the
+ * remaining values when their magnitudes differ.
+ */
+final class RemovableWindowAggregation
+{
+    private enum Kind
+    {
+        COUNT_ALL,
+        COUNT,
+        LONG_SUM,
+        LONG_AVERAGE,
+    }
+
+    private final Kind kind;
+    private final int channel;
+
+    private long count;
+    private long longSum;
+
+    private RemovableWindowAggregation(Kind kind, int channel)
+    {
+        this.kind = requireNonNull(kind, "kind is null");
+        this.channel = channel;
+    }
+
+    public static Optional<RemovableWindowAggregation> create(String name, List<Type> argumentTypes, List<Integer> argumentChannels, Type finalType)
+    {
+        if (name.equals("count") && argumentTypes.isEmpty()) {
+            return Optional.of(new RemovableWindowAggregation(Kind.COUNT_ALL, -1));
+        }
+        if (argumentTypes.size() != 1) {
+            return Optional.empty();
+        }
+        Type argumentType = argumentTypes.get(0);
+        int channel = argumentChannels.get(0);
+        switch (name) {
+            case "count":
+                return Optional.of(new RemovableWindowAggregation(Kind.COUNT, channel));
+            case "sum":
+                if (isExactInteger(argumentType) && finalType.equals(BIGINT)) {
+                    return Optional.of(new RemovableWindowAggregation(Kind.LONG_SUM, channel));
+                }
+                return Optional.empty();
+            case "avg":
+                if (isExactInteger(argumentType) && finalType.equals(DOUBLE)) {
+                    return Optional.of(new RemovableWindowAggregation(Kind.LONG_AVERAGE, channel));
+                }
+                return Optional.empty();
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static boolean isExactInteger(Type type)
+    {
+        return type.equals(BIGINT) || type.equals(INTEGER) || type.equals(SMALLINT) || type.equals(TINYINT);
+    }
+
+    public void reset()
+    {
+        count = 0;
+        longSum = 0;
+    }
+
+    /**
+     * Adds the rows [start, end] of the window index.
+     *
+     * @throws ArithmeticException if a bigint sum overflows
+     */
+    public void addInput(WindowIndex windowIndex, int start, int end)
+    {
+        update(windowIndex, start, end, true);
+    }
+
+    /**
+     * Removes the rows [start, end] of the window index, which must have been added before.
+     *
+     * @throws ArithmeticException if a bigint sum overflows
+     */
+    public void removeInput(WindowIndex windowIndex, int start, int end)
+    {
+        update(windowIndex, start, end, false);
+    }
+
+    public void evaluateFinal(BlockBuilder output)
+    {
+        switch (kind) {
+            case COUNT_ALL:
+            case COUNT:
+                BIGINT.writeLong(output, count);
+                return;
+            case LONG_SUM:
+                if (count == 0) {
+                    output.appendNull();
+                }
+                else {
+                    BIGINT.writeLong(output, longSum);
+                }
+                return;
+            case LONG_AVERAGE:
+                if (count == 0) {
+                    output.appendNull();
+                }
+                else {
+                    DOUBLE.writeDouble(output, (double) longSum / count);
+                }
+                return;
+            default:
+                throw new UnsupportedOperationException("Unsupported removable aggregation: " + kind);
+        }
+    }
+
+    private void update(WindowIndex windowIndex, int start, int end, boolean add)
+    {
+        int sign = add ? 1 : -1;
+        if (kind == Kind.COUNT_ALL) {
+            count += sign * (end - start + 1);
+            return;
+        }
+        for (int position = start; position <= end; position++) {
+            if (windowIndex.isNull(channel, position)) {
+                continue;
+            }
+            count += sign;
+            if (kind == Kind.LONG_SUM || kind == Kind.LONG_AVERAGE) {
+                long value = windowIndex.getLong(channel, position);
+                longSum = add ? Math.addExact(longSum, value) : Math.subtractExact(longSum, value);
+            }
+        }
+    }
+
+    public Object capture()
+    {
+        RemovableWindowAggregationState myState = new RemovableWindowAggregationState();
+        myState.count = count;
+        myState.longSum = longSum;
+        return myState;
+    }
+
+    public void restore(Object state)
+    {
+        RemovableWindowAggregationState myState = (RemovableWindowAggregationState) state;
+        this.count = myState.count;
+        this.longSum = myState.longSum;
+    }
+
+    private static class RemovableWindowAggregationState
+            implements Serializable
+    {
+        private long count;
+        private long longSum;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2018-2021. Huawei Technologies Co., Ltd. All rights reserved.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.operator.window;
+
+import io.prestosql.operator.aggregation.Accumulator;
+import io.prestosql.operator.aggregation.AccumulatorFactory;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.function.WindowIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Segment tree over the intermediate states of an aggregation for the rows of a window partition.
+ * Leaves aggregate {@link #LEAF_SIZE} consecutive rows, so a frame is aggregated from at most two
+ * partial leaves of raw rows plus a logarithmic number of intermediate states, instead of every row.
+ * Nodes are combined from left to right, so the rows are still added in partition order.
+ */
+final class WindowSegmentTree
+{
+    static final int LEAF_SIZE = 16;
+
+    private final WindowIndex windowIndex;
+    private final List<Integer> argumentChannels;
+    private final int leafOffset;
+    // nodes of a complete binary tree, node i has the children 2i and 2i + 1, leaves start at leafOffset
+    private final Block[] nodes;
+
+    WindowSegmentTree(WindowIndex windowIndex, List<Integer> argumentChannels, AccumulatorFactory accumulatorFactory)
+    {
+        this.windowIndex = requireNonNull(windowIndex, "windowIndex is null");
+        this.argumentChannels = requireNonNull(argumentChannels, "argumentChannels is null");
+
+        int leafCount = (windowIndex.size() + LEAF_SIZE - 1) / LEAF_SIZE;
+        int offset = 1;
+        while (offset < leafCount) {
+            offset <<= 1;
+        }
+        this.leafOffset = offset;
+        this.nodes = new Block[2 * offset];
+
+        for (int leaf = 0; leaf < leafCount; leaf++) {
+            Accumulator accumulator = accumulatorFactory.createAccumulator();
+            int start = leaf * LEAF_SIZE;
+            accumulator.addInput(windowIndex, argumentChannels, start, Math.min(windowIndex.size(), start + LEAF_SIZE) - 1);
+            nodes[offset + leaf] = evaluateIntermediate(accumulator);
+        }
+        for (int node = offset - 1; node > 0; node--) {
+            Block left = nodes[2 * node];
+            Block right = nodes[2 * node + 1];
+            if (right == null) {
+                nodes[node] = left;
+            }
+            else {
+                Accumulator accumulator = accumulatorFactory.createAccumulator();
+                accumulator.addIntermediate(left);
+                accumulator.addIntermediate(right);
+                nodes[node] = evaluateIntermediate(accumulator);
+            }
+        }
+    }
+
+    /**
+     * Adds the rows [start, end] of the partition to the accumulator.
+     */
+    public void addInput(Accumulator accumulator, int start, int end)
+    {
+        int firstLeaf = start / LEAF_SIZE;
+        int lastLeaf = end / LEAF_SIZE;
+        if (lastLeaf - firstLeaf < 2) {
+            accumulator.addInput(windowIndex, argumentChannels, start, end);
+            return;
+        }
+
+        // the rows of partially covered leaves are added directly
+        if (start % LEAF_SIZE != 0) {
+            firstLeaf++;
+            accumulator.addInput(windowIndex, argumentChannels, start, firstLeaf * LEAF_SIZE - 1);
+        }
+        int tailStart = -1;
+        if (end % LEAF_SIZE != LEAF_SIZE - 1 && end != windowIndex.size() - 1) {
+            tailStart = lastLeaf * LEAF_SIZE;
+            lastLeaf--;
+        }
+
+        List<Block> rightNodes = new ArrayList<>();
+        int left = leafOffset + firstLeaf;
+        int right = leafOffset + lastLeaf + 1;
+        while (left < right) {
+            if ((left & 1) == 1) {
+                accumulator.addIntermediate(nodes[left++]);
+            }
+            if ((right & 1) == 1) {
+                rightNodes.add(nodes[--right]);
+            }
+            left >>= 1;
+            right >>= 1;
+        }
+        for (int i = rightNodes.size() - 1; i >= 0; i--) {
+            accumulator.addIntermediate(rightNodes.get(i));
+        }
+
+        if (tailStart >= 0) {
+            accumulator.addInput(windowIndex, argumentChannels, tailStart, end);
+        }
+    }
+
+    private static Block evaluateIntermediate(Accumulator accumulator)
+    {
+        BlockBuilder blockBuilder = accumulator.getIntermediateType().createBlockBuilder(null, 1);
+        accumulator.evaluateIntermediate(blockBuilder);
+        return blockBuilder.build();
+    }
+}
@@ -105,6 +105,7 @@ public class FeaturesConfig
     private boolean unwrapCasts = true;
     private boolean forceSingleNodeOutput = true;
     private boolean pagesIndexEagerCompactionEnabled;
+    private boolean pagesIndexRadixSortEnabled = true;
     private boolean distributedSort = true;
     private boolean queryPushDown = true;
     private boolean pushLimitDown = true;
@@ -1226,6 +1227,19 @@ public class FeaturesConfig
         return this;
     }
 
+    public boolean isPagesIndexRadixSortEnabled()
+    {
+        return pagesIndexRadixSortEnabled;
+    }
+
+    @Config("pages-index.radix-sort-enabled")
+    @ConfigDescription("Sort pages on a fixed width leading key with a radix sort")
+    public FeaturesConfig setPagesIndexRadixSortEnabled(boolean pagesIndexRadixSortEnabled)
+    {
+        this.pagesIndexRadixSortEnabled = pagesIndexRadixSortEnabled;
+        return this;
+    }
+
     @MaxDataSize("1MB")
     public DataSize getFilterAndProjectMinOutputPageSize()
     {
@@ -37,7 +37,10 @@ public class TestNodeSchedulerConfig
                 .setIncludeCoordinator(true)
                 .setOptimizedLocalScheduling(true)
                 .setAllowedNoMatchingNodePeriod(new Duration(2, TimeUnit.MINUTES))
-                .setNodeAllocatorType("bin_packing"));
+                .setNodeAllocatorType("bin_packing")
+                .setSoftAffinityMode("disabled")
+                .setSoftAffinityLoadFactor(1.25)
+                .setSoftAffinityCandidates(2));
     }
 
     @Test
@@ -52,6 +55,9 @@ public class TestNodeSchedulerConfig
                 .put("node-scheduler.optimized-local-scheduling", "false")
                 .put("node-scheduler.allowed-no-matching-node-period", "3m")
                 .put("node-scheduler.allocator-type", "fixed_count")
+                .put("node-scheduler.soft-affinity-mode", "split")
+                .put("node-scheduler.soft-affinity-load-factor", "1.5")
+                .put("node-scheduler.soft-affinity-candidates", "3")
                 .build();
 
         NodeSchedulerConfig expected = new NodeSchedulerConfig()
@@ -62,7 +68,10 @@ public class TestNodeSchedulerConfig
                 .setMinCandidates(11)
                 .setOptimizedLocalScheduling(false)
                 .setAllowedNoMatchingNodePeriod(new Duration(3, TimeUnit.MINUTES))
-                .setNodeAllocatorType("fixed_count");
+                .setNodeAllocatorType("fixed_count")
+                .setSoftAffinityMode("split")
+                .setSoftAffinityLoadFactor(1.5)
+                .setSoftAffinityCandidates(3);
 
         ConfigAssertions.assertFullMapping(properties, expected);
     }
@@ -438,6 +438,167 @@ public class TestNodeScheduler
         assertTrue(nodeIdToSplits.get(splitCacheMap.getCachedNodeId(split3Key).get()).contains(split3));
     }
 
+    @Test
+    public void testSoftAffinityScheduling()
+    {
+        setUpNodes();
+        List<Split> splits = new ArrayList<>();
+        for (int file = 0; file < 12; file++) {
+            for (int start = 0; start < 2; start++) {
+                MockSplit mock = new MockSplit("hdfs://hacluster/user/hive/warehouse/test_schema.db/test_table/00000" + file + "_0", start * 10, start * 10 + 10, 0);
+                splits.add(new Split(CONNECTOR_ID, mock, Lifespan.taskWide()));
+            }
+        }
+
+        Map<String, String> firstNodes = softAffinityNodesByFile(ImmutableSet.copyOf(splits), "file", 100);
+        assertEquals(firstNodes.size(), 12);
+        // the splits of a file are scheduled on the same worker in every query
+        assertEquals(softAffinityNodesByFile(ImmutableSet.copyOf(splits), "file", 100), firstNodes);
+        assertTrue(ImmutableSet.copyOf(firstNodes.values()).size() > 1);
+
+        // only files moving to a new worker change their worker
+        nodeManager.addNode(CONNECTOR_ID, new InternalNode("other4", URI.create("http://10.0.0.1:14"), NodeVersion.UNKNOWN, false));
+        Map<String, String> secondNodes = softAffinityNodesByFile(ImmutableSet.copyOf(splits), "file", 100);
+        for (Map.Entry<String, String> entry : secondNodes.entrySet()) {
+            String nodeId = entry.getValue();
+            assertTrue(nodeId.equals(firstNodes.get(entry.getKey())) || nodeId.equals("other4"), entry.toString());
+        }
+
+        // a busy preferred worker passes the splits on to the other workers
+        Set<Split> sameFileSplits = new HashSet<>();
+        for (int i = 0; i < 9; i++) {
+            sameFileSplits.add(new Split(CONNECTOR_ID, new MockSplit("hdfs://hacluster/user/hive/warehouse/test_schema.db/test_table/000000_0", i * 10, i * 10 + 10, 0), Lifespan.taskWide()));
+        }
+        Multimap<InternalNode, Split> assignments = createSoftAffinityNodeSelector("file", 1).computeAssignments(sameFileSplits, ImmutableList.copyOf(taskMap.values()), Optional.empty()).getAssignments();
+        assertEquals(assignments.size(), 9);
+        assertTrue(assignments.keySet().size() > 1);
+    }
+
+    @Test
+    public void testSoftAffinitySchedulingBackPressure()
+    {
+        setUpNodes();
+        MockRemoteTaskFactory remoteTaskFactory = new MockRemoteTaskFactory(remoteTaskExecutor, remoteTaskScheduledExecutor);
+        List<Split> queuedSplits = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            queuedSplits.add(new Split(CONNECTOR_ID, new TestSplitRemote(), Lifespan.taskWide()));
+        }
+        // the split queues of the stage are full on every worker but a new one
+        List<RemoteTask> tasks = new ArrayList<>();
+        for (InternalNode node : nodeManager.getActiveConnectorNodes(CONNECTOR_ID)) {
+            TaskId taskId = new TaskId("test", 1, tasks.size(), 0);
+            RemoteTask remoteTask = remoteTaskFactory.createTableScanTask(taskId, node, queuedSplits, nodeTaskMap.createPartitionedSplitCountTracker(node, taskId));
+            nodeTaskMap.addTask(node, remoteTask);
+            taskMap.put(node, remoteTask);
+            tasks.add(remoteTask);
+        }
+        InternalNode newNode = new InternalNode("other4", URI.create("http://10.0.0.1:14"), NodeVersion.UNKNOWN, false);
+        nodeManager.addNode(CONNECTOR_ID, newNode);
+
+        Set<Split> splits = new HashSet<>();
+        for (int file = 0; file < 12; file++) {
+            splits.add(new Split(CONNECTOR_ID, new MockSplit("hdfs://hacluster/user/hive/warehouse/test_schema.db/test_table/00000" + file + "_0", 0, 10, 0), Lifespan.taskWide()));
+        }
+        SplitPlacementResult result = createSoftAffinityNodeSelector("file", 100, 20, 10)
+                .computeAssignments(splits, ImmutableList.copyOf(taskMap.values()), Optional.empty());
+        // the splits of the full workers wait for them instead of moving to the new worker
+        assertTrue(result.getAssignments().size() < splits.size());
+        assertTrue(result.getAssignments().keySet().stream().allMatch(newNode::equals));
+        assertFalse(result.getBlocked().isDone());
+
+        for (RemoteTask task : tasks) {
+            task.abort();
+        }
+        assertTrue(result.getBlocked().isDone());
+    }
+
+    @Test
+    public void testSoftAffinitySchedulingReuseExchange()
+    {
+        setUpNodes();
+        Set<Split> splits = new HashSet<>();
+        for (int file = 0; file < 6; file++) {
+            splits.add(new Split(CONNECTOR_ID, new MockSplit("hdfs://hacluster/user/hive/warehouse/test_schema.db/test_table/00000" + file + "_0", 0, 10, 0), Lifespan.taskWide()));
+        }
+        NodeSelector selector = createSoftAffinityNodeSelector("file", 100);
+
+        // the producer assignment is recorded by the default node selector for the consumer
+        UUID uuid = UUID.randomUUID();
+        SqlStageExecution producerStage = createReuseExchangeStage(ReuseExchangeOperator.STRATEGY.REUSE_STRATEGY_PRODUCER, uuid);
+        Multimap<InternalNode, Split> producerAssignments = selector.computeAssignments(splits, ImmutableList.copyOf(taskMap.values()), Optional.of(producerStage)).getAssignments();
+        assertEquals(producerAssignments.size(), splits.size());
+        assertTrue(TableSplitAssignmentInfo.getInstance().getReuseTableScanMappingIdSplitAssignmentMap().containsKey(uuid));
+
+        SqlStageExecution consumerStage = createReuseExchangeStage(ReuseExchangeOperator.STRATEGY.REUSE_STRATEGY_CONSUMER, uuid);
+        Multimap<InternalNode, Split> consumerAssignments = selector.computeAssignments(splits, ImmutableList.copyOf(taskMap.values()), Optional.of(consumerStage)).getAssignments();
+        assertEquals(consumerAssignments.size(), splits.size());
+        Map<String, String> producerNodes = new HashMap<>();
+        producerAssignments.forEach((node, split) -> producerNodes.put(split.getConnectorSplit().getFilePath(), node.getNodeIdentifier()));
+        consumerAssignments.forEach((node, split) -> assertEquals(node.getNodeIdentifier(), producerNodes.get(split.getConnectorSplit().getFilePath())));
+
+        TableSplitAssignmentInfo.getInstance().removeFromTableSplitAssignmentInfo(ImmutableList.of(uuid));
+    }
+
+    private SqlStageExecution createReuseExchangeStage(ReuseExchangeOperator.STRATEGY strategy, UUID uuid)
+    {
+        StageId stageId = new StageId(new QueryId("query"), 0);
+        PlanFragment fragment = createTableScanPlanFragment("build", strategy, uuid, 1);
+        PlanNodeId tableScanNodeId = new PlanNodeId("plan_id");
+        StageExecutionPlan stageExecutionPlan = new StageExecutionPlan(
+                fragment,
+                ImmutableMap.of(tableScanNodeId, new ConnectorAwareSplitSource(CONNECTOR_ID, createFixedSplitSource(0, TestingSplit::createRemoteSplit))),
+                ImmutableList.of(),
+                ImmutableMap.of(tableScanNodeId, new TableInfo(new QualifiedObjectName("test", TEST_SCHEMA, "test"), TupleDomain.all())));
+        return createSqlStageExecution(
+                stageId,
+                new TestSqlTaskManager.MockLocationFactory().createStageLocation(stageId),
+                stageExecutionPlan.getFragment(),
+                stageExecutionPlan.getTables(),
+                new MockRemoteTaskFactory(remoteTaskExecutor, remoteTaskScheduledExecutor),
+                TEST_SESSION_REUSE,
+                true,
+                new NodeTaskMap(new FinalizerService()),
+                remoteTaskExecutor,
+                new NoOpFailureDetector(),
+                new SplitSchedulerStats(),
+                new DynamicFilterService(new LocalStateStoreProvider(
+                        new SeedStoreManager(new FileSystemClientManager()))),
+                new QuerySnapshotManager(stageId.getQueryId(), NOOP_RECOVERY_UTILS, TEST_SESSION),
+                new QueryRecoveryManager(TestingRecoveryUtils.NOOP_RECOVERY_UTILS, TEST_SESSION, stageId.getQueryId()),
+                Optional.empty());
+    }
+
+    private Map<String, String> softAffinityNodesByFile(Set<Split> splits, String mode, double loadFactor)
+    {
+        Multimap<InternalNode, Split> assignments = createSoftAffinityNodeSelector(mode, loadFactor).computeAssignments(splits, ImmutableList.copyOf(taskMap.values()), Optional.empty()).getAssignments();
+        assertEquals(assignments.size(), splits.size());
+        Map<String, String> nodesByFile = new HashMap<>();
+        assignments.forEach((node, split) -> {
+            String previous = nodesByFile.put(split.getConnectorSplit().getFilePath(), node.getNodeIdentifier());
+            assertTrue(previous == null || previous.equals(node.getNodeIdentifier()));
+        });
+        return nodesByFile;
+    }
+
+    private NodeSelector createSoftAffinityNodeSelector(String mode, double loadFactor)
+    {
+        return createSoftAffinityNodeSelector(mode, loadFactor, 100, 50);
+    }
+
+    private NodeSelector createSoftAffinityNodeSelector(String mode, double loadFactor, int maxSplitsPerNode, int maxPendingSplitsPerTask)
+    {
+        NodeSchedulerConfig nodeSchedulerConfig = new NodeSchedulerConfig()
+                .setMaxSplitsPerNode(maxSplitsPerNode)
+                .setIncludeCoordinator(false)
+                .setMaxPendingSplitsPerTask(maxPendingSplitsPerTask)
+                .setSoftAffinityMode(mode)
+                .setSoftAffinityLoadFactor(loadFactor)
+                .setSoftAffinityCandidates(1);
+        NodeSelector selector = new NodeScheduler(new LegacyNetworkTopology(), nodeManager, nodeSchedulerConfig, nodeTaskMap).createNodeSelector(CONNECTOR_ID, false, null);
+        assertTrue(selector instanceof SoftAffinityNodeSelector);
+        return selector;
+    }
+
     @Test
     public void testScheduleRemote()
     {
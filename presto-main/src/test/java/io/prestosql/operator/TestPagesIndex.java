@@ -14,8 +14,13 @@
 package io.prestosql.operator;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
 import io.hetu.core.transport.execution.buffer.PagesSerde;
+import io.prestosql.memory.context.LocalMemoryContext;
+import io.prestosql.memory.context.MemoryReservationHandler;
 import io.prestosql.spi.Page;
+import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.block.SortOrder;
 import io.prestosql.spi.snapshot.SnapshotTestUtil;
 import io.prestosql.spi.type.Type;
 import io.prestosql.testing.TestingPagesSerdeFactory;
@@ -26,10 +31,19 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
+import static com.google.common.util.concurrent.Futures.immediateFuture;
 import static io.prestosql.SequencePageBuilder.createSequencePage;
+import static io.prestosql.memory.context.AggregatedMemoryContext.newRootAggregatedMemoryContext;
+import static io.prestosql.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static io.prestosql.spi.block.SortOrder.ASC_NULLS_LAST;
 import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
+import static io.prestosql.spi.type.IntegerType.INTEGER;
+import static io.prestosql.spi.type.RealType.REAL;
 import static io.prestosql.spi.type.VarcharType.VARCHAR;
+import static java.lang.Float.floatToRawIntBits;
 import static java.lang.String.format;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -108,6 +122,160 @@ public class TestPagesIndex
         assertEquals(lazyCompactPagesIndex.getEstimatedSize(), eagerCompactPagesIndex.getEstimatedSize());
     }
 
+    @Test
+    public void testRadixSort()
+    {
+        for (Type keyType : ImmutableList.of(BIGINT, INTEGER, DOUBLE, REAL)) {
+            List<Type> types = ImmutableList.of(keyType, BIGINT);
+            List<Page> pages = randomPages(keyType, 4, 1000);
+            for (SortOrder sortOrder : SortOrder.values()) {
+                // the radix sort is expected to order positions the same way as the comparator
+                PagesIndex expected = new PagesIndex.TestingFactory(false, false).newPagesIndex(types, 4000);
+                PagesIndex actual = new PagesIndex.TestingFactory(false, true).newPagesIndex(types, 4000);
+                pages.forEach(expected::addPage);
+                pages.forEach(actual::addPage);
+
+                LocalMemoryContext sortMemoryContext = newSimpleAggregatedMemoryContext().newLocalMemoryContext("sort");
+                expected.sort(ImmutableList.of(0, 1), ImmutableList.of(sortOrder, ASC_NULLS_LAST));
+                actual.sort(ImmutableList.of(0, 1), ImmutableList.of(sortOrder, ASC_NULLS_LAST), sortMemoryContext);
+                assertEquals(getValues(actual), getValues(expected), format("%s %s", keyType, sortOrder));
+
+                // a sort on the leading key alone orders by the key only
+                actual.sort(ImmutableList.of(0), ImmutableList.of(sortOrder), sortMemoryContext);
+                assertEquals(getValues(actual, 0), getValues(expected, 0), format("%s %s", keyType, sortOrder));
+                assertEquals(sortMemoryContext.getBytes(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testRadixSortMemoryReservation()
+    {
+        List<Type> types = ImmutableList.of(BIGINT, BIGINT);
+        List<SortOrder> sortOrders = ImmutableList.of(ASC_NULLS_LAST, ASC_NULLS_LAST);
+        List<Page> pages = randomPages(BIGINT, 4, 1000);
+        PagesIndex expected = new PagesIndex.TestingFactory(false, false).newPagesIndex(types, 4000);
+        pages.forEach(expected::addPage);
+        expected.sort(ImmutableList.of(0, 1), sortOrders);
+
+        for (boolean reservationGranted : new boolean[] {true, false}) {
+            TestingReservationHandler reservationHandler = new TestingReservationHandler(reservationGranted);
+            LocalMemoryContext sortMemoryContext = newRootAggregatedMemoryContext(reservationHandler, 0).newLocalMemoryContext("sort");
+            PagesIndex actual = new PagesIndex.TestingFactory(false, true).newPagesIndex(types, 4000);
+            pages.forEach(actual::addPage);
+
+            // the positions are sorted with the comparator when the scratch arrays can not be reserved
+            actual.sort(ImmutableList.of(0, 1), sortOrders, sortMemoryContext);
+            assertEquals(getValues(actual), getValues(expected));
+            assertEquals(reservationHandler.getMaxReservedBytes(), reservationGranted ? PagesIndexRadixSorter.getScratchSizeInBytes(4000) : 0);
+            assertEquals(reservationHandler.getReservedBytes(), 0);
+        }
+    }
+
+    private static List<Page> randomPages(Type keyType, int pageCount, int positionCount)
+    {
+        Random random = new Random(42);
+        ImmutableList.Builder<Page> pages = ImmutableList.builder();
+        for (int page = 0; page < pageCount; page++) {
+            BlockBuilder keys = keyType.createBlockBuilder(null, positionCount);
+            BlockBuilder values = BIGINT.createBlockBuilder(null, positionCount);
+            for (int position = 0; position < positionCount; position++) {
+                int value = random.nextInt(200) - 100;
+                if (random.nextInt(10) == 0) {
+                    keys.appendNull();
+                }
+                else if (keyType.equals(DOUBLE)) {
+                    double[] specialValues = {-0.0, 0.0, Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+                    DOUBLE.writeDouble(keys, value < -95 ? specialValues[-96 - value] : value / 3.0);
+                }
+                else if (keyType.equals(REAL)) {
+                    float[] specialValues = {-0.0f, 0.0f, Float.NaN, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY};
+                    REAL.writeLong(keys, floatToRawIntBits(value < -95 ? specialValues[-96 - value] : value / 3.0f));
+                }
+                else if (keyType.equals(BIGINT)) {
+                    // spread the keys over all bytes of the long
+                    BIGINT.writeLong(keys, value * 0x0101_0101_0101_0101L);
+                }
+                else {
+                    keyType.writeLong(keys, value);
+                }
+                BIGINT.writeLong(values, random.nextInt(10));
+            }
+            pages.add(new Page(keys.build(), values.build()));
+        }
+        return pages.build();
+    }
+
+    private static List<List<Object>> getValues(PagesIndex pagesIndex)
+    {
+        List<List<Object>> values = new ArrayList<>();
+        for (int position = 0; position < pagesIndex.getPositionCount(); position++) {
+            values.add(Arrays.asList(getValue(pagesIndex, 0, position), getValue(pagesIndex, 1, position)));
+        }
+        return values;
+    }
+
+    private static List<Object> getValues(PagesIndex pagesIndex, int channel)
+    {
+        List<Object> values = new ArrayList<>();
+        for (int position = 0; position < pagesIndex.getPositionCount(); position++) {
+            values.add(getValue(pagesIndex, channel, position));
+        }
+        return values;
+    }
+
+    private static Object getValue(PagesIndex pagesIndex, int channel, int position)
+    {
+        if (pagesIndex.isNull(channel, position)) {
+            return null;
+        }
+        if (pagesIndex.getType(channel).equals(DOUBLE)) {
+            return pagesIndex.getDouble(channel, position);
+        }
+        return pagesIndex.getLong(channel, position);
+    }
+
+    private static class TestingReservationHandler
+            implements MemoryReservationHandler
+    {
+        private final boolean reservationGranted;
+        private long reservedBytes;
+        private long maxReservedBytes;
+
+        TestingReservationHandler(boolean reservationGranted)
+        {
+            this.reservationGranted = reservationGranted;
+        }
+
+        @Override
+        public ListenableFuture<?> reserveMemory(String allocationTag, long delta)
+        {
+            reservedBytes += delta;
+            maxReservedBytes = Math.max(maxReservedBytes, reservedBytes);
+            return immediateFuture(null);
+        }
+
+        @Override
+        public boolean tryReserveMemory(String allocationTag, long delta)
+        {
+            if (!reservationGranted) {
+                return false;
+            }
+            reserveMemory(allocationTag, delta);
+            return true;
+        }
+
+        long getReservedBytes()
+        {
+            return reservedBytes;
+        }
+
+        long getMaxReservedBytes()
+        {
+            return maxReservedBytes;
+        }
+    }
+
     private static PagesIndex newPagesIndex(List<Type> types, int expectedPositions, boolean eagerCompact)
     {
         return new PagesIndex.TestingFactory(eagerCompact).newPagesIndex(types, expectedPositions);
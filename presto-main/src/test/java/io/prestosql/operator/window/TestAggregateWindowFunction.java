@@ -14,14 +14,18 @@
 package io.prestosql.operator.window;
 
 import io.prestosql.testing.MaterializedResult;
+import io.prestosql.testing.MaterializedRow;
 import org.intellij.lang.annotations.Language;
 import org.testng.annotations.Test;
 
+import java.util.List;
+
 import static io.prestosql.SessionTestUtils.TEST_SESSION;
 import static io.prestosql.spi.type.BigintType.BIGINT;
 import static io.prestosql.spi.type.IntegerType.INTEGER;
 import static io.prestosql.spi.type.VarcharType.VARCHAR;
 import static io.prestosql.testing.MaterializedResult.resultBuilder;
+import static org.testng.Assert.assertEquals;
 
 public class TestAggregateWindowFunction
         extends AbstractTestWindowFunction
@@ -530,4 +534,58 @@ public class TestAggregateWindowFunction
                         .row(null, null, null)
                         .build());
     }
+
+    @Test
+    public void testSlidingFrames()
+    {
+        // frames longer than the segment tree threshold, over values that are neither sorted nor null free
+        String window = " OVER (ORDER BY x ROWS BETWEEN 100 PRECEDING AND 10 FOLLOWING)";
+        MaterializedResult actual = queryRunner.execute("" +
+                "SELECT x, count(v)" + window + ", sum(v)" + window + ", avg(v)" + window + ", sum(d)" + window + ", min(v)" + window + ", max(v)" + window + " " +
+                "FROM (SELECT x, IF(x % 7 = 0, NULL, (x * 37) % 101) v, IF(x % 5 = 0, NULL, x / 8.0E0) d FROM UNNEST(sequence(1, 1000)) t(x))");
+        assertEquals(actual.getRowCount(), 1000);
+        for (MaterializedRow row : actual.getMaterializedRows()) {
+            long x = (long) row.getField(0);
+            long count = 0;
+            long sum = 0;
+            double doubleSum = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (long i = Math.max(1, x - 100); i <= Math.min(1000, x + 10); i++) {
+                if (i % 5 != 0) {
+                    doubleSum += i / 8.0;
+                }
+                if (i % 7 == 0) {
+                    continue;
+                }
+                long value = (i * 37) % 101;
+                count++;
+                sum += value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            assertEquals(row.getField(1), count);
+            assertEquals(row.getField(2), sum);
+            assertEquals((double) row.getField(3), (double) sum / count, 1e-9);
+            assertEquals((double) row.getField(4), doubleSum, 1e-9);
+            assertEquals(row.getField(5), min);
+            assertEquals(row.getField(6), max);
+        }
+    }
+
+    @Test
+    public void testSlidingFramesWithMixedMagnitudes()
+    {
+        // the large value leaving the frame can not be subtracted from a double sum without losing the small ones
+        String window = " OVER (ORDER BY x ROWS 2 PRECEDING)";
+        MaterializedResult actual = queryRunner.execute("" +
+                "SELECT x, sum(d)" + window + ", avg(d)" + window + " " +
+                "FROM (VALUES (1, 1.0E20), (2, 1.0E0), (3, 1.0E0), (4, 1.0E0), (5, 1.0E0)) t(x, d)");
+        List<MaterializedRow> rows = actual.getMaterializedRows();
+        assertEquals(rows.size(), 5);
+        assertEquals(rows.get(3).getField(1), 3.0);
+        assertEquals(rows.get(3).getField(2), 1.0);
+        assertEquals(rows.get(4).getField(1), 3.0);
+        assertEquals(rows.get(4).getField(2), 1.0);
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.orc;
+
+import com.google.common.primitives.Ints;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Order in which the column filters of a selective read are evaluated. Every filter only sees the
+ * positions which passed the filters before it, so the expected cost of a batch is minimal when the
+ * filters are sorted by their cost per position divided by the fraction of positions they drop.
+ * Both are measured while reading and the order is recomputed after every batch; the measurements
+ * decay so that the order follows the data when its distribution changes within a file.
+ */
+public class ColumnFilterOrder
+{
+    // the measurements are halved after this many positions, to weight recent batches higher
+    private static final long DECAY_POSITIONS = 64 * 1024;
+    // keeps the rank of filters dropping no positions finite, so these are still ordered by cost
+    private static final double MIN_DROP_RATE = 0.001;
+
+    private final int[] columns;
+    private final double[] inputPositions;
+    private final double[] outputPositions;
+    private final double[] nanos;
+
+    private int[] order;
+    private long reorders;
+
+    public ColumnFilterOrder(List<Integer> columns)
+    {
+        this.columns = Ints.toArray(requireNonNull(columns, "columns is null"));
+        this.inputPositions = new double[this.columns.length];
+        this.outputPositions = new double[this.columns.length];
+        this.nanos = new double[this.columns.length];
+        this.order = this.columns.clone();
+    }
+
+    /**
+     * Returns the columns in the order their filters should be evaluated for the next batch.
+     */
+    public int[] getOrder()
+    {
+        return order;
+    }
+
+    /**
+     * Number of times the order changed between batches.
+     */
+    public long getReorders()
+    {
+        return reorders;
+    }
+
+    public void record(int column, int inputPositionCount, int outputPositionCount, long elapsedNanos)
+    {
+        int index = indexOf(column);
+        inputPositions[index] += inputPositionCount;
+        outputPositions[index] += outputPositionCount;
+        nanos[index] += elapsedNanos;
+        if (inputPositions[index] > DECAY_POSITIONS) {
+            inputPositions[index] /= 2;
+            outputPositions[index] /= 2;
+            nanos[index] /= 2;
+        }
+    }
+
+    /**
+     * Recomputes the order from the measurements so far. Filters which have not seen any position yet,
+     * because the filters before them dropped every position, are moved to the front to be measured.
+     */
+    public void update()
+    {
+        if (columns.length < 2) {
+            return;
+        }
+
+        Integer[] indexes = new Integer[columns.length];
+        double[] ranks = new double[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            indexes[i] = i;
+            ranks[i] = getRank(i);
+        }
+        // stable sort, filters of equal rank keep the order they were declared in
+        Arrays.sort(indexes, (left, right) -> Double.compare(ranks[left], ranks[right]));
+
+        int[] newOrder = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            newOrder[i] = columns[indexes[i]];
+        }
+        if (!Arrays.equals(order, newOrder)) {
+            order = newOrder;
+            reorders++;
+        }
+    }
+
+    private double getRank(int index)
+    {
+        if (inputPositions[index] == 0) {
+            return -1;
+        }
+        double costPerPosition = nanos[index] / inputPositions[index];
+        double dropRate = 1 - outputPositions[index] / inputPositions[index];
+        return costPerPosition / Math.max(dropRate, MIN_DROP_RATE);
+    }
+
+    private int indexOf(int column)
+    {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] == column) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No filter on column " + column);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("order", Arrays.toString(order))
+                .add("reorders", reorders)
+                .toString();
+    }
+}
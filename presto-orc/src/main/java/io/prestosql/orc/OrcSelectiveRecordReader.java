@@ -64,7 +64,6 @@ public class OrcSelectiveRecordReader
     private static final byte[] NULL_MARKER = new byte[0];
 
     private final List<Integer> excludePositions;
-    private final List<Integer> columnReaderOrder;
     private final Map<Integer, TupleDomainFilter> filters;
     List<Integer> outputColumns;
     Map<Integer, Type> includedColumns;
@@ -79,6 +78,10 @@ public class OrcSelectiveRecordReader
     private final Set<Integer> missingColumns;
     // flag indicating whether range filter on a constant column is false; no data is read in that case
     private boolean constantFilterIsFalse;
+    // order of the file columns with AND filters, adapted to the measured cost and selectivity of their filters
+    private final ColumnFilterOrder columnFilterOrder;
+    // cached column readers return the rows matched by all filters of the split, so the order stays fixed with them
+    private final boolean adaptiveFilterOrder;
 
     /**
      * Create a selective record reader to be used with selective page source.
@@ -175,9 +178,6 @@ public class OrcSelectiveRecordReader
                 orDomains,
                 false);
 
-        int fieldCount = orcTypes.get(OrcColumnId.ROOT_COLUMN).getFieldCount();
-        this.columnReaderOrder = new ArrayList<>(fieldCount);
-
         this.outputColumns = outputColumns;
         this.includedColumns = includedColumns;
         this.excludePositions = positions;
@@ -206,6 +206,15 @@ public class OrcSelectiveRecordReader
                 orcCacheStore, orcCacheProperties,
                 predicate, filters, hiveStorageTimeZone,
                 outputColumns, includedColumns, orcTypes, useDataCache));
+
+        List<Integer> filterColumns = new ArrayList<>();
+        for (Integer columnIdx : colReaderWithFilter) {
+            if (columnIdx >= 0 && !missingColumns.contains(columnIdx) && getColumnReaders()[columnIdx] != null) {
+                filterColumns.add(columnIdx);
+            }
+        }
+        this.columnFilterOrder = new ColumnFilterOrder(filterColumns);
+        this.adaptiveFilterOrder = !orcCacheProperties.isRowDataCacheEnabled();
     }
 
     private static boolean containsNonNullFilter(TupleDomainFilter columnFilters)
@@ -240,7 +249,7 @@ public class OrcSelectiveRecordReader
         int[] positionsToRead = initializePositions(batchSize);
         int positionCount = positionsToRead.length;
 
-        /* first evaluate columns with filter AND conditions */
+        /* first evaluate columns with filter AND conditions, starting with the ones which need no read */
         SelectiveColumnReader[] columnReaders = getColumnReaders();
         if (positionCount != 0) {
             for (Integer columnIdx : colReaderWithFilter) {
@@ -256,16 +265,25 @@ public class OrcSelectiveRecordReader
                         break;
                     }
                 }
-                else if (columnReaders[columnIdx] != null) {
-                    positionCount = columnReaders[columnIdx].read(getNextRowInGroup(), positionsToRead, positionCount, filters.get(columnIdx));
-                    if (positionCount == 0) {
-                        break;
-                    }
+            }
+        }
 
-                    // Get list of row position to read for the next column. Output of positions from current column is
-                    // input to the next column
-                    positionsToRead = columnReaders[columnIdx].getReadPositions();
+        if (positionCount != 0) {
+            for (int columnIdx : columnFilterOrder.getOrder()) {
+                int inputPositionCount = positionCount;
+                long start = System.nanoTime();
+                positionCount = columnReaders[columnIdx].read(getNextRowInGroup(), positionsToRead, positionCount, filters.get(columnIdx));
+                columnFilterOrder.record(columnIdx, inputPositionCount, positionCount, System.nanoTime() - start);
+                if (positionCount == 0) {
+                    break;
                 }
+
+                // Get list of row position to read for the next column. Output of positions from current column is
+                // input to the next column
+                positionsToRead = columnReaders[columnIdx].getReadPositions();
+            }
+            if (adaptiveFilterOrder) {
+                columnFilterOrder.update();
             }
         }
 
@@ -426,10 +444,16 @@ public class OrcSelectiveRecordReader
         }
     }
 
+    public long getFilterReorders()
+    {
+        return columnFilterOrder.getReorders();
+    }
+
     @Override
     public void close()
             throws IOException
     {
+        log.debug("Column filter order at close: %s", columnFilterOrder);
         super.close();
     }
 
@@ -488,12 +512,13 @@ public class OrcSelectiveRecordReader
                 }
                 else {
                     columnReader = createColumnReader(
-                            orcTypes.get(column.getColumnId()),
+                            orcTypes,
                             column,
                             Optional.ofNullable(filters.get(i)),
                             outputRequired ? Optional.of(includedColType) : Optional.empty(),
                             hiveStorageTimeZone,
-                            systemMemoryContext);
+                            systemMemoryContext,
+                            blockFactory.createNestedBlockFactory(block -> blockLoaded(columnIndex, block)));
                     if (orcCacheProperties.isRowDataCacheEnabled()) {
                         columnReader = SelectiveColumnReaders.wrapWithResultCachingStreamReader(columnReader, column,
                                 predicate, orcCacheStore.getRowDataCache());
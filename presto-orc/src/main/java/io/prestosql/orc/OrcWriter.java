@@ -17,6 +17,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.primitives.UnsignedBytes;
 import io.airlift.log.Logger;
+import io.airlift.slice.DynamicSliceOutput;
 import io.airlift.slice.Slice;
 import io.airlift.slice.Slices;
 import io.prestosql.orc.OrcWriteValidation.OrcWriteValidationBuilder;
@@ -51,6 +52,7 @@ import javax.annotation.Nullable;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -60,12 +62,18 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.airlift.slice.Slices.utf8Slice;
@@ -125,6 +133,15 @@ public final class OrcWriter
     private final Optional<Callable<Void>> preStripeFlushCallback;
     private final Optional<Callable<Void>> preCloseCallback;
 
+    // executors for the parallel column encoding and the asynchronous stripe flush, null if disabled
+    @Nullable
+    private final Executor encodingExecutor;
+    private final int encodingParallelism;
+    @Nullable
+    private final Executor flushExecutor;
+    @Nullable
+    private PendingStripe pendingStripe;
+
     private long fileRowCount;
     private Optional<ColumnMetadata<ColumnStatistics>> fileStats;
     private long fileStatsRetainedBytes;
@@ -145,6 +162,24 @@ public final class OrcWriter
             OrcWriterStats stats,
             Optional<Callable<Void>> preStripeFlushCallback,
             Optional<Callable<Void>> preCloseCallback)
+    {
+        this(orcDataSink, columnNames, types, compression, options, writeLegacyVersion, userMetadata, validate, validationMode, stats, preStripeFlushCallback, preCloseCallback, Optional.empty());
+    }
+
+    public OrcWriter(
+            OrcDataSink orcDataSink,
+            List<String> columnNames,
+            List<Type> types,
+            CompressionKind compression,
+            OrcWriterOptions options,
+            boolean writeLegacyVersion,
+            Map<String, String> userMetadata,
+            boolean validate,
+            OrcWriteValidationMode validationMode,
+            OrcWriterStats stats,
+            Optional<Callable<Void>> preStripeFlushCallback,
+            Optional<Callable<Void>> preCloseCallback,
+            Optional<Executor> writerExecutor)
     {
         this.validationBuilder = validate ? new OrcWriteValidationBuilder(validationMode, types)
                 .setStringStatisticsLimitInBytes(toIntExact(options.getMaxStringStatisticsLimit().toBytes())) : null;
@@ -212,6 +247,11 @@ public final class OrcWriter
         stats.updateSizeInBytes(previouslyRecordedSizeInBytes);
         this.preStripeFlushCallback = preStripeFlushCallback;
         this.preCloseCallback = preCloseCallback;
+
+        requireNonNull(writerExecutor, "writerExecutor is null");
+        this.encodingParallelism = min(options.getEncodingParallelism(), columnWriters.size());
+        this.encodingExecutor = encodingParallelism > 1 ? writerExecutor.orElse(null) : null;
+        this.flushExecutor = options.isAsyncStripeFlush() ? writerExecutor.orElse(null) : null;
     }
 
     public OrcWriter(
@@ -225,6 +265,22 @@ public final class OrcWriter
             boolean validate,
             OrcWriteValidationMode validationMode,
             OrcWriterStats stats)
+    {
+        this(orcDataSink, columnNames, types, orcTypes, compression, options, userMetadata, validate, validationMode, stats, Optional.empty());
+    }
+
+    public OrcWriter(
+            OrcDataSink orcDataSink,
+            List<String> columnNames,
+            List<Type> types,
+            ColumnMetadata<OrcType> orcTypes,
+            CompressionKind compression,
+            OrcWriterOptions options,
+            Map<String, String> userMetadata,
+            boolean validate,
+            OrcWriteValidationMode validationMode,
+            OrcWriterStats stats,
+            Optional<Executor> writerExecutor)
     {
         this.preStripeFlushCallback = Optional.empty();
         this.preCloseCallback = Optional.empty();
@@ -300,6 +356,11 @@ public final class OrcWriter
             recordValidation(validation -> validation.addMetadataProperty(entry.getKey(), utf8Slice(entry.getValue())));
         }
 
+        requireNonNull(writerExecutor, "writerExecutor is null");
+        this.encodingParallelism = min(options.getEncodingParallelism(), columnWriters.size());
+        this.encodingExecutor = encodingParallelism > 1 ? writerExecutor.orElse(null) : null;
+        this.flushExecutor = options.isAsyncStripeFlush() ? writerExecutor.orElse(null) : null;
+
         this.previouslyRecordedSizeInBytes = getRetainedBytes();
         stats.updateSizeInBytes(previouslyRecordedSizeInBytes);
     }
@@ -337,6 +398,10 @@ public final class OrcWriter
      */
     public long getWrittenBytes()
     {
+        if (pendingStripe != null) {
+            // the data sink is updated by the flush thread, so the pending stripe is counted as written
+            return pendingStripe.getEndOffset();
+        }
         return orcDataSink.size();
     }
 
@@ -353,7 +418,7 @@ public final class OrcWriter
         return INSTANCE_SIZE +
                 columnWritersRetainedBytes +
                 closedStripesRetainedBytes +
-                orcDataSink.getRetainedSizeInBytes() +
+                (pendingStripe == null ? orcDataSink.getRetainedSizeInBytes() : pendingStripe.getRetainedSizeInBytes()) +
                 (validationBuilder == null ? 0 : validationBuilder.getRetainedSize());
     }
 
@@ -407,12 +472,17 @@ public final class OrcWriter
         }
 
         // write chunks
-        bufferedBytes = 0;
-        for (int channel = 0; channel < chunk.getChannelCount(); channel++) {
-            ColumnWriter writer = columnWriters.get(channel);
-            writer.writeBlock(chunk.getBlock(channel));
-            bufferedBytes += writer.getBufferedBytes();
+        if (encodingExecutor == null) {
+            for (int channel = 0; channel < chunk.getChannelCount(); channel++) {
+                columnWriters.get(channel).writeBlock(chunk.getBlock(channel));
+            }
+        }
+        else {
+            // lazy blocks are not thread safe, so they are loaded before the columns are encoded
+            Page loadedChunk = chunk.getLoadedPage();
+            forEachColumnInParallel(channel -> columnWriters.get(channel).writeBlock(loadedChunk.getBlock(channel)));
         }
+        bufferedBytes = toIntExact(columnWriters.stream().mapToLong(ColumnWriter::getBufferedBytes).sum());
 
         // update stats
         rowGroupRowCount += chunk.getPositionCount();
@@ -442,6 +512,49 @@ public final class OrcWriter
         columnWritersRetainedBytes = columnWriters.stream().mapToLong(ColumnWriter::getRetainedBytes).sum();
     }
 
+    /**
+     * Runs the task for every column, on up to encodingParallelism threads of the encoding executor
+     * and the calling thread. Each column writer is only used by one thread at a time, and all tasks
+     * have finished when this method returns.
+     */
+    private void forEachColumnInParallel(IntConsumer task)
+    {
+        AtomicInteger nextColumn = new AtomicInteger();
+        Runnable worker = () -> {
+            for (int column = nextColumn.getAndIncrement(); column < columnWriters.size(); column = nextColumn.getAndIncrement()) {
+                task.accept(column);
+            }
+        };
+
+        List<CompletableFuture<Void>> workers = new ArrayList<>(encodingParallelism - 1);
+        for (int i = 1; i < encodingParallelism; i++) {
+            workers.add(CompletableFuture.runAsync(worker, encodingExecutor));
+        }
+        Throwable failure = null;
+        try {
+            worker.run();
+        }
+        catch (Throwable t) {
+            failure = t;
+            // let the other workers stop at their current column
+            nextColumn.set(columnWriters.size());
+        }
+        for (CompletableFuture<Void> future : workers) {
+            try {
+                future.join();
+            }
+            catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            }
+        }
+        if (failure != null) {
+            throwIfUnchecked(failure);
+            throw new RuntimeException(failure);
+        }
+    }
+
     private void finishRowGroup()
     {
         Map<OrcColumnId, ColumnStatistics> columnStatistics = new HashMap<>();
@@ -461,6 +574,9 @@ public final class OrcWriter
                 log.debug("Call pre stripe flush call back error");
             }
         }
+        // the offset of the stripe is only known once the previous stripe is written
+        awaitPendingStripe();
+
         List<OrcDataOutput> outputData = new ArrayList<>();
         long stripeStartOffset = orcDataSink.size();
         // add header to first stripe (this is not required but nice to have)
@@ -476,7 +592,17 @@ public final class OrcWriter
         }
 
         // write all data
-        orcDataSink.write(outputData);
+        if (flushExecutor == null || flushReason == CLOSED) {
+            orcDataSink.write(outputData);
+        }
+        else {
+            // the outputs reference the buffers of the column writers, which are reset below
+            Slice stripeData = copyOutputData(outputData);
+            pendingStripe = new PendingStripe(
+                    CompletableFuture.runAsync(() -> writeStripeData(stripeData), flushExecutor),
+                    orcDataSink.size() + stripeData.length(),
+                    orcDataSink.getRetainedSizeInBytes() + stripeData.getRetainedSize());
+        }
 
         // open next stripe
         columnWriters.forEach(ColumnWriter::reset);
@@ -486,6 +612,49 @@ public final class OrcWriter
         bufferedBytes = toIntExact(columnWriters.stream().mapToLong(ColumnWriter::getBufferedBytes).sum());
     }
 
+    private static Slice copyOutputData(List<OrcDataOutput> outputData)
+    {
+        long size = outputData.stream()
+                .mapToLong(OrcDataOutput::size)
+                .sum();
+        DynamicSliceOutput output = new DynamicSliceOutput(toIntExact(size));
+        for (OrcDataOutput dataOutput : outputData) {
+            dataOutput.writeData(output);
+        }
+        return output.slice();
+    }
+
+    private void writeStripeData(Slice stripeData)
+    {
+        try {
+            orcDataSink.write(ImmutableList.of(createDataOutput(stripeData)));
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void awaitPendingStripe()
+            throws IOException
+    {
+        if (pendingStripe == null) {
+            return;
+        }
+        CompletableFuture<Void> write = pendingStripe.getWrite();
+        pendingStripe = null;
+        try {
+            write.join();
+        }
+        catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throwIfUnchecked(cause);
+            throw new IOException(cause);
+        }
+    }
+
     /**
      * Collect the data for for the stripe.  This is not the actual data, but
      * instead are functions that know how to write the data.
@@ -507,7 +676,13 @@ public final class OrcWriter
         // convert any dictionary encoded column with a low compression ratio to direct
         dictionaryCompressionOptimizer.finalOptimize(bufferedBytes);
 
-        columnWriters.forEach(ColumnWriter::close);
+        // closing a column writer compresses its buffered streams
+        if (encodingExecutor == null) {
+            columnWriters.forEach(ColumnWriter::close);
+        }
+        else {
+            forEachColumnInParallel(column -> columnWriters.get(column).close());
+        }
 
         List<OrcDataOutput> outputData = new ArrayList<>();
         List<Stream> allStreams = new ArrayList<>(columnWriters.size() * 3);
@@ -720,6 +895,41 @@ public final class OrcWriter
         this.userMetadata.put(key, value);
     }
 
+    private static class PendingStripe
+    {
+        private final CompletableFuture<Void> write;
+        private final long endOffset;
+        private final long retainedSizeInBytes;
+
+        public PendingStripe(CompletableFuture<Void> write, long endOffset, long retainedSizeInBytes)
+        {
+            this.write = requireNonNull(write, "write is null");
+            this.endOffset = endOffset;
+            this.retainedSizeInBytes = retainedSizeInBytes;
+        }
+
+        public CompletableFuture<Void> getWrite()
+        {
+            return write;
+        }
+
+        /**
+         * Size of the data sink once the stripe is written.
+         */
+        public long getEndOffset()
+        {
+            return endOffset;
+        }
+
+        /**
+         * Retained size of the data sink and of the stripe data which is being written.
+         */
+        public long getRetainedSizeInBytes()
+        {
+            return retainedSizeInBytes;
+        }
+    }
+
     private static class ClosedStripe
     {
         private static final int INSTANCE_SIZE = ClassLayout.parseClass(ClosedStripe.class).instanceSize() + ClassLayout.parseClass(StripeInformation.class).instanceSize();
@@ -35,6 +35,7 @@ public class OrcWriterOptions
     private static final int DEFAULT_STRIPE_MAX_ROW_COUNT = 10_000_000;
     private static final int DEFAULT_ROW_GROUP_MAX_ROW_COUNT = 10_000;
     private static final DataSize DEFAULT_DICTIONARY_MAX_MEMORY = new DataSize(16, MEGABYTE);
+    private static final int DEFAULT_ENCODING_PARALLELISM = 1;
 
     @VisibleForTesting
     static final DataSize DEFAULT_MAX_STRING_STATISTICS_LIMIT = new DataSize(64, BYTE);
@@ -56,6 +57,9 @@ public class OrcWriterOptions
     private final Set<String> bloomFilterColumns;
     private final double bloomFilterFpp;
 
+    private final int encodingParallelism;
+    private final boolean asyncStripeFlush;
+
     public OrcWriterOptions()
     {
         this(
@@ -110,6 +114,8 @@ public class OrcWriterOptions
         this.shouldCompactMinMax = true;
         this.bloomFilterColumns = Collections.emptySet();
         this.bloomFilterFpp = 0d;
+        this.encodingParallelism = DEFAULT_ENCODING_PARALLELISM;
+        this.asyncStripeFlush = false;
     }
 
     public boolean isShouldCompactMinMax()
@@ -159,37 +165,83 @@ public class OrcWriterOptions
 
     public OrcWriterOptions withStripeMinSize(DataSize stripeMinSize)
     {
-        return new OrcWriterOptions(stripeMinSize, stripeMaxSize, stripeMaxRowCount, rowGroupMaxRowCount, dictionaryMaxMemory, maxStringStatisticsLimit, maxCompressionBufferSize);
+        return builderFrom(this)
+                .setStripeMinSize(stripeMinSize)
+                .build();
     }
 
     public OrcWriterOptions withStripeMaxSize(DataSize stripeMaxSize)
     {
-        return new OrcWriterOptions(stripeMinSize, stripeMaxSize, stripeMaxRowCount, rowGroupMaxRowCount, dictionaryMaxMemory, maxStringStatisticsLimit, maxCompressionBufferSize);
+        return builderFrom(this)
+                .setStripeMaxSize(stripeMaxSize)
+                .build();
     }
 
     public OrcWriterOptions withStripeMaxRowCount(int stripeMaxRowCount)
     {
-        return new OrcWriterOptions(stripeMinSize, stripeMaxSize, stripeMaxRowCount, rowGroupMaxRowCount, dictionaryMaxMemory, maxStringStatisticsLimit, maxCompressionBufferSize);
+        return builderFrom(this)
+                .setStripeMaxRowCount(stripeMaxRowCount)
+                .build();
     }
 
     public OrcWriterOptions withRowGroupMaxRowCount(int rowGroupMaxRowCount)
     {
-        return new OrcWriterOptions(stripeMinSize, stripeMaxSize, stripeMaxRowCount, rowGroupMaxRowCount, dictionaryMaxMemory, maxStringStatisticsLimit, maxCompressionBufferSize);
+        return builderFrom(this)
+                .setRowGroupMaxRowCount(rowGroupMaxRowCount)
+                .build();
     }
 
     public OrcWriterOptions withDictionaryMaxMemory(DataSize dictionaryMaxMemory)
     {
-        return new OrcWriterOptions(stripeMinSize, stripeMaxSize, stripeMaxRowCount, rowGroupMaxRowCount, dictionaryMaxMemory, maxStringStatisticsLimit, maxCompressionBufferSize);
+        return builderFrom(this)
+                .setDictionaryMaxMemory(dictionaryMaxMemory)
+                .build();
     }
 
     public OrcWriterOptions withMaxStringStatisticsLimit(DataSize maxStringStatisticsLimit)
     {
-        return new OrcWriterOptions(stripeMinSize, stripeMaxSize, stripeMaxRowCount, rowGroupMaxRowCount, dictionaryMaxMemory, maxStringStatisticsLimit, maxCompressionBufferSize);
+        return builderFrom(this)
+                .setMaxStringStatisticsLimit(maxStringStatisticsLimit)
+                .build();
     }
 
     public OrcWriterOptions withMaxCompressionBufferSize(DataSize maxCompressionBufferSize)
     {
-        return new OrcWriterOptions(stripeMinSize, stripeMaxSize, stripeMaxRowCount, rowGroupMaxRowCount, dictionaryMaxMemory, maxStringStatisticsLimit, maxCompressionBufferSize);
+        return builderFrom(this)
+                .setMaxCompressionBufferSize(maxCompressionBufferSize)
+                .build();
+    }
+
+    /**
+     * Number of columns of a stripe encoded concurrently, including the writer thread. The
+     * columns are only encoded in parallel if the writer is given an executor.
+     */
+    public int getEncodingParallelism()
+    {
+        return encodingParallelism;
+    }
+
+    public OrcWriterOptions withEncodingParallelism(int encodingParallelism)
+    {
+        return builderFrom(this)
+                .setEncodingParallelism(encodingParallelism)
+                .build();
+    }
+
+    /**
+     * Whether a finished stripe is written to the data sink on the writer executor, while the
+     * next stripe is buffered.
+     */
+    public boolean isAsyncStripeFlush()
+    {
+        return asyncStripeFlush;
+    }
+
+    public OrcWriterOptions withAsyncStripeFlush(boolean asyncStripeFlush)
+    {
+        return builderFrom(this)
+                .setAsyncStripeFlush(asyncStripeFlush)
+                .build();
     }
 
     public OrcWriterOptions withShouldCompactMinMax(boolean shouldCompactMinMax)
@@ -211,6 +263,8 @@ public class OrcWriterOptions
                 .add("maxStringStatisticsLimit", maxStringStatisticsLimit)
                 .add("maxCompressionBufferSize", maxCompressionBufferSize)
                 .add("shouldCompactMinMax", shouldCompactMinMax)
+                .add("encodingParallelism", encodingParallelism)
+                .add("asyncStripeFlush", asyncStripeFlush)
                 .toString();
     }
 
@@ -249,6 +303,8 @@ public class OrcWriterOptions
         private Set<String> bloomFilterColumns;
         private double bloomFilterFpp;
         private boolean shouldCompactMinMax;
+        private int encodingParallelism;
+        private boolean asyncStripeFlush;
 
         private Builder(OrcWriterOptions options)
         {
@@ -265,6 +321,8 @@ public class OrcWriterOptions
             this.bloomFilterColumns = null != options.bloomFilterColumns ? ImmutableSet.copyOf(options.bloomFilterColumns) : new HashSet<>();
             this.bloomFilterFpp = options.bloomFilterFpp;
             this.shouldCompactMinMax = options.shouldCompactMinMax;
+            this.encodingParallelism = options.encodingParallelism;
+            this.asyncStripeFlush = options.asyncStripeFlush;
         }
 
         public Builder setWriterIdentification(WriterIdentification writerIdentification)
@@ -333,6 +391,18 @@ public class OrcWriterOptions
             return this;
         }
 
+        public Builder setEncodingParallelism(int encodingParallelism)
+        {
+            this.encodingParallelism = encodingParallelism;
+            return this;
+        }
+
+        public Builder setAsyncStripeFlush(boolean asyncStripeFlush)
+        {
+            this.asyncStripeFlush = asyncStripeFlush;
+            return this;
+        }
+
         public OrcWriterOptions build()
         {
             return new OrcWriterOptions(
@@ -346,7 +416,9 @@ public class OrcWriterOptions
                     maxCompressionBufferSize,
                     bloomFilterColumns,
                     bloomFilterFpp,
-                    shouldCompactMinMax);
+                    shouldCompactMinMax,
+                    encodingParallelism,
+                    asyncStripeFlush);
         }
     }
 
@@ -361,7 +433,9 @@ public class OrcWriterOptions
             DataSize maxCompressionBufferSize,
             Set<String> bloomFilterColumns,
             double bloomFilterFpp,
-            boolean shouldCompactMinMax)
+            boolean shouldCompactMinMax,
+            int encodingParallelism,
+            boolean asyncStripeFlush)
     {
         requireNonNull(stripeMinSize, "stripeMinSize is null");
         requireNonNull(stripeMaxSize, "stripeMaxSize is null");
@@ -371,6 +445,7 @@ public class OrcWriterOptions
         requireNonNull(maxStringStatisticsLimit, "maxStringStatisticsLimit is null");
         requireNonNull(maxCompressionBufferSize, "maxCompressionBufferSize is null");
         requireNonNull(bloomFilterColumns, "bloomFilterColumns is null");
+        checkArgument(encodingParallelism >= 1, "encodingParallelism must be at least 1");
 
         this.writerIdentification = requireNonNull(writerIdentification, "writerIdentification is null");
         this.stripeMinSize = stripeMinSize;
@@ -383,6 +458,8 @@ public class OrcWriterOptions
         this.bloomFilterColumns = ImmutableSet.copyOf(bloomFilterColumns);
         this.bloomFilterFpp = bloomFilterFpp;
         this.shouldCompactMinMax = shouldCompactMinMax;
+        this.encodingParallelism = encodingParallelism;
+        this.asyncStripeFlush = asyncStripeFlush;
     }
 
     public OrcWriterOptions withWriterIdentification(WriterIdentification writerIdentification)
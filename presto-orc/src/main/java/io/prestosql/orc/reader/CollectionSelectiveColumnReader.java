@@ -0,0 +1,172 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.orc.reader;
+
+import io.prestosql.memory.context.AggregatedMemoryContext;
+import io.prestosql.orc.OrcBlockFactory.NestedBlockFactory;
+import io.prestosql.orc.OrcColumn;
+import io.prestosql.orc.OrcCorruptionException;
+import io.prestosql.orc.TupleDomainFilter;
+import io.prestosql.orc.metadata.ColumnEncoding;
+import io.prestosql.orc.metadata.ColumnMetadata;
+import io.prestosql.orc.stream.InputStreamSources;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.type.Type;
+import org.openjdk.jol.info.ClassLayout;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static io.prestosql.orc.reader.ColumnReaders.createColumnReader;
+import static io.prestosql.orc.reader.NestedColumnFilters.nonNullsAllowed;
+import static io.prestosql.orc.reader.NestedColumnFilters.nullsAllowed;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Selective reader for LIST and MAP columns. The entries of a collection are stored contiguously
+ * for all rows, so the batch is decoded with the {@link ListColumnReader} or {@link MapColumnReader}
+ * up to the last requested position, and the requested positions are copied out of that block.
+ * Rows after the last requested position are skipped without being decoded.
+ */
+public class CollectionSelectiveColumnReader<T>
+        implements SelectiveColumnReader<T>
+{
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(CollectionSelectiveColumnReader.class).instanceSize();
+
+    private final OrcColumn column;
+    private final boolean nullsAllowed;
+    private final boolean nonNullsAllowed;
+    private final ColumnReader delegate;
+
+    private int readOffset;
+    @Nullable
+    private Block block;
+    private int[] outputPositions = new int[0];
+    private int outputPositionCount;
+
+    public CollectionSelectiveColumnReader(
+            OrcColumn column,
+            Optional<TupleDomainFilter> filter,
+            Optional<Type> outputType,
+            AggregatedMemoryContext systemMemoryContext,
+            NestedBlockFactory blockFactory)
+            throws OrcCorruptionException
+    {
+        this.column = requireNonNull(column, "column is null");
+        requireNonNull(filter, "filter is null");
+        checkArgument(outputType.isPresent(), "%s column %s is only supported as an output column", column.getColumnType(), column);
+        this.nullsAllowed = nullsAllowed(filter);
+        this.nonNullsAllowed = nonNullsAllowed(filter);
+        this.delegate = createColumnReader(outputType.get(), column, systemMemoryContext, blockFactory);
+    }
+
+    @Override
+    public int read(int offset, int[] positions, int positionCount, TupleDomainFilter filter)
+            throws IOException
+    {
+        if (positionCount == 0) {
+            outputPositionCount = 0;
+            return 0;
+        }
+
+        if (readOffset < offset) {
+            delegate.prepareNextRead(offset - readOffset);
+        }
+        int batchSize = positions[positionCount - 1] + 1;
+        delegate.prepareNextRead(batchSize);
+        block = delegate.readBlock();
+        readOffset = offset + batchSize;
+
+        if (nullsAllowed && nonNullsAllowed) {
+            outputPositions = positions;
+            outputPositionCount = positionCount;
+            return outputPositionCount;
+        }
+
+        if (outputPositions == positions || outputPositions.length < positionCount) {
+            outputPositions = new int[positionCount];
+        }
+        outputPositionCount = 0;
+        for (int i = 0; i < positionCount; i++) {
+            int position = positions[i];
+            if (block.isNull(position) ? nullsAllowed : nonNullsAllowed) {
+                outputPositions[outputPositionCount] = position;
+                outputPositionCount++;
+            }
+        }
+        return outputPositionCount;
+    }
+
+    @Override
+    public int[] getReadPositions()
+    {
+        return outputPositions;
+    }
+
+    @Override
+    public Block<T> getBlock(int[] positions, int positionCount)
+    {
+        requireNonNull(block, "block is null");
+        if (positionCount == block.getPositionCount()) {
+            // positions are increasing and start at zero, so every position of the batch is requested
+            return block;
+        }
+        return block.copyPositions(positions, 0, positionCount);
+    }
+
+    @Override
+    public void startStripe(ZoneId fileTimeZone, InputStreamSources dictionaryStreamSources, ColumnMetadata<ColumnEncoding> encoding)
+            throws IOException
+    {
+        readOffset = 0;
+        block = null;
+        delegate.startStripe(fileTimeZone, dictionaryStreamSources, encoding);
+    }
+
+    @Override
+    public void startRowGroup(InputStreamSources dataStreamSources)
+            throws IOException
+    {
+        readOffset = 0;
+        block = null;
+        delegate.startRowGroup(dataStreamSources);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .addValue(column)
+                .toString();
+    }
+
+    @Override
+    public void close()
+    {
+        block = null;
+        delegate.close();
+    }
+
+    @Override
+    public long getRetainedSizeInBytes()
+    {
+        return INSTANCE_SIZE + sizeOf(outputPositions) + delegate.getRetainedSizeInBytes();
+    }
+}
@@ -320,7 +320,7 @@ public class LongSelectiveColumnReader
         checkState(positionCount <= outputPositionCount, "Not enough values");
 
         if (allNulls) {
-            return new RunLengthEncodedBlock(outputType.createBlockBuilder(null, 1).appendNull().build(), outputPositionCount);
+            return new RunLengthEncodedBlock(outputType.createBlockBuilder(null, 1).appendNull().build(), positionCount);
         }
 
         return buildOutputBlock(positions, positionCount, nullsAllowed && presentStream != null);
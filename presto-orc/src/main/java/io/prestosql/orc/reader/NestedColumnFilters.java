@@ -0,0 +1,47 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.orc.reader;
+
+import io.prestosql.orc.TupleDomainFilter;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * The values of STRUCT, LIST and MAP columns can not be compared, so the only filters a
+ * selective reader applies on such a column are IS NULL and IS NOT NULL.
+ */
+final class NestedColumnFilters
+{
+    private NestedColumnFilters() {}
+
+    static boolean nullsAllowed(Optional<TupleDomainFilter> filter)
+    {
+        checkSupported(filter);
+        return !filter.isPresent() || filter.get().testNull();
+    }
+
+    static boolean nonNullsAllowed(Optional<TupleDomainFilter> filter)
+    {
+        checkSupported(filter);
+        return !filter.isPresent() || filter.get() instanceof TupleDomainFilter.IsNotNull;
+    }
+
+    private static void checkSupported(Optional<TupleDomainFilter> filter)
+    {
+        checkArgument(!filter.isPresent() || filter.get() instanceof TupleDomainFilter.IsNull || filter.get() instanceof TupleDomainFilter.IsNotNull,
+                "Only IS NULL and IS NOT NULL filters are supported on nested columns: %s", filter);
+    }
+}
@@ -15,10 +15,13 @@ package io.prestosql.orc.reader;
 
 import com.google.common.cache.Cache;
 import io.prestosql.memory.context.AggregatedMemoryContext;
+import io.prestosql.orc.OrcBlockFactory.NestedBlockFactory;
 import io.prestosql.orc.OrcColumn;
+import io.prestosql.orc.OrcCorruptionException;
 import io.prestosql.orc.OrcPredicate;
 import io.prestosql.orc.OrcRowDataCacheKey;
 import io.prestosql.orc.TupleDomainFilter;
+import io.prestosql.orc.metadata.ColumnMetadata;
 import io.prestosql.orc.metadata.OrcType;
 import io.prestosql.spi.block.Block;
 import io.prestosql.spi.type.Type;
@@ -32,6 +35,32 @@ public final class SelectiveColumnReaders
 {
     private SelectiveColumnReaders() {}
 
+    /**
+     * Creates a selective reader for a column of any type. STRUCT, LIST and MAP columns need the types
+     * of their nested columns and a block factory for the nested blocks, primitive columns are created
+     * by {@link #createColumnReader(OrcType, OrcColumn, Optional, Optional, DateTimeZone, AggregatedMemoryContext)}.
+     */
+    public static SelectiveColumnReader createColumnReader(
+            ColumnMetadata<OrcType> orcTypes,
+            OrcColumn column,
+            Optional<TupleDomainFilter> filter,
+            Optional<Type> outputType,
+            DateTimeZone hiveStorageTimeZone,
+            AggregatedMemoryContext systemMemoryContext,
+            NestedBlockFactory blockFactory)
+            throws OrcCorruptionException
+    {
+        switch (column.getColumnType()) {
+            case STRUCT:
+                return new StructSelectiveColumnReader(orcTypes, column, filter, outputType, hiveStorageTimeZone, systemMemoryContext, blockFactory);
+            case LIST:
+            case MAP:
+                return new CollectionSelectiveColumnReader(column, filter, outputType, systemMemoryContext, blockFactory);
+            default:
+                return createColumnReader(orcTypes.get(column.getColumnId()), column, filter, outputType, hiveStorageTimeZone, systemMemoryContext);
+        }
+    }
+
     public static SelectiveColumnReader createColumnReader(
             OrcType orcType,
             OrcColumn column,
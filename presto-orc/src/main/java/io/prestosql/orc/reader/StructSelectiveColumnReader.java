@@ -0,0 +1,337 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.orc.reader;
+
+import com.google.common.io.Closer;
+import io.prestosql.memory.context.AggregatedMemoryContext;
+import io.prestosql.orc.OrcBlockFactory.NestedBlockFactory;
+import io.prestosql.orc.OrcColumn;
+import io.prestosql.orc.OrcCorruptionException;
+import io.prestosql.orc.TupleDomainFilter;
+import io.prestosql.orc.metadata.ColumnEncoding;
+import io.prestosql.orc.metadata.ColumnMetadata;
+import io.prestosql.orc.metadata.OrcType;
+import io.prestosql.orc.stream.BooleanInputStream;
+import io.prestosql.orc.stream.InputStreamSource;
+import io.prestosql.orc.stream.InputStreamSources;
+import io.prestosql.spi.block.Block;
+import io.prestosql.spi.block.RowBlock;
+import io.prestosql.spi.block.RunLengthEncodedBlock;
+import io.prestosql.spi.type.RowType;
+import io.prestosql.spi.type.RowType.Field;
+import io.prestosql.spi.type.Type;
+import org.joda.time.DateTimeZone;
+import org.openjdk.jol.info.ClassLayout;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static io.prestosql.orc.metadata.Stream.StreamKind.PRESENT;
+import static io.prestosql.orc.reader.NestedColumnFilters.nonNullsAllowed;
+import static io.prestosql.orc.reader.NestedColumnFilters.nullsAllowed;
+import static io.prestosql.orc.reader.SelectiveColumnReaders.createColumnReader;
+import static io.prestosql.orc.stream.MissingInputStreamSource.missingStreamSource;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Selective reader for STRUCT columns. Only the fields of the output row type are read, each
+ * with its own selective reader, and only at the positions which passed the filters of the
+ * previously read columns. Fields are stored for the non null rows of the struct only, so the
+ * requested positions are translated to field positions by counting the present bits.
+ */
+public class StructSelectiveColumnReader<T>
+        implements SelectiveColumnReader<T>
+{
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(StructSelectiveColumnReader.class).instanceSize();
+
+    private final OrcColumn column;
+    private final boolean nullsAllowed;
+    private final boolean nonNullsAllowed;
+    @Nullable
+    private final RowType outputType;
+    // readers of the output fields, null for fields missing in the file
+    private final SelectiveColumnReader[] fieldReaders;
+
+    private InputStreamSource<BooleanInputStream> presentStreamSource = missingStreamSource(BooleanInputStream.class);
+    @Nullable
+    private BooleanInputStream presentStream;
+
+    private boolean rowGroupOpen;
+    private int readOffset;
+    // number of non null structs in the row group before readOffset, which is the read offset of the fields
+    private int fieldReadOffset;
+
+    private int[] outputPositions = new int[0];
+    private int outputPositionCount;
+    private boolean[] nulls = new boolean[0];
+    // field position of every output position, -1 for null structs
+    private int[] fieldPositions = new int[0];
+    private int[] fieldReadPositions = new int[0];
+    private int fieldReadPositionCount;
+
+    public StructSelectiveColumnReader(
+            ColumnMetadata<OrcType> orcTypes,
+            OrcColumn column,
+            Optional<TupleDomainFilter> filter,
+            Optional<Type> outputType,
+            DateTimeZone hiveStorageTimeZone,
+            AggregatedMemoryContext systemMemoryContext,
+            NestedBlockFactory blockFactory)
+            throws OrcCorruptionException
+    {
+        this.column = requireNonNull(column, "column is null");
+        requireNonNull(filter, "filter is null");
+        this.nullsAllowed = nullsAllowed(filter);
+        this.nonNullsAllowed = nonNullsAllowed(filter);
+        this.outputType = (RowType) outputType.orElse(null);
+
+        if (this.outputType == null) {
+            // filter only column, nothing but the present stream is read
+            this.fieldReaders = new SelectiveColumnReader[0];
+            return;
+        }
+
+        Map<String, OrcColumn> nestedColumns = column.getNestedColumns().stream()
+                .collect(toImmutableMap(nestedColumn -> nestedColumn.getColumnName().toLowerCase(Locale.ENGLISH), nestedColumn -> nestedColumn));
+        List<Field> fields = this.outputType.getFields();
+        this.fieldReaders = new SelectiveColumnReader[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            String fieldName = field.getName()
+                    .orElseThrow(() -> new IllegalArgumentException("ROW type does not have field names declared: " + this.outputType))
+                    .toLowerCase(Locale.ENGLISH);
+            OrcColumn fieldColumn = nestedColumns.get(fieldName);
+            if (fieldColumn != null) {
+                fieldReaders[i] = createColumnReader(
+                        orcTypes,
+                        fieldColumn,
+                        Optional.empty(),
+                        Optional.of(field.getType()),
+                        hiveStorageTimeZone,
+                        systemMemoryContext,
+                        blockFactory);
+            }
+        }
+    }
+
+    @Override
+    public int read(int offset, int[] positions, int positionCount, TupleDomainFilter filter)
+            throws IOException
+    {
+        if (!rowGroupOpen) {
+            openRowGroup();
+        }
+
+        if (readOffset < offset) {
+            fieldReadOffset += countNonNulls(offset - readOffset);
+        }
+        int fieldOffset = fieldReadOffset;
+
+        ensureCapacity(positionCount);
+        outputPositionCount = 0;
+        fieldReadPositionCount = 0;
+        int streamPosition = 0;
+        int fieldPosition = 0;
+        for (int i = 0; i < positionCount; i++) {
+            int position = positions[i];
+            if (position > streamPosition) {
+                fieldPosition += countNonNulls(position - streamPosition);
+                streamPosition = position;
+            }
+
+            if (presentStream != null && !presentStream.nextBit()) {
+                if (nullsAllowed) {
+                    nulls[outputPositionCount] = true;
+                    fieldPositions[outputPositionCount] = -1;
+                    outputPositions[outputPositionCount] = position;
+                    outputPositionCount++;
+                }
+            }
+            else {
+                if (nonNullsAllowed) {
+                    nulls[outputPositionCount] = false;
+                    fieldPositions[outputPositionCount] = fieldPosition;
+                    outputPositions[outputPositionCount] = position;
+                    outputPositionCount++;
+                    fieldReadPositions[fieldReadPositionCount] = fieldPosition;
+                    fieldReadPositionCount++;
+                }
+                fieldPosition++;
+            }
+            streamPosition++;
+        }
+
+        readOffset = offset + streamPosition;
+        fieldReadOffset = fieldOffset + fieldPosition;
+
+        if (fieldReadPositionCount > 0) {
+            for (SelectiveColumnReader fieldReader : fieldReaders) {
+                if (fieldReader != null) {
+                    fieldReader.read(fieldOffset, fieldReadPositions, fieldReadPositionCount, null);
+                }
+            }
+        }
+        return outputPositionCount;
+    }
+
+    private int countNonNulls(int items)
+            throws IOException
+    {
+        if (presentStream == null) {
+            return items;
+        }
+        return presentStream.countBitsSet(items);
+    }
+
+    @Override
+    public int[] getReadPositions()
+    {
+        return outputPositions;
+    }
+
+    @Override
+    public Block<T> getBlock(int[] positions, int positionCount)
+    {
+        requireNonNull(outputType, "outputType is null");
+
+        boolean[] rowIsNull = new boolean[positionCount];
+        int[] selectedFieldPositions = new int[positionCount];
+        int fieldPositionCount = 0;
+        int outputIndex = 0;
+        for (int i = 0; i < positionCount; i++) {
+            while (outputPositions[outputIndex] < positions[i]) {
+                outputIndex++;
+            }
+            if (nulls[outputIndex]) {
+                rowIsNull[i] = true;
+            }
+            else {
+                selectedFieldPositions[fieldPositionCount] = fieldPositions[outputIndex];
+                fieldPositionCount++;
+            }
+        }
+
+        if (fieldPositionCount == 0) {
+            return RunLengthEncodedBlock.create(outputType, null, positionCount);
+        }
+
+        List<Type> fieldTypes = outputType.getTypeParameters();
+        Block[] fieldBlocks = new Block[fieldReaders.length];
+        for (int i = 0; i < fieldReaders.length; i++) {
+            if (fieldReaders[i] == null) {
+                fieldBlocks[i] = RunLengthEncodedBlock.create(fieldTypes.get(i), null, fieldPositionCount);
+            }
+            else {
+                fieldBlocks[i] = fieldReaders[i].getBlock(selectedFieldPositions, fieldPositionCount);
+            }
+        }
+        return RowBlock.fromFieldBlocks(positionCount, fieldPositionCount == positionCount ? Optional.empty() : Optional.of(rowIsNull), fieldBlocks);
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (outputPositions.length < capacity) {
+            outputPositions = new int[capacity];
+            nulls = new boolean[capacity];
+            fieldPositions = new int[capacity];
+            fieldReadPositions = new int[capacity];
+        }
+    }
+
+    private void openRowGroup()
+            throws IOException
+    {
+        presentStream = presentStreamSource.openStream();
+        rowGroupOpen = true;
+    }
+
+    @Override
+    public void startStripe(ZoneId fileTimeZone, InputStreamSources dictionaryStreamSources, ColumnMetadata<ColumnEncoding> encoding)
+            throws IOException
+    {
+        presentStreamSource = missingStreamSource(BooleanInputStream.class);
+        presentStream = null;
+        readOffset = 0;
+        fieldReadOffset = 0;
+        rowGroupOpen = false;
+
+        for (SelectiveColumnReader fieldReader : fieldReaders) {
+            if (fieldReader != null) {
+                fieldReader.startStripe(fileTimeZone, dictionaryStreamSources, encoding);
+            }
+        }
+    }
+
+    @Override
+    public void startRowGroup(InputStreamSources dataStreamSources)
+            throws IOException
+    {
+        presentStreamSource = dataStreamSources.getInputStreamSource(column, PRESENT, BooleanInputStream.class);
+        presentStream = null;
+        readOffset = 0;
+        fieldReadOffset = 0;
+        rowGroupOpen = false;
+
+        for (SelectiveColumnReader fieldReader : fieldReaders) {
+            if (fieldReader != null) {
+                fieldReader.startRowGroup(dataStreamSources);
+            }
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .addValue(column)
+                .toString();
+    }
+
+    @Override
+    public void close()
+    {
+        try (Closer closer = Closer.create()) {
+            for (SelectiveColumnReader fieldReader : fieldReaders) {
+                if (fieldReader != null) {
+                    closer.register(fieldReader::close);
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public long getRetainedSizeInBytes()
+    {
+        long retainedSizeInBytes = INSTANCE_SIZE + sizeOf(outputPositions) + sizeOf(nulls) + sizeOf(fieldPositions) + sizeOf(fieldReadPositions);
+        for (SelectiveColumnReader fieldReader : fieldReaders) {
+            if (fieldReader != null) {
+                retainedSizeInBytes += fieldReader.getRetainedSizeInBytes();
+            }
+        }
+        return retainedSizeInBytes;
+    }
+}
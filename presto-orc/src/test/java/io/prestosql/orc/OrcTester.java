@@ -226,13 +226,15 @@ public class OrcTester
     {
         OrcTester orcTester = new OrcTester();
         orcTester.listTestsEnabled = true;
-        orcTester.structTestsEnabled = false;
+        orcTester.structTestsEnabled = true;
+        orcTester.mapTestsEnabled = true;
+        orcTester.structuralNullTestsEnabled = true;
+        orcTester.missingStructFieldsTestsEnabled = true;
         orcTester.nullTestsEnabled = true;
         orcTester.skipBatchTestsEnabled = true;
         orcTester.formats = ImmutableSet.of(ORC_12, ORC_11);
         orcTester.compressions = ImmutableSet.of(ZLIB, ZSTD);
         orcTester.useSelectiveOrcReader = true;
-        orcTester.listTestsEnabled = false;
 
         return orcTester;
     }
@@ -600,7 +602,13 @@ public class OrcTester
             }
             else {
                 Type type = types.get(column);
-                if (type == BOOLEAN) {
+                if (filter instanceof TupleDomainFilter.IsNull) {
+                    return false;
+                }
+                else if (filter instanceof TupleDomainFilter.IsNotNull) {
+                    continue;
+                }
+                else if (type == BOOLEAN) {
                     if (!filter.testBoolean((Boolean) value)) {
                         return false;
                     }
@@ -1376,7 +1384,7 @@ public class OrcTester
         return asList(input, input, input, input);
     }
 
-    private static Type arrayType(Type elementType)
+    static Type arrayType(Type elementType)
     {
         return METADATA.getFunctionAndTypeManager().getParameterizedType(StandardTypes.ARRAY, ImmutableList.of(TypeSignatureParameter.of(elementType.getTypeSignature())));
     }
@@ -1386,7 +1394,7 @@ public class OrcTester
         return METADATA.getFunctionAndTypeManager().getParameterizedType(StandardTypes.MAP, ImmutableList.of(TypeSignatureParameter.of(keyType.getTypeSignature()), TypeSignatureParameter.of(valueType.getTypeSignature())));
     }
 
-    private static Type rowType(Type... fieldTypes)
+    static Type rowType(Type... fieldTypes)
     {
         ImmutableList.Builder<TypeSignatureParameter> typeSignatureParameters = ImmutableList.builder();
         for (int i = 0; i < fieldTypes.length; i++) {
@@ -0,0 +1,86 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.orc;
+
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+public class TestColumnFilterOrder
+{
+    @Test
+    public void testInitialOrder()
+    {
+        ColumnFilterOrder order = new ColumnFilterOrder(ImmutableList.of(3, 1, 2));
+        assertEquals(order.getOrder(), new int[] {3, 1, 2});
+
+        order.update();
+        assertEquals(order.getOrder(), new int[] {3, 1, 2});
+        assertEquals(order.getReorders(), 0);
+    }
+
+    @Test
+    public void testCheapSelectiveFilterFirst()
+    {
+        ColumnFilterOrder order = new ColumnFilterOrder(ImmutableList.of(0, 1));
+
+        // expensive filter keeping most positions, followed by a cheap filter dropping most of them
+        order.record(0, 1024, 1000, 100_000);
+        order.record(1, 1000, 10, 1_000);
+        order.update();
+        assertEquals(order.getOrder(), new int[] {1, 0});
+        assertEquals(order.getReorders(), 1);
+
+        order.record(1, 1024, 10, 1_000);
+        order.record(0, 10, 9, 1_000);
+        order.update();
+        assertEquals(order.getOrder(), new int[] {1, 0});
+        assertEquals(order.getReorders(), 1);
+    }
+
+    @Test
+    public void testUnmeasuredFilterFirst()
+    {
+        ColumnFilterOrder order = new ColumnFilterOrder(ImmutableList.of(0, 1));
+
+        // the first filter dropped every position, so the second one was never evaluated
+        order.record(0, 1024, 0, 10_000);
+        order.update();
+        assertEquals(order.getOrder(), new int[] {1, 0});
+
+        order.record(1, 1024, 0, 1_000_000);
+        order.update();
+        assertEquals(order.getOrder(), new int[] {0, 1});
+        assertEquals(order.getReorders(), 2);
+    }
+
+    @Test
+    public void testAdaptsToChangedSelectivity()
+    {
+        ColumnFilterOrder order = new ColumnFilterOrder(ImmutableList.of(0, 1));
+        order.record(0, 1024, 10, 1_000);
+        order.record(1, 10, 5, 10);
+        order.update();
+        assertEquals(order.getOrder(), new int[] {0, 1});
+
+        // the first filter stops dropping positions further into the file
+        for (int i = 0; i < 200; i++) {
+            order.record(0, 1024, 1024, 1_000);
+            order.record(1, 1024, 512, 1_000);
+            order.update();
+        }
+        assertEquals(order.getOrder(), new int[] {1, 0});
+    }
+}
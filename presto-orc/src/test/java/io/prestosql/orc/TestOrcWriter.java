@@ -31,11 +31,15 @@ import io.prestosql.spi.block.Block;
 import io.prestosql.spi.block.BlockBuilder;
 import org.testng.annotations.Test;
 
+import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.time.ZoneId;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 import static io.airlift.testing.Assertions.assertGreaterThanOrEqual;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
@@ -44,8 +48,13 @@ import static io.prestosql.orc.StripeReader.isIndexStream;
 import static io.prestosql.orc.TestingOrcPredicate.ORC_ROW_GROUP_SIZE;
 import static io.prestosql.orc.TestingOrcPredicate.ORC_STRIPE_SIZE;
 import static io.prestosql.orc.metadata.CompressionKind.NONE;
+import static io.prestosql.orc.metadata.CompressionKind.ZLIB;
+import static io.prestosql.spi.type.BigintType.BIGINT;
+import static io.prestosql.spi.type.DoubleType.DOUBLE;
 import static io.prestosql.spi.type.VarcharType.VARCHAR;
 import static java.lang.Math.toIntExact;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 
 public class TestOrcWriter
@@ -120,4 +129,71 @@ public class TestOrcWriter
             }
         }
     }
+
+    @Test
+    public void testParallelEncodingAndAsyncFlush()
+            throws IOException
+    {
+        ExecutorService executor = newFixedThreadPool(4);
+        try (TempFile expectedFile = new TempFile(); TempFile actualFile = new TempFile()) {
+            OrcWriterOptions options = new OrcWriterOptions()
+                    .withStripeMinSize(new DataSize(0, MEGABYTE))
+                    .withStripeMaxRowCount(10_000)
+                    .withRowGroupMaxRowCount(1_000);
+            writeTestFile(expectedFile.getFile(), options, Optional.empty());
+            OrcWriter writer = writeTestFile(
+                    actualFile.getFile(),
+                    options.withEncodingParallelism(3).withAsyncStripeFlush(true),
+                    Optional.of(executor));
+
+            // the columns are encoded by different threads, but the file is the same
+            assertEquals(Files.readAllBytes(actualFile.getFile().toPath()), Files.readAllBytes(expectedFile.getFile().toPath()));
+
+            DataSize dataSize = new DataSize(1, MEGABYTE);
+            writer.validate(new FileOrcDataSource(actualFile.getFile(), dataSize, dataSize, dataSize, true, actualFile.getFile().lastModified()));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static OrcWriter writeTestFile(File file, OrcWriterOptions options, Optional<Executor> executor)
+            throws IOException
+    {
+        OrcWriter writer = new OrcWriter(
+                new OutputStreamOrcDataSink(new FileOutputStream(file)),
+                ImmutableList.of("id", "name", "value", "category"),
+                ImmutableList.of(BIGINT, VARCHAR, DOUBLE, VARCHAR),
+                ZLIB,
+                options,
+                false,
+                ImmutableMap.of(),
+                true,
+                OrcWriteValidationMode.BOTH,
+                new OrcWriterStats(),
+                Optional.empty(),
+                Optional.empty(),
+                executor);
+
+        for (int start = 0; start < 45_000; start += 4_500) {
+            BlockBuilder ids = BIGINT.createBlockBuilder(null, 4_500);
+            BlockBuilder names = VARCHAR.createBlockBuilder(null, 4_500);
+            BlockBuilder values = DOUBLE.createBlockBuilder(null, 4_500);
+            BlockBuilder categories = VARCHAR.createBlockBuilder(null, 4_500);
+            for (int row = start; row < start + 4_500; row++) {
+                BIGINT.writeLong(ids, row);
+                VARCHAR.writeSlice(names, Slices.utf8Slice("name-" + row));
+                if (row % 7 == 0) {
+                    values.appendNull();
+                }
+                else {
+                    DOUBLE.writeDouble(values, row * 0.5);
+                }
+                VARCHAR.writeSlice(categories, Slices.utf8Slice("category-" + (row % 13)));
+            }
+            writer.write(new Page(ids.build(), names.build(), values.build(), categories.build()));
+        }
+        writer.close();
+        return writer;
+    }
 }
@@ -48,8 +48,10 @@ import static com.google.common.collect.Iterables.cycle;
 import static com.google.common.collect.Iterables.limit;
 import static com.google.common.collect.Lists.newArrayList;
 import static io.prestosql.orc.OrcTester.HIVE_STORAGE_TIME_ZONE;
+import static io.prestosql.orc.OrcTester.arrayType;
 import static io.prestosql.orc.OrcTester.mapType;
 import static io.prestosql.orc.OrcTester.quickSelectiveOrcTester;
+import static io.prestosql.orc.OrcTester.rowType;
 import static io.prestosql.orc.TupleDomainFilterUtils.IS_NOT_NULL;
 import static io.prestosql.orc.TupleDomainFilterUtils.IS_NULL;
 import static io.prestosql.spi.type.BigintType.BIGINT;
@@ -271,11 +273,28 @@ public class TestSelectiveOrcReader
         tester.testRoundTrip(DECIMAL_TYPE_PRECISION_2, decimalSequence("-30", "1", 60, 2, 1), filters);
     }
 
-    @Test(expectedExceptions = IllegalArgumentException.class)
-    public void testUnknowType()
+    @Test
+    public void testMap()
+            throws Exception
+    {
+        tester.testRoundTrip(mapType(INTEGER, INTEGER), createList(10_000, TestSelectiveOrcReader::createMap));
+    }
+
+    @Test
+    public void testList()
+            throws Exception
+    {
+        tester.testRoundTrip(arrayType(BIGINT), createList(10_000, i -> createList(i % 5, j -> (long) i + j)));
+    }
+
+    @Test
+    public void testStructWithFilters()
             throws Exception
     {
-        tester.testRoundTrip(mapType(INTEGER, INTEGER), createList(1, i -> createMap(1)));
+        List<Map<Integer, TupleDomainFilter>> filters = ImmutableList.of(
+                ImmutableMap.of(0, IS_NULL),
+                ImmutableMap.of(0, IS_NOT_NULL));
+        tester.testRoundTrip(rowType(BIGINT, VARCHAR), createList(10_000, i -> ImmutableList.of((long) i, String.valueOf(i))), filters);
     }
 
     private static <T> List<T> createList(int size, Function<Integer, T> createElement)
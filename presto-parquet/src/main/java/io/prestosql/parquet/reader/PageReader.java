@@ -19,10 +19,13 @@ import io.prestosql.parquet.DataPageV2;
 import io.prestosql.parquet.DictionaryPage;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static io.prestosql.parquet.ParquetCompressionUtils.decompress;
 import static java.lang.Math.toIntExact;
 
@@ -32,14 +35,28 @@ class PageReader
     private final long valueCount;
     private final List<DataPage> compressedPages;
     private final DictionaryPage compressedDictionaryPage;
+    // index of the first row of every data page in the row group, null when not known
+    @Nullable
+    private final long[] firstRowIndexes;
+    private int nextPageIndex;
 
     public PageReader(CompressionCodecName codec,
             List<DataPage> compressedPages,
             DictionaryPage compressedDictionaryPage)
     {
+        this(codec, compressedPages, compressedDictionaryPage, null);
+    }
+
+    public PageReader(CompressionCodecName codec,
+            List<DataPage> compressedPages,
+            DictionaryPage compressedDictionaryPage,
+            @Nullable long[] firstRowIndexes)
+    {
+        checkArgument(firstRowIndexes == null || firstRowIndexes.length == compressedPages.size(), "firstRowIndexes must correspond to compressedPages");
         this.codec = codec;
         this.compressedPages = new LinkedList<>(compressedPages);
         this.compressedDictionaryPage = compressedDictionaryPage;
+        this.firstRowIndexes = firstRowIndexes;
         int count = 0;
         for (DataPage page : compressedPages) {
             count += page.getValueCount();
@@ -52,12 +69,44 @@ class PageReader
         return valueCount;
     }
 
+    /**
+     * Returns the index of the first row of the next data page within the row group, or -1 when
+     * it is not known. Row indexes are only known for column chunks read through the offset index,
+     * the pages of which always start at a row boundary.
+     */
+    public long getNextPageFirstRowIndex()
+    {
+        if (firstRowIndexes == null || compressedPages.isEmpty()) {
+            return -1;
+        }
+        return firstRowIndexes[nextPageIndex];
+    }
+
+    /**
+     * Drops the data pages which only contain rows before the given row, without decompressing
+     * them. Returns the number of values skipped.
+     */
+    public long skipPagesBefore(long rowIndex)
+    {
+        if (firstRowIndexes == null) {
+            return 0;
+        }
+        long skippedValues = 0;
+        // the next page ends before the row if the page after it starts at or before the row
+        while (compressedPages.size() > 1 && firstRowIndexes[nextPageIndex + 1] <= rowIndex) {
+            skippedValues += compressedPages.remove(0).getValueCount();
+            nextPageIndex++;
+        }
+        return skippedValues;
+    }
+
     public DataPage readPage()
     {
         if (compressedPages.isEmpty()) {
             return null;
         }
         DataPage compressedPage = compressedPages.remove(0);
+        nextPageIndex++;
         try {
             if (compressedPage instanceof DataPageV1) {
                 DataPageV1 dataPageV1 = (DataPageV1) compressedPage;
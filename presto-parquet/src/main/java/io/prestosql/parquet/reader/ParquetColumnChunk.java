@@ -25,6 +25,9 @@ import org.apache.parquet.format.DataPageHeaderV2;
 import org.apache.parquet.format.DictionaryPageHeader;
 import org.apache.parquet.format.PageHeader;
 import org.apache.parquet.format.Util;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
+
+import javax.annotation.Nullable;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -67,11 +70,32 @@ public class ParquetColumnChunk
 
     public PageReader readAllPages()
             throws IOException
+    {
+        return readPages(descriptor.getColumnChunkMetaData().getValueCount(), Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Reads the data pages of the offset index, which are the pages left after pruning the column
+     * chunk with the column indexes, preceded by the dictionary page if the column has one.
+     */
+    public PageReader readAllPages(OffsetIndex offsetIndex)
+            throws IOException
+    {
+        int pageCount = offsetIndex.getPageCount();
+        long[] firstRowIndexes = new long[pageCount];
+        for (int i = 0; i < pageCount; i++) {
+            firstRowIndexes[i] = offsetIndex.getFirstRowIndex(i);
+        }
+        return readPages(Long.MAX_VALUE, pageCount, firstRowIndexes);
+    }
+
+    private PageReader readPages(long totalValueCount, int totalPageCount, @Nullable long[] firstRowIndexes)
+            throws IOException
     {
         List<DataPage> pages = new ArrayList<>();
         DictionaryPage dictionaryPage = null;
         long valueCount = 0;
-        while (valueCount < descriptor.getColumnChunkMetaData().getValueCount()) {
+        while (valueCount < totalValueCount && pages.size() < totalPageCount) {
             PageHeader pageHeader = readPageHeader();
             int uncompressedPageSize = pageHeader.getUncompressed_page_size();
             int compressedPageSize = pageHeader.getCompressed_page_size();
@@ -93,7 +117,7 @@ public class ParquetColumnChunk
                     break;
             }
         }
-        return new PageReader(descriptor.getColumnChunkMetaData().getCodec(), pages, dictionaryPage);
+        return new PageReader(descriptor.getColumnChunkMetaData().getCodec(), pages, dictionaryPage, firstRowIndexes);
     }
 
     public int getPosition()
@@ -0,0 +1,142 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.parquet.reader;
+
+import com.google.common.collect.ImmutableMap;
+import io.prestosql.parquet.ParquetDataSource;
+import io.prestosql.parquet.ParquetReaderOptions;
+import io.prestosql.parquet.RichColumnDescriptor;
+import io.prestosql.spi.predicate.TupleDomain;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.format.Util;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.internal.column.columnindex.ColumnIndex;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
+import org.apache.parquet.internal.filter2.columnindex.ColumnIndexStore;
+import org.apache.parquet.internal.hadoop.metadata.IndexReference;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Column and offset indexes of the column chunks of a row group. The indexes are stored apart from
+ * the footer, so every index is only read from the file the first time it is requested.
+ */
+public class ParquetColumnIndexStore
+        implements ColumnIndexStore
+{
+    private final ParquetDataSource dataSource;
+    private final Map<ColumnPath, ColumnChunkMetaData> columns;
+    private final Map<ColumnPath, ColumnIndex> columnIndexes = new HashMap<>();
+    private final Map<ColumnPath, OffsetIndex> offsetIndexes = new HashMap<>();
+
+    public ParquetColumnIndexStore(ParquetDataSource dataSource, BlockMetaData block)
+    {
+        this.dataSource = requireNonNull(dataSource, "dataSource is null");
+        ImmutableMap.Builder<ColumnPath, ColumnChunkMetaData> columns = ImmutableMap.builder();
+        for (ColumnChunkMetaData column : requireNonNull(block, "block is null").getColumns()) {
+            columns.put(column.getPath(), column);
+        }
+        this.columns = columns.build();
+    }
+
+    /**
+     * Returns the indexes of a row group if the column indexes are enabled, the predicate is selective
+     * and at least one of its columns has a column index.
+     */
+    public static Optional<ColumnIndexStore> getColumnIndexStore(
+            ParquetDataSource dataSource,
+            BlockMetaData block,
+            Map<List<String>, RichColumnDescriptor> descriptorsByPath,
+            TupleDomain<ColumnDescriptor> parquetTupleDomain,
+            ParquetReaderOptions options)
+    {
+        if (!options.isUseColumnIndex() || parquetTupleDomain.isAll() || parquetTupleDomain.isNone()) {
+            return Optional.empty();
+        }
+
+        Set<List<String>> predicatePaths = parquetTupleDomain.getDomains().get().keySet().stream()
+                .map(column -> Arrays.asList(column.getPath()))
+                .collect(toImmutableSet());
+        for (ColumnChunkMetaData column : block.getColumns()) {
+            List<String> path = Arrays.asList(column.getPath().toArray());
+            if (column.getColumnIndexReference() != null && predicatePaths.contains(path) && descriptorsByPath.containsKey(path)) {
+                return Optional.of(new ParquetColumnIndexStore(dataSource, block));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public ColumnIndex getColumnIndex(ColumnPath column)
+    {
+        return columnIndexes.computeIfAbsent(column, this::readColumnIndex);
+    }
+
+    @Override
+    public OffsetIndex getOffsetIndex(ColumnPath column)
+    {
+        OffsetIndex offsetIndex = offsetIndexes.computeIfAbsent(column, this::readOffsetIndex);
+        if (offsetIndex == null) {
+            throw new MissingOffsetIndexException(column);
+        }
+        return offsetIndex;
+    }
+
+    private ColumnIndex readColumnIndex(ColumnPath path)
+    {
+        ColumnChunkMetaData column = columns.get(path);
+        if (column == null || column.getColumnIndexReference() == null) {
+            return null;
+        }
+        try (InputStream input = readIndex(column.getColumnIndexReference())) {
+            return ParquetMetadataConverter.fromParquetColumnIndex(column.getPrimitiveType(), Util.readColumnIndex(input));
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private OffsetIndex readOffsetIndex(ColumnPath path)
+    {
+        ColumnChunkMetaData column = columns.get(path);
+        if (column == null || column.getOffsetIndexReference() == null) {
+            return null;
+        }
+        try (InputStream input = readIndex(column.getOffsetIndexReference())) {
+            return ParquetMetadataConverter.fromParquetOffsetIndex(Util.readOffsetIndex(input));
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private InputStream readIndex(IndexReference reference)
+    {
+        return dataSource.readFully(reference.getOffset(), reference.getLength()).getInput();
+    }
+}
@@ -16,6 +16,7 @@ package io.prestosql.parquet.reader;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
+import io.airlift.slice.Slice;
 import io.airlift.units.DataSize;
 import io.prestosql.memory.context.AggregatedMemoryContext;
 import io.prestosql.memory.context.LocalMemoryContext;
@@ -35,6 +36,7 @@ import io.prestosql.spi.block.ArrayBlock;
 import io.prestosql.spi.block.Block;
 import io.prestosql.spi.block.RowBlock;
 import io.prestosql.spi.block.RunLengthEncodedBlock;
+import io.prestosql.spi.predicate.Domain;
 import io.prestosql.spi.type.MapType;
 import io.prestosql.spi.type.Type;
 import io.prestosql.spi.type.TypeSignatureParameter;
@@ -42,6 +44,8 @@ import it.unimi.dsi.fastutil.booleans.BooleanArrayList;
 import it.unimi.dsi.fastutil.booleans.BooleanList;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
@@ -51,6 +55,7 @@ import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.internal.column.columnindex.OffsetIndex;
 import org.apache.parquet.internal.filter2.columnindex.ColumnIndexFilter;
 import org.apache.parquet.internal.filter2.columnindex.ColumnIndexStore;
+import org.apache.parquet.internal.filter2.columnindex.ColumnIndexStore.MissingOffsetIndexException;
 import org.apache.parquet.internal.filter2.columnindex.RowRanges;
 import org.apache.parquet.io.MessageColumnIO;
 import org.apache.parquet.io.PrimitiveColumnIO;
@@ -64,6 +69,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PrimitiveIterator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -93,6 +99,10 @@ public class ParquetReader
     private final AggregatedMemoryContext systemMemoryContext;
 
     private int currentBlock;
+    // bounds of the ranges of rows to read in the current row group, null when all rows are read
+    private long[] currentRowRanges;
+    private int nextRowRange;
+    private long currentRowRangeEnd;
     private BlockMetaData currentBlockMetadata;
     private long currentPosition;
     private long currentGroupRowCount;
@@ -130,7 +140,7 @@ public class ParquetReader
         this.options = null;
         this.memoryContext = null;
         this.firstRowsOfBlocks = null;
-        this.filter = null;
+        this.filter = Optional.empty();
         this.fileCreatedBy = requireNonNull(fileCreatedBy, "fileCreatedBy is null");
         this.blocks = blocks;
         this.dataSource = requireNonNull(dataSource, "dataSource is null");
@@ -170,7 +180,7 @@ public class ParquetReader
             List<Optional<ColumnIndexStore>> columnIndexStore)
             throws IOException
     {
-        this.maxReadBlockBytes = 0L;
+        this.maxReadBlockBytes = requireNonNull(options, "options is null").getMaxReadBlockSize().toBytes();
         this.fileCreatedBy = requireNonNull(fileCreatedBy, "fileCreatedBy is null");
         this.columns = requireNonNull(messageColumnIO, "messageColumnIO is null").getLeaves();
         this.blocks = requireNonNull(blocks, "blocks is null");
@@ -233,7 +243,7 @@ public class ParquetReader
             if (rowRanges != null && rowRanges.rowCount() < rowGroupRowCount) {
                 Optional<ColumnIndexStore> optionalColumnIndexStore = this.columnIndexStore.get(rowGroup);
                 if (optionalColumnIndexStore.isPresent()) {
-                    OffsetIndex offsetIndex = optionalColumnIndexStore.get().getOffsetIndex(columnPath);
+                    OffsetIndex offsetIndex = getOffsetIndex(optionalColumnIndexStore.get(), columnPath);
                     if (offsetIndex != null) {
                         return FilteredOffsetIndex.filterOffsetIndex(offsetIndex, rowRanges, rowGroupRowCount);
                     }
@@ -243,6 +253,46 @@ public class ParquetReader
         return null;
     }
 
+    private static OffsetIndex getOffsetIndex(ColumnIndexStore columnIndexStore, ColumnPath columnPath)
+    {
+        try {
+            return columnIndexStore.getOffsetIndex(columnPath);
+        }
+        catch (MissingOffsetIndexException e) {
+            // the whole column chunk is read, and the pruned rows are skipped while decoding
+            return null;
+        }
+    }
+
+    /**
+     * Returns the ranges of rows of a row group which may match the filter, according to the column
+     * indexes, as pairs of the first row and the row after the last row of every range. Returns null
+     * when all rows of the row group are read.
+     */
+    private long[] getRowRangeBounds(int rowGroup, long rowGroupRowCount)
+    {
+        if (!filter.isPresent()) {
+            return null;
+        }
+        RowRanges rowRanges = getRowRanges(filter.get(), rowGroup);
+        if (rowRanges == null || rowRanges.rowCount() == rowGroupRowCount) {
+            return null;
+        }
+        LongList bounds = new LongArrayList();
+        PrimitiveIterator.OfLong rows = rowRanges.iterator();
+        while (rows.hasNext()) {
+            long row = rows.nextLong();
+            if (!bounds.isEmpty() && bounds.getLong(bounds.size() - 1) == row) {
+                bounds.set(bounds.size() - 1, row + 1);
+            }
+            else {
+                bounds.add(row);
+                bounds.add(row + 1);
+            }
+        }
+        return bounds.toLongArray();
+    }
+
     private RowRanges getRowRanges(FilterPredicate filter, int blockIndex)
     {
         requireNonNull(filter, "filter is null");
@@ -295,13 +345,13 @@ public class ParquetReader
 
     public int nextBatch()
     {
-        if (nextRowInGroup >= currentGroupRowCount && !advanceToNextRowGroup()) {
+        if (!advanceToNextRow()) {
             return -1;
         }
 
         batchSize = toIntExact(min(nextBatchSize, maxBatchSize));
         nextBatchSize = min(batchSize * BATCH_SIZE_GROWTH_FACTOR, MAX_VECTOR_LENGTH);
-        batchSize = toIntExact(min(batchSize, currentGroupRowCount - nextRowInGroup));
+        batchSize = toIntExact(min(batchSize, currentRowRangeEnd - nextRowInGroup));
 
         nextRowInGroup += batchSize;
         currentPosition += batchSize;
@@ -310,6 +360,27 @@ public class ParquetReader
         return batchSize;
     }
 
+    private boolean advanceToNextRow()
+    {
+        while (nextRowInGroup >= currentRowRangeEnd) {
+            if (currentRowRanges != null && nextRowRange < currentRowRanges.length) {
+                long rangeStart = currentRowRanges[nextRowRange];
+                currentRowRangeEnd = currentRowRanges[nextRowRange + 1];
+                nextRowRange += 2;
+                // rows pruned by the column indexes are skipped without being read
+                int skippedRows = toIntExact(rangeStart - nextRowInGroup);
+                for (PrimitiveColumnReader columnReader : columnReaders) {
+                    columnReader.skipRows(skippedRows);
+                }
+                nextRowInGroup = rangeStart;
+            }
+            else if (!advanceToNextRowGroup()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private boolean advanceToNextRowGroup()
     {
         currentRowGroupMemoryContext.close();
@@ -323,6 +394,9 @@ public class ParquetReader
 
         nextRowInGroup = 0L;
         currentGroupRowCount = currentBlockMetadata.getRowCount();
+        currentRowRanges = getRowRangeBounds(currentBlock - 1, currentGroupRowCount);
+        nextRowRange = 0;
+        currentRowRangeEnd = currentRowRanges == null ? currentGroupRowCount : 0;
         initializeColumnReaders();
         return true;
     }
@@ -386,6 +460,24 @@ public class ParquetReader
 
     private ColumnChunk readPrimitive(PrimitiveField field)
             throws IOException
+    {
+        ColumnChunk columnChunk = getColumnReader(field).readPrimitive(field);
+        updateMaxBytesPerCell(field.getId(), columnChunk.getBlock().getSizeInBytes() / batchSize);
+        return columnChunk;
+    }
+
+    private Block readPrimitive(PrimitiveField field, int[] positions, int positionCount, Optional<Domain> filter)
+            throws IOException
+    {
+        Block block = getColumnReader(field).readPrimitive(field.getType(), positions, positionCount, filter);
+        if (block.getPositionCount() > 0) {
+            updateMaxBytesPerCell(field.getId(), block.getSizeInBytes() / block.getPositionCount());
+        }
+        return block;
+    }
+
+    private PrimitiveColumnReader getColumnReader(PrimitiveField field)
+            throws IOException
     {
         ColumnDescriptor columnDescriptor = field.getDescriptor();
         int fieldId = field.getId();
@@ -393,25 +485,71 @@ public class ParquetReader
         if (columnReader.getPageReader() == null) {
             validateParquet(currentBlockMetadata.getRowCount() > 0, "Row group has 0 rows");
             ColumnChunkMetaData metadata = getColumnChunkMetaData(columnDescriptor);
-            long startingPosition = metadata.getStartingPos();
-            int totalSize = toIntExact(metadata.getTotalSize());
-            byte[] buffer = allocateBlock(totalSize);
-            dataSource.readFully(startingPosition, buffer);
-            ColumnChunkDescriptor descriptor = new ColumnChunkDescriptor(columnDescriptor, metadata, totalSize);
-            ParquetColumnChunk columnChunk = new ParquetColumnChunk(fileCreatedBy, descriptor, buffer, 0);
-            columnReader.setPageReader(columnChunk.readAllPages());
+            if (chunkReaders == null) {
+                columnReader.setPageReader(readPages(columnDescriptor, metadata));
+            }
+            else {
+                columnReader.setPageReader(readPlannedPages(fieldId, columnDescriptor, metadata));
+            }
+        }
+        return columnReader;
+    }
+
+    private PageReader readPages(ColumnDescriptor columnDescriptor, ColumnChunkMetaData metadata)
+            throws IOException
+    {
+        long startingPosition = metadata.getStartingPos();
+        int totalSize = toIntExact(metadata.getTotalSize());
+        byte[] buffer = allocateBlock(totalSize);
+        dataSource.readFully(startingPosition, buffer);
+        ColumnChunkDescriptor descriptor = new ColumnChunkDescriptor(columnDescriptor, metadata, totalSize);
+        ParquetColumnChunk columnChunk = new ParquetColumnChunk(fileCreatedBy, descriptor, buffer, 0);
+        return columnChunk.readAllPages();
+    }
+
+    /**
+     * Reads the disk ranges planned for a column chunk, which only cover the pages left after pruning
+     * with the column indexes if any were pruned.
+     */
+    private PageReader readPlannedPages(int fieldId, ColumnDescriptor columnDescriptor, ColumnChunkMetaData metadata)
+            throws IOException
+    {
+        int rowGroup = currentBlock - 1;
+        List<Slice> slices = new ArrayList<>();
+        int totalSize = 0;
+        for (ChunkReader chunkReader : chunkReaders.get(new ChunkKey(fieldId, rowGroup))) {
+            Slice slice = chunkReader.read();
+            slices.add(slice);
+            totalSize += slice.length();
+        }
+        byte[] buffer = allocateBlock(totalSize);
+        int offset = 0;
+        for (Slice slice : slices) {
+            slice.getBytes(0, buffer, offset, slice.length());
+            offset += slice.length();
+        }
+        for (ChunkReader chunkReader : chunkReaders.get(new ChunkKey(fieldId, rowGroup))) {
+            chunkReader.free();
         }
-        ColumnChunk columnChunk = columnReader.readPrimitive(field);
 
+        ColumnChunkDescriptor descriptor = new ColumnChunkDescriptor(columnDescriptor, metadata, totalSize);
+        ParquetColumnChunk columnChunk = new ParquetColumnChunk(fileCreatedBy, descriptor, buffer, 0);
+        FilteredOffsetIndex offsetIndex = getFilteredOffsetIndex(rowGroup, currentBlockMetadata.getRowCount(), metadata.getPath());
+        if (offsetIndex == null) {
+            return columnChunk.readAllPages();
+        }
+        return columnChunk.readAllPages(offsetIndex);
+    }
+
+    private void updateMaxBytesPerCell(int fieldId, long bytesPerCell)
+    {
         // update max size per primitive column chunk
-        long bytesPerCell = columnChunk.getBlock().getSizeInBytes() / batchSize;
         if (maxBytesPerCell[fieldId] < bytesPerCell) {
             // update batch size
             maxCombinedBytesPerRow = maxCombinedBytesPerRow - maxBytesPerCell[fieldId] + bytesPerCell;
             maxBatchSize = toIntExact(min(maxBatchSize, max(1, maxReadBlockBytes / maxCombinedBytesPerRow)));
             maxBytesPerCell[fieldId] = bytesPerCell;
         }
-        return columnChunk;
     }
 
     private byte[] allocateBlock(int length)
@@ -447,6 +585,44 @@ public class ParquetReader
         return readColumnChunk(field).getBlock();
     }
 
+    /**
+     * Reads the values of a column at the given positions of the current batch, which must be
+     * increasing. The values of flat columns at other positions are skipped without being decoded.
+     */
+    public Block readBlock(Field field, int[] positions, int positionCount)
+            throws IOException
+    {
+        if (isFilterSupported(field)) {
+            return readPrimitive((PrimitiveField) field, positions, positionCount, Optional.empty());
+        }
+        return readColumnChunk(field).getBlock().copyPositions(positions, 0, positionCount);
+    }
+
+    /**
+     * Reads the values of a flat column at the given positions of the current batch, and keeps only
+     * the values included in the filter. The positions of the values which passed are written back
+     * to the start of positions, their count is the position count of the returned block.
+     */
+    public Block readFilteredBlock(Field field, Domain filter, int[] positions, int positionCount)
+            throws IOException
+    {
+        checkArgument(isFilterSupported(field), "Filters are only supported on flat primitive columns: %s", field);
+        return readPrimitive((PrimitiveField) field, positions, positionCount, Optional.of(filter));
+    }
+
+    /**
+     * Returns whether the field is a top level column of a primitive type, the values of which can
+     * be filtered while decoding.
+     */
+    public static boolean isFilterSupported(Field field)
+    {
+        if (!(field instanceof PrimitiveField)) {
+            return false;
+        }
+        ColumnDescriptor descriptor = ((PrimitiveField) field).getDescriptor();
+        return descriptor.getMaxRepetitionLevel() == 0 && descriptor.getMaxDefinitionLevel() <= 1;
+    }
+
     private ColumnChunk readColumnChunk(Field field)
             throws IOException
     {
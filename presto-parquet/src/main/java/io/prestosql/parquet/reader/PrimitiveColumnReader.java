@@ -24,7 +24,9 @@ import io.prestosql.parquet.ParquetTypeUtils;
 import io.prestosql.parquet.RichColumnDescriptor;
 import io.prestosql.parquet.dictionary.Dictionary;
 import io.prestosql.spi.PrestoException;
+import io.prestosql.spi.block.Block;
 import io.prestosql.spi.block.BlockBuilder;
+import io.prestosql.spi.predicate.Domain;
 import io.prestosql.spi.type.DecimalType;
 import io.prestosql.spi.type.Type;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
@@ -35,6 +37,7 @@ import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.values.ValuesReader;
 import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridDecoder;
 import org.apache.parquet.io.ParquetDecodingException;
+import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.LogicalTypeAnnotation;
 import org.apache.parquet.schema.PrimitiveType;
 import org.joda.time.DateTimeZone;
@@ -52,6 +55,8 @@ import static io.prestosql.parquet.ValuesType.DEFINITION_LEVEL;
 import static io.prestosql.parquet.ValuesType.REPETITION_LEVEL;
 import static io.prestosql.parquet.ValuesType.VALUES;
 import static io.prestosql.spi.StandardErrorCode.NOT_SUPPORTED;
+import static io.prestosql.spi.type.TypeUtils.readNativeValue;
+import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
 
 public abstract class PrimitiveColumnReader
@@ -73,6 +78,18 @@ public abstract class PrimitiveColumnReader
     private DataPage page;
     private int remainingValueCountInPage;
     private int readOffset;
+    // index within the row group of the next row to read or skip
+    private long currentRow;
+    // index within the row group of the first row of the current page, -1 when not known
+    private long pageFirstRowIndex = -1;
+    private boolean dictionaryEncodedPage;
+    private int dictionarySize;
+
+    // the filter last evaluated on the dictionary, with the decoded entries and the result for every entry
+    private Domain dictionaryFilter;
+    private Block dictionaryBlock;
+    private boolean[] dictionaryFilterResults;
+    private boolean lastValueIncluded;
 
     protected abstract void readValue(BlockBuilder blockBuilder, Type type);
 
@@ -155,6 +172,7 @@ public abstract class PrimitiveColumnReader
         if (dictionaryPage != null) {
             try {
                 dictionary = dictionaryPage.getEncoding().initDictionary(columnDescriptor, dictionaryPage);
+                dictionarySize = dictionaryPage.getDictionarySize();
             }
             catch (IOException e) {
                 throw new ParquetDecodingException("could not decode the dictionary for " + columnDescriptor, e);
@@ -162,7 +180,11 @@ public abstract class PrimitiveColumnReader
         }
         else {
             dictionary = null;
+            dictionarySize = 0;
         }
+        dictionaryFilter = null;
+        dictionaryBlock = null;
+        dictionaryFilterResults = null;
         checkArgument(pageReader.getTotalValueCount() > 0, "page is empty");
         totalValueCount = pageReader.getTotalValueCount();
     }
@@ -173,6 +195,14 @@ public abstract class PrimitiveColumnReader
         nextBatchSize = batchSize;
     }
 
+    /**
+     * Skips rows between batches, such as the rows pruned by the column indexes.
+     */
+    public void skipRows(int rowCount)
+    {
+        readOffset = readOffset + rowCount;
+    }
+
     public ColumnDescriptor getDescriptor()
     {
         return columnDescriptor;
@@ -186,12 +216,9 @@ public abstract class PrimitiveColumnReader
         BlockBuilder blockBuilder = field.getType().createBlockBuilder(null, nextBatchSize);
         int valueCount = 0;
         while (valueCount < nextBatchSize) {
-            if (page == null) {
-                readNextPage();
-            }
+            openPage();
             int valuesToRead = Math.min(remainingValueCountInPage, nextBatchSize - valueCount);
-            readValues(blockBuilder, valuesToRead, field.getType(), definitionLevels, repetitionLevels);
-            valueCount += valuesToRead;
+            valueCount += readValues(blockBuilder, valuesToRead, field.getType(), definitionLevels, repetitionLevels);
         }
         checkArgument(valueCount == nextBatchSize, "valueCount %s not equals to batchSize %s", valueCount, nextBatchSize);
 
@@ -200,21 +227,130 @@ public abstract class PrimitiveColumnReader
         return new ColumnChunk(blockBuilder.build(), definitionLevels.toIntArray(), repetitionLevels.toIntArray());
     }
 
-    private void readValues(BlockBuilder blockBuilder, int valuesToRead, Type type, IntList definitionLevels, IntList repetitionLevels)
+    /**
+     * Reads the values of a flat column at the given positions of the batch, which must be increasing.
+     * Values at other positions are skipped without being materialized. When a filter is given, only
+     * the values included in it are returned, and their positions are written back to the start of
+     * positions. The filter is evaluated once per dictionary entry for dictionary encoded pages, so
+     * values which do not pass it are not decoded at all.
+     */
+    public Block readPrimitive(Type type, int[] positions, int positionCount, Optional<Domain> filter)
     {
-        processValues(valuesToRead, ignored -> {
+        checkArgument(columnDescriptor.getMaxRepetitionLevel() == 0, "Column %s is not flat", columnDescriptor);
+        seek();
+        BlockBuilder blockBuilder = type.createBlockBuilder(null, positionCount);
+        // position in the block builder of every value which passed the filter
+        int[] includedValues = filter.isPresent() ? new int[positionCount] : null;
+        int includedCount = 0;
+        int row = 0;
+        for (int i = 0; i < positionCount; i++) {
+            int position = positions[i];
+            while (row < position) {
+                openPage();
+                row += skipValues(Math.min(remainingValueCountInPage, position - row));
+            }
+            openPage();
+            if (!filter.isPresent()) {
+                processValues(1, ignored -> readValue(blockBuilder, type));
+            }
+            else {
+                Domain domain = filter.get();
+                processValues(1, ignored -> readFilteredValue(blockBuilder, type, domain));
+                if (lastValueIncluded) {
+                    positions[includedCount] = position;
+                    includedValues[includedCount] = blockBuilder.getPositionCount() - 1;
+                    includedCount++;
+                }
+            }
+            row++;
+        }
+
+        // the rows after the last requested position are skipped by the next read
+        readOffset = nextBatchSize - row;
+        nextBatchSize = 0;
+        Block block = blockBuilder.build();
+        if (filter.isPresent() && includedCount < block.getPositionCount()) {
+            return block.copyPositions(includedValues, 0, includedCount);
+        }
+        return block;
+    }
+
+    private void readFilteredValue(BlockBuilder blockBuilder, Type type, Domain filter)
+    {
+        if (definitionLevel != columnDescriptor.getMaxDefinitionLevel()) {
+            // the column is flat, so anything below the max definition level is a null
+            lastValueIncluded = filter.isNullAllowed();
+            if (lastValueIncluded) {
+                blockBuilder.appendNull();
+            }
+        }
+        else if (dictionaryEncodedPage) {
+            int id = valuesReader.readValueDictionaryId();
+            lastValueIncluded = getDictionaryFilterResults(type, filter)[id];
+            if (lastValueIncluded) {
+                type.appendTo(dictionaryBlock, id, blockBuilder);
+            }
+        }
+        else {
+            readValue(blockBuilder, type);
+            lastValueIncluded = filter.includesNullableValue(readNativeValue(type, blockBuilder, blockBuilder.getPositionCount() - 1));
+        }
+    }
+
+    private boolean[] getDictionaryFilterResults(Type type, Domain filter)
+    {
+        if (dictionaryFilterResults == null || dictionaryFilter != filter) {
+            dictionaryBlock = readDictionary(type);
+            dictionaryFilterResults = new boolean[dictionarySize];
+            for (int id = 0; id < dictionarySize; id++) {
+                dictionaryFilterResults[id] = filter.includesNullableValue(readNativeValue(type, dictionaryBlock, id));
+            }
+            dictionaryFilter = filter;
+        }
+        return dictionaryFilterResults;
+    }
+
+    private Block readDictionary(Type type)
+    {
+        // decode the dictionary entries with the same conversions as the values of the column
+        ValuesReader pageValuesReader = valuesReader;
+        int pageDefinitionLevel = definitionLevel;
+        valuesReader = new DictionaryEntriesReader(dictionary);
+        definitionLevel = columnDescriptor.getMaxDefinitionLevel();
+        try {
+            BlockBuilder blockBuilder = type.createBlockBuilder(null, dictionarySize);
+            for (int id = 0; id < dictionarySize; id++) {
+                readValue(blockBuilder, type);
+            }
+            return blockBuilder.build();
+        }
+        finally {
+            valuesReader = pageValuesReader;
+            definitionLevel = pageDefinitionLevel;
+        }
+    }
+
+    private int readValues(BlockBuilder blockBuilder, int valuesToRead, Type type, IntList definitionLevels, IntList repetitionLevels)
+    {
+        return processValues(valuesToRead, ignored -> {
             readValue(blockBuilder, type);
             definitionLevels.add(definitionLevel);
             repetitionLevels.add(repetitionLevel);
         });
     }
 
-    private void skipValues(int valuesToRead)
+    private int skipValues(int valuesToRead)
     {
-        processValues(valuesToRead, ignored -> skipValue());
+        return processValues(valuesToRead, ignored -> skipValue());
     }
 
-    private void processValues(int valuesToRead, Consumer<Void> valueConsumer)
+    /**
+     * Processes the values of the given number of rows and returns the number of rows processed. This
+     * is less than requested when the column chunk ends, or when the page ends and the first row indexes
+     * of the pages are known: such pages start at row boundaries, and the next page is opened by the
+     * caller because the pages between them may have been pruned.
+     */
+    private int processValues(int valuesToRead, Consumer<Void> valueConsumer)
     {
         if (definitionLevel == EMPTY_LEVEL_VALUE && repetitionLevel == EMPTY_LEVEL_VALUE) {
             definitionLevel = definitionReader.readLevel();
@@ -227,8 +363,15 @@ public abstract class PrimitiveColumnReader
                 valueCount++;
                 if (valueCount == remainingValueCountInPage) {
                     updateValueCounts(valueCount);
+                    if (pageFirstRowIndex >= 0) {
+                        definitionLevel = EMPTY_LEVEL_VALUE;
+                        repetitionLevel = EMPTY_LEVEL_VALUE;
+                        currentRow += i + 1;
+                        return i + 1;
+                    }
                     if (!readNextPage()) {
-                        return;
+                        currentRow += i + 1;
+                        return i + 1;
                     }
                     valueCount = 0;
                 }
@@ -238,6 +381,8 @@ public abstract class PrimitiveColumnReader
             while (repetitionLevel != 0);
         }
         updateValueCounts(valueCount);
+        currentRow += valuesToRead;
+        return valuesToRead;
     }
 
     private void seek()
@@ -246,26 +391,39 @@ public abstract class PrimitiveColumnReader
         if (readOffset == 0) {
             return;
         }
-        int valuePosition = 0;
-        while (valuePosition < readOffset) {
+        long targetRow = currentRow + readOffset;
+        while (currentRow < targetRow) {
             if (page == null) {
-                readNextPage();
+                // pages which end before the target row are dropped without being decompressed
+                currentValueCount += pageReader.skipPagesBefore(targetRow);
+                openPage();
+                continue;
             }
-            int offset = Math.min(remainingValueCountInPage, readOffset - valuePosition);
-            skipValues(offset);
-            valuePosition = valuePosition + offset;
+            skipValues(toIntExact(Math.min(remainingValueCountInPage, targetRow - currentRow)));
+        }
+        verify(currentRow == targetRow, "currentRow %s must be equal to targetRow %s", currentRow, targetRow);
+    }
+
+    private void openPage()
+    {
+        if (page == null && !readNextPage()) {
+            throw new ParquetDecodingException("Unexpected end of column chunk " + columnDescriptor);
         }
-        checkArgument(valuePosition == readOffset, "valuePosition %s must be equal to readOffset %s", valuePosition, readOffset);
     }
 
     private boolean readNextPage()
     {
         verify(page == null, "readNextPage has to be called when page is null");
+        pageFirstRowIndex = pageReader.getNextPageFirstRowIndex();
         page = pageReader.readPage();
         if (page == null) {
             // we have read all pages
             return false;
         }
+        if (pageFirstRowIndex > currentRow) {
+            // the rows before the page were pruned by the column indexes
+            currentRow = pageFirstRowIndex;
+        }
         remainingValueCountInPage = page.getValueCount();
         if (page instanceof DataPageV1) {
             valuesReader = readPageV1((DataPageV1) page);
@@ -331,6 +489,7 @@ public abstract class PrimitiveColumnReader
             localValuesReader = dataEncoding.getValuesReader(columnDescriptor, VALUES);
         }
 
+        dictionaryEncodedPage = dataEncoding.usesDictionary();
         try {
             localValuesReader.initFromPage(valueCount, in);
             return localValuesReader;
@@ -339,4 +498,60 @@ public abstract class PrimitiveColumnReader
             throw new ParquetDecodingException("Error reading parquet page in column " + columnDescriptor, e);
         }
     }
+
+    /**
+     * Returns the entries of a dictionary in order, so that they can be decoded by {@link #readValue}.
+     */
+    private static class DictionaryEntriesReader
+            extends ValuesReader
+    {
+        private final Dictionary dictionary;
+        private int nextId;
+
+        public DictionaryEntriesReader(Dictionary dictionary)
+        {
+            this.dictionary = requireNonNull(dictionary, "dictionary is null");
+        }
+
+        @Override
+        public void initFromPage(int valueCount, ByteBufferInputStream in)
+        {
+        }
+
+        @Override
+        public Binary readBytes()
+        {
+            return dictionary.decodeToBinary(nextId++);
+        }
+
+        @Override
+        public float readFloat()
+        {
+            return dictionary.decodeToFloat(nextId++);
+        }
+
+        @Override
+        public double readDouble()
+        {
+            return dictionary.decodeToDouble(nextId++);
+        }
+
+        @Override
+        public int readInteger()
+        {
+            return dictionary.decodeToInt(nextId++);
+        }
+
+        @Override
+        public long readLong()
+        {
+            return dictionary.decodeToLong(nextId++);
+        }
+
+        @Override
+        public void skip()
+        {
+            nextId++;
+        }
+    }
 }
@@ -16,9 +16,11 @@ package io.prestosql.plugin.postgresql;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.VerifyException;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.math.LongMath;
 import io.airlift.json.ObjectMapperProvider;
 import io.airlift.log.Logger;
 import io.airlift.slice.DynamicSliceOutput;
@@ -34,6 +36,7 @@ import io.prestosql.plugin.jdbc.ConnectionFactory;
 import io.prestosql.plugin.jdbc.DoubleWriteFunction;
 import io.prestosql.plugin.jdbc.JdbcColumnHandle;
 import io.prestosql.plugin.jdbc.JdbcIdentity;
+import io.prestosql.plugin.jdbc.JdbcOutputTableHandle;
 import io.prestosql.plugin.jdbc.JdbcTableHandle;
 import io.prestosql.plugin.jdbc.JdbcTypeHandle;
 import io.prestosql.plugin.jdbc.LongWriteFunction;
@@ -43,6 +46,8 @@ import io.prestosql.plugin.jdbc.WriteFunction;
 import io.prestosql.plugin.jdbc.WriteMapping;
 import io.prestosql.plugin.jdbc.WriteNullFunction;
 import io.prestosql.plugin.jdbc.optimization.JdbcPushDownModule;
+import io.prestosql.plugin.splitmanager.SplitStatLog;
+import io.prestosql.plugin.splitmanager.TableSplitConfig;
 import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.block.Block;
 import io.prestosql.spi.connector.ColumnHandle;
@@ -70,6 +75,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -106,6 +112,9 @@ import static java.util.Locale.ENGLISH;
 public abstract class BasePostgreSqlClient
         extends BaseJdbcClient
 {
+    // the PostgreSQL driver sends the number of parameters of a statement as a signed short
+    private static final int MAX_BULK_INSERT_PARAMETERS = Short.MAX_VALUE;
+
     private static final Logger log = Logger.get(BasePostgreSqlClient.class);
 
     /**
@@ -265,6 +274,24 @@ public abstract class BasePostgreSqlClient
         }
     }
 
+    @Override
+    public boolean isBulkInsertSupported()
+    {
+        return true;
+    }
+
+    @Override
+    public int getMaxBulkInsertRows(int columnCount)
+    {
+        return MAX_BULK_INSERT_PARAMETERS / columnCount;
+    }
+
+    @Override
+    public String buildBulkInsertSql(JdbcOutputTableHandle handle, int rowCount)
+    {
+        return buildMultiRowInsertSql(handle, rowCount);
+    }
+
     @Override
     protected Optional<BiFunction<String, Long, String>> limitFunction()
     {
@@ -645,4 +672,190 @@ public abstract class BasePostgreSqlClient
             throw new PrestoException(JDBC_ERROR, e);
         }
     }
+
+    /**
+     * PostgreSQL keeps the most common values and an equal-frequency histogram of the remaining values of every
+     * analyzed column in pg_stats, so split field quantiles are read from the statistics instead of sorting the
+     * table. Falls back to the generic implementation when the column has not been analyzed or its values are
+     * not integers.
+     */
+    @Override
+    public List<SplitStatLog> getSplitFieldQuantiles(TableSplitConfig conf, Connection connection, int rangeCount)
+    {
+        String sql = "SELECT s.histogram_bounds::text, s.most_common_vals::text, s.most_common_freqs::text, s.null_frac, c.reltuples " +
+                "FROM pg_stats s " +
+                "  JOIN pg_namespace ns ON ns.nspname = s.schemaname " +
+                "  JOIN pg_class c ON c.relname = s.tablename AND c.relnamespace = ns.oid " +
+                "WHERE s.schemaname = ? AND s.tablename = ? AND s.attname = ?";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, conf.getSchemaName());
+            statement.setString(2, conf.getTableName());
+            statement.setString(3, conf.getSplitField());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    double tableRows = resultSet.getDouble(5);
+                    if (tableRows > 0) {
+                        List<SplitStatLog> ranges = toSplitFieldRanges(
+                                conf,
+                                resultSet.getString(1),
+                                resultSet.getString(2),
+                                resultSet.getString(3),
+                                resultSet.getDouble(4),
+                                (long) tableRows,
+                                rangeCount);
+                        if (!ranges.isEmpty()) {
+                            return ranges;
+                        }
+                    }
+                }
+            }
+        }
+        catch (SQLException e) {
+            log.warn("Read histogram of %s.%s failed, error info: %s", conf.getTableName(), conf.getSplitField(), e.getMessage());
+        }
+        return super.getSplitFieldQuantiles(conf, connection, rangeCount);
+    }
+
+    /**
+     * Cuts the value domain into ranges of about the same number of rows. The histogram bounds exclude the most
+     * common values, so their rows are added at their value and a value holding more rows than a range gets a
+     * range of its own instead of being merged into its neighbours.
+     */
+    @VisibleForTesting
+    static List<SplitStatLog> toSplitFieldRanges(TableSplitConfig conf, String histogramBounds, String mostCommonValues, String mostCommonFrequencies,
+            double nullFraction, long tableRows, int rangeCount)
+    {
+        long[] bounds = parseLongArray(histogramBounds);
+        long[] commonValues = parseLongArray(mostCommonValues);
+        double[] commonFrequencies = parseDoubleArray(mostCommonFrequencies);
+        if (bounds == null || commonValues == null || commonFrequencies == null || commonValues.length != commonFrequencies.length || rangeCount <= 1) {
+            return ImmutableList.of();
+        }
+        if (bounds.length == 1) {
+            // a single bound does not describe a bucket
+            bounds = new long[0];
+        }
+
+        double commonFrequency = 0;
+        for (double frequency : commonFrequencies) {
+            commonFrequency += frequency;
+        }
+        double histogramRows = bounds.length == 0 ? 0 : Math.max(0, tableRows * (1 - nullFraction - commonFrequency));
+
+        long maxValue = bounds.length == 0 ? Long.MIN_VALUE : bounds[bounds.length - 1];
+        for (long value : commonValues) {
+            maxValue = Math.max(maxValue, value);
+        }
+        double totalRows = rowsAtOrBelow(maxValue, bounds, histogramRows, commonValues, commonFrequencies, tableRows);
+        double targetRows = totalRows / rangeCount;
+        if (targetRows <= 0) {
+            return ImmutableList.of();
+        }
+
+        ImmutableList.Builder<SplitStatLog> result = ImmutableList.builder();
+        long beginIndex = Long.MIN_VALUE;
+        double beginRows = 0;
+        while (beginIndex < maxValue && Math.round(totalRows - beginRows) > Math.round(targetRows)) {
+            // the row count is monotonic in the value, search the smallest value reaching the target
+            double desiredRows = beginRows + targetRows;
+            long low = beginIndex;
+            long high = maxValue;
+            while (low < high - 1) {
+                long middle = LongMath.mean(low, high);
+                if (rowsAtOrBelow(middle, bounds, histogramRows, commonValues, commonFrequencies, tableRows) >= desiredRows) {
+                    high = middle;
+                }
+                else {
+                    low = middle;
+                }
+            }
+            long endIndex = high;
+            double endRows = rowsAtOrBelow(endIndex, bounds, histogramRows, commonValues, commonFrequencies, tableRows);
+            if (endIndex - 1 > beginIndex) {
+                // a common value overshooting the target by more than stopping before it undershoots gets a range of its own
+                double previousRows = rowsAtOrBelow(endIndex - 1, bounds, histogramRows, commonValues, commonFrequencies, tableRows);
+                if (previousRows > beginRows && endRows - desiredRows > desiredRows - previousRows) {
+                    endIndex--;
+                    endRows = previousRows;
+                }
+            }
+            result.add(newSplitFieldRange(conf, beginIndex, endIndex, Math.round(endRows - beginRows)));
+            beginIndex = endIndex;
+            beginRows = endRows;
+        }
+        result.add(newSplitFieldRange(conf, beginIndex, Long.MAX_VALUE, Math.round(totalRows - beginRows)));
+        List<SplitStatLog> ranges = result.build();
+        return ranges.size() > 1 ? ranges : ImmutableList.of();
+    }
+
+    private static double rowsAtOrBelow(long value, long[] bounds, double histogramRows, long[] commonValues, double[] commonFrequencies, long tableRows)
+    {
+        double rows = 0;
+        if (bounds.length > 1 && value >= bounds[0]) {
+            int bucketCount = bounds.length - 1;
+            if (value >= bounds[bucketCount]) {
+                rows = histogramRows;
+            }
+            else {
+                // values are assumed to be spread evenly within a bucket
+                int bucket = Arrays.binarySearch(bounds, value);
+                bucket = bucket >= 0 ? bucket : -bucket - 2;
+                while (bucket + 1 < bounds.length && bounds[bucket + 1] <= value) {
+                    bucket++;
+                }
+                double bucketRows = histogramRows / bucketCount;
+                double bucketWidth = (double) bounds[bucket + 1] - bounds[bucket];
+                rows = bucket * bucketRows + bucketRows * ((double) value - bounds[bucket]) / bucketWidth;
+            }
+        }
+        for (int i = 0; i < commonValues.length; i++) {
+            if (commonValues[i] <= value) {
+                rows += commonFrequencies[i] * tableRows;
+            }
+        }
+        return rows;
+    }
+
+    private static long[] parseLongArray(String arrayLiteral)
+    {
+        String[] values = splitArrayLiteral(arrayLiteral);
+        long[] result = new long[values.length];
+        try {
+            for (int i = 0; i < values.length; i++) {
+                result[i] = Long.parseLong(values[i]);
+            }
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+        return result;
+    }
+
+    private static double[] parseDoubleArray(String arrayLiteral)
+    {
+        String[] values = splitArrayLiteral(arrayLiteral);
+        double[] result = new double[values.length];
+        try {
+            for (int i = 0; i < values.length; i++) {
+                result[i] = Double.parseDouble(values[i]);
+            }
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+        return result;
+    }
+
+    private static String[] splitArrayLiteral(String arrayLiteral)
+    {
+        // statistics are reported as array literals, e.g. {1,17,33}, and are missing when there are no such values
+        if (isNullOrEmpty(arrayLiteral) || arrayLiteral.length() <= 2) {
+            return new String[0];
+        }
+        String[] values = arrayLiteral.substring(1, arrayLiteral.length() - 1).split(",");
+        for (int i = 0; i < values.length; i++) {
+            values[i] = values[i].trim();
+        }
+        return values;
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.postgresql;
+
+import io.prestosql.plugin.splitmanager.SplitStatLog;
+import io.prestosql.plugin.splitmanager.TableSplitConfig;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static io.prestosql.plugin.postgresql.BasePostgreSqlClient.toSplitFieldRanges;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestBasePostgreSqlClient
+{
+    private static final String HISTOGRAM_BOUNDS = "{0,100,200,300,400,500,600,700,800,900,1000}";
+
+    @Test
+    public void testSplitFieldRangesOfUniformColumn()
+    {
+        List<SplitStatLog> ranges = toSplitFieldRanges(newTableSplitConfig(), HISTOGRAM_BOUNDS, null, null, 0, 10000, 4);
+        assertRanges(ranges, new long[][] {
+                {Long.MIN_VALUE, 250, 2500},
+                {250, 500, 2500},
+                {500, 750, 2500},
+                {750, Long.MAX_VALUE, 2500}});
+    }
+
+    @Test
+    public void testSplitFieldRangesOfSkewedColumn()
+    {
+        // half of the rows hold the value 500, which the histogram bounds do not account for
+        List<SplitStatLog> ranges = toSplitFieldRanges(newTableSplitConfig(), HISTOGRAM_BOUNDS, "{500}", "{0.5}", 0, 10000, 4);
+        assertRanges(ranges, new long[][] {
+                {Long.MIN_VALUE, 499, 2495},
+                {499, 500, 5005},
+                {500, Long.MAX_VALUE, 2500}});
+    }
+
+    @Test
+    public void testSplitFieldRangesOfCommonValues()
+    {
+        // columns with few distinct values have no histogram
+        List<SplitStatLog> ranges = toSplitFieldRanges(newTableSplitConfig(), null, "{1,2,3}", "{0.6,0.3,0.1}", 0, 1000, 3);
+        assertRanges(ranges, new long[][] {
+                {Long.MIN_VALUE, 1, 600},
+                {1, 2, 300},
+                {2, Long.MAX_VALUE, 100}});
+    }
+
+    @Test
+    public void testSplitFieldRangesOfNonIntegerColumn()
+    {
+        assertTrue(toSplitFieldRanges(newTableSplitConfig(), "{a,b,c}", null, null, 0, 1000, 3).isEmpty());
+        assertTrue(toSplitFieldRanges(newTableSplitConfig(), HISTOGRAM_BOUNDS, "{x}", "{0.5}", 0, 1000, 3).isEmpty());
+    }
+
+    private static void assertRanges(List<SplitStatLog> ranges, long[][] expected)
+    {
+        assertEquals(ranges.size(), expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(ranges.get(i).getBeginIndex().longValue(), expected[i][0]);
+            assertEquals(ranges.get(i).getEndIndex().longValue(), expected[i][1]);
+            assertEquals(ranges.get(i).getRows().longValue(), expected[i][2]);
+        }
+    }
+
+    private static TableSplitConfig newTableSplitConfig()
+    {
+        TableSplitConfig config = new TableSplitConfig();
+        config.setCatalogName("postgresql");
+        config.setSchemaName("tpch");
+        config.setTableName("orders");
+        config.setSplitField("orderkey");
+        config.setSplitCount(4);
+        return config;
+    }
+}
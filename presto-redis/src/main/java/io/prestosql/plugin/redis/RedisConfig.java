@@ -93,6 +93,10 @@ public class RedisConfig
      * the interval of flush the the interval of flush description files (ms) (default no flush,table description will be memoized without expiration) .
      */
     private long tableDescriptionFlushInterval;
+    /**
+     * Whether the nodes are seed nodes of a Redis cluster, tables are then read with one split per shard .
+     */
+    private boolean clusterEnabled;
 
     @Config("redis.table-description-interval")
     public RedisConfig setTableDescriptionFlushInterval(final long tableDescriptionFlushInterval)
@@ -183,6 +187,18 @@ public class RedisConfig
         return this;
     }
 
+    @Config("redis.cluster-enabled")
+    public RedisConfig setClusterEnabled(final boolean clusterEnabled)
+    {
+        this.clusterEnabled = clusterEnabled;
+        return this;
+    }
+
+    public boolean isClusterEnabled()
+    {
+        return clusterEnabled;
+    }
+
     public long getTableDescriptionFlushInterval()
     {
         return tableDescriptionFlushInterval;
@@ -13,6 +13,7 @@
  */
 package io.prestosql.plugin.redis.record;
 
+import com.google.common.collect.ImmutableList;
 import io.airlift.log.Logger;
 import io.airlift.slice.Slice;
 import io.prestosql.decoder.DecoderColumnHandle;
@@ -27,12 +28,14 @@ import io.prestosql.spi.connector.RecordCursor;
 import io.prestosql.spi.type.Type;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -43,6 +46,7 @@ import static io.prestosql.decoder.FieldValueProviders.booleanValueProvider;
 import static io.prestosql.decoder.FieldValueProviders.bytesValueProvider;
 import static io.prestosql.decoder.FieldValueProviders.longValueProvider;
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 import static redis.clients.jedis.ScanParams.SCAN_POINTER_START;
 
 public class RedisRecordCursor
@@ -61,7 +65,12 @@ public class RedisRecordCursor
 
     private ScanResult<String> redisCursor;
     private final ScanParams scanParams;
-    private Iterator<String> keysIterator;
+    private List<String> keys = ImmutableList.of();
+    private int keyPosition;
+    private List<String> zsetKeys;
+    private int zsetOffset;
+    private final int batchSize;
+    private final boolean clusterEnabled;
     private final String keyDataFormat;
     private final String valueDataFormat;
 
@@ -69,6 +78,8 @@ public class RedisRecordCursor
 
     private String valueString;
     private Map<String, String> valueMap;
+    private List<String> stringValues;
+    private List<Map<String, String>> hashValues;
 
     private long totalBytes;
     private long totalValues;
@@ -90,6 +101,8 @@ public class RedisRecordCursor
         this.currentRowValues = new FieldValueProvider[columnHandles.size()];
         this.keyDataFormat = split.getKeyDataFormat();
         this.valueDataFormat = split.getValueDataFormat();
+        this.batchSize = jedisManager.getRedisConfig().getRedisScanCount();
+        this.clusterEnabled = jedisManager.getRedisConfig().isClusterEnabled();
         if (!keyDataFormat.equals("zset")) {
             this.scanParams = new ScanParams();
             scanParams.count(jedisManager.getRedisConfig().getRedisScanCount());
@@ -105,55 +118,88 @@ public class RedisRecordCursor
         else {
             this.scanParams = null;
         }
-        nextKeys();
     }
 
-    private boolean nextKeys()
+    private boolean hasMoreKeys()
     {
-        Jedis jedis = jedisPool.getResource();
         if (keyDataFormat.equals("zset")) {
-            keysIterator = jedis.zrange(split.getKeyName(), split.getStart(), split.getEnd()).iterator();
+            return zsetKeys == null || zsetOffset < zsetKeys.size();
         }
-        else {
-            String cursor = SCAN_POINTER_START;
-            if (redisCursor != null) {
-                cursor = redisCursor.getCursor();
+        return redisCursor == null || !redisCursor.getCursor().equals("0");
+    }
+
+    private void nextKeys()
+    {
+        try (Jedis jedis = jedisPool.getResource()) {
+            if (keyDataFormat.equals("zset")) {
+                if (zsetKeys == null) {
+                    zsetKeys = new ArrayList<>(jedis.zrange(split.getKeyName(), split.getStart(), split.getEnd()));
+                }
+                int end = Math.min(zsetOffset + batchSize, zsetKeys.size());
+                keys = zsetKeys.subList(zsetOffset, end);
+                zsetOffset = end;
             }
-            LOG.debug("Scanning new Redis keys from cursor %s . %d values read so far", cursor, totalValues);
-            redisCursor = jedis.scan(cursor, scanParams);
-            List<String> keys = redisCursor.getResult();
-            keysIterator = keys.iterator();
+            else {
+                String cursor = SCAN_POINTER_START;
+                if (redisCursor != null) {
+                    cursor = redisCursor.getCursor();
+                }
+                LOG.debug("Scanning new Redis keys from cursor %s . %d values read so far", cursor, totalValues);
+                redisCursor = jedis.scan(cursor, scanParams);
+                keys = redisCursor.getResult();
+            }
+            keyPosition = 0;
+            nextValues(jedis);
         }
-        jedis.close();
-        return true;
     }
 
-    private boolean nextdata(final String key)
+    /**
+     * Fetches the values of the current batch of keys in a single round trip, with MGET for string
+     * values and a pipeline of HGETALL for hash values.
+     */
+    private void nextValues(final Jedis jedis)
     {
-        valueString = null;
-        valueMap = null;
-        Jedis jedis = jedisPool.getResource();
+        stringValues = null;
+        hashValues = null;
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (clusterEnabled) {
+            // replicas only serve reads of their hash slots to connections in READONLY mode
+            jedis.readonly();
+        }
         if (valueDataFormat.equals("hash")) {
-            valueMap = jedis.hgetAll(key);
-            if (valueMap == null) {
-                LOG.warn("Redis data modified while query was running, hash value at key %s deleted", key);
-                return false;
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<Map<String, String>>> responses = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                responses.add(pipeline.hgetAll(key));
             }
+            pipeline.sync();
+            hashValues = responses.stream().map(Response::get).collect(toList());
         }
-        else {
-            valueString = jedis.get(key);
-            if (valueString == null) {
-                LOG.warn("Redis data modified while query was running, string value at key %s deleted", key);
-                return false;
+        else if (clusterEnabled) {
+            // MGET is rejected when the keys belong to different hash slots
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<String>> responses = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                responses.add(pipeline.get(key));
             }
+            pipeline.sync();
+            stringValues = responses.stream().map(Response::get).collect(toList());
+        }
+        else {
+            stringValues = jedis.mget(keys.toArray(new String[0]));
         }
-        jedis.close();
-        return true;
     }
 
     private boolean nextRow(final String nextkey)
     {
-        nextdata(nextkey);
+        valueString = stringValues == null ? null : stringValues.get(keyPosition);
+        valueMap = hashValues == null ? null : hashValues.get(keyPosition);
+        keyPosition++;
+        if (valueDataFormat.equals("hash") ? valueMap == null : valueString == null) {
+            LOG.warn("Redis data modified while query was running, value at key %s deleted", nextkey);
+        }
         byte[] keydata = nextkey.getBytes(StandardCharsets.UTF_8);
         byte[] valuedata = EMPTY_BYTE_ARRAY;
         if (valueString != null) {
@@ -223,8 +269,8 @@ public class RedisRecordCursor
     @Override
     public boolean advanceNextPosition()
     {
-        while (!keysIterator.hasNext()) {
-            if (redisCursor == null || redisCursor.getCursor().equals("0")) {
+        while (keyPosition >= keys.size()) {
+            if (!hasMoreKeys()) {
                 if (!reported.getAndSet(true)) {
                     LOG.debug("Read a total of %d values with %d bytes.", totalValues, totalBytes);
                 }
@@ -232,7 +278,7 @@ public class RedisRecordCursor
             }
             nextKeys();
         }
-        return nextRow(keysIterator.next());
+        return nextRow(keys.get(keyPosition));
     }
 
     @Override
@@ -13,12 +13,14 @@
  */
 package io.prestosql.plugin.redis.split;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import io.airlift.log.Logger;
 import io.prestosql.plugin.redis.RedisConfig;
 import io.prestosql.plugin.redis.RedisJedisManager;
 import io.prestosql.plugin.redis.handle.RedisTableHandle;
 import io.prestosql.spi.HostAddress;
+import io.prestosql.spi.PrestoException;
 import io.prestosql.spi.connector.ConnectorSession;
 import io.prestosql.spi.connector.ConnectorSplit;
 import io.prestosql.spi.connector.ConnectorSplitManager;
@@ -30,11 +32,18 @@ import redis.clients.jedis.Jedis;
 
 import javax.inject.Inject;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkState;
+import static io.prestosql.spi.StandardErrorCode.NOT_SUPPORTED;
+import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
 
 public class RedisSplitManager
@@ -65,6 +74,9 @@ public class RedisSplitManager
         Collections.shuffle(nodes);
         checkState(!nodes.isEmpty(), "No Redis nodes available");
         ImmutableList.Builder<ConnectorSplit> builder = ImmutableList.builder();
+        if (redisConfig.isClusterEnabled()) {
+            return getClusterSplits(tableHandle, nodes.get(0));
+        }
         long numberOfKeys = 1;
         if (tableHandle.getKeyDataFormat().equals("zset")) {
             try {
@@ -99,4 +111,67 @@ public class RedisSplitManager
         }
         return new FixedSplitSource(builder.build());
     }
+
+    /**
+     * A SCAN on a cluster node only returns the keys of the hash slots it serves, so every shard
+     * is read by its own split, from a replica when the shard has one.
+     */
+    private ConnectorSplitSource getClusterSplits(RedisTableHandle tableHandle, HostAddress seedNode)
+    {
+        if (tableHandle.getKeyDataFormat().equals("zset")) {
+            throw new PrestoException(NOT_SUPPORTED, "zset key data format is not supported for Redis clusters");
+        }
+        List<List<HostAddress>> shards;
+        try (Jedis jedis = jedisManager.getJedisPool(seedNode).getResource()) {
+            shards = getClusterShards(jedis.clusterSlots(), seedNode);
+        }
+        ImmutableList.Builder<ConnectorSplit> builder = ImmutableList.builder();
+        for (List<HostAddress> shardNodes : shards) {
+            builder.add(new RedisSplit(
+                    tableHandle.getSchemaName(),
+                    tableHandle.getTableName(),
+                    tableHandle.getKeyDataFormat(),
+                    tableHandle.getValueDataFormat(),
+                    tableHandle.getKeyName(),
+                    0,
+                    -1,
+                    shardNodes));
+        }
+        return new FixedSplitSource(builder.build());
+    }
+
+    /**
+     * Groups the reply of CLUSTER SLOTS by master. The nodes of each shard are listed with a
+     * randomly chosen replica first and the master last.
+     */
+    @VisibleForTesting
+    static List<List<HostAddress>> getClusterShards(List<Object> clusterSlots, HostAddress seedNode)
+    {
+        Map<HostAddress, Set<HostAddress>> replicasByMaster = new LinkedHashMap<>();
+        for (Object slotRange : clusterSlots) {
+            List<?> slotRangeInfo = (List<?>) slotRange;
+            // start slot, end slot, master, replicas
+            HostAddress master = toHostAddress((List<?>) slotRangeInfo.get(2), seedNode);
+            Set<HostAddress> replicas = replicasByMaster.computeIfAbsent(master, key -> new LinkedHashSet<>());
+            for (int i = 3; i < slotRangeInfo.size(); i++) {
+                replicas.add(toHostAddress((List<?>) slotRangeInfo.get(i), seedNode));
+            }
+        }
+        ImmutableList.Builder<List<HostAddress>> shards = ImmutableList.builder();
+        for (Map.Entry<HostAddress, Set<HostAddress>> entry : replicasByMaster.entrySet()) {
+            List<HostAddress> shardNodes = new ArrayList<>(entry.getValue());
+            Collections.shuffle(shardNodes);
+            shardNodes.add(entry.getKey());
+            shards.add(ImmutableList.copyOf(shardNodes));
+        }
+        return shards.build();
+    }
+
+    private static HostAddress toHostAddress(List<?> nodeInfo, HostAddress seedNode)
+    {
+        String host = new String((byte[]) nodeInfo.get(0), StandardCharsets.UTF_8);
+        int port = toIntExact((Long) nodeInfo.get(1));
+        // an empty host means the node is reachable through the address used for the seed node
+        return HostAddress.fromParts(host.isEmpty() ? seedNode.getHostText() : host, port);
+    }
 }
@@ -40,7 +40,8 @@ public class TestRedisConfig
                 .setRedisPassword(null)
                 .setRedisScanCount(100)
                 .setHideInternalColumns(true)
-                .setTableDescriptionFlushInterval(0));
+                .setTableDescriptionFlushInterval(0)
+                .setClusterEnabled(false));
     }
 
     @Test
@@ -59,6 +60,7 @@ public class TestRedisConfig
                 .put("redis.database-index", "5")
                 .put("redis.password", "secret")
                 .put("redis.table-description-interval", "2000")
+                .put("redis.cluster-enabled", "true")
                 .build();
 
         RedisConfig expected = new RedisConfig()
@@ -73,7 +75,8 @@ public class TestRedisConfig
                 .setRedisPassword("secret")
                 .setRedisKeyDelimiter(",")
                 .setKeyPrefixSchemaTable(true)
-                .setTableDescriptionFlushInterval(2000);
+                .setTableDescriptionFlushInterval(2000)
+                .setClusterEnabled(true);
 
         assertFullMapping(properties, expected);
     }
@@ -0,0 +1,79 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.prestosql.plugin.redis.split;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.prestosql.spi.HostAddress;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static io.prestosql.plugin.redis.split.RedisSplitManager.getClusterShards;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+
+public class TestRedisSplitManager
+{
+    private static final HostAddress SEED = HostAddress.fromParts("seed", 7000);
+
+    @Test
+    public void testClusterShards()
+    {
+        // CLUSTER SLOTS reply: a master owning two slot ranges with one replica, and a master without replicas
+        List<Object> clusterSlots = ImmutableList.of(
+                slotRange(0, 5460, node("10.0.0.1", 7000), node("10.0.0.4", 7003)),
+                slotRange(5461, 10922, node("", 7001)),
+                slotRange(10923, 12000, node("10.0.0.1", 7000), node("10.0.0.4", 7003)));
+
+        List<List<HostAddress>> shards = getClusterShards(clusterSlots, SEED);
+        assertEquals(shards.size(), 2);
+        assertEquals(shards.get(0), ImmutableList.of(HostAddress.fromParts("10.0.0.4", 7003), HostAddress.fromParts("10.0.0.1", 7000)));
+        // an empty host is reached through the seed node address
+        assertEquals(shards.get(1), ImmutableList.of(HostAddress.fromParts("seed", 7001)));
+    }
+
+    @Test
+    public void testClusterShardsReplicaOrder()
+    {
+        List<Object> clusterSlots = ImmutableList.of(
+                slotRange(0, 16383, node("master", 7000), node("replica1", 7001), node("replica2", 7002)));
+
+        List<HostAddress> shard = getOnlyShard(getClusterShards(clusterSlots, SEED));
+        assertEquals(shard.size(), 3);
+        assertEquals(ImmutableSet.copyOf(shard.subList(0, 2)), ImmutableSet.of(HostAddress.fromParts("replica1", 7001), HostAddress.fromParts("replica2", 7002)));
+        assertEquals(shard.get(2), HostAddress.fromParts("master", 7000));
+    }
+
+    private static List<HostAddress> getOnlyShard(List<List<HostAddress>> shards)
+    {
+        assertEquals(shards.size(), 1);
+        return shards.get(0);
+    }
+
+    private static List<Object> slotRange(long start, long end, List<Object>... nodes)
+    {
+        ImmutableList.Builder<Object> builder = ImmutableList.builder();
+        builder.add(start, end);
+        for (List<Object> node : nodes) {
+            builder.add(node);
+        }
+        return builder.build();
+    }
+
+    private static List<Object> node(String host, long port)
+    {
+        return ImmutableList.of(host.getBytes(UTF_8), port, "id".getBytes(UTF_8));
+    }
+}
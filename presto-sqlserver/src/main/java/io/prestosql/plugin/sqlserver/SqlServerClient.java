@@ -20,6 +20,7 @@ import io.prestosql.plugin.jdbc.ColumnMapping;
 import io.prestosql.plugin.jdbc.ConnectionFactory;
 import io.prestosql.plugin.jdbc.JdbcColumnHandle;
 import io.prestosql.plugin.jdbc.JdbcIdentity;
+import io.prestosql.plugin.jdbc.JdbcOutputTableHandle;
 import io.prestosql.plugin.jdbc.JdbcTableHandle;
 import io.prestosql.plugin.jdbc.JdbcTypeHandle;
 import io.prestosql.plugin.jdbc.StatsCollecting;
@@ -47,11 +48,16 @@ import static io.prestosql.plugin.jdbc.StandardColumnMappings.charWriteFunction;
 import static io.prestosql.plugin.jdbc.StandardColumnMappings.varcharWriteFunction;
 import static io.prestosql.spi.type.BooleanType.BOOLEAN;
 import static io.prestosql.spi.type.Varchars.isVarcharType;
+import static java.lang.Math.min;
 import static java.lang.String.format;
 
 public class SqlServerClient
         extends BaseJdbcClient
 {
+    // SQL Server accepts at most 2100 parameters in a request and 1000 rows in a VALUES clause
+    private static final int MAX_BULK_INSERT_PARAMETERS = 2100;
+    private static final int MAX_BULK_INSERT_ROWS = 1000;
+
     private static final Joiner DOT_JOINER = Joiner.on(".");
 
     // SqlServer supports 2100 parameters in prepared statement, let's create a space for about 4 big IN predicates
@@ -148,6 +154,24 @@ public class SqlServerClient
         return super.toWriteMapping(session, type);
     }
 
+    @Override
+    public boolean isBulkInsertSupported()
+    {
+        return true;
+    }
+
+    @Override
+    public int getMaxBulkInsertRows(int columnCount)
+    {
+        return min(MAX_BULK_INSERT_ROWS, MAX_BULK_INSERT_PARAMETERS / columnCount);
+    }
+
+    @Override
+    public String buildBulkInsertSql(JdbcOutputTableHandle handle, int rowCount)
+    {
+        return buildMultiRowInsertSql(handle, rowCount);
+    }
+
     @Override
     protected Optional<BiFunction<String, Long, String>> limitFunction()
     {